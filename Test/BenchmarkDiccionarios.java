@@ -0,0 +1,128 @@
+package Test;
+
+import implementacion.Conjunto;
+import implementacion.ConjuntoHash;
+import implementacion.ConjuntoString;
+import implementacion.ConjuntoStringHash;
+import implementacion.DiccionarioSimple;
+import implementacion.DiccionarioSimpleHash;
+import tdas.ConjuntoStringTDA;
+import tdas.ConjuntoTDA;
+import tdas.DiccionarioSimpleTDA;
+
+/**
+ * Compara las implementaciones enlazadas de DiccionarioSimpleTDA, ConjuntoTDA y ConjuntoStringTDA
+ * contra las de direccionamiento abierto, para distintas cantidades de claves.
+ * Es una medición aproximada con System.nanoTime: cada caso se repite varias veces
+ * para que el JIT compile el código y se informa la mejor corrida.
+ */
+public class BenchmarkDiccionarios {
+
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+        System.out.println("=== BENCHMARK DICCIONARIOS Y CONJUNTOS (ms, mejor de " + REPETICIONES + ") ===");
+        System.out.printf("%8s %22s %12s %12s%n", "claves", "operacion", "enlazado", "hash");
+        for (int n : new int[]{31, 1_000, 10_000}) {
+            int[] claves = clavesMezcladas(n);
+            System.out.printf("%8d %22s %12.3f %12.3f%n", n, "diccionario agregar",
+                    medir(() -> cargar(new DiccionarioSimple(), claves)),
+                    medir(() -> cargar(new DiccionarioSimpleHash(), claves)));
+            System.out.printf("%8d %22s %12.3f %12.3f%n", n, "diccionario recuperar",
+                    medir(recuperarTodo(cargar(new DiccionarioSimple(), claves), claves)),
+                    medir(recuperarTodo(cargar(new DiccionarioSimpleHash(), claves), claves)));
+            System.out.printf("%8d %22s %12.3f %12.3f%n", n, "obtenerClaves+vaciar",
+                    medir(vaciarClaves(cargar(new DiccionarioSimple(), claves))),
+                    medir(vaciarClaves(cargar(new DiccionarioSimpleHash(), claves))));
+            System.out.printf("%8d %22s %12.3f %12.3f%n", n, "conjunto agregar",
+                    medir(() -> llenar(new Conjunto(), claves)),
+                    medir(() -> llenar(new ConjuntoHash(), claves)));
+            String[] periodos = periodos(claves);
+            System.out.printf("%8d %22s %12.3f %12.3f%n", n, "conjuntoString llenar+vaciar",
+                    medir(() -> vaciar(llenar(new ConjuntoString(), periodos))),
+                    medir(() -> vaciar(llenar(new ConjuntoStringHash(), periodos))));
+        }
+    }
+
+    private static DiccionarioSimpleTDA cargar(DiccionarioSimpleTDA dic, int[] claves) {
+        dic.inicializar();
+        for (int clave : claves) {
+            dic.agregar(clave, clave & 63);
+        }
+        return dic;
+    }
+
+    private static ConjuntoTDA llenar(ConjuntoTDA conjunto, int[] claves) {
+        conjunto.inicializar();
+        for (int clave : claves) {
+            conjunto.agregar(clave);
+        }
+        return conjunto;
+    }
+
+    private static ConjuntoStringTDA llenar(ConjuntoStringTDA conjunto, String[] valores) {
+        conjunto.inicializar();
+        for (String valor : valores) {
+            conjunto.agregar(valor);
+        }
+        return conjunto;
+    }
+
+    private static void vaciar(ConjuntoStringTDA conjunto) {
+        while (!conjunto.estaVacio()) {
+            conjunto.sacar(conjunto.elegir());
+        }
+    }
+
+    private static String[] periodos(int[] claves) {
+        String[] periodos = new String[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            periodos[i] = (1900 + claves[i] / 12) + "/" + String.format("%02d", claves[i] % 12 + 1);
+        }
+        return periodos;
+    }
+
+    private static Runnable recuperarTodo(DiccionarioSimpleTDA dic, int[] claves) {
+        return () -> {
+            long suma = 0;
+            for (int clave : claves) {
+                suma += dic.recuperar(clave);
+            }
+            if (suma == -1) System.out.println(suma); // Evita que el JIT descarte el recorrido
+        };
+    }
+
+    private static Runnable vaciarClaves(DiccionarioSimpleTDA dic) {
+        return () -> {
+            ConjuntoTDA claves = dic.obtenerClaves();
+            while (!claves.estaVacio()) {
+                claves.sacar(claves.elegir());
+            }
+        };
+    }
+
+    private static double medir(Runnable caso) {
+        long mejor = Long.MAX_VALUE;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = System.nanoTime();
+            caso.run();
+            mejor = Math.min(mejor, System.nanoTime() - inicio);
+        }
+        return mejor / 1_000_000.0;
+    }
+
+    private static int[] clavesMezcladas(int n) {
+        int[] claves = new int[n];
+        for (int i = 0; i < n; i++) {
+            claves[i] = i + 1;
+        }
+        java.util.Random r = new java.util.Random(42);
+        for (int i = n - 1; i > 0; i--) {
+            int j = r.nextInt(i + 1);
+            int aux = claves[i];
+            claves[i] = claves[j];
+            claves[j] = aux;
+        }
+        return claves;
+    }
+}
@@ -0,0 +1,212 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import algoritmos.AlgoritmosParticionados;
+import implementacion.ArbolPrecipitaciones;
+import tdas.ColaPrioridadTDA;
+import tdas.ColaStringTDA;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de AlgoritmosParticionados: con las mismas operaciones da los mismos resultados que un solo
+ * Algoritmos, y escritores y consultas concurrentes terminan (sin bloqueos mutuos) dejando el mismo
+ * estado que aplicar esas escrituras en un solo hilo.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestAlgoritmosParticionados {
+
+    private static final int CAMPOS = 40;
+    private static final int OPERACIONES = 3000;
+    private static final int HILOS = 8;
+    private static final int OPERACIONES_POR_HILO = 1500;
+    private static final int SEGUNDOS_LIMITE = 60;
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== TEST DE ALGORITMOS PARTICIONADOS ===");
+
+        System.out.println("\n[1] Mismos resultados que un solo árbol...");
+        AlgoritmosParticionados particionado = new AlgoritmosParticionados(4);
+        Algoritmos unico = nuevoAlgoritmos();
+        Random azar = new Random(3);
+        List<int[]> escritas = new ArrayList<>(); // {campo, anio, mes, dia}: sólo se eliminan mediciones de períodos que existen
+        for (int i = 0; i < OPERACIONES; i++) {
+            int numero = azar.nextInt(CAMPOS);
+            String campo = "Campo " + numero;
+            int op = azar.nextInt(100);
+            if (op < 90 || escritas.isEmpty()) {
+                int[] m = medicionAlAzar(azar);
+                particionado.agregarMedicion(campo, m[0], m[1], m[2], m[3]);
+                unico.agregarMedicion(campo, m[0], m[1], m[2], m[3]);
+                escritas.add(new int[]{numero, m[0], m[1], m[2]});
+            } else if (op < 98) {
+                int[] e = escritas.get(azar.nextInt(escritas.size()));
+                particionado.eliminarMedicion("Campo " + e[0], e[1], e[2], e[3]);
+                unico.eliminarMedicion("Campo " + e[0], e[1], e[2], e[3]);
+            } else {
+                particionado.eliminarCampo(campo);
+                unico.eliminarCampo(campo);
+                escritas.removeIf(e -> e[0] == numero);
+            }
+        }
+        comparar(particionado, unico);
+        particionado.cerrar();
+
+        System.out.println("\n[2] Escritores y consultas concurrentes...");
+        particionado = new AlgoritmosParticionados(2);
+        List<List<int[]>> escrituras = new ArrayList<>();
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS, r -> {
+            Thread hilo = new Thread(r);
+            hilo.setDaemon(true); // Si hay un bloqueo mutuo el programa igual termina
+            return hilo;
+        });
+        for (int h = 0; h < HILOS; h++) {
+            List<int[]> propias = new ArrayList<>();
+            escrituras.add(propias);
+            AlgoritmosParticionados compartido = particionado;
+            Random azarHilo = new Random(100 + h);
+            hilos.submit(() -> mezclar(compartido, azarHilo, propias));
+        }
+        hilos.shutdown();
+        boolean terminaron = hilos.awaitTermination(SEGUNDOS_LIMITE, TimeUnit.SECONDS);
+        verificar("los hilos terminan en menos de " + SEGUNDOS_LIMITE + " s", terminaron);
+        if (terminaron) {
+            unico = nuevoAlgoritmos();
+            for (List<int[]> propias : escrituras) {
+                for (int[] e : propias) {
+                    unico.agregarMedicion("Campo " + e[0], e[1], e[2], e[3], e[4]);
+                }
+            }
+            comparar(particionado, unico);
+        }
+        particionado.cerrar();
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        System.exit(fallas > 0 ? 1 : 0);
+    }
+
+    /**
+     * Mezcla escrituras con consultas que toman los locks de todas las particiones.
+     * Las escrituras se registran para repetirlas después en un solo Algoritmos.
+     */
+    private static void mezclar(AlgoritmosParticionados alg, Random azar, List<int[]> escrituras) {
+        for (int i = 0; i < OPERACIONES_POR_HILO; i++) {
+            int op = azar.nextInt(3);
+            if (op == 0) {
+                int campo = azar.nextInt(CAMPOS);
+                int[] m = medicionAlAzar(azar);
+                alg.agregarMedicion("Campo " + campo, m[0], m[1], m[2], m[3]);
+                escrituras.add(new int[]{campo, m[0], m[1], m[2], m[3]});
+            } else if (op == 1) {
+                alg.camposConLLuviaMayorPromedio(2024, 1 + azar.nextInt(12));
+            } else {
+                alg.camposMasLluviososMes(2024, 1 + azar.nextInt(12), 5);
+            }
+        }
+    }
+
+    /**
+     * {anio, mes, dia, milímetros}
+     */
+    private static int[] medicionAlAzar(Random azar) {
+        return new int[]{2023 + azar.nextInt(2), 1 + azar.nextInt(12), 1 + azar.nextInt(28), azar.nextInt(80)};
+    }
+
+    private static Algoritmos nuevoAlgoritmos() {
+        ArbolPrecipitaciones arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        return new Algoritmos(arbol);
+    }
+
+    private static void comparar(AlgoritmosParticionados a, Algoritmos b) {
+        boolean medicionesMes = true;
+        boolean promedios = true;
+        boolean porEncima = true;
+        boolean masLluviososMes = true;
+        boolean cuantiles = true;
+        for (int anio = 2023; anio <= 2024; anio++) {
+            for (int mes = 1; mes <= 12; mes++) {
+                medicionesMes &= texto(a.medicionesMes(anio, mes)).equals(texto(b.medicionesMes(anio, mes)));
+                promedios &= a.promedioLluviaEnUnDia(anio, mes, 10) == b.promedioLluviaEnUnDia(anio, mes, 10);
+                porEncima &= ordenados(a.camposConLLuviaMayorPromedio(anio, mes))
+                        .equals(ordenados(b.camposConLLuviaMayorPromedio(anio, mes)));
+                masLluviososMes &= texto(a.camposMasLluviososMes(anio, mes, 5))
+                        .equals(texto(b.camposMasLluviososMes(anio, mes, 5)));
+                cuantiles &= a.cuantilMes(anio, mes, 0.5) == b.cuantilMes(anio, mes, 0.5);
+            }
+        }
+        verificar("medicionesMes", medicionesMes);
+        verificar("promedioLluviaEnUnDia", promedios);
+        verificar("camposConLLuviaMayorPromedio", porEncima);
+        verificar("camposMasLluviososMes", masLluviososMes);
+        verificar("cuantilMes", cuantiles);
+        verificar("mesMasLluvioso", a.mesMasLluvioso() == b.mesMasLluvioso());
+        verificar("camposMasLluviosos", texto(a.camposMasLluviosos(10)).equals(texto(b.camposMasLluviosos(10))));
+        boolean porCampo = true;
+        for (int i = 0; i < CAMPOS; i++) {
+            porCampo &= mediciones(a, "Campo " + i).equals(mediciones(b, "Campo " + i));
+        }
+        verificar("medicionesCampoMes", porCampo);
+    }
+
+    private static String mediciones(AlgoritmosParticionados alg, String campo) {
+        try {
+            return texto(alg.medicionesCampoMes(campo, 2024, 6));
+        } catch (IllegalStateException e) {
+            return "sin período";
+        }
+    }
+
+    private static String mediciones(Algoritmos alg, String campo) {
+        try {
+            return texto(alg.medicionesCampoMes(campo, 2024, 6));
+        } catch (IllegalStateException e) {
+            return "sin período";
+        }
+    }
+
+    /**
+     * Campos de la cola ordenados por nombre: cada partición lista los suyos por separado.
+     */
+    private static String ordenados(ColaStringTDA cola) {
+        List<String> campos = new ArrayList<>();
+        while (!cola.colaVacia()) {
+            campos.add(cola.primero());
+            cola.desacolar();
+        }
+        String[] arreglo = campos.toArray(new String[0]);
+        Arrays.sort(arreglo);
+        return String.join(" ", arreglo);
+    }
+
+    private static String texto(ColaPrioridadTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.prioridad()).append('=').append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static String texto(ColaStringTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
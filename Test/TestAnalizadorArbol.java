@@ -0,0 +1,196 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import algoritmos.AnalizadorArbol;
+import implementacion.ArbolPrecipitaciones;
+import implementacion.ArbolPrecipitacionesPersistente;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Prueba de AnalizadorArbol: forma de un árbol degenerado (con el recorrido iterativo en un hilo de
+ * pila chica) y de uno balanceado, recomendación por lápidas y por períodos vacíos, histograma de
+ * períodos por campo y estimación de memoria con períodos compactos, índices y resúmenes.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestAnalizadorArbol {
+
+    private static final int CADENA = 10000;
+    private static final int BALANCEADO = 1023; // 2^10 - 1: árbol perfecto de 10 niveles
+    private static final int BYTES_PERIODO = 216; // Estimación del analizador para un período en la lista
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== TEST DEL ANALIZADOR DE ÁRBOL ===");
+
+        System.out.println("\n[1] Árbol vacío...");
+        ArbolPrecipitaciones vacio = new ArbolPrecipitaciones();
+        vacio.inicializar();
+        AnalizadorArbol.Reporte r = AnalizadorArbol.analizar(vacio);
+        verificar("sin campos ni recomendación", r.campos == 0 && r.altura == 0 && !r.convieneReconstruir);
+
+        System.out.println("\n[2] Árbol degenerado...");
+        ArbolPrecipitaciones cadena = new ArbolPrecipitaciones();
+        cadena.inicializar();
+        // Agregar en orden arma una cadena; la inserción es recursiva y necesita una pila grande
+        enHilo(() -> {
+            for (int i = 0; i < CADENA; i++) {
+                cadena.agregar(nombre(i));
+            }
+        }, 1 << 28);
+        AnalizadorArbol.Reporte[] enCadena = new AnalizadorArbol.Reporte[1];
+        // El análisis es iterativo: alcanza con una pila donde la recursión desbordaría
+        enHilo(() -> enCadena[0] = AnalizadorArbol.analizar(cadena), 256 * 1024);
+        r = enCadena[0];
+        verificar("se analiza con una pila chica", r != null);
+        if (r != null) {
+            verificar("altura y profundidad", r.campos == CADENA && r.altura == CADENA
+                    && r.profundidadMaxima == CADENA - 1 && r.profundidadPromedio == (CADENA - 1) / 2.0);
+            verificar("altura óptima", r.alturaOptima == 14);
+            verificar("desbalanceados de mayor a menor", r.desbalanceados.length == 5
+                    && r.desbalanceados[0].equals(nombre(0)) && r.diferencias[0] == CADENA - 1
+                    && r.diferencias[4] == CADENA - 5);
+            verificar("recomienda rebalancear", r.convieneReconstruir && r.motivo.contains("rebalancear"));
+        }
+
+        System.out.println("\n[3] Árbol balanceado...");
+        ArbolPrecipitaciones balanceado = new ArbolPrecipitaciones();
+        balanceado.inicializar();
+        agregarBalanceado(balanceado, 0, BALANCEADO);
+        r = AnalizadorArbol.analizar(balanceado);
+        verificar("altura igual a la óptima", r.campos == BALANCEADO && r.altura == 10 && r.alturaOptima == 10);
+        verificar("sin desbalanceados", r.desbalanceados.length == 0);
+        verificar("forma aceptable", !r.convieneReconstruir && r.motivo.isEmpty());
+
+        System.out.println("\n[4] Lápidas...");
+        ArbolPrecipitaciones conLapidas = new ArbolPrecipitaciones();
+        conLapidas.inicializar();
+        conLapidas.activarLapidas();
+        agregarBalanceado(conLapidas, 0, 15);
+        for (int i = 0; i < 3; i++) {
+            conLapidas.eliminar(nombre(i));
+        }
+        r = AnalizadorArbol.analizar(conLapidas);
+        verificar("3 de 15 no alcanza", r.lapidas == 3 && !r.convieneReconstruir);
+        conLapidas.eliminar(nombre(3));
+        r = AnalizadorArbol.analizar(conLapidas);
+        verificar("4 de 15 recomienda compactar", r.lapidas == 4 && r.convieneReconstruir && r.motivo.contains("lápidas"));
+        conLapidas.compactarEliminados();
+        r = AnalizadorArbol.analizar(conLapidas);
+        verificar("después de compactar no hay lápidas", r.lapidas == 0 && r.campos == 11 && !r.convieneReconstruir);
+
+        System.out.println("\n[5] Períodos vacíos...");
+        ArbolPrecipitaciones conVacios = new ArbolPrecipitaciones();
+        conVacios.inicializar();
+        Algoritmos alg = new Algoritmos(conVacios);
+        for (int mes = 1; mes <= 8; mes++) {
+            alg.agregarMedicion("Norte", 2024, mes, 1, 5);
+            alg.agregarMedicion("Norte", 2024, mes, 2, 5);
+        }
+        alg.eliminarMedicion("Norte", 2024, 1, 1);
+        alg.eliminarMedicion("Norte", 2024, 1, 2);
+        alg.eliminarMedicion("Norte", 2024, 2, 1);
+        alg.eliminarMedicion("Norte", 2024, 2, 2);
+        r = AnalizadorArbol.analizar(conVacios);
+        verificar("2 de 8 no alcanza", r.periodos == 8 && r.periodosVacios == 2 && r.mediciones == 12 && !r.convieneReconstruir);
+        alg.eliminarMedicion("Norte", 2024, 8, 1);
+        alg.eliminarMedicion("Norte", 2024, 8, 2);
+        r = AnalizadorArbol.analizar(conVacios);
+        verificar("3 de 8 recomienda compactar", r.periodosVacios == 3 && r.convieneReconstruir && r.motivo.contains("vacíos"));
+        conVacios.compactarEliminados();
+        r = AnalizadorArbol.analizar(conVacios);
+        verificar("después de compactar no quedan vacíos", r.periodos == 5 && r.periodosVacios == 0 && !r.convieneReconstruir);
+
+        System.out.println("\n[6] Histograma de períodos por campo...");
+        ArbolPrecipitaciones variado = new ArbolPrecipitaciones();
+        variado.inicializar();
+        alg = new Algoritmos(variado);
+        int[] periodosPorCampo = {0, 1, 2, 3, 4, 7, 8, 16};
+        for (int i = 0; i < periodosPorCampo.length; i++) {
+            variado.agregar(nombre(i));
+            for (int p = 0; p < periodosPorCampo[i]; p++) {
+                alg.agregarMedicion(nombre(i), 2020 + p / 12, p % 12 + 1, 1, 1);
+            }
+        }
+        r = AnalizadorArbol.analizar(variado);
+        // Cubetas: 0 | 1 | 2-3 | 4-7 | 8-15 | 16-31
+        verificar("cubetas", Arrays.equals(r.histogramaPeriodos, new int[]{1, 1, 2, 2, 1, 1}));
+        verificar("máximo por campo", r.maxPeriodosPorCampo == 16 && r.periodos == 41);
+
+        System.out.println("\n[7] Memoria de un año de mediciones diarias...");
+        ArbolPrecipitaciones diario = new ArbolPrecipitaciones();
+        diario.inicializar();
+        alg = new Algoritmos(diario);
+        ArbolPrecipitacionesPersistente persistente = new ArbolPrecipitacionesPersistente();
+        persistente.inicializar();
+        Algoritmos algPersistente = new Algoritmos(persistente);
+        int campos = 10;
+        for (int i = 0; i < campos; i++) {
+            for (LocalDate fecha = LocalDate.of(2023, 1, 1); fecha.getYear() == 2023; fecha = fecha.plusDays(1)) {
+                int mm = fecha.getDayOfYear() % 3 == 0 ? 0 : fecha.getDayOfYear() % 40;
+                alg.agregarMedicion(nombre(i), 2023, fecha.getMonthValue(), fecha.getDayOfMonth(), mm);
+                algPersistente.agregarMedicion(nombre(i), 2023, fecha.getMonthValue(), fecha.getDayOfMonth(), mm);
+            }
+        }
+        r = AnalizadorArbol.analizar(diario);
+        verificar("sólo los dos últimos períodos quedan en la lista",
+                r.periodos == 12 * campos && r.periodosCompactos == 10 * campos
+                        && r.bytesPeriodos == 2L * campos * BYTES_PERIODO);
+        verificar("los compactos ocupan menos de un tercio de la lista",
+                r.bytesPeriodosCompactos > 0 && r.bytesPeriodosCompactos * 3 < 10L * campos * BYTES_PERIODO);
+        verificar("unos 3 KB de índice por año", r.bytesIndices >= 2900L * campos && r.bytesIndices <= 3200L * campos);
+        verificar("sin resúmenes", r.bytesResumenes == 0);
+        verificar("total", r.bytesTotales() == r.bytesNodos + r.bytesNombres + r.bytesPeriodos
+                + r.bytesPeriodosCompactos + r.bytesIndices + r.bytesResumenes);
+        AnalizadorArbol.Reporte otro = AnalizadorArbol.analizar(persistente);
+        verificar("otras implementaciones: todos los períodos a la estimación fija",
+                otro.periodos == 12 * campos && otro.periodosCompactos == 0
+                        && otro.bytesPeriodos == 12L * campos * BYTES_PERIODO && otro.bytesIndices == 0);
+        alg.resumirAntesDe(2024);
+        r = AnalizadorArbol.analizar(diario);
+        verificar("resumido: sin períodos ni días en el índice", r.periodos == 0 && r.bytesPeriodos == 0
+                && r.bytesPeriodosCompactos == 0 && r.bytesIndices < 100L * campos);
+        verificar("y con 12 meses de resumen por campo", r.bytesResumenes >= 12L * 3 * 4 * campos
+                && r.bytesResumenes < 12L * BYTES_PERIODO * campos / 4);
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * Nombres que se ordenan como sus números.
+     */
+    private static String nombre(int i) {
+        return String.format("Campo %05d", i);
+    }
+
+    /**
+     * Agrega los campos de desde a hasta (excluido) empezando por el del medio, para que quede balanceado.
+     */
+    private static void agregarBalanceado(ArbolPrecipitaciones arbol, int desde, int hasta) {
+        if (desde >= hasta) return;
+        int medio = (desde + hasta) >>> 1;
+        arbol.agregar(nombre(medio));
+        agregarBalanceado(arbol, desde, medio);
+        agregarBalanceado(arbol, medio + 1, hasta);
+    }
+
+    private static void enHilo(Runnable tarea, long pila) throws InterruptedException {
+        Thread hilo = new Thread(null, () -> {
+            try {
+                tarea.run();
+            } catch (StackOverflowError e) {
+                System.out.println("  (desbordó la pila)");
+            }
+        }, "prueba", pila);
+        hilo.start();
+        hilo.join();
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
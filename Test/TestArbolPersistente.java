@@ -0,0 +1,193 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import algoritmos.RangoCampos;
+import implementacion.ArbolPrecipitaciones;
+import implementacion.ArbolPrecipitacionesPersistente;
+import tdas.ABBPrecipitacionesTDA;
+import tdas.ABBPrecipitacionesVersionadoTDA;
+import tdas.ColaPrioridadTDA;
+import tdas.ColaStringTDA;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prueba del árbol persistente: con las mismas operaciones da los mismos resultados (y la misma forma)
+ * que ArbolPrecipitaciones, incluso con nombres que sólo difieren en mayúsculas, y una versión fijada
+ * no cambia ni admite escrituras.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestArbolPersistente {
+
+    private static final String[] NOMBRES = {"Norte", "norte", "NORTE", "Sur", "sur", "Este", "Oeste", "oeste", "Lote 1", "lote 1"};
+    private static final int OPERACIONES = 4000;
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DEL ÁRBOL PERSISTENTE ===");
+
+        System.out.println("\n[1] Nombres que sólo difieren en mayúsculas...");
+        ABBPrecipitacionesTDA enlazado = new ArbolPrecipitaciones();
+        enlazado.inicializar();
+        ABBPrecipitacionesTDA persistente = new ArbolPrecipitacionesPersistente();
+        persistente.inicializar();
+        Algoritmos algEnlazado = new Algoritmos(enlazado);
+        Algoritmos algPersistente = new Algoritmos(persistente);
+        for (Algoritmos alg : new Algoritmos[]{algEnlazado, algPersistente}) {
+            alg.agregarMedicion("Norte", 2024, 3, 1, 10);
+            alg.agregarMedicion("norte", 2024, 3, 2, 50);
+        }
+        verificar("campos separados", texto(algPersistente.campos(RangoCampos.todos())).equals("Norte norte "));
+        verificar("campo más lluvioso", "norte".equals(algPersistente.campoMasLLuviosoHistoria()));
+        comparar(algEnlazado, algPersistente, enlazado, persistente);
+
+        System.out.println("\n[2] Mismos resultados con operaciones al azar...");
+        enlazado.inicializar();
+        persistente.inicializar();
+        cargarAlAzar(new Random(7), algEnlazado, algPersistente);
+        comparar(algEnlazado, algPersistente, enlazado, persistente);
+
+        System.out.println("\n[3] Versiones fijadas...");
+        ABBPrecipitacionesVersionadoTDA versionado = new ArbolPrecipitacionesPersistente();
+        versionado.inicializar();
+        Algoritmos alg = new Algoritmos(versionado);
+        alg.agregarMedicion("Norte", 2024, 3, 1, 10);
+        alg.agregarMedicion("Sur", 2024, 3, 1, 20);
+        ABBPrecipitacionesTDA fijada = versionado.instantanea();
+        String formaFijada = forma(fijada);
+        int[] sumaFijada = fijada.sumaYConteoEntre(0, Integer.MAX_VALUE);
+        alg.agregarMedicion("Norte", 2024, 3, 1, 5);
+        alg.agregarMedicion("Este", 2024, 4, 2, 7);
+        alg.eliminarCampo("Sur");
+        verificar("la versión fijada conserva su forma", forma(fijada).equals(formaFijada));
+        verificar("la versión fijada conserva sus mediciones",
+                Arrays.equals(fijada.sumaYConteoEntre(0, Integer.MAX_VALUE), sumaFijada) && sumaFijada[0] == 10);
+        verificar("el árbol ve las escrituras", !forma(versionado).equals(formaFijada)
+                && versionado.sumaYConteoEntre(0, Integer.MAX_VALUE)[0] == 15);
+        verificar("la versión fijada no admite escrituras", rechaza(fijada));
+        verificar("sus subárboles tampoco", rechaza(fijada.hijoDer()) && rechaza(versionado.hijoDer()));
+        verificar("el árbol no cambió al intentarlo", forma(fijada).equals(formaFijada)
+                && versionado.sumaYConteoEntre(0, Integer.MAX_VALUE)[0] == 15);
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * Aplica las mismas mediciones, eliminaciones y resúmenes a las dos instancias.
+     * Sólo se eliminan mediciones de períodos que existen: ArbolPrecipitaciones falla con los demás.
+     */
+    private static void cargarAlAzar(Random azar, Algoritmos a, Algoritmos b) {
+        List<int[]> escritas = new ArrayList<>(); // {nombre, anio, mes, dia}
+        for (int i = 0; i < OPERACIONES; i++) {
+            int op = azar.nextInt(100);
+            int nombre = azar.nextInt(NOMBRES.length);
+            String campo = NOMBRES[nombre];
+            if (op < 80 || escritas.isEmpty()) {
+                int anio = 2020 + azar.nextInt(4);
+                int mes = 1 + azar.nextInt(12);
+                int dia = 1 + azar.nextInt(28);
+                int mm = azar.nextInt(60);
+                a.agregarMedicion(campo, anio, mes, dia, mm);
+                b.agregarMedicion(campo, anio, mes, dia, mm);
+                escritas.add(new int[]{nombre, anio, mes, dia});
+            } else if (op < 93) {
+                int[] e = escritas.get(azar.nextInt(escritas.size()));
+                a.eliminarMedicion(NOMBRES[e[0]], e[1], e[2], e[3]);
+                b.eliminarMedicion(NOMBRES[e[0]], e[1], e[2], e[3]);
+            } else if (op < 98) {
+                a.eliminarCampo(campo);
+                b.eliminarCampo(campo);
+                // Puede haberse eliminado cualquier variante del nombre
+                escritas.removeIf(e -> NOMBRES[e[0]].equalsIgnoreCase(campo));
+            } else {
+                int anio = 2021 + azar.nextInt(2);
+                a.resumirAntesDe(campo, anio);
+                b.resumirAntesDe(campo, anio);
+                escritas.removeIf(e -> e[0] == nombre && e[1] < anio);
+            }
+        }
+    }
+
+    private static void comparar(Algoritmos a, Algoritmos b, ABBPrecipitacionesTDA arbolA, ABBPrecipitacionesTDA arbolB) {
+        verificar("misma forma", forma(arbolA).equals(forma(arbolB)));
+        verificar("campos", texto(a.campos(RangoCampos.todos())).equals(texto(b.campos(RangoCampos.todos()))));
+        verificar("campo más lluvioso", String.valueOf(a.campoMasLLuviosoHistoria()).equals(String.valueOf(b.campoMasLLuviosoHistoria())));
+        verificar("lluvias por mes", Arrays.equals(a.lluviasPorMes(), b.lluviasPorMes()));
+        boolean iguales = true;
+        for (String campo : NOMBRES) {
+            for (int anio = 2020; anio <= 2024; anio++) {
+                for (int mes = 1; mes <= 12; mes++) {
+                    iguales &= mediciones(a, campo, anio, mes).equals(mediciones(b, campo, anio, mes));
+                }
+            }
+            iguales &= Arrays.equals(a.sumaYConteoCampoEntre(campo, 2020, 1, 1, 2024, 12, 31),
+                    b.sumaYConteoCampoEntre(campo, 2020, 1, 1, 2024, 12, 31));
+        }
+        verificar("mediciones y sumas de cada campo", iguales);
+    }
+
+    /**
+     * Recorrido en preorden de los nombres, con "-" por cada subárbol vacío.
+     */
+    private static String forma(ABBPrecipitacionesTDA nodo) {
+        if (nodo.arbolVacio()) return "-";
+        return nodo.raiz() + "(" + forma(nodo.hijoIzq()) + "," + forma(nodo.hijoDer()) + ")";
+    }
+
+    /**
+     * Indica si todas las escrituras sobre el árbol lanzan UnsupportedOperationException.
+     */
+    private static boolean rechaza(ABBPrecipitacionesTDA arbol) {
+        Runnable[] escrituras = {
+                arbol::inicializar,
+                () -> arbol.agregar("Oeste"),
+                () -> arbol.agregarMedicion("Norte", 2024, 3, 2, 1),
+                () -> arbol.agregarMedicion("Norte", "2024", "03", 2, 1),
+                () -> arbol.eliminar("Norte"),
+                () -> arbol.eliminarMedicion("Norte", "2024", "03", 1),
+                () -> arbol.resumirAntesDe("Norte", 2025)
+        };
+        for (Runnable escritura : escrituras) {
+            try {
+                escritura.run();
+                return false;
+            } catch (UnsupportedOperationException e) {
+                // Esperado
+            }
+        }
+        return true;
+    }
+
+    private static String mediciones(Algoritmos alg, String campo, int anio, int mes) {
+        try {
+            ColaPrioridadTDA cola = alg.medicionesCampoMes(campo, anio, mes);
+            StringBuilder sb = new StringBuilder();
+            while (!cola.colaVacia()) {
+                sb.append(cola.prioridad()).append('=').append(cola.primero()).append(' ');
+                cola.desacolar();
+            }
+            return sb.toString();
+        } catch (IllegalStateException e) {
+            return "sin período";
+        }
+    }
+
+    private static String texto(ColaStringTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
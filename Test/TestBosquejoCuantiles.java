@@ -0,0 +1,177 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import implementacion.ArbolPrecipitaciones;
+import implementacion.BosquejoCuantiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Prueba del bosquejo de cuantiles: los cuantiles estimados quedan a lo sumo a ERROR · v + 0.5 mm
+ * del cuantil exacto v (y son exactos hasta 50 mm), también después de quitar valores y de combinar
+ * bosquejos, y cuantilMes coincide con los cuantiles exactos de las mediciones del mes.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestBosquejoCuantiles {
+
+    private static final double[] CUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DEL BOSQUEJO DE CUANTILES ===");
+        Random azar = new Random(9);
+
+        System.out.println("\n[1] Cuantiles contra los exactos...");
+        BosquejoCuantiles bosquejo = new BosquejoCuantiles();
+        bosquejo.inicializar();
+        verificar("vacío devuelve 0", bosquejo.cuantil(0.5) == 0 && bosquejo.cantidad() == 0);
+        bosquejo.agregar(174);
+        verificar("un solo valor de 174 mm", dentroDeLaCota(bosquejo.cuantil(1), 174));
+        List<Integer> valores = new ArrayList<>();
+        bosquejo.inicializar();
+        for (int i = 0; i < 20000; i++) {
+            int valor = valorAlAzar(azar);
+            valores.add(valor);
+            bosquejo.agregar(valor);
+        }
+        verificar("dentro de ERROR · v + 0.5", coincide(bosquejo, valores));
+        BosquejoCuantiles chicos = new BosquejoCuantiles();
+        chicos.inicializar();
+        List<Integer> hasta50 = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int valor = azar.nextInt(51);
+            hasta50.add(valor);
+            chicos.agregar(valor);
+        }
+        boolean exactos = true;
+        for (double q : CUANTILES) {
+            exactos &= chicos.cuantil(q) == exacto(hasta50, q);
+        }
+        verificar("exacto hasta 50 mm", exactos);
+        verificar("rechaza q fuera de [0, 1]", rechaza(bosquejo, -0.1) && rechaza(bosquejo, 1.5));
+
+        System.out.println("\n[2] Quitar valores...");
+        for (int i = 0; i < 8000; i++) {
+            bosquejo.quitar(valores.remove(azar.nextInt(valores.size())));
+        }
+        verificar("cantidad", bosquejo.cantidad() == valores.size());
+        verificar("cuantiles de los que quedan", coincide(bosquejo, valores));
+        BosquejoCuantiles uno = new BosquejoCuantiles();
+        uno.inicializar();
+        uno.agregar(10);
+        uno.quitar(500);
+        uno.quitar(0);
+        verificar("quitar un valor que no está no hace nada", uno.cantidad() == 1 && uno.cuantil(0.5) == 10);
+
+        System.out.println("\n[3] Combinar...");
+        BosquejoCuantiles a = new BosquejoCuantiles();
+        a.inicializar();
+        BosquejoCuantiles b = new BosquejoCuantiles();
+        b.inicializar();
+        BosquejoCuantiles vacio = new BosquejoCuantiles();
+        vacio.inicializar();
+        for (int i = 0; i < valores.size(); i++) {
+            (i % 3 == 0 ? a : b).agregar(valores.get(i));
+        }
+        BosquejoCuantiles combinado = a.copia();
+        combinado.combinar(b);
+        combinado.combinar(vacio);
+        boolean iguales = combinado.cantidad() == bosquejo.cantidad();
+        for (double q : CUANTILES) {
+            iguales &= combinado.cuantil(q) == bosquejo.cuantil(q);
+        }
+        verificar("igual al bosquejo de todos los valores", iguales);
+        vacio.combinar(a);
+        verificar("combinar en uno vacío", vacio.cantidad() == a.cantidad() && vacio.cuantil(0.5) == a.cuantil(0.5));
+        long antes = a.cantidad();
+        combinado.agregar(1);
+        verificar("la copia es independiente", a.cantidad() == antes);
+
+        System.out.println("\n[4] cuantilMes...");
+        ArbolPrecipitaciones arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        Algoritmos alg = new Algoritmos(arbol);
+        Map<String, Integer> dias = new HashMap<>(); // "campo/dia" → lluvia de marzo de 2024
+        for (int i = 0; i < 3000; i++) {
+            String campo = "Campo " + azar.nextInt(60);
+            int dia = 1 + azar.nextInt(31);
+            String clave = campo + "/" + dia;
+            if (i == 1000) alg.cuantilMes(2024, 3, 0.5); // Desde acá los bosquejos se actualizan con cada escritura
+            if (azar.nextInt(10) == 0 && dias.containsKey(clave)) {
+                alg.eliminarMedicion(campo, 2024, 3, dia);
+                dias.remove(clave);
+            } else {
+                int valor = valorAlAzar(azar) % 100_000; // Sin desbordar al acumular en el mismo día
+                alg.agregarMedicion(campo, 2024, 3, dia, valor);
+                dias.merge(clave, valor, Integer::sum); // Se acumula a la del mismo día
+            }
+        }
+        verificar("cuantiles de las mediciones del mes", coincide(alg, new ArrayList<>(dias.values())));
+        alg.eliminarCampo("Campo 7");
+        dias.keySet().removeIf(clave -> clave.startsWith("Campo 7/"));
+        verificar("después de eliminar un campo", coincide(alg, new ArrayList<>(dias.values())));
+        verificar("mes sin mediciones", alg.cuantilMes(2024, 4, 0.5) == 0);
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * Lluvias diarias: muchos ceros, la mayoría chicas y algunas muy grandes.
+     */
+    private static int valorAlAzar(Random azar) {
+        int tipo = azar.nextInt(10);
+        if (tipo < 3) return 0;
+        if (tipo < 8) return 1 + azar.nextInt(60);
+        if (tipo < 9) return 50 + azar.nextInt(400);
+        return 1 + azar.nextInt(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Valor en la posición floor(q · (n - 1)) de los valores ordenados, como lo define cuantil.
+     */
+    private static int exacto(List<Integer> valores, double q) {
+        List<Integer> ordenados = new ArrayList<>(valores);
+        ordenados.sort(null);
+        return ordenados.get((int) Math.floor(q * (ordenados.size() - 1)));
+    }
+
+    private static boolean dentroDeLaCota(int estimado, int exacto) {
+        return Math.abs((double) estimado - exacto) <= BosquejoCuantiles.ERROR * exacto + 0.5;
+    }
+
+    private static boolean coincide(BosquejoCuantiles bosquejo, List<Integer> valores) {
+        boolean ok = true;
+        for (double q : CUANTILES) {
+            ok &= dentroDeLaCota(bosquejo.cuantil(q), exacto(valores, q));
+        }
+        return ok;
+    }
+
+    private static boolean coincide(Algoritmos alg, List<Integer> valores) {
+        boolean ok = true;
+        for (double q : CUANTILES) {
+            ok &= dentroDeLaCota(alg.cuantilMes(2024, 3, q), exacto(valores, q));
+        }
+        return ok;
+    }
+
+    private static boolean rechaza(BosquejoCuantiles bosquejo, double q) {
+        try {
+            bosquejo.cuantil(q);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
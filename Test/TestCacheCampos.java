@@ -0,0 +1,120 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import algoritmos.RangoCampos;
+import implementacion.ArbolPrecipitaciones;
+import implementacion.Metricas;
+import tdas.ColaPrioridadTDA;
+import tdas.ColaStringTDA;
+
+/**
+ * Prueba del cache de nodos de ArbolPrecipitaciones: con capacidad 2 reemplaza según CLOCK
+ * (los aciertos y fallos se leen de Metricas), las escrituras a través del cache llegan al nodo
+ * y eliminar un campo, incluso uno con dos hijos, no deja entradas que apunten a nodos viejos.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestCacheCampos {
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DEL CACHE DE CAMPOS ===");
+        Metricas.activar(true);
+
+        System.out.println("\n[1] Reemplazo con capacidad 2...");
+        ArbolPrecipitaciones arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        arbol.ajustarCache(2);
+        Algoritmos alg = new Algoritmos(arbol);
+        Metricas.reiniciarTotales();
+        escribir(alg, "A");
+        escribir(alg, "B");
+        verificar("los campos nuevos fallan", aciertosYFallos().equals("0/2"));
+        escribir(alg, "A");
+        verificar("un campo en el cache acierta", aciertosYFallos().equals("1/2"));
+        escribir(alg, "C"); // Lleno: sale B, que no se usó desde que entró
+        escribir(alg, "A");
+        verificar("el campo usado sigue en el cache", aciertosYFallos().equals("2/3"));
+        escribir(alg, "B"); // Sale C, que tampoco se usó
+        escribir(alg, "A");
+        verificar("el campo reemplazado vuelve a fallar", aciertosYFallos().equals("3/4"));
+        escribir(alg, "C");
+        verificar("y el que salió después también", aciertosYFallos().equals("3/5"));
+        verificar("las escrituras llegan a los nodos",
+                mediciones(alg, "A", 2024, 3).equals("1=4 ")
+                        && mediciones(alg, "B", 2024, 3).equals("1=2 ")
+                        && mediciones(alg, "C", 2024, 3).equals("1=2 "));
+
+        System.out.println("\n[2] Eliminar y volver a agregar...");
+        alg.eliminarCampo("A");
+        Metricas.reiniciarTotales();
+        escribir(alg, "A");
+        verificar("el campo eliminado sale del cache", aciertosYFallos().equals("0/1"));
+        verificar("y vuelve sin sus mediciones", mediciones(alg, "A", 2024, 3).equals("1=1 "));
+
+        System.out.println("\n[3] Eliminar un campo con dos hijos...");
+        arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        alg = new Algoritmos(arbol);
+        for (String campo : new String[]{"B", "A", "D", "C", "E"}) {
+            escribir(alg, campo);
+        }
+        alg.eliminarCampo("B"); // C, el mínimo de la derecha, pasa al nodo de B
+        Metricas.reiniciarTotales();
+        escribir(alg, "C");
+        verificar("el sucesor se vuelve a buscar en el árbol", aciertosYFallos().equals("0/1"));
+        escribir(alg, "C");
+        verificar("y desde entonces acierta", aciertosYFallos().equals("1/1"));
+        verificar("sus escrituras llegan al nodo que lo contiene", mediciones(alg, "C", 2024, 3).equals("1=3 ")
+                && arbol.raiz().equals("C"));
+        alg.eliminarCampo("D"); // Tiene a E como único hijo
+        escribir(alg, "E");
+        verificar("el hijo que sube conserva sus escrituras", mediciones(alg, "E", 2024, 3).equals("1=2 "));
+        verificar("campos", texto(alg.campos(RangoCampos.todos())).equals("A C E "));
+
+        Metricas.activar(false);
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * Suma 1 mm al 1/3/2024 del campo.
+     */
+    private static void escribir(Algoritmos alg, String campo) {
+        alg.agregarMedicion(campo, 2024, 3, 1, 1);
+    }
+
+    /**
+     * Aciertos y fallos del cache en agregarMedicion desde el último reinicio, como "aciertos/fallos".
+     */
+    private static String aciertosYFallos() {
+        for (Metricas.Estadistica e : Metricas.instantanea()) {
+            if (e.consulta == Metricas.Consulta.AGREGAR_MEDICION) return e.aciertosCache + "/" + e.fallosCache;
+        }
+        return "";
+    }
+
+    private static String mediciones(Algoritmos alg, String campo, int anio, int mes) {
+        ColaPrioridadTDA cola = alg.medicionesCampoMes(campo, anio, mes);
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.prioridad()).append('=').append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static String texto(ColaStringTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
@@ -0,0 +1,174 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import algoritmos.AlgoritmosParticionados;
+import implementacion.ArbolPrecipitaciones;
+import implementacion.RegistroCampos;
+import tdas.ColaStringTDA;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Prueba de camposMasLluviosos y camposMasLluviososMes (el montículo acotado MonticuloCampos): a igual
+ * lluvia ordenan por nombre como el árbol, k mayor que la cantidad de campos devuelve todos, k = 0
+ * ninguno y k negativo lanza IllegalArgumentException, tanto en Algoritmos como en la combinación de
+ * particiones de AlgoritmosParticionados. Los resultados coinciden con ordenar todos los campos.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestCamposMasLluviosos {
+
+    private static final int CAMPOS = 200;
+    private static final int OPERACIONES = 5000;
+    private static final int[] KS = {0, 1, 2, 5, 50, CAMPOS - 1, CAMPOS, CAMPOS + 100};
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE CAMPOS MÁS LLUVIOSOS ===");
+
+        System.out.println("\n[1] Empates, k grande y k = 0...");
+        Algoritmos alg = nuevoAlgoritmos();
+        AlgoritmosParticionados particionado = new AlgoritmosParticionados(3);
+        // Mismo total en Beta, alfa, Gamma y Delta; se agregan desordenados y con mayúsculas mezcladas
+        String[] nombres = {"Gamma", "Zeta", "alfa", "Delta", "Beta", "Omega"};
+        int[][] mediciones = {{2024, 3, 1, 10}, {2024, 3, 2, 20}, {2024, 3, 3, 10}, {2024, 4, 1, 10}, {2024, 3, 4, 10}, {2024, 2, 29, 0}};
+        for (int i = 0; i < nombres.length; i++) {
+            int[] m = mediciones[i];
+            alg.agregarMedicion(nombres[i], m[0], m[1], m[2], m[3]);
+            particionado.agregarMedicion(nombres[i], m[0], m[1], m[2], m[3]);
+        }
+        int[] lluvias = new int[10];
+        verificar("a igual lluvia, por nombre", texto(alg.camposMasLluviosos(10, lluvias)).equals("Zeta alfa Beta Delta Gamma Omega ")
+                && lluvias[0] == 20 && lluvias[4] == 10 && lluvias[5] == 0 && lluvias[6] == 0);
+        verificar("el corte respeta el orden por nombre", texto(alg.camposMasLluviosos(3)).equals("Zeta alfa Beta "));
+        verificar("particionado igual", texto(particionado.camposMasLluviosos(10)).equals("Zeta alfa Beta Delta Gamma Omega ")
+                && texto(particionado.camposMasLluviosos(3)).equals("Zeta alfa Beta "));
+        verificar("del mes, sólo campos con mediciones en el mes",
+                texto(alg.camposMasLluviososMes(2024, 3, 10)).equals("Zeta alfa Beta Gamma ")
+                        && texto(particionado.camposMasLluviososMes(2024, 3, 10)).equals("Zeta alfa Beta Gamma "));
+        verificar("una medición de 0 mm cuenta", texto(alg.camposMasLluviososMes(2024, 2, 1)).equals("Omega "));
+        verificar("mes sin mediciones", texto(alg.camposMasLluviososMes(2024, 5, 3)).isEmpty());
+        lluvias = new int[]{-1};
+        verificar("k = 0", texto(alg.camposMasLluviosos(0, lluvias)).isEmpty() && lluvias[0] == -1
+                && texto(alg.camposMasLluviososMes(2024, 3, 0)).isEmpty()
+                && texto(particionado.camposMasLluviosos(0)).isEmpty()
+                && texto(particionado.camposMasLluviososMes(2024, 3, 0)).isEmpty());
+        verificar("k negativo", rechaza(() -> alg.camposMasLluviosos(-1))
+                && rechaza(() -> alg.camposMasLluviososMes(2024, 3, -1))
+                && rechaza(() -> particionado.camposMasLluviosos(-1))
+                && rechaza(() -> particionado.camposMasLluviososMes(2024, 3, -2)));
+        alg.eliminarCampo("Zeta");
+        particionado.eliminarCampo("zeta");
+        verificar("un campo eliminado no aparece", texto(alg.camposMasLluviosos(2)).equals("alfa Beta ")
+                && texto(particionado.camposMasLluviosos(2)).equals("alfa Beta "));
+        particionado.cerrar();
+
+        System.out.println("\n[2] Mismos resultados que ordenar todos los campos...");
+        Algoritmos unico = nuevoAlgoritmos();
+        AlgoritmosParticionados repartido = new AlgoritmosParticionados(4);
+        Map<String, int[]> totales = new HashMap<>(); // Campo → lluvia por mes de 2024 (posición 0: toda la historia)
+        Map<String, boolean[]> conDatos = new HashMap<>(); // Campo → meses de 2024 con alguna medición, aunque sea de 0 mm
+        Random azar = new Random(17);
+        for (int i = 0; i < OPERACIONES; i++) {
+            String campo = "Campo " + azar.nextInt(CAMPOS);
+            if (azar.nextInt(100) == 0) {
+                unico.eliminarCampo(campo);
+                repartido.eliminarCampo(campo);
+                totales.remove(campo);
+                conDatos.remove(campo);
+                continue;
+            }
+            int anio = 2023 + azar.nextInt(2);
+            int mes = 1 + azar.nextInt(12);
+            int mm = azar.nextInt(8); // Valores chicos: muchos empates
+            int dia = 1 + azar.nextInt(28);
+            unico.agregarMedicion(campo, anio, mes, dia, mm);
+            repartido.agregarMedicion(campo, anio, mes, dia, mm);
+            int[] delCampo = totales.computeIfAbsent(campo, c -> new int[13]);
+            boolean[] meses = conDatos.computeIfAbsent(campo, c -> new boolean[13]);
+            delCampo[0] += mm;
+            meses[0] = true;
+            if (anio == 2024) {
+                delCampo[mes] += mm;
+                meses[mes] = true;
+            }
+        }
+        boolean historia = true;
+        boolean porMes = true;
+        boolean historiaRepartido = true;
+        boolean porMesRepartido = true;
+        for (int k : KS) {
+            historia &= texto(unico.camposMasLluviosos(k)).equals(esperado(totales, conDatos, 0, k));
+            historiaRepartido &= texto(repartido.camposMasLluviosos(k)).equals(esperado(totales, conDatos, 0, k));
+            for (int mes = 1; mes <= 12; mes++) {
+                String esperadoMes = esperado(totales, conDatos, mes, k);
+                porMes &= texto(unico.camposMasLluviososMes(2024, mes, k)).equals(esperadoMes);
+                porMesRepartido &= texto(repartido.camposMasLluviososMes(2024, mes, k)).equals(esperadoMes);
+            }
+        }
+        verificar("camposMasLluviosos", historia);
+        verificar("camposMasLluviososMes", porMes);
+        verificar("combinarMasLluviosos de 4 particiones", historiaRepartido);
+        verificar("combinarMasLluviosos de 4 particiones, por mes", porMesRepartido);
+        unico.resumirAntesDe(2024);
+        repartido.resumirAntesDe(2024);
+        verificar("la historia sigue contando los meses resumidos",
+                texto(unico.camposMasLluviosos(20)).equals(esperado(totales, conDatos, 0, 20))
+                        && texto(repartido.camposMasLluviosos(20)).equals(esperado(totales, conDatos, 0, 20)));
+        repartido.cerrar();
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        System.exit(fallas > 0 ? 1 : 0);
+    }
+
+    /**
+     * Los k campos con más lluvia en la posición indicada, con empates por nombre normalizado.
+     */
+    private static String esperado(Map<String, int[]> totales, Map<String, boolean[]> conDatos, int posicion, int k) {
+        List<String> campos = new ArrayList<>();
+        for (String campo : totales.keySet()) {
+            if (conDatos.get(campo)[posicion]) campos.add(campo);
+        }
+        campos.sort((a, b) -> totales.get(a)[posicion] != totales.get(b)[posicion]
+                ? Integer.compare(totales.get(b)[posicion], totales.get(a)[posicion])
+                : RegistroCampos.normalizar(a).compareTo(RegistroCampos.normalizar(b)));
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(k, campos.size()); i++) {
+            sb.append(campos.get(i)).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static Algoritmos nuevoAlgoritmos() {
+        ArbolPrecipitaciones arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        return new Algoritmos(arbol);
+    }
+
+    private static boolean rechaza(Runnable consulta) {
+        try {
+            consulta.run();
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private static String texto(ColaStringTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
@@ -0,0 +1,181 @@
+package Test;
+
+import implementacion.DiccionarioSimple;
+import implementacion.DiccionarioSimpleHash;
+import tdas.ConjuntoTDA;
+import tdas.DiccionarioSimpleTDA;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Prueba de DiccionarioSimpleHash contra DiccionarioSimple: agregar acumula sobre una clave existente,
+ * recuperar una clave ausente lanza IllegalStateException, y eliminar en medio de una cadena de sondeo
+ * (también una que da la vuelta al final de la tabla) no pierde las claves que siguen en la cadena.
+ * obtenerClaves devuelve exactamente las claves vigentes.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestDiccionarioSimpleHash {
+
+    private static final int OPERACIONES = 30000;
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DEL DICCIONARIO CON DIRECCIONAMIENTO ABIERTO ===");
+
+        System.out.println("\n[1] Mismo comportamiento que DiccionarioSimple...");
+        DiccionarioSimpleTDA hash = nuevo(new DiccionarioSimpleHash());
+        DiccionarioSimpleTDA enlazado = nuevo(new DiccionarioSimple());
+        for (DiccionarioSimpleTDA d : new DiccionarioSimpleTDA[]{hash, enlazado}) {
+            d.agregar(15, 10);
+            d.agregar(15, 5);
+            d.agregar(3, 0);
+            d.agregar(0, 7);
+            d.agregar(-4, 2);
+        }
+        verificar("agregar acumula", hash.recuperar(15) == 15 && enlazado.recuperar(15) == 15);
+        verificar("claves 0, negativas y con valor 0", hash.recuperar(0) == 7 && hash.recuperar(-4) == 2 && hash.recuperar(3) == 0);
+        verificar("recuperar una clave ausente", rechaza(hash, 16) && rechaza(enlazado, 16));
+        hash.eliminar(15);
+        enlazado.eliminar(15);
+        hash.eliminar(99);
+        enlazado.eliminar(99);
+        verificar("eliminar", rechaza(hash, 15) && claves(hash).equals(claves(enlazado)) && claves(hash).equals("[-4, 0, 3]"));
+        hash.agregar(15, 1);
+        verificar("volver a agregar empieza de cero", hash.recuperar(15) == 1);
+        hash.inicializar();
+        verificar("inicializar lo vacía", hash.obtenerClaves().estaVacio() && rechaza(hash, 0));
+
+        System.out.println("\n[2] Cadenas de sondeo que dan la vuelta...");
+        // Claves que caen en la última casilla de una tabla de 64 (la de 20 a 30 claves): la cadena sigue en la casilla 0
+        List<Integer> alFinal = new ArrayList<>();
+        for (int clave = 1; alFinal.size() < 20; clave++) {
+            if ((hash(clave) & 63) == 63) alFinal.add(clave);
+        }
+        for (int clave : alFinal) {
+            hash.agregar(clave, clave);
+        }
+        boolean todas = true;
+        for (int clave : alFinal) {
+            todas &= hash.recuperar(clave) == clave;
+        }
+        verificar("todas las claves de la cadena", todas);
+        for (int i = 0; i < alFinal.size(); i += 3) {
+            hash.eliminar(alFinal.get(i)); // Huecos al principio, en medio y después de dar la vuelta
+        }
+        boolean quedan = true;
+        for (int i = 0; i < alFinal.size(); i++) {
+            quedan &= i % 3 == 0 ? rechaza(hash, alFinal.get(i)) : hash.recuperar(alFinal.get(i)) == alFinal.get(i);
+        }
+        verificar("eliminar en medio no corta la cadena", quedan);
+        for (int i = 0; i < alFinal.size(); i += 3) {
+            hash.agregar(alFinal.get(i), i + 1);
+        }
+        boolean reusadas = true;
+        for (int i = 0; i < alFinal.size(); i++) {
+            reusadas &= hash.recuperar(alFinal.get(i)) == (i % 3 == 0 ? i + 1 : alFinal.get(i));
+        }
+        verificar("volver a agregar claves borradas no las duplica", reusadas && claves(hash).equals(new TreeSet<>(alFinal).toString()));
+        int[] extremas = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1};
+        for (int ciclo = 0; ciclo < 2000; ciclo++) {
+            // Los borrados se acumulan en la tabla hasta que redimensionar los limpia
+            int clave = ciclo % 2 == 0 ? extremas[ciclo / 2 % extremas.length] : alFinal.get(ciclo % alFinal.size());
+            hash.agregar(clave, 3);
+            hash.eliminar(clave);
+            if (ciclo % 2 == 1) hash.agregar(clave, ciclo % 3 == 0 ? 1 : 0);
+        }
+        boolean intactas = rechaza(hash, Integer.MIN_VALUE) && rechaza(hash, Integer.MAX_VALUE) && rechaza(hash, 0) && rechaza(hash, -1);
+        for (int clave : alFinal) {
+            intactas &= !rechaza(hash, clave);
+        }
+        verificar("muchos ciclos de agregar y eliminar, con claves extremas", intactas && claves(hash).equals(new TreeSet<>(alFinal).toString()));
+
+        System.out.println("\n[3] Operaciones al azar...");
+        hash = nuevo(new DiccionarioSimpleHash());
+        enlazado = nuevo(new DiccionarioSimple());
+        Random azar = new Random(19);
+        boolean iguales = true;
+        for (int i = 0; i < OPERACIONES; i++) {
+            // Pocas claves distintas y muchas colisiones con las del final de la tabla
+            int clave = switch (azar.nextInt(8)) {
+                case 0, 1 -> alFinal.get(azar.nextInt(alFinal.size()));
+                case 2 -> azar.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+                default -> azar.nextInt(200) - 50;
+            };
+            int op = azar.nextInt(10);
+            if (op < 5) {
+                int valor = azar.nextInt(100);
+                hash.agregar(clave, valor);
+                enlazado.agregar(clave, valor);
+            } else if (op < 9) {
+                hash.eliminar(clave);
+                enlazado.eliminar(clave);
+            } else {
+                boolean enHash = !rechaza(hash, clave);
+                iguales &= enHash == !rechaza(enlazado, clave) && (!enHash || hash.recuperar(clave) == enlazado.recuperar(clave));
+            }
+            if (i % 1000 == 0) iguales &= iguales(hash, enlazado);
+        }
+        verificar("mismos valores durante las operaciones", iguales);
+        verificar("mismas claves y valores al final", iguales(hash, enlazado));
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * Misma función de hash que DiccionarioSimpleHash, para elegir claves que colisionan.
+     */
+    private static int hash(int clave) {
+        int h = clave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static DiccionarioSimpleTDA nuevo(DiccionarioSimpleTDA diccionario) {
+        diccionario.inicializar();
+        return diccionario;
+    }
+
+    /**
+     * Claves del diccionario ordenadas, vaciando el conjunto que devuelve obtenerClaves.
+     */
+    private static String claves(DiccionarioSimpleTDA diccionario) {
+        TreeSet<Integer> ordenadas = new TreeSet<>();
+        ConjuntoTDA conjunto = diccionario.obtenerClaves();
+        while (!conjunto.estaVacio()) {
+            int clave = conjunto.elegir();
+            if (!ordenadas.add(clave)) return "clave repetida " + clave;
+            conjunto.sacar(clave);
+        }
+        return ordenadas.toString();
+    }
+
+    private static boolean iguales(DiccionarioSimpleTDA a, DiccionarioSimpleTDA b) {
+        String claves = claves(a);
+        if (!claves.equals(claves(b))) return false;
+        ConjuntoTDA conjunto = a.obtenerClaves();
+        while (!conjunto.estaVacio()) {
+            int clave = conjunto.elegir();
+            if (a.recuperar(clave) != b.recuperar(clave)) return false;
+            conjunto.sacar(clave);
+        }
+        return true;
+    }
+
+    private static boolean rechaza(DiccionarioSimpleTDA diccionario, int clave) {
+        try {
+            diccionario.recuperar(clave);
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
@@ -0,0 +1,129 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import implementacion.AlmacenFueraDelHeap;
+import implementacion.ArbolPrecipitaciones;
+import tdas.ABBPrecipitacionesTDA;
+import tdas.ColaPrioridadTDA;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Prueba del árbol con las mediciones fuera del heap: mismos resultados que el árbol en el heap,
+ * reutilización de registros al eliminar campos y liberación de toda la memoria al cerrar el almacén.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestFueraDelHeap {
+
+    private static final int CAMPOS = 300;
+    private static final int CICLOS = 20;
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE MEDICIONES FUERA DEL HEAP ===");
+        long directaInicial = memoriaDirecta();
+        long reservadosIniciales = AlmacenFueraDelHeap.bytesReservadosTotales();
+
+        System.out.println("\n[1] Mismos resultados que el árbol en el heap...");
+        ABBPrecipitacionesTDA enHeap = new ArbolPrecipitaciones();
+        enHeap.inicializar();
+        Algoritmos algHeap = new Algoritmos(enHeap);
+        AlmacenFueraDelHeap almacen = new AlmacenFueraDelHeap();
+        ABBPrecipitacionesTDA fuera = new ArbolPrecipitaciones(almacen);
+        fuera.inicializar();
+        Algoritmos algFuera = new Algoritmos(fuera);
+        cargar(algHeap);
+        cargar(algFuera);
+        for (int mes = 1; mes <= 12; mes++) {
+            verificar("medicionesMes " + mes + "/2023",
+                    texto(algHeap.medicionesMes(2023, mes)).equals(texto(algFuera.medicionesMes(2023, mes))));
+        }
+        verificar("campoMasLLuviosoHistoria",
+                algHeap.campoMasLLuviosoHistoria().equals(algFuera.campoMasLLuviosoHistoria()));
+        verificar("mesMasLluvioso", algHeap.mesMasLluvioso() == algFuera.mesMasLluvioso());
+        verificar("medicionesCampoMes", texto(algHeap.medicionesCampoMes("Campo 7", 2024, 2))
+                .equals(texto(algFuera.medicionesCampoMes("Campo 7", 2024, 2))));
+        int registros = almacen.registrosEnUso();
+        System.out.println("→ Registros en uso: " + registros + " (" + almacen.bytesReservados() / 1024 + " KiB fuera del heap)");
+        verificar("un registro por campo y mes", registros == CAMPOS * 24);
+
+        System.out.println("\n[2] Eliminar campos devuelve sus registros al almacén...");
+        long bytesAntes = almacen.bytesReservados();
+        for (int i = 0; i < CAMPOS; i += 2) {
+            algFuera.eliminarCampo("Campo " + i);
+        }
+        verificar("registros liberados", almacen.registrosEnUso() == registros / 2);
+        for (int i = 0; i < CAMPOS; i += 2) {
+            algFuera.agregarMedicion("Campo " + i, 2023, 1, 1, 5);
+        }
+        verificar("los registros se reutilizan", almacen.bytesReservados() == bytesAntes);
+
+        System.out.println("\n[3] Cerrar el almacén libera la memoria...");
+        almacen.close();
+        verificar("contador de bytes en cero", AlmacenFueraDelHeap.bytesReservadosTotales() == reservadosIniciales);
+        try {
+            algFuera.agregarMedicion("Campo 1", 2023, 1, 1, 5);
+            verificar("usar un almacén cerrado falla", false);
+        } catch (IllegalStateException e) {
+            verificar("usar un almacén cerrado falla", true);
+        }
+
+        System.out.println("\n[4] " + CICLOS + " ciclos de abrir, cargar y cerrar...");
+        for (int ciclo = 0; ciclo < CICLOS; ciclo++) {
+            try (AlmacenFueraDelHeap temporal = new AlmacenFueraDelHeap()) {
+                ABBPrecipitacionesTDA arbol = new ArbolPrecipitaciones(temporal);
+                arbol.inicializar();
+                cargar(new Algoritmos(arbol));
+            }
+        }
+        verificar("contador de bytes en cero", AlmacenFueraDelHeap.bytesReservadosTotales() == reservadosIniciales);
+        if (AlmacenFueraDelHeap.liberaAlCerrar()) {
+            long directa = memoriaDirecta();
+            System.out.println("→ Memoria directa: " + directaInicial + " bytes al inicio, " + directa + " al final");
+            verificar("memoria directa devuelta", directa <= directaInicial);
+        } else {
+            System.out.println("→ Sin cleaner explícito: la memoria directa la libera el recolector");
+        }
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * CAMPOS campos con un dato cada tres días durante 2023 y 2024.
+     */
+    private static void cargar(Algoritmos alg) {
+        for (int i = 0; i < CAMPOS; i++) {
+            for (int anio = 2023; anio <= 2024; anio++) {
+                for (int mes = 1; mes <= 12; mes++) {
+                    for (int dia = 1 + i % 3; dia <= 28; dia += 3) {
+                        alg.agregarMedicion("Campo " + i, anio, mes, dia, (i * 7 + mes * 3 + dia) % 40);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String texto(ColaPrioridadTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.prioridad()).append('=').append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static long memoriaDirecta() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) return pool.getMemoryUsed();
+        }
+        return 0;
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
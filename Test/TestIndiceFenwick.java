@@ -0,0 +1,195 @@
+package Test;
+
+import implementacion.ArbolPrecipitaciones;
+import implementacion.IndiceFenwick;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Prueba directa de IndiceFenwick contra un arreglo por fuerza bruta: sumaYConteo coincide con
+ * mediciones en años desordenados (el índice crece hacia atrás corriendo la base y hacia adelante
+ * al doble), eliminar de un día de 0 mm lo deja de contar, y después de descartarAntesDe una escritura
+ * en un año descartado vuelve a agrandar el índice sin recuperar lo descartado (y sin que descartes y
+ * escrituras alternados lo agranden cada vez).
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestIndiceFenwick {
+
+    private static final int OPERACIONES = 20000;
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DEL ÍNDICE DE FENWICK ===");
+
+        System.out.println("\n[1] Ordinales...");
+        verificar("orden cronológico", IndiceFenwick.ordinal(2023, 12, 31) + 1 == IndiceFenwick.ordinal(2024, 1, 1)
+                && IndiceFenwick.ordinal(2024, 1, 31) + 1 == IndiceFenwick.ordinal(2024, 2, 1));
+        verificar("ordinalPeriodo", IndiceFenwick.ordinalPeriodo("2024/03") == IndiceFenwick.ordinal(2024, 3, 1)
+                && IndiceFenwick.ordinalPeriodo("2024/3") == IndiceFenwick.ordinal(2024, 3, 1));
+        boolean invalidos = true;
+        for (String periodo : new String[]{"2024", "/03", "2024/", "2024/13", "2024/00", "20a4/01", "2024/0x", "2024-03"}) {
+            invalidos &= IndiceFenwick.ordinalPeriodo(periodo) == -1;
+        }
+        verificar("ordinalPeriodo con formato inválido", invalidos);
+
+        System.out.println("\n[2] Años desordenados...");
+        IndiceFenwick indice = nuevoIndice();
+        modelo esperado = new modelo();
+        verificar("vacío", Arrays.equals(indice.sumaYConteo(Integer.MIN_VALUE, Integer.MAX_VALUE), new int[2]));
+        int[][] fechas = {{2024, 6, 15}, {2020, 1, 1}, {2031, 12, 31}, {2019, 12, 31}, {2024, 6, 15}, {2025, 2, 3}};
+        for (int[] f : fechas) {
+            int ord = IndiceFenwick.ordinal(f[0], f[1], f[2]);
+            indice.agregar(ord, f[0] - 2000); // La misma fecha dos veces acumula
+            esperado.agregar(ord, f[0] - 2000);
+        }
+        verificar("crece hacia atrás y hacia adelante", coincide(indice, esperado, new Random(1), 200));
+        verificar("todo el rango", Arrays.equals(indice.sumaYConteo(Integer.MIN_VALUE, Integer.MAX_VALUE), new int[]{24 + 20 + 31 + 19 + 24 + 25, 5}));
+        verificar("intervalo invertido", Arrays.equals(indice.sumaYConteo(IndiceFenwick.ordinal(2030, 1, 1), IndiceFenwick.ordinal(2020, 1, 1)), new int[2]));
+        verificar("intervalo fuera del índice", Arrays.equals(indice.sumaYConteo(IndiceFenwick.ordinal(2040, 1, 1), Integer.MAX_VALUE), new int[2])
+                && Arrays.equals(indice.sumaYConteo(0, IndiceFenwick.ordinal(2019, 12, 30)), new int[2]));
+
+        System.out.println("\n[3] Eliminar...");
+        indice = nuevoIndice();
+        int seco = IndiceFenwick.ordinal(2024, 3, 10);
+        indice.eliminar(seco);
+        verificar("eliminar en un índice vacío no hace nada", Arrays.equals(indice.sumaYConteo(0, Integer.MAX_VALUE), new int[2]));
+        indice.agregar(seco, 0);
+        indice.agregar(seco + 1, 7);
+        verificar("un día de 0 mm cuenta", Arrays.equals(indice.sumaYConteo(seco, seco), new int[]{0, 1}));
+        indice.eliminar(seco);
+        verificar("y al eliminarlo deja de contar", Arrays.equals(indice.sumaYConteo(seco, seco + 1), new int[]{7, 1}));
+        indice.eliminar(seco);
+        indice.eliminar(IndiceFenwick.ordinal(1990, 1, 1));
+        indice.eliminar(IndiceFenwick.ordinal(2090, 1, 1));
+        verificar("eliminar dos veces o fuera del índice no hace nada", Arrays.equals(indice.sumaYConteo(0, Integer.MAX_VALUE), new int[]{7, 1}));
+        indice.agregar(seco, 0);
+        indice.agregar(seco, 4);
+        verificar("acumular sobre un día de 0 mm lo cuenta una vez", Arrays.equals(indice.sumaYConteo(seco, seco), new int[]{4, 1}));
+
+        System.out.println("\n[4] Descartar y volver a escribir...");
+        indice = nuevoIndice();
+        esperado = new modelo();
+        for (int anio = 2020; anio <= 2025; anio++) {
+            for (int mes = 1; mes <= 12; mes++) {
+                int ord = IndiceFenwick.ordinal(anio, mes, 5);
+                indice.agregar(ord, mes);
+                esperado.agregar(ord, mes);
+            }
+        }
+        int corte = IndiceFenwick.ordinal(2023, 7, 20); // Descarta los años anteriores a 2023 enteros
+        indice.descartarAntesDe(corte);
+        esperado.descartarAntesDe(IndiceFenwick.ordinal(2023, 1, 1));
+        verificar("se conserva el año del corte", coincide(indice, esperado, new Random(2), 200)
+                && Arrays.equals(indice.sumaYConteo(0, IndiceFenwick.ordinal(2022, 12, 31)), new int[2])
+                && indice.sumaYConteo(0, IndiceFenwick.ordinal(2023, 12, 31))[1] == 12);
+        int descartado = IndiceFenwick.ordinal(2021, 4, 5); // Tenía 4 mm antes de descartar
+        indice.agregar(descartado, 9);
+        esperado.agregar(descartado, 9);
+        verificar("escribir en un año descartado no recupera lo descartado",
+                Arrays.equals(indice.sumaYConteo(IndiceFenwick.ordinal(2021, 1, 1), IndiceFenwick.ordinal(2022, 12, 31)), new int[]{9, 1})
+                        && coincide(indice, esperado, new Random(3), 200));
+        indice.descartarAntesDe(IndiceFenwick.ordinal(2030, 1, 1));
+        verificar("descartar todo lo vacía", Arrays.equals(indice.sumaYConteo(Integer.MIN_VALUE, Integer.MAX_VALUE), new int[2]));
+        indice.agregar(descartado, 1);
+        verificar("y se puede volver a usar", Arrays.equals(indice.sumaYConteo(Integer.MIN_VALUE, Integer.MAX_VALUE), new int[]{1, 1}));
+
+        System.out.println("\n[5] Descartes y escrituras viejas alternados...");
+        ArbolPrecipitaciones arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        arbol.agregarMedicion("Norte", 2030, 1, 1, 5);
+        long inicial = arbol.memoriaRaiz()[3];
+        long maximo = 0;
+        for (int anio = 2029; anio >= 2018; anio--) {
+            arbol.resumirAntesDe("Norte", 2030); // Descarta del índice la medición vieja anterior
+            arbol.agregarMedicion("Norte", anio, 6, 1, 1); // y llega otra, de un año todavía anterior
+            maximo = Math.max(maximo, arbol.memoriaRaiz()[3]);
+        }
+        // Cubre a lo sumo de 2018 a 2030: 13 años, 16 al redondear al doble; los meses viejos quedan resumidos
+        verificar("el índice no crece con cada ciclo (" + maximo / 1024 + " KB)", maximo <= 4 * 4 * inicial + 1024);
+        verificar("y suma lo que queda", Arrays.equals(arbol.sumaYConteoEntre(0, Integer.MAX_VALUE), new int[]{5 + 12, 13}));
+
+        System.out.println("\n[6] Operaciones al azar contra fuerza bruta...");
+        indice = nuevoIndice();
+        esperado = new modelo();
+        Random azar = new Random(7);
+        boolean intermedias = true;
+        for (int i = 0; i < OPERACIONES; i++) {
+            int ord = IndiceFenwick.ordinal(2010 + azar.nextInt(25), 1 + azar.nextInt(12), 1 + azar.nextInt(31));
+            int op = azar.nextInt(100);
+            if (op < 70) {
+                int mm = azar.nextInt(4) == 0 ? 0 : azar.nextInt(200);
+                indice.agregar(ord, mm);
+                esperado.agregar(ord, mm);
+            } else if (op < 95) {
+                if (azar.nextBoolean() && !esperado.dias.isEmpty()) ord = esperado.dias.ceilingKey(ord) != null ? esperado.dias.ceilingKey(ord) : ord;
+                indice.eliminar(ord);
+                esperado.dias.remove(ord);
+            } else if (op < 97) {
+                int anio = 2010 + azar.nextInt(25);
+                indice.descartarAntesDe(IndiceFenwick.ordinal(anio, 1 + azar.nextInt(12), 1 + azar.nextInt(31)));
+                esperado.descartarAntesDe(IndiceFenwick.ordinal(anio, 1, 1));
+            }
+            if (i % 1000 == 0) intermedias &= coincide(indice, esperado, azar, 50);
+        }
+        verificar("durante las operaciones", intermedias);
+        verificar("al final", coincide(indice, esperado, azar, 2000));
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * Milímetros de cada día con medición, por ordinal.
+     */
+    private static final class modelo {
+        final TreeMap<Integer, Integer> dias = new TreeMap<>();
+
+        void agregar(int ord, int mm) {
+            dias.merge(ord, mm, Integer::sum);
+        }
+
+        void descartarAntesDe(int ord) {
+            dias.headMap(ord).clear();
+        }
+
+        int[] sumaYConteo(int desde, int hasta) {
+            int[] resultado = new int[2];
+            if (desde > hasta) return resultado;
+            for (int mm : dias.subMap(desde, true, hasta, true).values()) {
+                resultado[0] += mm;
+                resultado[1]++;
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Compara el intervalo completo y otros al azar, que a veces empiezan o terminan fuera del índice.
+     */
+    private static boolean coincide(IndiceFenwick indice, modelo esperado, Random azar, int intervalos) {
+        if (!Arrays.equals(indice.sumaYConteo(Integer.MIN_VALUE, Integer.MAX_VALUE),
+                esperado.sumaYConteo(Integer.MIN_VALUE, Integer.MAX_VALUE))) return false;
+        int minimo = IndiceFenwick.ordinal(2005, 1, 1);
+        int maximo = IndiceFenwick.ordinal(2040, 1, 1);
+        for (int i = 0; i < intervalos; i++) {
+            int desde = minimo + azar.nextInt(maximo - minimo);
+            int hasta = azar.nextInt(10) == 0 ? desde + azar.nextInt(31) : minimo + azar.nextInt(maximo - minimo);
+            if (!Arrays.equals(indice.sumaYConteo(desde, hasta), esperado.sumaYConteo(desde, hasta))) return false;
+        }
+        return true;
+    }
+
+    private static IndiceFenwick nuevoIndice() {
+        IndiceFenwick indice = new IndiceFenwick();
+        indice.inicializar();
+        return indice;
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
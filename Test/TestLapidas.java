@@ -0,0 +1,149 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import algoritmos.RangoCampos;
+import implementacion.ArbolPrecipitaciones;
+import tdas.ColaPrioridadTDA;
+import tdas.ColaStringTDA;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Prueba de las lápidas de ArbolPrecipitaciones: eliminar, compactar y volver a agregar campos con
+ * las lápidas activadas da los mismos resultados que eliminar reestructurando el árbol, también
+ * escribiendo a través del cache de nodos, y desactivarLapidas() quita las lápidas que quedan.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestLapidas {
+
+    private static final String[] NOMBRES = {"Norte", "norte", "Sur", "Este", "Oeste", "Lote 1", "Lote 2", "Lote 3"};
+    private static final int OPERACIONES = 4000;
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE LÁPIDAS ===");
+
+        System.out.println("\n[1] Eliminar, compactar y volver a agregar...");
+        ArbolPrecipitaciones arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        arbol.activarLapidas();
+        Algoritmos alg = new Algoritmos(arbol);
+        alg.agregarMedicion("Norte", 2024, 3, 1, 10);
+        alg.agregarMedicion("Sur", 2024, 3, 1, 20);
+        alg.agregarMedicion("Este", 2024, 3, 1, 30);
+        alg.eliminarCampo("Norte");
+        verificar("queda una lápida", arbol.lapidas() == 1);
+        verificar("el campo eliminado no aparece", texto(alg.campos(RangoCampos.todos())).equals("Este Sur "));
+        alg.agregarMedicion("Norte", 2024, 3, 2, 5);
+        verificar("el campo vuelve sin sus mediciones", mediciones(alg, "Norte", 2024, 3).equals("2=5 "));
+        verificar("la lápida sigue hasta compactar", arbol.lapidas() == 1);
+        alg.eliminarCampo("Sur");
+        arbol.compactarEliminados();
+        verificar("compactar quita las lápidas", arbol.lapidas() == 0);
+        alg.agregarMedicion("Norte", 2024, 3, 2, 1);
+        verificar("el campo conserva lo escrito después de compactar", mediciones(alg, "Norte", 2024, 3).equals("2=6 "));
+        verificar("campos después de compactar", texto(alg.campos(RangoCampos.todos())).equals("Este Norte "));
+
+        System.out.println("\n[2] Mismos resultados que sin lápidas, con operaciones al azar...");
+        ArbolPrecipitaciones sinLapidas = new ArbolPrecipitaciones();
+        sinLapidas.inicializar();
+        sinLapidas.ajustarCache(0);
+        ArbolPrecipitaciones conLapidas = new ArbolPrecipitaciones();
+        conLapidas.inicializar();
+        conLapidas.activarLapidas();
+        conLapidas.ajustarCache(2); // Menos campos que los que se escriben: el cache reemplaza todo el tiempo
+        Algoritmos algSin = new Algoritmos(sinLapidas);
+        Algoritmos algCon = new Algoritmos(conLapidas);
+        cargarAlAzar(new Random(11), algSin, algCon, conLapidas);
+        comparar(algSin, algCon);
+
+        System.out.println("\n[3] Desactivar las lápidas...");
+        arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        arbol.activarLapidas();
+        alg = new Algoritmos(arbol);
+        alg.agregarMedicion("Norte", 2024, 3, 1, 10);
+        alg.agregarMedicion("Sur", 2024, 3, 1, 20);
+        alg.eliminarCampo("Norte");
+        alg.agregarMedicion("Norte", 2024, 3, 2, 5); // Nodo nuevo a la derecha de la lápida
+        verificar("devuelve las lápidas quitadas", arbol.desactivarLapidas() == 1 && arbol.lapidas() == 0);
+        alg.eliminarCampo("Norte");
+        verificar("eliminar quita el campo vivo", texto(alg.campos(RangoCampos.todos())).equals("Sur "));
+        alg.eliminarCampo("Sur");
+        verificar("y ya no deja lápidas", arbol.lapidas() == 0 && arbol.arbolVacio());
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * Aplica las mismas mediciones y eliminaciones a las dos instancias y compacta de vez en cuando
+     * el árbol con lápidas.
+     */
+    private static void cargarAlAzar(Random azar, Algoritmos a, Algoritmos b, ArbolPrecipitaciones conLapidas) {
+        for (int i = 0; i < OPERACIONES; i++) {
+            int op = azar.nextInt(100);
+            String campo = NOMBRES[azar.nextInt(NOMBRES.length)];
+            if (op < 85) {
+                int anio = 2023 + azar.nextInt(2);
+                int mes = 1 + azar.nextInt(12);
+                int dia = 1 + azar.nextInt(28);
+                int mm = azar.nextInt(60);
+                a.agregarMedicion(campo, anio, mes, dia, mm);
+                b.agregarMedicion(campo, anio, mes, dia, mm);
+            } else if (op < 97) {
+                a.eliminarCampo(campo);
+                b.eliminarCampo(campo);
+            } else {
+                conLapidas.compactarEliminados();
+            }
+        }
+    }
+
+    private static void comparar(Algoritmos a, Algoritmos b) {
+        verificar("campos", texto(a.campos(RangoCampos.todos())).equals(texto(b.campos(RangoCampos.todos()))));
+        verificar("campo más lluvioso", String.valueOf(a.campoMasLLuviosoHistoria()).equals(String.valueOf(b.campoMasLLuviosoHistoria())));
+        verificar("lluvias por mes", Arrays.equals(a.lluviasPorMes(), b.lluviasPorMes()));
+        boolean iguales = true;
+        for (String campo : NOMBRES) {
+            for (int anio = 2023; anio <= 2024; anio++) {
+                for (int mes = 1; mes <= 12; mes++) {
+                    iguales &= mediciones(a, campo, anio, mes).equals(mediciones(b, campo, anio, mes));
+                }
+            }
+            iguales &= Arrays.equals(a.sumaYConteoCampoEntre(campo, 2023, 1, 1, 2024, 12, 31),
+                    b.sumaYConteoCampoEntre(campo, 2023, 1, 1, 2024, 12, 31));
+        }
+        verificar("mediciones y sumas de cada campo", iguales);
+    }
+
+    private static String mediciones(Algoritmos alg, String campo, int anio, int mes) {
+        try {
+            ColaPrioridadTDA cola = alg.medicionesCampoMes(campo, anio, mes);
+            StringBuilder sb = new StringBuilder();
+            while (!cola.colaVacia()) {
+                sb.append(cola.prioridad()).append('=').append(cola.primero()).append(' ');
+                cola.desacolar();
+            }
+            return sb.toString();
+        } catch (IllegalStateException e) {
+            return "sin período";
+        }
+    }
+
+    private static String texto(ColaStringTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
@@ -0,0 +1,165 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import implementacion.ArbolPrecipitaciones;
+import tdas.ColaPrioridadTDA;
+import tdas.ColaStringTDA;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Prueba de la matriz mensual: con las mismas operaciones, un Algoritmos con activarMatrizMensual
+ * (activada al principio o a mitad de la carga) responde igual que uno que recorre el árbol, también
+ * después de eliminar mediciones, de eliminar campos y reusar sus ids y de resumirAntesDe.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestMatrizMensual {
+
+    private static final int CAMPOS = 30;
+    private static final int OPERACIONES = 4000;
+    private static final int[] DIAS = {1, 2, 15, 28, 29, 30, 31};
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE LA MATRIZ MENSUAL ===");
+
+        System.out.println("\n[1] Id reusado por un campo nuevo...");
+        Algoritmos[] algs = {nuevoAlgoritmos(true), nuevoAlgoritmos(false)};
+        for (Algoritmos alg : algs) {
+            alg.agregarMedicion("Viejo", 2024, 3, 5, 40);
+            alg.agregarMedicion("Otro", 2024, 3, 5, 10);
+            alg.eliminarCampo("Viejo");
+            alg.agregarMedicion("Nuevo", 2024, 4, 1, 7); // Toma el id que dejó libre Viejo
+        }
+        verificar("el campo nuevo no hereda la fila del eliminado", coinciden(algs[0], algs[1], 2024, 3)
+                && coinciden(algs[0], algs[1], 2024, 4)
+                && Arrays.equals(algs[0].sumaYConteoMes(2024, 3), new int[]{10, 1}));
+
+        System.out.println("\n[2] Operaciones al azar...");
+        Algoritmos temprana = nuevoAlgoritmos(true);
+        Algoritmos tardia = nuevoAlgoritmos(false);
+        Algoritmos arbol = nuevoAlgoritmos(false);
+        algs = new Algoritmos[]{temprana, tardia, arbol};
+        Random azar = new Random(11);
+        List<int[]> escritas = new ArrayList<>(); // {campo, anio, mes, dia}: sólo se eliminan mediciones de períodos que existen
+        int siguienteCampo = CAMPOS;
+        int[] nombres = new int[CAMPOS]; // Número del campo que ocupa cada lugar; cambia al eliminarlo
+        for (int i = 0; i < CAMPOS; i++) {
+            nombres[i] = i;
+        }
+        for (int i = 0; i < OPERACIONES; i++) {
+            if (i == OPERACIONES / 2) tardia.activarMatrizMensual();
+            int lugar = azar.nextInt(CAMPOS);
+            int op = azar.nextInt(100);
+            if (op < 80 || escritas.isEmpty()) {
+                int anio = 2023 + azar.nextInt(2);
+                int mes = 1 + azar.nextInt(12);
+                int[] m = {nombres[lugar], anio, mes, 1 + azar.nextInt(YearMonth.of(anio, mes).lengthOfMonth())};
+                int mm = azar.nextInt(5) == 0 ? 0 : azar.nextInt(90);
+                for (Algoritmos alg : algs) {
+                    alg.agregarMedicion("Campo " + m[0], m[1], m[2], m[3], mm);
+                }
+                escritas.add(m);
+            } else if (op < 97) {
+                int[] e = escritas.remove(azar.nextInt(escritas.size()));
+                for (Algoritmos alg : algs) {
+                    alg.eliminarMedicion("Campo " + e[0], e[1], e[2], e[3]);
+                }
+            } else {
+                int eliminado = nombres[lugar];
+                for (Algoritmos alg : algs) {
+                    alg.eliminarCampo("Campo " + eliminado);
+                }
+                escritas.removeIf(e -> e[0] == eliminado);
+                nombres[lugar] = siguienteCampo++; // El próximo campo en ese lugar reusa el id
+            }
+        }
+        System.out.println("    (" + (siguienteCampo - CAMPOS) + " campos eliminados y reemplazados)");
+        verificar("matriz activada al principio", coinciden(temprana, arbol));
+        verificar("matriz activada a mitad de la carga", coinciden(tardia, arbol));
+
+        System.out.println("\n[3] Después de resumirAntesDe...");
+        for (Algoritmos alg : algs) {
+            alg.resumirAntesDe(2024);
+        }
+        verificar("los meses resumidos ya no se ven por día",
+                Arrays.equals(temprana.sumaYConteoMes(2023, 6), new int[2]) && Arrays.equals(arbol.sumaYConteoMes(2023, 6), new int[2]));
+        verificar("matriz activada al principio", coinciden(temprana, arbol));
+        verificar("matriz activada a mitad de la carga", coinciden(tardia, arbol));
+        for (int i = 0; i < 300; i++) {
+            String campo = "Campo " + nombres[azar.nextInt(CAMPOS)];
+            int mes = 1 + azar.nextInt(12);
+            int dia = 1 + azar.nextInt(28);
+            int mm = azar.nextInt(90);
+            for (Algoritmos alg : algs) {
+                alg.agregarMedicion(campo, 2023, mes, dia, mm);
+            }
+        }
+        verificar("mediciones nuevas en el año resumido", coinciden(temprana, arbol) && coinciden(tardia, arbol));
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    private static Algoritmos nuevoAlgoritmos(boolean conMatriz) {
+        ArbolPrecipitaciones arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        Algoritmos alg = new Algoritmos(arbol);
+        if (conMatriz) alg.activarMatrizMensual();
+        return alg;
+    }
+
+    private static boolean coinciden(Algoritmos a, Algoritmos b) {
+        for (int anio = 2023; anio <= 2024; anio++) {
+            for (int mes = 1; mes <= 12; mes++) {
+                if (!coinciden(a, b, anio, mes)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compara las consultas que la matriz resuelve sin recorrer el árbol.
+     */
+    private static boolean coinciden(Algoritmos a, Algoritmos b, int anio, int mes) {
+        int[][] sumasA = a.sumasYConteosMes(anio, mes);
+        int[][] sumasB = b.sumasYConteosMes(anio, mes);
+        if (!Arrays.equals(sumasA[0], sumasB[0]) || !Arrays.equals(sumasA[1], sumasB[1])) return false;
+        if (!Arrays.equals(a.sumaYConteoMes(anio, mes), b.sumaYConteoMes(anio, mes))) return false;
+        for (int dia : DIAS) {
+            if (!Arrays.equals(a.sumaYConteoDia(anio, mes, dia), b.sumaYConteoDia(anio, mes, dia))) return false;
+            if (a.promedioLluviaEnUnDia(anio, mes, dia) != b.promedioLluviaEnUnDia(anio, mes, dia)) return false;
+        }
+        if (!texto(a.medicionesMes(anio, mes)).equals(texto(b.medicionesMes(anio, mes)))) return false;
+        if (!texto(a.camposConLLuviaMayorPromedio(anio, mes)).equals(texto(b.camposConLLuviaMayorPromedio(anio, mes)))) return false;
+        return texto(a.camposPorEncimaDe(anio, mes, 100)).equals(texto(b.camposPorEncimaDe(anio, mes, 100)));
+    }
+
+    private static String texto(ColaPrioridadTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.prioridad()).append('=').append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static String texto(ColaStringTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
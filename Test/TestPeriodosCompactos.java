@@ -0,0 +1,138 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import implementacion.ArbolPrecipitaciones;
+import implementacion.DiccionarioSimpleString;
+import tdas.ColaPrioridadTDA;
+import tdas.ConjuntoStringTDA;
+import tdas.DiccionarioSimpleTDA;
+
+/**
+ * Prueba de los períodos compactados: las consultas dan lo mismo con y sin compactar, escribir en
+ * un período compactado lo devuelve a la lista y la memoria por campo y año baja.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestPeriodosCompactos {
+
+    private static final int CAMPOS = 200;
+    private static final int BYTES_PERIODO = 216; // Período en la lista: nodo, String y DiccionarioDias
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE PERÍODOS COMPACTOS ===");
+
+        System.out.println("\n[1] Mismos resultados antes y después de compactar...");
+        ArbolPrecipitaciones arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        Algoritmos alg = new Algoritmos(arbol);
+        cargar(alg);
+        String[] antes = new String[12];
+        for (int mes = 1; mes <= 12; mes++) {
+            antes[mes - 1] = texto(alg.medicionesMes(2024, mes));
+        }
+        String campoAntes = texto(alg.medicionesCampoMes("Campo 3", 2023, 5));
+        arbol.compactar();
+        for (int mes = 1; mes <= 12; mes++) {
+            verificar("medicionesMes " + mes + "/2024", antes[mes - 1].equals(texto(alg.medicionesMes(2024, mes))));
+        }
+        verificar("medicionesCampoMes", campoAntes.equals(texto(alg.medicionesCampoMes("Campo 3", 2023, 5))));
+
+        System.out.println("\n[2] Escribir en un período compactado...");
+        alg.agregarMedicion("Campo 3", 2023, 5, 2, 7);
+        alg.eliminarMedicion("Campo 3", 2023, 5, 5);
+        String despues = texto(alg.medicionesCampoMes("Campo 3", 2023, 5));
+        verificar("agregar y eliminar se aplican", !despues.equals(campoAntes) && !despues.contains("=5 "));
+
+        DiccionarioSimpleString periodos = new DiccionarioSimpleString();
+        periodos.inicializarDiccionario();
+        for (int mes = 1; mes <= 12; mes++) {
+            periodos.agregar(2023, mes, 10, mes);
+        }
+        periodos.agregar("2023/3", 1, 1); // No tiene la forma de formatearPeriodo: no se compacta
+        periodos.compactar();
+        DiccionarioSimpleTDA marzo = periodos.recuperar("2023/03");
+        marzo.agregar(10, 100);
+        verificar("la vista escribe en el período", periodos.recuperar("2023/03").recuperar(10) == 103);
+        verificar("la vista lee lo escrito", marzo.recuperar(10) == 103);
+        verificar("el período sin forma estándar sigue aparte", periodos.recuperar("2023/3").recuperar(1) == 1);
+        periodos.eliminar("2023/07");
+        ConjuntoStringTDA claves = periodos.claves();
+        int cantidad = 0;
+        while (!claves.estaVacio()) {
+            claves.sacar(claves.elegir());
+            cantidad++;
+        }
+        verificar("claves sin el período eliminado", cantidad == 12);
+
+        System.out.println("\n[3] Memoria de los períodos...");
+        long compactados = memoriaPeriodos();
+        System.out.println("→ Bytes por campo y año: " + compactados + " compactados, unos "
+                + 12 * BYTES_PERIODO + " sin compactar");
+        verificar("al menos 5 veces menos memoria", compactados * 5 <= 12 * BYTES_PERIODO);
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * CAMPOS campos con un dato diario durante 2023 y 2024, lloviendo uno de cada cuatro días.
+     */
+    private static void cargar(Algoritmos alg) {
+        for (int anio = 2023; anio <= 2024; anio++) {
+            for (int mes = 1; mes <= 12; mes++) {
+                for (int i = 0; i < CAMPOS; i++) {
+                    for (int dia = 1; dia <= 28; dia++) {
+                        alg.agregarMedicion("Campo " + i, anio, mes, dia, (i + dia) % 4 == 0 ? (i * 7 + dia) % 40 + 1 : 0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Bytes retenidos por campo y año de diccionarios compactados con un dato diario durante 5 años.
+     */
+    private static long memoriaPeriodos() {
+        int anios = 5;
+        long inicial = memoriaUsada();
+        DiccionarioSimpleString[] diccionarios = new DiccionarioSimpleString[CAMPOS];
+        for (int i = 0; i < CAMPOS; i++) {
+            diccionarios[i] = new DiccionarioSimpleString();
+            diccionarios[i].inicializarDiccionario();
+            for (int anio = 2020; anio < 2020 + anios; anio++) {
+                for (int mes = 1; mes <= 12; mes++) {
+                    for (int dia = 1; dia <= 28; dia++) {
+                        diccionarios[i].agregar(anio, mes, dia, (i + dia) % 4 == 0 ? dia : 0);
+                    }
+                }
+            }
+            diccionarios[i].compactar();
+        }
+        long usada = memoriaUsada() - inicial;
+        if (diccionarios[0] == null) System.out.println(); // Mantiene vivos los diccionarios hasta medir
+        return usada / (CAMPOS * anios);
+    }
+
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String texto(ColaPrioridadTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.prioridad()).append('=').append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
@@ -0,0 +1,180 @@
+package Test;
+
+import implementacion.MatrizMensual;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Prueba de las reducciones de MatrizMensual: ReduccionesVectoriales da exactamente lo mismo que la
+ * versión escalar de Reducciones con cantidades de filas que no son múltiplo de los carriles (0, 1,
+ * impares, primos, una más y una menos que los carriles), arreglos con capacidad de sobra que no se
+ * debe leer, filas y columnas en cero, valores negativos o que desbordan y resultados que ya traían datos.
+ * Las clases son internas del paquete implementacion y se usan por reflexión.
+ * Necesita la Vector API, como el módulo nucleo al compilar:
+ *     java --add-modules jdk.incubator.vector -cp nucleo/target/classes:nucleo/target/test-classes Test.TestReducciones
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestReducciones {
+
+    private static final int COLUMNAS = 32;
+    private static final int[] FILAS = {0, 1, 2, 3, 4, 5, 7, 8, 9, 13, 15, 16, 17, 31, 33, 100, 257};
+    private static final int REPETICIONES = 20;
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) throws ReflectiveOperationException {
+        System.out.println("=== TEST DE REDUCCIONES VECTORIALES ===");
+
+        System.out.println("\n[1] Implementación activa...");
+        boolean conModulo = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        verificar("la JVM tiene jdk.incubator.vector (--add-modules jdk.incubator.vector)", conModulo);
+        if (!conModulo) {
+            System.out.println("\n" + fallas + " verificaciones fallidas");
+            System.exit(1);
+        }
+        verificar("MatrizMensual usa " + MatrizMensual.reducciones(), MatrizMensual.reducciones().startsWith("vectorial"));
+        reduccion escalar = new reduccion("implementacion.Reducciones$Escalares");
+        reduccion vectorial = new reduccion("implementacion.ReduccionesVectoriales");
+
+        System.out.println("\n[2] Mismos resultados que la versión escalar...");
+        Random azar = new Random(13);
+        boolean porDia = true;
+        boolean suma = true;
+        boolean porFila = true;
+        for (int filas : FILAS) {
+            for (int r = 0; r < REPETICIONES; r++) {
+                int sobra = azar.nextInt(3); // Filas de capacidad sin usar, con datos que no se deben leer
+                int[] presentes = new int[filas + sobra];
+                int[] valores = new int[(filas + sobra) * COLUMNAS];
+                llenar(azar, valores, presentes, filas + sobra, r);
+                porDia &= mismasSumasPorDia(escalar, vectorial, valores, presentes, filas, azar);
+                suma &= escalar.suma(valores, filas) == vectorial.suma(valores, filas);
+                porFila &= mismasSumasPorFila(escalar, vectorial, valores, filas);
+            }
+        }
+        verificar("sumasYConteosPorDia", porDia);
+        verificar("suma", suma);
+        verificar("sumasPorFila", porFila);
+
+        System.out.println("\n[3] Casos límite...");
+        int[] ceros = new int[17 * COLUMNAS];
+        int[] sinPresentes = new int[17];
+        int[] sumas = new int[COLUMNAS];
+        int[] conteos = new int[COLUMNAS];
+        vectorial.sumasYConteosPorDia(ceros, sinPresentes, 17, sumas, conteos);
+        verificar("matriz en cero", Arrays.equals(sumas, new int[COLUMNAS]) && Arrays.equals(conteos, new int[COLUMNAS])
+                && vectorial.suma(ceros, 17) == 0);
+        int[] totales = {7, 7, 7};
+        vectorial.sumasPorFila(new int[0], 0, totales);
+        verificar("sin filas no se escribe nada", vectorial.suma(new int[0], 0) == 0 && Arrays.equals(totales, new int[]{7, 7, 7}));
+        int[] llenos = new int[3 * COLUMNAS];
+        Arrays.fill(llenos, Integer.MAX_VALUE);
+        verificar("desborde igual que la suma de int", vectorial.suma(llenos, 3) == escalar.suma(llenos, 3)
+                && vectorial.suma(llenos, 3) == 3 * COLUMNAS * Integer.MAX_VALUE);
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * Una implementación de Reducciones, con sus métodos abiertos por reflexión.
+     */
+    private static final class reduccion {
+        final Object instancia;
+        final Method sumasYConteosPorDia;
+        final Method suma;
+        final Method sumasPorFila;
+
+        reduccion(String clase) throws ReflectiveOperationException {
+            Class<?> c = Class.forName(clase);
+            Constructor<?> constructor = c.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            instancia = constructor.newInstance();
+            sumasYConteosPorDia = abrir(c, "sumasYConteosPorDia", int[].class, int[].class, int.class, int[].class, int[].class);
+            suma = abrir(c, "suma", int[].class, int.class);
+            sumasPorFila = abrir(c, "sumasPorFila", int[].class, int.class, int[].class);
+        }
+
+        void sumasYConteosPorDia(int[] valores, int[] presentes, int filas, int[] sumas, int[] conteos) {
+            invocar(sumasYConteosPorDia, valores, presentes, filas, sumas, conteos);
+        }
+
+        int suma(int[] valores, int filas) {
+            return (Integer) invocar(suma, valores, filas);
+        }
+
+        void sumasPorFila(int[] valores, int filas, int[] totales) {
+            invocar(sumasPorFila, valores, filas, totales);
+        }
+
+        private Object invocar(Method metodo, Object... argumentos) {
+            try {
+                return metodo.invoke(instancia, argumentos);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private static Method abrir(Class<?> c, String nombre, Class<?>... parametros) throws NoSuchMethodException {
+            Method metodo = c.getDeclaredMethod(nombre, parametros);
+            metodo.setAccessible(true);
+            return metodo;
+        }
+    }
+
+    /**
+     * Llena las filas como lo hace MatrizMensual: sólo los días presentes (1 a 31) tienen valor,
+     * que puede ser 0; la columna 0 y las filas sin días presentes quedan en cero.
+     * Según la repetición cambia la densidad y el rango de los valores.
+     */
+    private static void llenar(Random azar, int[] valores, int[] presentes, int filas, int repeticion) {
+        for (int fila = 0; fila < filas; fila++) {
+            if (repeticion % 4 == 0 && fila % 2 == 0) continue; // Filas vacías intercaladas
+            for (int dia = 1; dia < COLUMNAS; dia++) {
+                if (repeticion % 5 == 1 && dia % 7 == 0) continue; // Columnas en cero
+                if (azar.nextInt(3) == 0) continue;
+                presentes[fila] |= 1 << dia;
+                valores[fila * COLUMNAS + dia] = switch (repeticion % 3) {
+                    case 0 -> azar.nextInt(100);
+                    case 1 -> azar.nextInt(); // Negativos y sumas que desbordan
+                    default -> azar.nextInt(5) == 0 ? 0 : azar.nextInt(2000);
+                };
+            }
+        }
+    }
+
+    private static boolean mismasSumasPorDia(reduccion escalar, reduccion vectorial, int[] valores, int[] presentes,
+                                             int filas, Random azar) {
+        int[] sumasE = new int[COLUMNAS];
+        int[] conteosE = new int[COLUMNAS];
+        for (int dia = 1; dia < COLUMNAS; dia++) { // Los resultados se acumulan a lo que ya tenían
+            sumasE[dia] = azar.nextInt(50);
+            conteosE[dia] = azar.nextInt(5);
+        }
+        int[] sumasV = sumasE.clone();
+        int[] conteosV = conteosE.clone();
+        escalar.sumasYConteosPorDia(valores, presentes, filas, sumasE, conteosE);
+        vectorial.sumasYConteosPorDia(valores, presentes, filas, sumasV, conteosV);
+        return Arrays.equals(sumasE, sumasV) && Arrays.equals(conteosE, conteosV);
+    }
+
+    private static boolean mismasSumasPorFila(reduccion escalar, reduccion vectorial, int[] valores, int filas) {
+        int[] totalesE = new int[filas + 2];
+        int[] totalesV = new int[filas + 2];
+        totalesE[filas] = totalesV[filas] = -1; // Después de las filas no se escribe
+        escalar.sumasPorFila(valores, filas, totalesE);
+        vectorial.sumasPorFila(valores, filas, totalesV);
+        return Arrays.equals(totalesE, totalesV) && totalesV[filas] == -1;
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
@@ -0,0 +1,168 @@
+package Test;
+
+import algoritmos.Algoritmos;
+import implementacion.ArbolPrecipitaciones;
+import tdas.ColaStringTDA;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Prueba de las ventanas de lluvia reciente: lluviaUltimosDias y camposConMenosDe coinciden con
+ * sumas por fuerza bruta con mediciones desordenadas, eliminaciones (también de la medición más
+ * reciente) y campos eliminados, tanto si las ventanas se cargaron al principio como al final.
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class TestVentanasLluvia {
+
+    private static final String[] NOMBRES = {"Alfa", "Beta", "Gamma", "Delta", "Epsilon", "Zeta", "Eta", "Theta"};
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    private static final int DIAS = 250;
+    private static final int OPERACIONES = 3000;
+    private static final int[] UMBRALES = {1, 50, 200, 600};
+
+    private static int fallas = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== TEST DE VENTANAS DE LLUVIA ===");
+
+        System.out.println("\n[1] Se elimina la medición más reciente antes de la primera consulta...");
+        Algoritmos temprano = nuevoAlgoritmos();
+        Algoritmos tardio = nuevoAlgoritmos();
+        temprano.lluviaUltimosDias("Eta", 30); // Carga las ventanas vacías
+        for (Algoritmos alg : new Algoritmos[]{temprano, tardio}) {
+            alg.agregarMedicion("Eta", 2024, 3, 10, 50);
+            alg.agregarMedicion("Eta", 2024, 3, 20, 34);
+            alg.agregarMedicion("Zeta", 2024, 6, 1, 5);
+            alg.eliminarMedicion("Zeta", 2024, 6, 1);
+        }
+        verificar("hoy es la fecha más reciente agregada, aunque se haya eliminado",
+                temprano.lluviaUltimosDias("Eta", 30) == 0 && tardio.lluviaUltimosDias("Eta", 90) == 84
+                        && tardio.lluviaUltimosDias("Eta", 30) == 0);
+        verificar("las dos cargas coinciden",
+                texto(temprano.camposConMenosDe(10, 30)).equals(texto(tardio.camposConMenosDe(10, 30))));
+
+        System.out.println("\n[2] Mismos resultados que las sumas por fuerza bruta...");
+        temprano = nuevoAlgoritmos();
+        tardio = nuevoAlgoritmos();
+        temprano.lluviaUltimosDias("Alfa", 7);
+        modelo esperado = new modelo();
+        Random azar = new Random(5);
+        boolean intermedias = true;
+        for (int i = 0; i < OPERACIONES; i++) {
+            aplicarAlAzar(azar, esperado, temprano, tardio);
+            if (i % 250 == 0) intermedias &= coincide(temprano, esperado);
+        }
+        verificar("ventanas cargadas al principio, durante la carga", intermedias);
+        verificar("ventanas cargadas al principio, al final", coincide(temprano, esperado));
+        verificar("ventanas cargadas al final", coincide(tardio, esperado));
+
+        System.out.println(fallas == 0 ? "\nOK" : "\n" + fallas + " verificaciones fallidas");
+        if (fallas > 0) System.exit(1);
+    }
+
+    /**
+     * Mediciones vigentes por campo y día, y la fecha más reciente agregada.
+     */
+    private static final class modelo {
+        final Map<String, TreeMap<Long, Integer>> lluvias = new HashMap<>();
+        long hoy = Long.MIN_VALUE;
+
+        int suma(String campo, int dias) {
+            TreeMap<Long, Integer> delCampo = lluvias.get(campo);
+            if (delCampo == null) return 0;
+            int suma = 0;
+            for (int mm : delCampo.subMap(hoy - dias, false, hoy, true).values()) {
+                suma += mm;
+            }
+            return suma;
+        }
+    }
+
+    private static void aplicarAlAzar(Random azar, modelo esperado, Algoritmos a, Algoritmos b) {
+        String campo = NOMBRES[azar.nextInt(NOMBRES.length)];
+        int op = azar.nextInt(100);
+        TreeMap<Long, Integer> delCampo = esperado.lluvias.get(campo);
+        if (op < 75 || delCampo == null) {
+            LocalDate fecha = INICIO.plusDays(azar.nextInt(DIAS)); // Desordenadas, algunas fuera de todas las ventanas
+            int mm = azar.nextInt(5) == 0 ? 0 : azar.nextInt(40);
+            a.agregarMedicion(campo, fecha.getYear(), fecha.getMonthValue(), fecha.getDayOfMonth(), mm);
+            b.agregarMedicion(campo, fecha.getYear(), fecha.getMonthValue(), fecha.getDayOfMonth(), mm);
+            esperado.lluvias.computeIfAbsent(campo, c -> new TreeMap<>()).merge(fecha.toEpochDay(), mm, Integer::sum);
+            esperado.hoy = Math.max(esperado.hoy, fecha.toEpochDay());
+        } else if (op < 95) {
+            if (delCampo.isEmpty()) return;
+            // La mitad de las veces, la medición más reciente del campo
+            long dia = op < 85 ? delCampo.lastKey() : new ArrayList<>(delCampo.keySet()).get(azar.nextInt(delCampo.size()));
+            LocalDate fecha = LocalDate.ofEpochDay(dia);
+            a.eliminarMedicion(campo, fecha.getYear(), fecha.getMonthValue(), fecha.getDayOfMonth());
+            b.eliminarMedicion(campo, fecha.getYear(), fecha.getMonthValue(), fecha.getDayOfMonth());
+            delCampo.remove(dia);
+        } else {
+            a.eliminarCampo(campo);
+            b.eliminarCampo(campo);
+            esperado.lluvias.remove(campo);
+        }
+    }
+
+    /**
+     * Compara cada ventana de cada campo y los campos por debajo de varios umbrales.
+     */
+    private static boolean coincide(Algoritmos alg, modelo esperado) {
+        for (int dias : new int[]{7, 30, 90}) {
+            for (String campo : NOMBRES) {
+                if (alg.lluviaUltimosDias(campo, dias) != esperado.suma(campo, dias)) return false;
+            }
+            for (int umbral : UMBRALES) {
+                List<String> debajo = new ArrayList<>();
+                for (String campo : esperado.lluvias.keySet()) {
+                    if (esperado.suma(campo, dias) < umbral) debajo.add(campo);
+                }
+                List<String> obtenidos = new ArrayList<>();
+                int anterior = Integer.MIN_VALUE;
+                ColaStringTDA cola = alg.camposConMenosDe(umbral, dias);
+                while (!cola.colaVacia()) {
+                    int suma = esperado.suma(cola.primero(), dias);
+                    if (suma < anterior) return false; // De menor a mayor lluvia
+                    anterior = suma;
+                    obtenidos.add(cola.primero());
+                    cola.desacolar();
+                }
+                if (!ordenados(debajo).equals(ordenados(obtenidos))) return false;
+            }
+        }
+        return true;
+    }
+
+    private static Algoritmos nuevoAlgoritmos() {
+        ArbolPrecipitaciones arbol = new ArbolPrecipitaciones();
+        arbol.inicializar();
+        return new Algoritmos(arbol);
+    }
+
+    private static String ordenados(List<String> campos) {
+        String[] arreglo = campos.toArray(new String[0]);
+        Arrays.sort(arreglo);
+        return String.join(" ", arreglo);
+    }
+
+    private static String texto(ColaStringTDA cola) {
+        StringBuilder sb = new StringBuilder();
+        while (!cola.colaVacia()) {
+            sb.append(cola.primero()).append(' ');
+            cola.desacolar();
+        }
+        return sb.toString();
+    }
+
+    private static void verificar(String descripcion, boolean ok) {
+        System.out.println((ok ? "  ok     " : "  FALLA  ") + descripcion);
+        if (!ok) fallas++;
+    }
+}
@@ -3,15 +3,23 @@ package algoritmos;
 import implementacion.*;
 import tdas.*;
 
+import java.util.HashMap;
+
 /**
  * Esta clase contiene los algoritmos que permiten trabajar con un sistema que registra lluvias.
  * Usa un árbol binario de búsqueda (ABB) para almacenar distintos campos de cultivo.
  * Cada campo tiene mediciones de precipitaciones organizadas por mes y día.
+ * Cada método público se registra en Metricas (desactivadas por defecto).
  */
 
 public class Algoritmos {
 
 	private ABBPrecipitacionesTDA arbol; // Árbol principal con los campos
+	private VentanasLluvia ventanas;     // Lluvia de los últimos 7/30/90 días; se crea con la primera consulta
+	private HashMap<String, BosquejoCuantiles> bosquejos; // Período → lluvias diarias; se crea con la primera consulta
+	private MatrizMensual matriz;        // Copia por columnas de cada mes; null hasta activarMatrizMensual
+	private final RegistroCampos registro = new RegistroCampos(); // Ids de los campos en ventanas y matriz
+	private int ultimoDia = Integer.MIN_VALUE; // Día absoluto más reciente agregado desde la construcción: "hoy" de las ventanas
 
 	/**
 	 * Constructor. Recibe el árbol con los datos de los campos sobre el cual se trabajará.
@@ -32,19 +40,38 @@ public class Algoritmos {
 	 * @param precipitacion Cantidad de milímetros de lluvia.
 	 */
 	public void agregarMedicion(String campo, int anio, int mes, int dia, int precipitacion) {
-		// Validación de fecha (incluye verificación de bisiesto para febrero)
-		if (!fechaValida(anio, mes, dia)) {
-			System.out.println("Fecha inválida: " + dia + "/" + mes + "/" + anio);
-			return;
-		}
+		long inicio = Metricas.inicio();
+		try {
+			// Validación de fecha (incluye verificación de bisiesto para febrero)
+			if (!fechaValida(anio, mes, dia)) {
+				System.out.println("Fecha inválida: " + dia + "/" + mes + "/" + anio);
+				return;
+			}
 
-		// Si el campo no está presente en el árbol, se agrega
-		if (!existeCampo(arbol, campo)) {
-			arbol.agregar(campo);
+			// Valor del día antes de la medición, para reemplazarlo en el bosquejo del mes
+			int[] anterior = bosquejos != null ? valorDelDia(campo, anio, mes, dia) : null;
+
+			// Se registra con año y mes numéricos: si el campo y el mes ya existen no se reserva memoria.
+			// El árbol crea el campo si no existe; no se lo busca antes, para que ArbolPrecipitaciones
+			// resuelva los campos más escritos desde su cache sin descender desde la raíz.
+			arbol.agregarMedicion(campo, anio, mes, dia, precipitacion);
+			ultimoDia = Math.max(ultimoDia, VentanasLluvia.diaAbsoluto(anio, mes, dia));
+			// El árbol guardó la medición en el nodo con el mismo nombre exacto: el id de ese nombre
+			// identifica al campo en las ventanas y en la matriz
+			if (ventanas != null) {
+				ventanas.agregar(registro.registrar(campo), VentanasLluvia.diaAbsoluto(anio, mes, dia), precipitacion);
+			}
+			if (matriz != null) {
+				matriz.agregar(registro.registrar(campo), anio, mes, dia, precipitacion);
+			}
+			if (anterior != null) {
+				BosquejoCuantiles bosquejo = bosquejoDe(formatearPeriodo(anio, mes));
+				if (anterior[1] > 0) bosquejo.quitar(anterior[0]);
+				bosquejo.agregar(anterior[0] + precipitacion);
+			}
+		} finally {
+			Metricas.fin(Metricas.Consulta.AGREGAR_MEDICION, inicio);
 		}
-
-		// Se convierte el año y mes a string y se registra la medición
-		arbol.agregarMedicion(campo, String.valueOf(anio), String.format("%02d", mes), dia, precipitacion);
 	}
 
 	/**
@@ -57,10 +84,26 @@ public class Algoritmos {
 	 * @param dia Día de la medición a eliminar.
 	 */
 	public void eliminarMedicion(String campo, int anio, int mes, int dia) {
-		// Verifica si el campo existe en el árbol. Si no existe, no hace nada.
-		if (existeCampo(arbol, campo)) {
-			// Si existe, convierte año y mes a string y elimina la medición correspondiente al día.
-			arbol.eliminarMedicion(campo, String.valueOf(anio), String.format("%02d", mes), dia);
+		long inicio = Metricas.inicio();
+		try {
+			// Verifica si el campo existe en el árbol. Si no existe, no hace nada.
+			if (existeCampo(arbol, campo, RegistroCampos.normalizar(campo))) {
+				int[] anterior = bosquejos != null ? valorDelDia(campo, anio, mes, dia) : null;
+				int id = registro.buscar(campo);
+				// Si existe, convierte año y mes a string y elimina la medición correspondiente al día.
+				arbol.eliminarMedicion(campo, String.valueOf(anio), String.format("%02d", mes), dia);
+				if (anterior != null && anterior[1] > 0) {
+					bosquejoDe(formatearPeriodo(anio, mes)).quitar(anterior[0]);
+				}
+				if (matriz != null && id >= 0) {
+					matriz.eliminar(id, anio, mes, dia);
+				}
+				if (ventanas != null && id >= 0) {
+					ventanas.eliminar(id, VentanasLluvia.diaAbsoluto(anio, mes, dia));
+				}
+			}
+		} finally {
+			Metricas.fin(Metricas.Consulta.ELIMINAR_MEDICION, inicio);
 		}
 	}
 
@@ -71,7 +114,25 @@ public class Algoritmos {
 	 * @param campo Nombre del campo a eliminar.
 	 */
 	public void eliminarCampo(String campo) {
-		arbol.eliminar(campo);
+		long inicio = Metricas.inicio();
+		try {
+			if (bosquejos != null) {
+				ABBPrecipitacionesTDA nodo = buscarCampo(arbol, campo, RegistroCampos.normalizar(campo));
+				if (nodo != null) recorrerMediciones(nodo, (periodo, valor) -> bosquejoDe(periodo).quitar(valor));
+			}
+			// El árbol elimina el primer campo con el mismo nombre sin distinguir mayúsculas: ése es
+			// el que sale de las ventanas y de la matriz, y su id queda libre
+			String eliminado = matriz != null || ventanas != null ? nombreEnArbol(campo) : null;
+			int id = eliminado != null ? registro.buscar(eliminado) : -1;
+			arbol.eliminar(campo);
+			if (id >= 0) {
+				if (matriz != null) matriz.eliminarCampo(id);
+				if (ventanas != null) ventanas.eliminarCampo(id);
+				registro.liberar(id);
+			}
+		} finally {
+			Metricas.fin(Metricas.Consulta.ELIMINAR_CAMPO, inicio);
+		}
 	}
 
 	/**
@@ -85,27 +146,61 @@ public class Algoritmos {
 	 * @return Cola de prioridad con los promedios de precipitaciones por día.
 	 */
 	public ColaPrioridadTDA medicionesMes(int anio, int mes) {
-		ColaPrioridadTDA resultado = new ColaPrioridad();
-		resultado.inicializarCola();
-
-		// Arreglos auxiliares: índice 1 a 31 representa los días del mes
-		int[] sumas = new int[32];    // Acumula precipitaciones por día
-		int[] conteos = new int[32];  // Cuenta cuántas mediciones hubo por día
-
-		// Se genera el string de período en formato "YYYY/MM"
-		String periodo = formatearPeriodo(anio, mes);
+		long inicio = Metricas.inicio();
+		try {
+			int[][] sumasYConteos = sumasYConteosMes(anio, mes);
+			return promediosPorDia(sumasYConteos[0], sumasYConteos[1]);
+		} finally {
+			Metricas.fin(Metricas.Consulta.MEDICIONES_MES, inicio);
+		}
+	}
 
-		// Recorre todo el arbol y acumula precipitaciones por día para el período dado
-		agregarMedicionesMes(arbol, periodo, sumas, conteos);
+	/**
+	 * Acumula, para un mes y año, la suma de precipitaciones y la cantidad de mediciones
+	 * de cada día considerando todos los campos del árbol.
+	 * Es el resultado parcial de medicionesMes: los de varios árboles se pueden sumar
+	 * posición a posición antes de calcular los promedios.
+	 *
+	 * @param anio Año a consultar.
+	 * @param mes  Mes a consultar.
+	 * @return Arreglo {sumas, conteos}, ambos de tamaño 32 e indexados por día (1 a 31).
+	 */
+	public int[][] sumasYConteosMes(int anio, int mes) {
+		long inicio = Metricas.inicio();
+		try {
+			// Arreglos auxiliares: índice 1 a 31 representa los días del mes
+			int[] sumas = new int[32];    // Acumula precipitaciones por día
+			int[] conteos = new int[32];  // Cuenta cuántas mediciones hubo por día
+
+			if (matriz != null) {
+				// Con la matriz activa se recorren sólo arreglos contiguos del mes
+				matriz.sumasYConteos(anio, mes, sumas, conteos);
+			} else {
+				// Recorre todo el arbol y acumula precipitaciones por día para el período dado
+				agregarMedicionesMes(fijarVersion(), formatearPeriodo(anio, mes), sumas, conteos);
+			}
+			return new int[][]{sumas, conteos};
+		} finally {
+			Metricas.fin(Metricas.Consulta.SUMAS_Y_CONTEOS_MES, inicio);
+		}
+	}
 
-		// Calcula el promedio por día y lo acola con el día como prioridad
+	/**
+	 * Calcula el promedio por día a partir de sumas y conteos y lo acola con el día como prioridad.
+	 *
+	 * @param sumas   Suma de precipitaciones por día (índices 1 a 31).
+	 * @param conteos Cantidad de mediciones por día (índices 1 a 31).
+	 * @return Cola de prioridad con los promedios de precipitaciones por día.
+	 */
+	static ColaPrioridadTDA promediosPorDia(int[] sumas, int[] conteos) {
+		ColaPrioridadTDA resultado = new ColaPrioridad();
+		resultado.inicializarCola();
 		for (int dia = 1; dia <= 31; dia++) {
 			if (conteos[dia] > 0) {
 				int promedio = sumas[dia] / conteos[dia];
 				resultado.acolarPrioridad(promedio, dia);
 			}
 		}
-
 		return resultado;
 	}
 
@@ -122,14 +217,19 @@ public class Algoritmos {
 	 *         con el día como prioridad y la cantidad de milímetros como valor.
 	 */
 	public ColaPrioridadTDA medicionesCampoMes(String campo, int anio, int mes) {
-		// Se crea e inicializa la cola que contendrá el resultado
-		ColaPrioridadTDA resultado = new ColaPrioridad();
-		resultado.inicializarCola();
-
-		// Busca el campo dentro del árbol y agrega sus precipitaciones al resultado
-		buscarCampoYAgregar(arbol, campo, formatearPeriodo(anio, mes), resultado);
-
-		return resultado;
+		long inicio = Metricas.inicio();
+		try {
+			// Se crea e inicializa la cola que contendrá el resultado
+			ColaPrioridadTDA resultado = new ColaPrioridad();
+			resultado.inicializarCola();
+
+			// Busca el campo dentro del árbol y agrega sus precipitaciones al resultado
+			buscarCampoYAgregar(fijarVersion(), RegistroCampos.normalizar(campo), formatearPeriodo(anio, mes), resultado);
+
+			return resultado;
+		} finally {
+			Metricas.fin(Metricas.Consulta.MEDICIONES_CAMPO_MES, inicio);
+		}
 	}
 
 	/**
@@ -140,12 +240,41 @@ public class Algoritmos {
 	 *         Si no hay registros, devuelve 0.
 	 */
 	public int mesMasLluvioso() {
-		// Arreglo que acumula lluvias por índice de mes (1 a 12)
-		int[] sumasMes = new int[13];
+		long inicio = Metricas.inicio();
+		try {
+			return mesConMayorSuma(lluviasPorMes());
+		} finally {
+			Metricas.fin(Metricas.Consulta.MES_MAS_LLUVIOSO, inicio);
+		}
+	}
 
-		// Recorre el árbol acumulando lluvias por mes en todos los campos
-		acumularLluviasPorMes(arbol, sumasMes);
+	/**
+	 * Acumula la lluvia total de cada mes del año (1 a 12) en todos los campos y años.
+	 * Es el resultado parcial de mesMasLluvioso.
+	 *
+	 * @return Arreglo de 13 posiciones indexado por mes; el índice 0 no se usa.
+	 */
+	public int[] lluviasPorMes() {
+		long inicio = Metricas.inicio();
+		try {
+			// Arreglo que acumula lluvias por índice de mes (1 a 12)
+			int[] sumasMes = new int[13];
+
+			// Recorre el árbol acumulando lluvias por mes en todos los campos
+			acumularLluviasPorMes(fijarVersion(), sumasMes);
+			return sumasMes;
+		} finally {
+			Metricas.fin(Metricas.Consulta.LLUVIAS_POR_MES, inicio);
+		}
+	}
 
+	/**
+	 * Devuelve el mes (1 a 12) con mayor suma acumulada, o 0 si no hay meses.
+	 *
+	 * @param sumasMes Arreglo de 13 posiciones indexado por mes.
+	 * @return Mes con más lluvia.
+	 */
+	static int mesConMayorSuma(int[] sumasMes) {
 		// Busca el mes con mayor cantidad acumulada
 		int mesMax = 0;
 		int maxLluvia = -1;
@@ -170,18 +299,18 @@ public class Algoritmos {
 	 *         Si no hubo registros para ese día, devuelve 0.
 	 */
 	public float promedioLluviaEnUnDia(int anio, int mes, int dia) {
-		// sumaYConteo[0] = suma total de precipitaciones del día
-		// sumaYConteo[1] = cantidad de registros para ese día
-		int[] sumaYConteo = new int[2];
+		long inicio = Metricas.inicio();
+		try {
+			int[] sumaYConteo = sumaYConteoDia(anio, mes, dia);
 
-		// Acumula en sumaYConteo los datos de todos los campos para el día solicitado
-		acumularLluviaEnDia(arbol, formatearPeriodo(anio, mes), dia, sumaYConteo);
+			// Si no hubo registros, retorna 0
+			if (sumaYConteo[1] == 0) return 0;
 
-		// Si no hubo registros, retorna 0
-		if (sumaYConteo[1] == 0) return 0;
-
-		// Retorna el promedio como suma / cantidad de registros
-		return (float) sumaYConteo[0] / sumaYConteo[1];
+			// Retorna el promedio como suma / cantidad de registros
+			return (float) sumaYConteo[0] / sumaYConteo[1];
+		} finally {
+			Metricas.fin(Metricas.Consulta.PROMEDIO_LLUVIA_EN_UN_DIA, inicio);
+		}
 	}
 
 	/**
@@ -192,7 +321,163 @@ public class Algoritmos {
 	 *         Si no hay campos registrados, devuelve una cadena vacía.
 	 */
 	public String campoMasLLuviosoHistoria() {
-		return campoConMayorLluvia(arbol, new String[]{""}, new int[]{-1});
+		long inicio = Metricas.inicio();
+		try {
+			return campoMasLLuviosoHistoria(new int[]{-1});
+		} finally {
+			Metricas.fin(Metricas.Consulta.CAMPO_MAS_LLUVIOSO_HISTORIA, inicio);
+		}
+	}
+
+	/**
+	 * Igual que campoMasLLuviosoHistoria, pero además informa la lluvia total del campo.
+	 * Permite comparar el máximo de varios árboles.
+	 *
+	 * @param maxLluvia Arreglo de una posición; debe venir con -1 y se devuelve con la lluvia del campo.
+	 * @return Nombre del campo con más lluvia, o cadena vacía si no hay campos.
+	 */
+	public String campoMasLLuviosoHistoria(int[] maxLluvia) {
+		long inicio = Metricas.inicio();
+		try {
+			return campoConMayorLluvia(fijarVersion(), new String[]{""}, maxLluvia);
+		} finally {
+			Metricas.fin(Metricas.Consulta.CAMPO_MAS_LLUVIOSO_HISTORIA, inicio);
+		}
+	}
+
+	/**
+	 * Devuelve los k campos con más lluvia en toda la historia, de mayor a menor.
+	 * A igual lluvia se ordenan por nombre, como en el árbol.
+	 *
+	 * @param k Cantidad de campos (si hay menos, se devuelven todos).
+	 * @return Cola con los nombres de los campos.
+	 * @throws IllegalArgumentException si k es negativo.
+	 * Complejidad: O(n log K), leyendo el total de cada campo de su índice por fechas.
+	 */
+	public ColaString camposMasLluviosos(int k) {
+		return camposMasLluviosos(k, null);
+	}
+
+	/**
+	 * Igual que camposMasLluviosos(k), pero además informa la lluvia total de cada campo.
+	 * Permite combinar los resultados de varios árboles.
+	 *
+	 * @param lluvias Arreglo de al menos k posiciones donde se devuelven las lluvias en el orden
+	 *                de la cola, o null.
+	 */
+	public ColaString camposMasLluviosos(int k, int[] lluvias) {
+		long inicio = Metricas.inicio();
+		try {
+			MonticuloCampos monticulo = new MonticuloCampos(k);
+			ofrecerCampos(fijarVersion(), Integer.MIN_VALUE, Integer.MAX_VALUE, false, monticulo);
+			return monticulo.vaciar(lluvias);
+		} finally {
+			Metricas.fin(Metricas.Consulta.CAMPOS_MAS_LLUVIOSOS, inicio);
+		}
+	}
+
+	/**
+	 * Devuelve los k campos con más lluvia en un mes, de mayor a menor.
+	 * Sólo se consideran los campos con mediciones en el mes.
+	 *
+	 * @param anio Año a consultar.
+	 * @param mes  Mes a consultar.
+	 * @param k    Cantidad de campos (si hay menos, se devuelven todos).
+	 * @return Cola con los nombres de los campos.
+	 * @throws IllegalArgumentException si k es negativo.
+	 * Complejidad: O(n log K)
+	 */
+	public ColaString camposMasLluviososMes(int anio, int mes, int k) {
+		return camposMasLluviososMes(anio, mes, k, null);
+	}
+
+	/**
+	 * Igual que camposMasLluviososMes(anio, mes, k), pero además informa la lluvia del mes de cada campo.
+	 *
+	 * @param lluvias Arreglo de al menos k posiciones donde se devuelven las lluvias en el orden
+	 *                de la cola, o null.
+	 */
+	public ColaString camposMasLluviososMes(int anio, int mes, int k, int[] lluvias) {
+		long inicio = Metricas.inicio();
+		try {
+			MonticuloCampos monticulo = new MonticuloCampos(k);
+			ofrecerCampos(fijarVersion(), IndiceFenwick.ordinal(anio, mes, 1), IndiceFenwick.ordinal(anio, mes, 31),
+					true, monticulo);
+			return monticulo.vaciar(lluvias);
+		} finally {
+			Metricas.fin(Metricas.Consulta.CAMPOS_MAS_LLUVIOSOS_MES, inicio);
+		}
+	}
+
+	/**
+	 * Devuelve la suma y la cantidad de mediciones de un día en todos los campos.
+	 * Es el resultado parcial de promedioLluviaEnUnDia.
+	 *
+	 * @param anio Año a consultar.
+	 * @param mes  Mes a consultar.
+	 * @param dia  Día a consultar.
+	 * @return Arreglo {suma, cantidad de registros}.
+	 */
+	public int[] sumaYConteoDia(int anio, int mes, int dia) {
+		long inicio = Metricas.inicio();
+		try {
+			// sumaYConteo[0] = suma total de precipitaciones del día
+			// sumaYConteo[1] = cantidad de registros para ese día
+			int[] sumaYConteo = new int[2];
+
+			if (matriz != null) return matriz.sumaYConteoDia(anio, mes, dia);
+
+			// Acumula en sumaYConteo los datos de todos los campos para el día solicitado
+			acumularLluviaEnDia(fijarVersion(), formatearPeriodo(anio, mes), dia, sumaYConteo);
+			return sumaYConteo;
+		} finally {
+			Metricas.fin(Metricas.Consulta.SUMA_Y_CONTEO_DIA, inicio);
+		}
+	}
+
+	/**
+	 * Devuelve la suma y la cantidad de mediciones de un mes en todos los campos.
+	 * Es la primera pasada de camposConLLuviaMayorPromedio.
+	 *
+	 * @param anio Año a consultar.
+	 * @param mes  Mes a consultar.
+	 * @return Arreglo {suma, cantidad de registros}.
+	 */
+	public int[] sumaYConteoMes(int anio, int mes) {
+		long inicio = Metricas.inicio();
+		try {
+			if (matriz != null) return matriz.sumaYConteo(anio, mes);
+			int[] sumaYConteo = new int[2];
+			acumularLluviasTotales(fijarVersion(), formatearPeriodo(anio, mes), sumaYConteo);
+			return sumaYConteo;
+		} finally {
+			Metricas.fin(Metricas.Consulta.SUMA_Y_CONTEO_MES, inicio);
+		}
+	}
+
+	/**
+	 * Devuelve los campos cuya lluvia en el mes supera un promedio ya calculado.
+	 * Es la segunda pasada de camposConLLuviaMayorPromedio.
+	 *
+	 * @param anio     Año a consultar.
+	 * @param mes      Mes a consultar.
+	 * @param promedio Promedio mensual contra el que se compara.
+	 * @return Cola con los nombres de los campos que lo superan.
+	 */
+	public ColaString camposPorEncimaDe(int anio, int mes, int promedio) {
+		long inicio = Metricas.inicio();
+		try {
+			ColaString resultado = new ColaString();
+			resultado.inicializarCola();
+			if (matriz != null) {
+				agregarCamposPorEncimaDelPromedio(fijarVersion(), matriz.totalesPorCampo(anio, mes), promedio, resultado);
+			} else {
+				agregarCamposPorEncimaDelPromedio(fijarVersion(), formatearPeriodo(anio, mes), promedio, resultado);
+			}
+			return resultado;
+		} finally {
+			Metricas.fin(Metricas.Consulta.CAMPOS_POR_ENCIMA_DE, inicio);
+		}
 	}
 
 	/**
@@ -210,24 +495,622 @@ public class Algoritmos {
 	 * @return Una ColaStringTDA con los nombres de los campos que superan el promedio mensual.
 	 */
 	public ColaString camposConLLuviaMayorPromedio(int anio, int mes) {
-		ColaString resultado = new ColaString();
-		resultado.inicializarCola();
+		long inicio = Metricas.inicio();
+		try {
+			ColaString resultado = new ColaString();
+			resultado.inicializarCola();
+
+			// Ambas pasadas se hacen sobre la misma versión del árbol
+			ABBPrecipitacionesTDA version = fijarVersion();
+
+			if (matriz != null) {
+				// Una sola pasada por la matriz del mes da los totales de cada campo y el promedio
+				int[] totales = matriz.totalesPorCampo(anio, mes);
+				int[] sumaYConteoMatriz = matriz.sumaYConteo(anio, mes);
+				int promedioMatriz = sumaYConteoMatriz[1] > 0 ? sumaYConteoMatriz[0] / sumaYConteoMatriz[1] : 0;
+				agregarCamposPorEncimaDelPromedio(version, totales, promedioMatriz, resultado);
+				return resultado;
+			}
 
-		// Calcula el total de lluvia y la cantidad de mediciones en todos los campos
-		int[] sumaYConteo = new int[2];
-		acumularLluviasTotales(arbol, formatearPeriodo(anio, mes), sumaYConteo);
+			// Calcula el total de lluvia y la cantidad de mediciones en todos los campos
+			int[] sumaYConteo = new int[2];
+			acumularLluviasTotales(version, formatearPeriodo(anio, mes), sumaYConteo);
 
-		// Promedio mensual de lluvia entre todos los campos
-		int promedio = sumaYConteo[1] > 0 ? sumaYConteo[0] / sumaYConteo[1] : 0;
+			// Promedio mensual de lluvia entre todos los campos
+			int promedio = sumaYConteo[1] > 0 ? sumaYConteo[0] / sumaYConteo[1] : 0;
 
-		// Agrega campos cuya suma de precipitaciones supere el promedio
-		agregarCamposPorEncimaDelPromedio(arbol, formatearPeriodo(anio, mes), promedio, resultado);
+			// Agrega campos cuya suma de precipitaciones supere el promedio
+			agregarCamposPorEncimaDelPromedio(version, formatearPeriodo(anio, mes), promedio, resultado);
 
-		return resultado;
+			return resultado;
+		} finally {
+			Metricas.fin(Metricas.Consulta.CAMPOS_CON_LLUVIA_MAYOR_PROMEDIO, inicio);
+		}
+	}
+
+	// ================= CONSULTAS POR RANGO DE CAMPOS =================
+
+	/**
+	 * Devuelve, en orden alfabético, los campos dentro del rango.
+	 *
+	 * @param rango Rango de nombres (por ejemplo RangoCampos.prefijo("Establecimiento X /")).
+	 * @return Cola con los nombres de los campos del rango.
+	 * Complejidad: O(log n + k) en un árbol balanceado, con k campos en el rango.
+	 */
+	public ColaString campos(RangoCampos rango) {
+		long inicio = Metricas.inicio();
+		try {
+			ColaString resultado = new ColaString();
+			resultado.inicializarCola();
+			recorrerRango(fijarVersion(), rango, nodo -> resultado.acolar(nodo.raiz()));
+			return resultado;
+		} finally {
+			Metricas.fin(Metricas.Consulta.CAMPOS_EN_RANGO, inicio);
+		}
+	}
+
+	/**
+	 * Igual que medicionesMes, considerando sólo los campos del rango.
+	 *
+	 * @param anio  Año a consultar.
+	 * @param mes   Mes a consultar.
+	 * @param rango Rango de nombres de campo.
+	 * @return Cola de prioridad con los promedios de precipitaciones por día.
+	 * Complejidad: O(log n + k) nodos visitados, con k campos en el rango.
+	 */
+	public ColaPrioridadTDA medicionesMes(int anio, int mes, RangoCampos rango) {
+		long inicio = Metricas.inicio();
+		try {
+			int[] sumas = new int[32];
+			int[] conteos = new int[32];
+			String periodo = formatearPeriodo(anio, mes);
+			recorrerRango(fijarVersion(), rango, nodo -> sumarDiasDelCampo(nodo, periodo, sumas, conteos));
+			return promediosPorDia(sumas, conteos);
+		} finally {
+			Metricas.fin(Metricas.Consulta.MEDICIONES_MES_RANGO, inicio);
+		}
+	}
+
+	/**
+	 * Igual que camposConLLuviaMayorPromedio, considerando sólo los campos del rango:
+	 * el promedio se calcula con las mediciones de esos campos. El resultado queda en orden alfabético.
+	 *
+	 * @param anio  Año del período a analizar.
+	 * @param mes   Mes del período a analizar (1 a 12).
+	 * @param rango Rango de nombres de campo.
+	 * @return Cola con los nombres de los campos del rango que superan el promedio mensual del rango.
+	 * Complejidad: O(log n + k) nodos visitados por pasada, con k campos en el rango.
+	 */
+	public ColaString camposConLLuviaMayorPromedio(int anio, int mes, RangoCampos rango) {
+		long inicio = Metricas.inicio();
+		try {
+			ColaString resultado = new ColaString();
+			resultado.inicializarCola();
+			ABBPrecipitacionesTDA version = fijarVersion();
+			String periodo = formatearPeriodo(anio, mes);
+
+			int[] sumaYConteo = new int[2];
+			recorrerRango(version, rango, nodo -> sumarMesDelCampo(nodo, periodo, sumaYConteo));
+			int promedio = sumaYConteo[1] > 0 ? sumaYConteo[0] / sumaYConteo[1] : 0;
+
+			int[] suma = new int[2];
+			recorrerRango(version, rango, nodo -> {
+				suma[0] = 0;
+				sumarMesDelCampo(nodo, periodo, suma);
+				if (suma[0] > promedio) {
+					resultado.acolar(nodo.raiz());
+				}
+			});
+			return resultado;
+		} finally {
+			Metricas.fin(Metricas.Consulta.CAMPOS_CON_LLUVIA_MAYOR_PROMEDIO_RANGO, inicio);
+		}
+	}
+
+	// ================= CONSULTAS ENTRE FECHAS =================
+
+	/**
+	 * Devuelve la lluvia total y la cantidad de mediciones de un campo entre dos fechas, ambas incluidas.
+	 * Usa el índice acumulado de cada campo, por lo que no recorre los meses intermedios.
+	 *
+	 * @param campo Nombre del campo.
+	 * @return Arreglo {suma, conteo}; {0, 0} si el campo no existe o no tiene mediciones en el intervalo.
+	 * Complejidad: O(log n + log D) con ArbolPrecipitaciones, siendo D los días registrados del campo.
+	 */
+	public int[] sumaYConteoCampoEntre(String campo, int anioDesde, int mesDesde, int diaDesde,
+									   int anioHasta, int mesHasta, int diaHasta) {
+		long inicio = Metricas.inicio();
+		try {
+			ABBPrecipitacionesTDA nodo = buscarCampo(fijarVersion(), campo, RegistroCampos.normalizar(campo));
+			if (nodo == null) return new int[2];
+			return nodo.sumaYConteoEntre(IndiceFenwick.ordinal(anioDesde, mesDesde, diaDesde),
+					IndiceFenwick.ordinal(anioHasta, mesHasta, diaHasta));
+		} finally {
+			Metricas.fin(Metricas.Consulta.SUMA_Y_CONTEO_CAMPO_ENTRE, inicio);
+		}
+	}
+
+	/**
+	 * Devuelve la lluvia total y la cantidad de mediciones entre dos fechas, ambas incluidas,
+	 * sumando todos los campos.
+	 *
+	 * @return Arreglo {suma, conteo}.
+	 * Complejidad: O(n log D) con ArbolPrecipitaciones.
+	 */
+	public int[] sumaYConteoEntre(int anioDesde, int mesDesde, int diaDesde, int anioHasta, int mesHasta, int diaHasta) {
+		return sumaYConteoEntre(RangoCampos.todos(), anioDesde, mesDesde, diaDesde, anioHasta, mesHasta, diaHasta);
+	}
+
+	/**
+	 * Igual que la anterior, sumando sólo los campos del rango.
+	 *
+	 * @return Arreglo {suma, conteo}.
+	 * Complejidad: O((log n + k) log D), con k campos en el rango.
+	 */
+	public int[] sumaYConteoEntre(RangoCampos rango, int anioDesde, int mesDesde, int diaDesde,
+								  int anioHasta, int mesHasta, int diaHasta) {
+		long inicio = Metricas.inicio();
+		try {
+			int desde = IndiceFenwick.ordinal(anioDesde, mesDesde, diaDesde);
+			int hasta = IndiceFenwick.ordinal(anioHasta, mesHasta, diaHasta);
+			int[] total = new int[2];
+			recorrerRango(fijarVersion(), rango, nodo -> {
+				int[] parcial = nodo.sumaYConteoEntre(desde, hasta);
+				total[0] += parcial[0];
+				total[1] += parcial[1];
+			});
+			return total;
+		} finally {
+			Metricas.fin(Metricas.Consulta.SUMA_Y_CONTEO_ENTRE, inicio);
+		}
+	}
+
+	// ================= VENTANAS MÓVILES =================
+
+	/**
+	 * Devuelve la lluvia de un campo en los últimos 7, 30 o 90 días, contando hasta "hoy" (incluido):
+	 * la fecha más reciente agregada con agregarMedicion desde que se creó este Algoritmos, aunque
+	 * esa medición se haya eliminado después. Si el árbol ya traía mediciones más recientes, cuenta
+	 * la más reciente que tenga al hacer la primera consulta de ventanas.
+	 * La primera consulta de ventanas carga las mediciones existentes; desde entonces las sumas
+	 * se actualizan con cada agregarMedicion, eliminarMedicion y eliminarCampo. El resultado no
+	 * depende de cuándo se hizo esa primera consulta.
+	 *
+	 * @param campo Nombre del campo.
+	 * @param dias  Largo de la ventana: 7, 30 o 90.
+	 * @return Milímetros en la ventana; 0 si el campo no tiene mediciones.
+	 * @throws IllegalArgumentException si dias no es 7, 30 ni 90.
+	 * Complejidad: O(1) una vez cargadas las ventanas.
+	 */
+	public int lluviaUltimosDias(String campo, int dias) {
+		long inicio = Metricas.inicio();
+		try {
+			return ventanas().lluvia(registro.buscar(campo), dias);
+		} finally {
+			Metricas.fin(Metricas.Consulta.LLUVIA_ULTIMOS_DIAS, inicio);
+		}
+	}
+
+	/**
+	 * Devuelve los campos con menos de cierta lluvia en los últimos 7, 30 o 90 días,
+	 * de menor a mayor lluvia. Pensado para decidir qué campos regar.
+	 *
+	 * @param milimetros Umbral (excluido).
+	 * @param dias       Largo de la ventana: 7, 30 o 90.
+	 * @return Cola con los nombres de los campos por debajo del umbral.
+	 * @throws IllegalArgumentException si dias no es 7, 30 ni 90.
+	 * Complejidad: O(log n + k), con k campos en el resultado.
+	 */
+	public ColaString camposConMenosDe(int milimetros, int dias) {
+		long inicio = Metricas.inicio();
+		try {
+			ColaString resultado = new ColaString();
+			resultado.inicializarCola();
+			for (int id : ventanas().camposConMenosDe(milimetros, dias)) {
+				resultado.acolar(registro.nombre(id));
+			}
+			return resultado;
+		} finally {
+			Metricas.fin(Metricas.Consulta.CAMPOS_CON_MENOS_DE, inicio);
+		}
+	}
+
+	// ================= MATRIZ MENSUAL =================
+
+	/**
+	 * Activa la copia por columnas de las mediciones (MatrizMensual), cargándola con los datos actuales.
+	 * Desde entonces se actualiza con cada agregarMedicion, eliminarMedicion y eliminarCampo, y
+	 * sumasYConteosMes, medicionesMes, sumaYConteoMes, sumaYConteoDia, promedioLluviaEnUnDia,
+	 * camposPorEncimaDe y camposConLLuviaMayorPromedio recorren arreglos contiguos del mes en lugar
+	 * de las listas de cada campo. Las sumas usan la Vector API si la JVM se inició con
+	 * --add-modules jdk.incubator.vector (ver MatrizMensual.reducciones()).
+	 * Con la matriz activa esas consultas ven la última escritura, no una versión fija del árbol:
+	 * no deben correr en paralelo con escrituras (AlgoritmosParticionados ya lo garantiza con sus locks).
+	 * Llamarlo de nuevo no hace nada.
+	 * Complejidad: O(total de mediciones).
+	 */
+	public void activarMatrizMensual() {
+		if (matriz != null) return;
+		MatrizMensual nueva = new MatrizMensual();
+		nueva.inicializar();
+		cargarMatriz(fijarVersion(), nueva);
+		matriz = nueva;
+	}
+
+	// ================= CUANTILES POR MES =================
+
+	/**
+	 * Estima un cuantil de la lluvia diaria de un mes considerando las mediciones de todos los campos
+	 * (por ejemplo q = 0.5 para la mediana o q = 0.9 para el percentil 90).
+	 * La primera consulta arma un bosquejo por período con las mediciones existentes; desde entonces
+	 * se actualizan con cada agregarMedicion, eliminarMedicion y eliminarCampo.
+	 *
+	 * @param anio Año a consultar.
+	 * @param mes  Mes a consultar.
+	 * @param q    Cuantil entre 0 y 1.
+	 * @return Lluvia diaria estimada, a lo sumo a BosquejoCuantiles.ERROR · v + 0.5 mm del cuantil exacto v;
+	 *         0 si no hay mediciones.
+	 * @throws IllegalArgumentException si q no está entre 0 y 1.
+	 * Complejidad: O(tamaño del bosquejo), independiente de la cantidad de mediciones.
+	 */
+	public int cuantilMes(int anio, int mes, double q) {
+		long inicio = Metricas.inicio();
+		try {
+			BosquejoCuantiles bosquejo = bosquejos().get(formatearPeriodo(anio, mes));
+			if (bosquejo == null) {
+				if (q < 0 || q > 1) throw new IllegalArgumentException("Cuantil fuera de [0, 1]: " + q);
+				return 0;
+			}
+			return bosquejo.cuantil(q);
+		} finally {
+			Metricas.fin(Metricas.Consulta.CUANTIL_MES, inicio);
+		}
+	}
+
+	/**
+	 * Devuelve una copia del bosquejo de lluvias diarias del mes.
+	 * Es el resultado parcial de cuantilMes: los de varios árboles se combinan con BosquejoCuantiles.combinar.
+	 *
+	 * @return Bosquejo del mes (vacío si no hay mediciones).
+	 */
+	public BosquejoCuantiles bosquejoMes(int anio, int mes) {
+		long inicio = Metricas.inicio();
+		try {
+			BosquejoCuantiles bosquejo = bosquejos().get(formatearPeriodo(anio, mes));
+			if (bosquejo != null) return bosquejo.copia();
+			BosquejoCuantiles vacio = new BosquejoCuantiles();
+			vacio.inicializar();
+			return vacio;
+		} finally {
+			Metricas.fin(Metricas.Consulta.BOSQUEJO_MES, inicio);
+		}
+	}
+
+	// ================= RETENCIÓN =================
+
+	/**
+	 * Resume en totales mensuales las mediciones de todos los campos anteriores al 1 de enero de anio
+	 * y descarta su detalle diario (ver ABBPrecipitacionesTDA.resumirAntesDe). Para conservar el
+	 * detalle de los últimos N años: resumirAntesDe(anioActual - N + 1).
+	 * Funcionamiento:
+	 * - mesMasLluvioso, campoMasLLuviosoHistoria y las consultas por fechas (camposMasLluviosos,
+	 *   sumaYConteoEntre, ...) siguen contando los meses resumidos.
+	 * - Las consultas por día (medicionesMes, cuantilMes, la matriz mensual) ya no los ven: los
+	 *   bosquejos y la matriz descuentan lo resumido para seguir coincidiendo con el árbol.
+	 * - Las ventanas de lluvia reciente no se tocan.
+	 *
+	 * @param anio Primer año que conserva el detalle diario.
+	 * Complejidad: O(n log n + P · 31), con P los períodos resumidos.
+	 */
+	public void resumirAntesDe(int anio) {
+		long inicio = Metricas.inicio();
+		try {
+			ColaString campos = campos(RangoCampos.todos());
+			while (!campos.colaVacia()) {
+				resumirAntesDe(campos.primero(), anio);
+				campos.desacolar();
+			}
+		} finally {
+			Metricas.fin(Metricas.Consulta.RESUMIR_ANTES_DE, inicio);
+		}
+	}
+
+	/**
+	 * Igual que resumirAntesDe(int), para un solo campo, con el nombre tal como lo devuelve campos().
+	 * Si el campo no existe no hace nada.
+	 * AlgoritmosParticionados lo usa para resumir de a pocos campos sin retener el lock.
+	 */
+	public void resumirAntesDe(String campo, int anio) {
+		long inicio = Metricas.inicio();
+		try {
+			if (bosquejos != null) {
+				ABBPrecipitacionesTDA nodo = buscarCampo(arbol, campo, RegistroCampos.normalizar(campo));
+				if (nodo != null) {
+					ColaStringTDA periodos = nodo.periodosEntre(0, 1, anio - 1, 12);
+					while (!periodos.colaVacia()) {
+						String periodo = periodos.primero();
+						ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
+						while (!datos.colaVacia()) {
+							bosquejoDe(periodo).quitar(datos.primero());
+							datos.desacolar();
+						}
+						periodos.desacolar();
+					}
+				}
+			}
+			int fila = matriz != null ? registro.buscar(campo) : -1;
+			arbol.resumirAntesDe(campo, anio);
+			if (fila >= 0) {
+				matriz.eliminarCampoAntesDe(fila, anio * 12);
+			}
+		} finally {
+			Metricas.fin(Metricas.Consulta.RESUMIR_ANTES_DE, inicio);
+		}
 	}
 
 	// ================= MÉTODOS PRIVADOS =================
 
+	/**
+	 * Acción a aplicar sobre cada medición de un campo.
+	 */
+	private interface visitaMedicion {
+		void visitar(String periodo, int valor);
+	}
+
+	/**
+	 * Aplica la acción a cada medición (período y milímetros del día) del campo raíz de nodo.
+	 */
+	private void recorrerMediciones(ABBPrecipitacionesTDA nodo, visitaMedicion visita) {
+		ColaStringTDA periodos = nodo.periodos();
+		while (!periodos.colaVacia()) {
+			String periodo = periodos.primero();
+			ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
+			while (!datos.colaVacia()) {
+				visita.visitar(periodo, datos.primero());
+				datos.desacolar();
+			}
+			periodos.desacolar();
+		}
+	}
+
+	/**
+	 * Devuelve los bosquejos por período, armándolos con todas las mediciones del árbol la primera vez.
+	 * Es synchronized porque AlgoritmosParticionados puede consultar la misma partición desde
+	 * varios hilos bajo el lock de lectura.
+	 */
+	private synchronized HashMap<String, BosquejoCuantiles> bosquejos() {
+		if (bosquejos == null) {
+			bosquejos = new HashMap<>();
+			cargarBosquejos(fijarVersion());
+		}
+		return bosquejos;
+	}
+
+	private void cargarBosquejos(ABBPrecipitacionesTDA nodo) {
+		if (nodo.arbolVacio()) return;
+		Metricas.nodo();
+		recorrerMediciones(nodo, (periodo, valor) -> bosquejoDe(periodo).agregar(valor));
+		cargarBosquejos(nodo.hijoIzq());
+		cargarBosquejos(nodo.hijoDer());
+	}
+
+	/**
+	 * Devuelve el bosquejo del período, creándolo vacío si no existe.
+	 */
+	private BosquejoCuantiles bosquejoDe(String periodo) {
+		BosquejoCuantiles bosquejo = bosquejos.get(periodo);
+		if (bosquejo == null) {
+			bosquejo = new BosquejoCuantiles();
+			bosquejo.inicializar();
+			bosquejos.put(periodo, bosquejo);
+		}
+		return bosquejo;
+	}
+
+	private void cargarMatriz(ABBPrecipitacionesTDA nodo, MatrizMensual destino) {
+		if (nodo.arbolVacio()) return;
+		Metricas.nodo();
+		if (nodo.raizEliminada()) { // Una lápida no tiene mediciones ni ocupa un id
+			cargarMatriz(nodo.hijoIzq(), destino);
+			cargarMatriz(nodo.hijoDer(), destino);
+			return;
+		}
+		int id = registro.registrar(nodo.raiz());
+		ColaStringTDA periodos = nodo.periodos();
+		while (!periodos.colaVacia()) {
+			String periodo = periodos.primero();
+			int inicioMes = IndiceFenwick.ordinalPeriodo(periodo);
+			if (inicioMes >= 0) {
+				int indiceMes = inicioMes / 31; // 31 posiciones por mes: anio * 12 + mes - 1
+				int anio = indiceMes / 12;
+				int mes = indiceMes % 12 + 1;
+				ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
+				while (!datos.colaVacia()) {
+					destino.agregar(id, anio, mes, datos.prioridad(), datos.primero());
+					datos.desacolar();
+				}
+			}
+			periodos.desacolar();
+		}
+		cargarMatriz(nodo.hijoIzq(), destino);
+		cargarMatriz(nodo.hijoDer(), destino);
+	}
+
+	/**
+	 * Devuelve el nombre del campo que elimina arbol.eliminar(campo): el primer nodo con el mismo
+	 * nombre sin distinguir mayúsculas en el camino desde la raíz. Las lápidas no cuentan como ese
+	 * nodo: eliminar las saltea.
+	 *
+	 * @return El nombre del nodo, o null si no hay ninguno.
+	 */
+	private String nombreEnArbol(String campo) {
+		String clave = RegistroCampos.normalizar(campo);
+		ABBPrecipitacionesTDA nodo = arbol;
+		while (!nodo.arbolVacio()) {
+			int comparacion = clave.compareTo(nodo.claveRaiz());
+			if (comparacion == 0 && !nodo.raizEliminada()) return nodo.raiz();
+			nodo = comparacion < 0 ? nodo.hijoIzq() : nodo.hijoDer();
+		}
+		return null;
+	}
+
+	/**
+	 * Igual que agregarCamposPorEncimaDelPromedio, pero con la lluvia del mes de cada campo
+	 * ya calculada en la matriz mensual (indexada por id de campo). Conserva el orden del recorrido.
+	 */
+	private void agregarCamposPorEncimaDelPromedio(ABBPrecipitacionesTDA nodo, int[] totales, int promedio,
+			ColaStringTDA resultado) {
+		if (!nodo.arbolVacio()) {
+			Metricas.nodo();
+			int id = registro.buscar(nodo.raiz());
+			int suma = id >= 0 && id < totales.length ? totales[id] : 0;
+			if (suma > promedio && !nodo.raizEliminada()) {
+				resultado.acolar(nodo.raiz());
+			}
+			agregarCamposPorEncimaDelPromedio(nodo.hijoIzq(), totales, promedio, resultado);
+			agregarCamposPorEncimaDelPromedio(nodo.hijoDer(), totales, promedio, resultado);
+		}
+	}
+
+	/**
+	 * Devuelve {milímetros, 1} si el campo tiene medición ese día, o {0, 0} si no.
+	 */
+	private int[] valorDelDia(String campo, int anio, int mes, int dia) {
+		ABBPrecipitacionesTDA nodo = buscarCampo(arbol, campo, RegistroCampos.normalizar(campo));
+		if (nodo == null) return new int[2];
+		int ordinal = IndiceFenwick.ordinal(anio, mes, dia);
+		return nodo.sumaYConteoEntre(ordinal, ordinal);
+	}
+
+	/**
+	 * Devuelve las ventanas móviles, cargándolas con todas las mediciones del árbol la primera vez.
+	 * "Hoy" arranca en la fecha más reciente agregada hasta entonces, como si las ventanas hubieran
+	 * existido desde la construcción. Es synchronized por la misma razón que bosquejos().
+	 */
+	private synchronized VentanasLluvia ventanas() {
+		if (ventanas == null) {
+			VentanasLluvia nuevas = new VentanasLluvia();
+			nuevas.inicializar();
+			nuevas.avanzarHasta(ultimoDia);
+			cargarVentanas(fijarVersion(), nuevas);
+			ventanas = nuevas;
+		}
+		return ventanas;
+	}
+
+	/**
+	 * Registra en las ventanas todas las mediciones del subárbol. El orden no importa:
+	 * las mediciones anteriores a la ventana más larga se descartan.
+	 */
+	private void cargarVentanas(ABBPrecipitacionesTDA nodo, VentanasLluvia destino) {
+		if (nodo.arbolVacio()) return;
+		Metricas.nodo();
+		if (nodo.raizEliminada()) { // Una lápida no tiene mediciones ni ocupa un id
+			cargarVentanas(nodo.hijoIzq(), destino);
+			cargarVentanas(nodo.hijoDer(), destino);
+			return;
+		}
+		int id = registro.registrar(nodo.raiz());
+		destino.agregarCampo(id);
+		ColaStringTDA periodos = nodo.periodos();
+		while (!periodos.colaVacia()) {
+			String periodo = periodos.primero();
+			ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
+			while (!datos.colaVacia()) {
+				int dia = VentanasLluvia.diaAbsoluto(periodo, datos.prioridad());
+				if (dia != Integer.MIN_VALUE) {
+					destino.agregar(id, dia, datos.primero());
+				}
+				datos.desacolar();
+			}
+			periodos.desacolar();
+		}
+		cargarVentanas(nodo.hijoIzq(), destino);
+		cargarVentanas(nodo.hijoDer(), destino);
+	}
+
+	/**
+	 * Acción a aplicar sobre cada campo de un recorrido por rango.
+	 */
+	private interface visitaCampo {
+		void visitar(ABBPrecipitacionesTDA nodo);
+	}
+
+	/**
+	 * Recorre en orden (izquierda, actual, derecha) los campos del rango, sin bajar
+	 * a los subárboles que quedan completamente fuera de él.
+	 *
+	 * @param nodo  Nodo actual del árbol.
+	 * @param rango Rango de nombres de campo.
+	 * @param visita Acción a aplicar a cada campo del rango.
+	 */
+	private void recorrerRango(ABBPrecipitacionesTDA nodo, RangoCampos rango, visitaCampo visita) {
+		if (nodo.arbolVacio()) return;
+		Metricas.nodo();
+		String clave = nodo.claveRaiz();
+		if (rango.bajarIzquierda(clave)) {
+			recorrerRango(nodo.hijoIzq(), rango, visita);
+		}
+		if (rango.contiene(clave) && !nodo.raizEliminada()) {
+			visita.visitar(nodo);
+		}
+		if (rango.bajarDerecha(clave)) {
+			recorrerRango(nodo.hijoDer(), rango, visita);
+		}
+	}
+
+	/**
+	 * Suma las precipitaciones de cada día del período del campo raíz de nodo y cuenta sus mediciones.
+	 * Si el campo no tiene el período no suma nada.
+	 */
+	private void sumarDiasDelCampo(ABBPrecipitacionesTDA nodo, String periodo, int[] sumas, int[] conteos) {
+		try {
+			ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
+			while (!datos.colaVacia()) {
+				int dia = datos.prioridad();
+				if (dia >= 1 && dia <= 31) {
+					sumas[dia] += datos.primero();
+					conteos[dia]++;
+				}
+				datos.desacolar();
+			}
+		} catch (IllegalStateException e) {
+			// El campo no tiene datos para el período
+		}
+	}
+
+	/**
+	 * Suma en sumaYConteo[0] las precipitaciones del período del campo raíz de nodo
+	 * y en sumaYConteo[1] la cantidad de mediciones.
+	 */
+	private void sumarMesDelCampo(ABBPrecipitacionesTDA nodo, String periodo, int[] sumaYConteo) {
+		try {
+			ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
+			while (!datos.colaVacia()) {
+				sumaYConteo[0] += datos.primero();
+				sumaYConteo[1]++;
+				datos.desacolar();
+			}
+		} catch (IllegalStateException e) {
+			// El campo no tiene datos para el período
+		}
+	}
+
+	/**
+	 * Devuelve el árbol sobre el que se resuelve una consulta.
+	 * Si el árbol admite versiones, se fija la vigente para que todas las pasadas de la
+	 * consulta vean el mismo estado aunque se registren mediciones en paralelo.
+	 * En caso contrario se trabaja directamente sobre el árbol.
+	 *
+	 * @return Árbol (o versión fija del árbol) a recorrer.
+	 */
+	private ABBPrecipitacionesTDA fijarVersion() {
+		if (arbol instanceof ABBPrecipitacionesVersionadoTDA) {
+			return ((ABBPrecipitacionesVersionadoTDA) arbol).instantanea();
+		}
+		return arbol;
+	}
+
 	/**
 	 * Verifica si un campo específico existe en el árbol de precipitaciones.
 	 * La búsqueda se realiza de forma recursiva, respetando la lógica de un árbol
@@ -235,23 +1118,41 @@ public class Algoritmos {
 	 *
 	 * @param nodo  Nodo actual del árbol (punto de entrada o subárbol a evaluar).
 	 * @param campo Nombre del campo a buscar.
+	 * @param clave Clave normalizada del campo (RegistroCampos.normalizar), calculada una sola vez.
 	 * @return true si el campo existe en el árbol; false en caso contrario.
 	 */
-	private boolean existeCampo(ABBPrecipitacionesTDA nodo, String campo) {
+	private boolean existeCampo(ABBPrecipitacionesTDA nodo, String campo, String clave) {
 		if (nodo.arbolVacio()) return false; // Caso base: subárbol vacío
+		Metricas.nodo();
 
-		// Si el campo actual es igual al buscado, lo encontró
-		if (nodo.raiz().equals(campo)) return true;
+		// Si el campo actual es igual al buscado, lo encontró (una lápida no cuenta: se sigue buscando)
+		String actual = nodo.raiz();
+		if (actual.equals(campo) && !nodo.raizEliminada()) return true;
 
 		// Si el nombre buscado es menor al actual, busca en subárbol izquierdo
-		if (campo.compareToIgnoreCase(nodo.raiz()) < 0) {
-			return existeCampo(nodo.hijoIzq(), campo);
+		if (clave.compareTo(nodo.claveRaiz()) < 0) {
+			return existeCampo(nodo.hijoIzq(), campo, clave);
 		} else {
 			// Si es mayor, busca en subárbol derecho
-			return existeCampo(nodo.hijoDer(), campo);
+			return existeCampo(nodo.hijoDer(), campo, clave);
 		}
 	}
 
+	/**
+	 * Busca un campo igual que existeCampo y devuelve el subárbol cuya raíz es ese campo.
+	 *
+	 * @return El subárbol del campo, o null si no existe.
+	 */
+	private ABBPrecipitacionesTDA buscarCampo(ABBPrecipitacionesTDA nodo, String campo, String clave) {
+		while (!nodo.arbolVacio()) {
+			Metricas.nodo();
+			String actual = nodo.raiz();
+			if (actual.equals(campo) && !nodo.raizEliminada()) return nodo;
+			nodo = clave.compareTo(nodo.claveRaiz()) < 0 ? nodo.hijoIzq() : nodo.hijoDer();
+		}
+		return null;
+	}
+
 	/**
 	 * Convierte un año y un mes en un string con el formato "YYYY/MM".
 	 * Si el mes tiene un solo dígito, se antepone un cero para mantener
@@ -269,16 +1170,16 @@ public class Algoritmos {
 	}
 
 
+	private static final int[] DIAS_POR_MES = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+
 	private boolean fechaValida(int anio, int mes, int dia) {
 		if (mes < 1 || mes > 12 || dia < 1) return false;
 
-		int[] diasPorMes = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
-
 		// Año bisiesto
 		if (mes == 2 && ((anio % 4 == 0 && anio % 100 != 0) || anio % 400 == 0)) {
 			return dia <= 29;
 		}
-		return dia <= diasPorMes[mes - 1];
+		return dia <= DIAS_POR_MES[mes - 1];
 	}
 
 	/**
@@ -298,6 +1199,7 @@ public class Algoritmos {
 	 */
 	private void agregarMedicionesMes(ABBPrecipitacionesTDA nodo, String periodo, int[] sumas, int[] conteos) {
 		if (!nodo.arbolVacio()) {
+			Metricas.nodo();
 			try {
 				ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
 				while (!datos.colaVacia()) {
@@ -338,6 +1240,7 @@ public class Algoritmos {
 	 */
 	private void acumularLluviasPorMes(ABBPrecipitacionesTDA nodo, int[] sumasMes) {
 		if (!nodo.arbolVacio()) {
+			Metricas.nodo();
 			ColaStringTDA periodos = nodo.periodos();
 			while (!periodos.colaVacia()) {
 				String periodo = periodos.primero();
@@ -358,6 +1261,10 @@ public class Algoritmos {
 				}
 				periodos.desacolar();
 			}
+			int[] resumidos = nodo.mesesResumidos();
+			for (int i = 0; i < resumidos.length; i += 3) {
+				sumasMes[resumidos[i] % 12 + 1] += resumidos[i + 1];
+			}
 			acumularLluviasPorMes(nodo.hijoIzq(), sumasMes);
 			acumularLluviasPorMes(nodo.hijoDer(), sumasMes);
 		}
@@ -383,6 +1290,7 @@ public class Algoritmos {
 	 */
 	private void acumularLluviaEnDia(ABBPrecipitacionesTDA nodo, String periodo, int dia, int[] sumaYConteo) {
 		if (nodo != null && !nodo.arbolVacio()) {
+			Metricas.nodo();
 			if (existePeriodo(nodo, periodo)) {
 				ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
 				while (!datos.colaVacia()) {
@@ -418,6 +1326,7 @@ public class Algoritmos {
 	 */
 	private String campoConMayorLluvia(ABBPrecipitacionesTDA nodo, String[] campoMax, int[] maxLluvia) {
 		if (!nodo.arbolVacio()) {
+			Metricas.nodo();
 			int suma = 0;
 			ColaStringTDA periodos = nodo.periodos();
 			while (!periodos.colaVacia()) {
@@ -428,7 +1337,11 @@ public class Algoritmos {
 				}
 				periodos.desacolar();
 			}
-			if (suma > maxLluvia[0]) {
+			int[] resumidos = nodo.mesesResumidos();
+			for (int i = 0; i < resumidos.length; i += 3) {
+				suma += resumidos[i + 1];
+			}
+			if (suma > maxLluvia[0] && !nodo.raizEliminada()) {
 				maxLluvia[0] = suma;
 				campoMax[0] = nodo.raiz();
 			}
@@ -439,6 +1352,23 @@ public class Algoritmos {
 	}
 
 
+	/**
+	 * Ofrece al montículo cada campo con su lluvia entre dos ordinales de fecha.
+	 *
+	 * @param soloConDatos Si es true, se omiten los campos sin mediciones en el intervalo.
+	 */
+	private void ofrecerCampos(ABBPrecipitacionesTDA nodo, int desde, int hasta, boolean soloConDatos,
+			MonticuloCampos monticulo) {
+		if (nodo.arbolVacio()) return;
+		Metricas.nodo();
+		int[] sumaYConteo = nodo.sumaYConteoEntre(desde, hasta);
+		if (!nodo.raizEliminada() && (!soloConDatos || sumaYConteo[1] > 0)) {
+			monticulo.ofrecer(nodo.raiz(), sumaYConteo[0]);
+		}
+		ofrecerCampos(nodo.hijoIzq(), desde, hasta, soloConDatos, monticulo);
+		ofrecerCampos(nodo.hijoDer(), desde, hasta, soloConDatos, monticulo);
+	}
+
 	/**
 	 * Recorre recursivamente todo el árbol binario de campos para acumular la cantidad total
 	 * de lluvia registrada en un período específico (por ejemplo, "2024/03") y contar
@@ -456,6 +1386,7 @@ public class Algoritmos {
 	 */
 	private void acumularLluviasTotales(ABBPrecipitacionesTDA nodo, String periodo, int[] sumaYConteo) {
 		if (!nodo.arbolVacio()) {
+			Metricas.nodo();
 			try {
 				ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
 				while (!datos.colaVacia()) {
@@ -492,6 +1423,7 @@ public class Algoritmos {
 	 */
 	private void agregarCamposPorEncimaDelPromedio(ABBPrecipitacionesTDA nodo, String periodo, int promedio, ColaStringTDA resultado) {
 		if (!nodo.arbolVacio()) {
+			Metricas.nodo();
 			int suma = 0;
 			try {
 				ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
@@ -503,7 +1435,7 @@ public class Algoritmos {
 				// El nodo no tiene datos para el período. Se omite sin afectar el flujo.
 			}
 
-			if (suma > promedio) {
+			if (suma > promedio && !nodo.raizEliminada()) {
 				resultado.acolar(nodo.raiz()); // Agregar campo si supera el promedio
 			}
 
@@ -526,16 +1458,16 @@ public class Algoritmos {
 	 * en un mes determinado, respetando el orden por día.
 	 *
 	 * @param nodo      Nodo actual del árbol de precipitaciones.
-	 * @param campo     Nombre del campo a buscar.
+	 * @param clave     Clave normalizada del campo a buscar (RegistroCampos.normalizar).
 	 * @param periodo   Período en formato "YYYY/MM" cuyas precipitaciones se desean extraer.
 	 * @param resultado Cola de prioridad donde se acolan los valores encontrados (día como prioridad).
 	 */
-	private void buscarCampoYAgregar(ABBPrecipitacionesTDA nodo, String campo, String periodo, ColaPrioridadTDA resultado) {
+	private void buscarCampoYAgregar(ABBPrecipitacionesTDA nodo, String clave, String periodo, ColaPrioridadTDA resultado) {
 		if (!nodo.arbolVacio()) {
-			String actual = nodo.raiz();
-			int comparacion = campo.compareToIgnoreCase(actual);
+			Metricas.nodo();
+			int comparacion = clave.compareTo(nodo.claveRaiz());
 
-			if (comparacion == 0) {
+			if (comparacion == 0 && !nodo.raizEliminada()) {
 				// Campo encontrado: agregar precipitaciones del período
 				ColaPrioridadTDA datos = nodo.precipitaciones(periodo);
 				while (!datos.colaVacia()) {
@@ -545,9 +1477,9 @@ public class Algoritmos {
 					datos.desacolar();
 				}
 			} else if (comparacion < 0) {
-				buscarCampoYAgregar(nodo.hijoIzq(), campo, periodo, resultado);
+				buscarCampoYAgregar(nodo.hijoIzq(), clave, periodo, resultado);
 			} else {
-				buscarCampoYAgregar(nodo.hijoDer(), campo, periodo, resultado);
+				buscarCampoYAgregar(nodo.hijoDer(), clave, periodo, resultado);
 			}
 		}
 	}
@@ -555,20 +1487,29 @@ public class Algoritmos {
 
 	/**
 	 * Verifica si un nodo del árbol contiene un período específico registrado.
-	 * Este metodo recorre la cola de períodos almacenados en el nodo y compara
-	 * cada uno con el período buscado. Si encuentra coincidencia, devuelve true.
-	 * En caso contrario, continúa hasta agotar la cola.
+	 * Para un período "YYYY/MM" pide al nodo sólo los períodos de ese mes (periodosEntre), que
+	 * el árbol ubica sin recorrer los demás; cualquier otro texto se busca recorriendo la cola de
+	 * períodos y comparando cada uno con el buscado.
 	 * @param nodo Nodo del árbol de precipitaciones (puede ser raíz o subnodo).
 	 * @param periodo Período a buscar, expresado como string con formato "AAAA/MM".
 	 * @return true si el período existe en el nodo, false en caso contrario o si el nodo es nulo o está vacío.
-	 * Complejidad temporal: O(n), siendo n la cantidad de períodos registrados en el nodo.
+	 * Complejidad temporal: O(log n) para un período "YYYY/MM", O(n) para otro texto,
+	 * siendo n la cantidad de períodos registrados en el nodo.
 	 */
 	private boolean existePeriodo(ABBPrecipitacionesTDA nodo, String periodo) {
 		if (nodo == null || nodo.arbolVacio())
 			return false;
 
-		ColaStringTDA periodos = nodo.periodos();
+		int inicioMes = IndiceFenwick.ordinalPeriodo(periodo);
+		ColaStringTDA periodos;
+		if (inicioMes >= 0) {
+			int indiceMes = inicioMes / 31; // 31 posiciones por mes: anio * 12 + mes - 1
+			periodos = nodo.periodosEntre(indiceMes / 12, indiceMes % 12 + 1, indiceMes / 12, indiceMes % 12 + 1);
+		} else {
+			periodos = nodo.periodos();
+		}
 		while (!periodos.colaVacia()) {
+			Metricas.sondeo();
 			if (periodos.primero().equals(periodo)) {
 				return true;
 			}
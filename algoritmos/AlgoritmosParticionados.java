@@ -0,0 +1,513 @@
+package algoritmos;
+
+import implementacion.*;
+import tdas.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Versión particionada de Algoritmos.
+ * Los campos se reparten por hash de su nombre entre N árboles independientes, cada uno
+ * con su propio lock y su propio Algoritmos. Las escrituras sólo bloquean la partición
+ * del campo; las consultas se reparten entre todas las particiones en un pool de hilos
+ * y se combinan los resultados parciales (sumas y conteos, máximos y listas de campos).
+ * Los hilos son daemon y no impiden que el programa termine; igual conviene llamar
+ * a cerrar() al terminar para liberarlos.
+ */
+public class AlgoritmosParticionados {
+
+	private final Algoritmos[] particiones;            // Un Algoritmos por árbol
+	private final ABBPrecipitacionesTDA[] arboles;     // Árbol de cada partición
+	private final boolean[] compactacionPendiente;     // Protegido por el lock de escritura de la partición
+	private final ReentrantReadWriteLock[] locks;      // Un lock por partición
+	private final ExecutorService pool;                // Hilos para repartir las consultas
+	private ExecutorService mantenimiento;             // Hilo de retención y compactación, creado al usarlo
+
+	private static final int CAMPOS_POR_LOTE = 64;     // Campos resumidos por cada toma del lock
+
+	/**
+	 * Crea tantas particiones como procesadores disponibles, cada una con un ArbolPrecipitaciones.
+	 */
+	public AlgoritmosParticionados() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Crea la cantidad indicada de particiones, cada una con un ArbolPrecipitaciones.
+	 *
+	 * @param cantidad Cantidad de particiones (mayor a 0).
+	 */
+	public AlgoritmosParticionados(int cantidad) {
+		this(arbolesNuevos(cantidad));
+	}
+
+	/**
+	 * Crea una partición por cada árbol recibido. Los árboles deben estar inicializados
+	 * y no deben usarse por fuera de esta clase.
+	 *
+	 * @param arboles Árboles de cada partición.
+	 */
+	public AlgoritmosParticionados(ABBPrecipitacionesTDA[] arboles) {
+		if (arboles.length == 0) throw new IllegalArgumentException("Debe haber al menos una partición");
+		particiones = new Algoritmos[arboles.length];
+		this.arboles = arboles.clone();
+		compactacionPendiente = new boolean[arboles.length];
+		locks = new ReentrantReadWriteLock[arboles.length];
+		for (int i = 0; i < arboles.length; i++) {
+			particiones[i] = new Algoritmos(arboles[i]);
+			locks[i] = new ReentrantReadWriteLock();
+		}
+		pool = Executors.newFixedThreadPool(arboles.length, hilosDaemon("consulta"));
+	}
+
+	/**
+	 * Agrega una medición en la partición del campo. Ver Algoritmos.agregarMedicion.
+	 */
+	public void agregarMedicion(String campo, int anio, int mes, int dia, int precipitacion) {
+		int i = particion(campo);
+		locks[i].writeLock().lock();
+		try {
+			particiones[i].agregarMedicion(campo, anio, mes, dia, precipitacion);
+		} finally {
+			locks[i].writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Elimina una medición en la partición del campo. Ver Algoritmos.eliminarMedicion.
+	 */
+	public void eliminarMedicion(String campo, int anio, int mes, int dia) {
+		int i = particion(campo);
+		locks[i].writeLock().lock();
+		try {
+			particiones[i].eliminarMedicion(campo, anio, mes, dia);
+		} finally {
+			locks[i].writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Elimina un campo de su partición. Ver Algoritmos.eliminarCampo.
+	 */
+	public void eliminarCampo(String campo) {
+		int i = particion(campo);
+		boolean compactar;
+		locks[i].writeLock().lock();
+		try {
+			particiones[i].eliminarCampo(campo);
+			compactar = !compactacionPendiente[i] && arboles[i] instanceof ArbolPrecipitaciones
+					&& ((ArbolPrecipitaciones) arboles[i]).convieneCompactarEliminados();
+			if (compactar) compactacionPendiente[i] = true;
+		} finally {
+			locks[i].writeLock().unlock();
+		}
+		if (compactar) compactar(i);
+	}
+
+	/**
+	 * Activa las lápidas en las particiones que son ArbolPrecipitaciones (ver activarLapidas en esa clase):
+	 * eliminarCampo sólo marca el campo y, cuando más de un cuarto de los nodos de la partición son
+	 * lápidas, la partición se compacta en el hilo de mantenimiento sin demorar a quien eliminó.
+	 */
+	public void activarLapidas() {
+		for (int i = 0; i < arboles.length; i++) {
+			if (!(arboles[i] instanceof ArbolPrecipitaciones)) continue;
+			locks[i].writeLock().lock();
+			try {
+				((ArbolPrecipitaciones) arboles[i]).activarLapidas();
+			} finally {
+				locks[i].writeLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * Desactiva las lápidas en las particiones que son ArbolPrecipitaciones (ver desactivarLapidas en
+	 * esa clase). Las lápidas que queden se quitan en el acto, partición por partición, bajo su lock
+	 * de escritura.
+	 *
+	 * @return Cantidad de lápidas quitadas.
+	 */
+	public int desactivarLapidas() {
+		int quitadas = 0;
+		for (int i = 0; i < arboles.length; i++) {
+			if (!(arboles[i] instanceof ArbolPrecipitaciones)) continue;
+			locks[i].writeLock().lock();
+			try {
+				quitadas += ((ArbolPrecipitaciones) arboles[i]).desactivarLapidas();
+			} finally {
+				locks[i].writeLock().unlock();
+			}
+		}
+		return quitadas;
+	}
+
+	/**
+	 * Compacta en segundo plano todas las particiones que son ArbolPrecipitaciones: quita los períodos
+	 * vacíos y, donde convenga, las lápidas. Ver ArbolPrecipitaciones.compactarEliminados.
+	 *
+	 * @return Futuro con la cantidad de períodos y nodos quitados.
+	 */
+	public Future<Integer> compactarEliminados() {
+		return mantenimiento().submit(() -> {
+			int quitados = 0;
+			for (int i = 0; i < arboles.length; i++) {
+				quitados += compactarParticion(i);
+			}
+			return quitados;
+		});
+	}
+
+	/**
+	 * Promedio por día del mes entre todos los campos. Ver Algoritmos.medicionesMes.
+	 * Funcionamiento: cada partición calcula sumas y conteos por día, se suman posición
+	 * a posición y recién entonces se calculan los promedios.
+	 */
+	public ColaPrioridadTDA medicionesMes(int anio, int mes) {
+		int[] sumas = new int[32];
+		int[] conteos = new int[32];
+		for (int[][] parcial : repartir(a -> a.sumasYConteosMes(anio, mes))) {
+			for (int dia = 1; dia <= 31; dia++) {
+				sumas[dia] += parcial[0][dia];
+				conteos[dia] += parcial[1][dia];
+			}
+		}
+		return Algoritmos.promediosPorDia(sumas, conteos);
+	}
+
+	/**
+	 * Mediciones de un campo en un mes. Sólo consulta la partición del campo.
+	 * Ver Algoritmos.medicionesCampoMes.
+	 */
+	public ColaPrioridadTDA medicionesCampoMes(String campo, int anio, int mes) {
+		int i = particion(campo);
+		locks[i].readLock().lock();
+		try {
+			return particiones[i].medicionesCampoMes(campo, anio, mes);
+		} finally {
+			locks[i].readLock().unlock();
+		}
+	}
+
+	/**
+	 * Mes con más lluvia en toda la historia. Ver Algoritmos.mesMasLluvioso.
+	 */
+	public int mesMasLluvioso() {
+		int[] sumasMes = new int[13];
+		for (int[] parcial : repartir(Algoritmos::lluviasPorMes)) {
+			for (int mes = 1; mes <= 12; mes++) {
+				sumasMes[mes] += parcial[mes];
+			}
+		}
+		return Algoritmos.mesConMayorSuma(sumasMes);
+	}
+
+	/**
+	 * Promedio de lluvia de un día entre todos los campos. Ver Algoritmos.promedioLluviaEnUnDia.
+	 */
+	public float promedioLluviaEnUnDia(int anio, int mes, int dia) {
+		int suma = 0;
+		int cantidad = 0;
+		for (int[] parcial : repartir(a -> a.sumaYConteoDia(anio, mes, dia))) {
+			suma += parcial[0];
+			cantidad += parcial[1];
+		}
+		if (cantidad == 0) return 0;
+		return (float) suma / cantidad;
+	}
+
+	/**
+	 * Campo con más lluvia en toda la historia. Ver Algoritmos.campoMasLLuviosoHistoria.
+	 * Se queda con el máximo de los máximos de cada partición.
+	 */
+	public String campoMasLLuviosoHistoria() {
+		String campoMax = "";
+		int maxLluvia = -1;
+		for (Object[] parcial : repartir(a -> {
+			int[] lluvia = new int[]{-1};
+			String campo = a.campoMasLLuviosoHistoria(lluvia);
+			return new Object[]{campo, lluvia[0]};
+		})) {
+			int lluvia = (Integer) parcial[1];
+			if (lluvia > maxLluvia) {
+				maxLluvia = lluvia;
+				campoMax = (String) parcial[0];
+			}
+		}
+		return campoMax;
+	}
+
+	/**
+	 * Los k campos con más lluvia en toda la historia. Ver Algoritmos.camposMasLluviosos.
+	 * Cada partición devuelve sus k mejores con su lluvia y se eligen los k mejores entre ellos.
+	 *
+	 * @throws IllegalArgumentException si k es negativo.
+	 */
+	public ColaString camposMasLluviosos(int k) {
+		MonticuloCampos monticulo = new MonticuloCampos(k); // Valida k antes de repartir la consulta
+		return combinarMasLluviosos(monticulo, repartir(a -> {
+			int[] lluvias = new int[k];
+			ColaString campos = a.camposMasLluviosos(k, lluvias);
+			return new Object[]{campos, lluvias};
+		}));
+	}
+
+	/**
+	 * Los k campos con más lluvia en un mes. Ver Algoritmos.camposMasLluviososMes.
+	 *
+	 * @throws IllegalArgumentException si k es negativo.
+	 */
+	public ColaString camposMasLluviososMes(int anio, int mes, int k) {
+		MonticuloCampos monticulo = new MonticuloCampos(k);
+		return combinarMasLluviosos(monticulo, repartir(a -> {
+			int[] lluvias = new int[k];
+			ColaString campos = a.camposMasLluviososMes(anio, mes, k, lluvias);
+			return new Object[]{campos, lluvias};
+		}));
+	}
+
+	/**
+	 * Campos con lluvia mensual mayor al promedio. Ver Algoritmos.camposConLLuviaMayorPromedio.
+	 * Funcionamiento:
+	 * 1. Se toma una vez el lock de lectura de cada partición, en orden, y se lo retiene hasta el
+	 *    final: una escritura entre las dos pasadas daría un promedio de un estado y una lista de otro.
+	 * 2. Cada partición devuelve suma y conteo del mes; se combinan para obtener el promedio global.
+	 * 3. Cada partición lista sus campos por encima de ese promedio y se concatenan las listas.
+	 * Las dos pasadas corren en el hilo que llama, no en el pool: con un escritor esperando, las
+	 * tareas de otras consultas ocuparían el pool esperando estos mismos locks.
+	 */
+	public ColaString camposConLLuviaMayorPromedio(int anio, int mes) {
+		for (ReentrantReadWriteLock lock : locks) {
+			lock.readLock().lock();
+		}
+		try {
+			int suma = 0;
+			int cantidad = 0;
+			for (int[] parcial : enEsteHilo(a -> a.sumaYConteoMes(anio, mes))) {
+				suma += parcial[0];
+				cantidad += parcial[1];
+			}
+			int promedio = cantidad > 0 ? suma / cantidad : 0;
+
+			ColaString resultado = new ColaString();
+			resultado.inicializarCola();
+			for (ColaString parcial : enEsteHilo(a -> a.camposPorEncimaDe(anio, mes, promedio))) {
+				while (!parcial.colaVacia()) {
+					resultado.acolar(parcial.primero());
+					parcial.desacolar();
+				}
+			}
+			return resultado;
+		} finally {
+			for (ReentrantReadWriteLock lock : locks) {
+				lock.readLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * Cuantil de la lluvia diaria del mes entre todos los campos. Ver Algoritmos.cuantilMes.
+	 * Funcionamiento: cada partición devuelve una copia de su bosquejo del mes, se combinan
+	 * y el cuantil se estima sobre el bosquejo combinado (mismo error que en una sola partición).
+	 */
+	public int cuantilMes(int anio, int mes, double q) {
+		if (q < 0 || q > 1) throw new IllegalArgumentException("Cuantil fuera de [0, 1]: " + q);
+		BosquejoCuantiles total = new BosquejoCuantiles();
+		total.inicializar();
+		for (BosquejoCuantiles parcial : repartir(a -> a.bosquejoMes(anio, mes))) {
+			total.combinar(parcial);
+		}
+		return total.cuantil(q);
+	}
+
+	/**
+	 * Resume en totales mensuales las mediciones anteriores al 1 de enero de anio en todas las
+	 * particiones, en segundo plano. Ver Algoritmos.resumirAntesDe.
+	 * Funcionamiento:
+	 * - Un único hilo de mantenimiento recorre las particiones de a una.
+	 * - Toma la lista de campos bajo el lock de lectura y los resume de a CAMPOS_POR_LOTE bajo el
+	 *   lock de escritura, soltándolo entre lotes: las escrituras y consultas de la partición esperan
+	 *   a lo sumo un lote, y las de las demás particiones no esperan.
+	 * - Los campos creados mientras corre no se resumen hasta la próxima llamada.
+	 *
+	 * @return Futuro con la cantidad de campos procesados.
+	 */
+	public Future<Integer> resumirAntesDe(int anio) {
+		return mantenimiento().submit(() -> {
+			int procesados = 0;
+			for (int i = 0; i < particiones.length; i++) {
+				ColaString campos;
+				locks[i].readLock().lock();
+				try {
+					campos = particiones[i].campos(RangoCampos.todos());
+				} finally {
+					locks[i].readLock().unlock();
+				}
+				while (!campos.colaVacia()) {
+					locks[i].writeLock().lock();
+					try {
+						for (int j = 0; j < CAMPOS_POR_LOTE && !campos.colaVacia(); j++) {
+							particiones[i].resumirAntesDe(campos.primero(), anio);
+							campos.desacolar();
+							procesados++;
+						}
+					} finally {
+						locks[i].writeLock().unlock();
+					}
+				}
+			}
+			return procesados;
+		});
+	}
+
+	/**
+	 * Libera los hilos del pool y el de mantenimiento. Luego de cerrar no se pueden hacer
+	 * consultas globales ni tareas de mantenimiento.
+	 */
+	public synchronized void cerrar() {
+		pool.shutdown();
+		if (mantenimiento != null) mantenimiento.shutdown();
+	}
+
+	// ================= MÉTODOS PRIVADOS =================
+
+	/**
+	 * Hilo de mantenimiento (retención y compactación), creado la primera vez.
+	 */
+	private synchronized ExecutorService mantenimiento() {
+		if (mantenimiento == null) {
+			mantenimiento = Executors.newSingleThreadExecutor(hilosDaemon("mantenimiento"));
+		}
+		return mantenimiento;
+	}
+
+	/**
+	 * Fábrica de hilos daemon numerados con el prefijo indicado, usada por el pool de
+	 * consultas y por el hilo de mantenimiento.
+	 */
+	private static ThreadFactory hilosDaemon(String nombre) {
+		AtomicInteger numero = new AtomicInteger();
+		return r -> {
+			Thread hilo = new Thread(r, nombre + "-" + numero.incrementAndGet());
+			hilo.setDaemon(true);
+			return hilo;
+		};
+	}
+
+	/**
+	 * Encarga al hilo de mantenimiento la compactación de una partición.
+	 */
+	private void compactar(int particion) {
+		mantenimiento().submit(() -> compactarParticion(particion));
+	}
+
+	/**
+	 * Compacta la partición bajo su lock de escritura, si es un ArbolPrecipitaciones.
+	 */
+	private int compactarParticion(int i) {
+		if (!(arboles[i] instanceof ArbolPrecipitaciones)) return 0;
+		locks[i].writeLock().lock();
+		try {
+			compactacionPendiente[i] = false;
+			return ((ArbolPrecipitaciones) arboles[i]).compactarEliminados();
+		} finally {
+			locks[i].writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Consulta parcial que se ejecuta sobre el Algoritmos de una partición.
+	 */
+	private interface consulta<T> {
+		T resolver(Algoritmos particion);
+	}
+
+	/**
+	 * Ejecuta la consulta en todas las particiones en paralelo, cada una bajo su lock de lectura,
+	 * y devuelve los resultados parciales en orden de partición.
+	 */
+	private <T> List<T> repartir(consulta<T> consulta) {
+		List<Future<T>> futuros = new ArrayList<>(particiones.length);
+		for (int i = 0; i < particiones.length; i++) {
+			final int p = i;
+			Callable<T> tarea = () -> {
+				locks[p].readLock().lock();
+				try {
+					return consulta.resolver(particiones[p]);
+				} finally {
+					locks[p].readLock().unlock();
+				}
+			};
+			futuros.add(pool.submit(tarea));
+		}
+		List<T> resultados = new ArrayList<>(particiones.length);
+		try {
+			for (Future<T> futuro : futuros) {
+				resultados.add(futuro.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Consulta interrumpida", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Falló la consulta en una partición", e.getCause());
+		}
+		return resultados;
+	}
+
+	/**
+	 * Ejecuta la consulta en todas las particiones, una tras otra, en el hilo que llama.
+	 * Quien llama ya retiene el lock de lectura de todas las particiones.
+	 */
+	private <T> List<T> enEsteHilo(consulta<T> consulta) {
+		List<T> resultados = new ArrayList<>(particiones.length);
+		for (Algoritmos particion : particiones) {
+			resultados.add(consulta.resolver(particion));
+		}
+		return resultados;
+	}
+
+	/**
+	 * Ofrece al montículo (de capacidad k) los resultados parciales {campos, lluvias} de cada partición
+	 * y devuelve los k mejores.
+	 */
+	private static ColaString combinarMasLluviosos(MonticuloCampos monticulo, List<Object[]> parciales) {
+		for (Object[] parcial : parciales) {
+			ColaString campos = (ColaString) parcial[0];
+			int[] lluvias = (int[]) parcial[1];
+			for (int i = 0; !campos.colaVacia(); i++) {
+				monticulo.ofrecer(campos.primero(), lluvias[i]);
+				campos.desacolar();
+			}
+		}
+		return monticulo.vaciar(null);
+	}
+
+	/**
+	 * Partición a la que pertenece un campo. Se usa la misma clave que ordena el árbol,
+	 * así todas las variantes que el árbol considera iguales caen en la misma partición.
+	 */
+	private int particion(String campo) {
+		int h = RegistroCampos.normalizar(campo).hashCode();
+		h ^= (h >>> 16);
+		return Math.floorMod(h, particiones.length);
+	}
+
+	private static ABBPrecipitacionesTDA[] arbolesNuevos(int cantidad) {
+		if (cantidad <= 0) throw new IllegalArgumentException("Debe haber al menos una partición");
+		ABBPrecipitacionesTDA[] arboles = new ABBPrecipitacionesTDA[cantidad];
+		for (int i = 0; i < cantidad; i++) {
+			arboles[i] = new ArbolPrecipitaciones();
+			arboles[i].inicializar();
+		}
+		return arboles;
+	}
+}
@@ -0,0 +1,264 @@
+package algoritmos;
+
+import implementacion.ArbolPrecipitaciones;
+import tdas.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Analiza la forma y el almacenamiento de un árbol de precipitaciones en una sola pasada O(n).
+ * Informa altura, profundidad promedio y máxima, los nodos más desbalanceados, un histograma
+ * de períodos por campo y una estimación de los bytes retenidos por cada componente, e indica
+ * si convendría reconstruir (rebalancear) el árbol.
+ * El recorrido es iterativo, con una pila explícita, para poder analizar también árboles
+ * degenerados cuya altura desbordaría la pila de los algoritmos recursivos.
+ */
+public class AnalizadorArbol {
+
+	// Estimaciones (JVM de 64 bits con referencias comprimidas) para la implementación enlazada.
+	// Los períodos compactos, el índice por fechas y el resumen mensual de ArbolPrecipitaciones
+	// informan su propio tamaño (memoriaRaiz); cada día ocupa una posición ya reservada del período.
+	static final int BYTES_NODO_ARBOL = 80;   // ArbolPrecipitaciones + nodoArbol + diccionario + hijos vacíos
+	static final int BYTES_PERIODO = 216;     // nodo de DiccionarioSimpleString + String "YYYY/MM" + DiccionarioDias con int[32]
+
+	static final int PUNTOS_CALIENTES = 5;    // Cantidad de nodos desbalanceados a informar
+
+	/**
+	 * Resultado del análisis.
+	 */
+	public static final class Reporte {
+		public int campos;
+		public int lapidas;                 // Nodos de campos eliminados, pendientes de compactar (incluidos en campos)
+		public int altura;                  // Niveles del árbol (0 si está vacío)
+		public int alturaOptima;            // Altura de un árbol perfectamente balanceado con los mismos campos
+		public double profundidadPromedio;  // Profundidad media de los nodos (la raíz tiene profundidad 0)
+		public int profundidadMaxima;
+		public long periodos;
+		public long periodosVacios;         // Períodos sin ninguna medición
+		public long periodosCompactos;      // Períodos guardados en PeriodosCompactos (incluidos en periodos)
+		public long mediciones;
+		public int maxPeriodosPorCampo;
+		/** histogramaPeriodos[0] = campos sin períodos; histogramaPeriodos[k] = campos con 2^(k-1) a 2^k - 1 períodos. */
+		public int[] histogramaPeriodos = new int[1];
+		/** Campos con mayor diferencia de altura entre sus subárboles, de mayor a menor. */
+		public String[] desbalanceados = new String[0];
+		/** Diferencia de altura (derecha - izquierda) de cada campo de desbalanceados. */
+		public int[] diferencias = new int[0];
+		public long bytesNodos;
+		public long bytesNombres;
+		public long bytesPeriodos;          // Períodos en la lista, BYTES_PERIODO cada uno
+		public long bytesPeriodosCompactos; // Arreglos de PeriodosCompactos
+		public long bytesIndices;           // Arreglos de IndiceFenwick
+		public long bytesResumenes;         // Arreglos de ResumenMensual
+		public boolean convieneReconstruir;
+		public String motivo = "";
+
+		public long bytesTotales() {
+			return bytesNodos + bytesNombres + bytesPeriodos + bytesPeriodosCompactos + bytesIndices + bytesResumenes;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			sb.append(String.format("campos=%d altura=%d (óptima %d) profundidad promedio=%.1f máxima=%d%n",
+					campos, altura, alturaOptima, profundidadPromedio, profundidadMaxima));
+			if (lapidas > 0) sb.append(String.format("lápidas=%d%n", lapidas));
+			sb.append(String.format("períodos=%d (compactos %d, vacíos %d, máx por campo %d) mediciones=%d%n",
+					periodos, periodosCompactos, periodosVacios, maxPeriodosPorCampo, mediciones));
+			sb.append("períodos por campo:");
+			for (int k = 0; k < histogramaPeriodos.length; k++) {
+				if (histogramaPeriodos[k] == 0) continue;
+				String rango = k == 0 ? "0" : k == 1 ? "1" : (1 << (k - 1)) + "-" + ((1 << k) - 1);
+				sb.append(' ').append(rango).append(':').append(histogramaPeriodos[k]);
+			}
+			sb.append(System.lineSeparator());
+			for (int i = 0; i < desbalanceados.length; i++) {
+				sb.append(String.format("desbalance %+d en \"%s\"%n", diferencias[i], desbalanceados[i]));
+			}
+			sb.append(String.format("bytes estimados: nodos=%d nombres=%d períodos=%d compactos=%d índices=%d resúmenes=%d total=%d%n",
+					bytesNodos, bytesNombres, bytesPeriodos, bytesPeriodosCompactos, bytesIndices, bytesResumenes,
+					bytesTotales()));
+			sb.append(convieneReconstruir ? "CONVIENE RECONSTRUIR: " + motivo : "forma aceptable");
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * Marco de la pila del recorrido: nodo, profundidad, etapa (0 = por visitar el hijo izquierdo,
+	 * 1 = por visitar el derecho, 2 = listo) y alturas ya calculadas de los hijos.
+	 */
+	private static final class marco {
+		final ABBPrecipitacionesTDA nodo;
+		final int profundidad;
+		int etapa;
+		int alturaIzq;
+		int alturaDer;
+
+		marco(ABBPrecipitacionesTDA nodo, int profundidad) {
+			this.nodo = nodo;
+			this.profundidad = profundidad;
+		}
+	}
+
+	private AnalizadorArbol() {
+	}
+
+	/**
+	 * Analiza el árbol en una sola pasada.
+	 *
+	 * @param arbol Árbol inicializado (puede estar vacío).
+	 * @return Reporte con la forma, el contenido y la recomendación.
+	 * Complejidad: O(n + p + m), con p períodos y m mediciones en total.
+	 */
+	public static Reporte analizar(ABBPrecipitacionesTDA arbol) {
+		if (arbol instanceof ABBPrecipitacionesVersionadoTDA) {
+			arbol = ((ABBPrecipitacionesVersionadoTDA) arbol).instantanea();
+		}
+		Reporte r = new Reporte();
+		if (arbol.arbolVacio()) return r;
+
+		long sumaProfundidades = 0;
+		int[] peoresDif = new int[PUNTOS_CALIENTES];
+		String[] peores = new String[PUNTOS_CALIENTES];
+		int cantidadPeores = 0;
+
+		ArrayDeque<marco> pila = new ArrayDeque<>();
+		pila.push(new marco(arbol, 0));
+		while (!pila.isEmpty()) {
+			marco m = pila.peek();
+			if (m.etapa == 0) {
+				// Primera visita: datos propios del campo
+				r.campos++;
+				if (m.nodo.raizEliminada()) r.lapidas++;
+				sumaProfundidades += m.profundidad;
+				r.profundidadMaxima = Math.max(r.profundidadMaxima, m.profundidad);
+				contarPeriodos(m.nodo, r);
+				m.etapa = 1;
+				ABBPrecipitacionesTDA izq = m.nodo.hijoIzq();
+				if (!izq.arbolVacio()) {
+					pila.push(new marco(izq, m.profundidad + 1));
+					continue;
+				}
+			}
+			if (m.etapa == 1) {
+				m.etapa = 2;
+				ABBPrecipitacionesTDA der = m.nodo.hijoDer();
+				if (!der.arbolVacio()) {
+					pila.push(new marco(der, m.profundidad + 1));
+					continue;
+				}
+			}
+			// Ambos hijos resueltos: se calcula la altura y se informa al padre
+			pila.pop();
+			int altura = 1 + Math.max(m.alturaIzq, m.alturaDer);
+			int dif = m.alturaDer - m.alturaIzq;
+			cantidadPeores = registrarDesbalance(peores, peoresDif, cantidadPeores, m.nodo.raiz(), dif);
+			marco padre = pila.peek();
+			if (padre == null) {
+				r.altura = altura;
+			} else if (padre.etapa == 1) {
+				padre.alturaIzq = altura;
+			} else {
+				padre.alturaDer = altura;
+			}
+		}
+
+		r.profundidadPromedio = (double) sumaProfundidades / r.campos;
+		r.alturaOptima = 32 - Integer.numberOfLeadingZeros(r.campos);
+		r.desbalanceados = Arrays.copyOf(peores, cantidadPeores);
+		r.diferencias = Arrays.copyOf(peoresDif, cantidadPeores);
+		r.bytesNodos = (long) r.campos * BYTES_NODO_ARBOL;
+		recomendar(r);
+		return r;
+	}
+
+	// ================= MÉTODOS PRIVADOS =================
+
+	/**
+	 * Suma los períodos y mediciones del campo raíz del nodo, y el tamaño de su nombre y de sus períodos.
+	 * Un ArbolPrecipitaciones informa cuántos períodos siguen en la lista y cuánto ocupan los compactos,
+	 * el índice y el resumen; de otras implementaciones se estima BYTES_PERIODO por período.
+	 */
+	private static void contarPeriodos(ABBPrecipitacionesTDA nodo, Reporte r) {
+		String campo = nodo.raiz();
+		r.bytesNombres += 24 + ((16 + campo.length() + 7) & ~7); // String + arreglo de bytes
+		int cantidad = 0;
+		ColaStringTDA periodos = nodo.periodos();
+		while (!periodos.colaVacia()) {
+			cantidad++;
+			int mediciones = 0;
+			try {
+				ColaPrioridadTDA datos = nodo.precipitaciones(periodos.primero());
+				while (!datos.colaVacia()) {
+					mediciones++;
+					datos.desacolar();
+				}
+			} catch (IllegalStateException e) {
+				// Período listado pero sin diccionario: se cuenta como vacío
+			}
+			if (mediciones == 0) r.periodosVacios++;
+			r.mediciones += mediciones;
+			periodos.desacolar();
+		}
+		r.periodos += cantidad;
+		if (nodo instanceof ArbolPrecipitaciones) {
+			long[] memoria = ((ArbolPrecipitaciones) nodo).memoriaRaiz();
+			r.bytesPeriodos += memoria[0] * BYTES_PERIODO;
+			r.periodosCompactos += memoria[1];
+			r.bytesPeriodosCompactos += memoria[2];
+			r.bytesIndices += memoria[3];
+			r.bytesResumenes += memoria[4];
+		} else {
+			r.bytesPeriodos += (long) cantidad * BYTES_PERIODO;
+		}
+		r.maxPeriodosPorCampo = Math.max(r.maxPeriodosPorCampo, cantidad);
+		int cubeta = 32 - Integer.numberOfLeadingZeros(cantidad);
+		if (cubeta >= r.histogramaPeriodos.length) {
+			r.histogramaPeriodos = Arrays.copyOf(r.histogramaPeriodos, cubeta + 1);
+		}
+		r.histogramaPeriodos[cubeta]++;
+	}
+
+	/**
+	 * Mantiene los PUNTOS_CALIENTES campos con mayor |diferencia| ordenados de mayor a menor.
+	 */
+	private static int registrarDesbalance(String[] campos, int[] difs, int cantidad, String campo, int dif) {
+		if (Math.abs(dif) < 2) return cantidad; // Un nodo con diferencia 0 o 1 está balanceado
+		int pos = cantidad < campos.length ? cantidad : campos.length - 1;
+		if (cantidad == campos.length && Math.abs(difs[pos]) >= Math.abs(dif)) return cantidad;
+		while (pos > 0 && Math.abs(difs[pos - 1]) < Math.abs(dif)) {
+			campos[pos] = campos[pos - 1];
+			difs[pos] = difs[pos - 1];
+			pos--;
+		}
+		campos[pos] = campo;
+		difs[pos] = dif;
+		return Math.min(cantidad + 1, campos.length);
+	}
+
+	/**
+	 * Conviene reconstruir si la profundidad promedio supera el doble de la de un árbol balanceado
+	 * (cada búsqueda cuesta más del doble de lo necesario; un ABB con altas al azar queda cerca
+	 * de 1,4 veces), si la altura supera cuatro veces la óptima (la recursión se acerca a desbordar
+	 * la pila), si más de un cuarto de los períodos quedaron vacíos tras eliminar mediciones o si más
+	 * de un cuarto de los nodos son lápidas (ArbolPrecipitaciones.convieneCompactarEliminados).
+	 */
+	private static void recomendar(Reporte r) {
+		StringBuilder motivo = new StringBuilder();
+		if (r.profundidadPromedio > 2.0 * Math.max(r.alturaOptima - 1, 1) || r.altura > 4 * r.alturaOptima) {
+			motivo.append(String.format("altura %d y profundidad promedio %.1f contra %d óptima; rebalancear el árbol",
+					r.altura, r.profundidadPromedio, r.alturaOptima));
+		}
+		if (r.periodos > 0 && r.periodosVacios * 4 > r.periodos) {
+			if (motivo.length() > 0) motivo.append("; ");
+			motivo.append(String.format("%d de %d períodos vacíos; compactar", r.periodosVacios, r.periodos));
+		}
+		if (r.lapidas * 4 > r.campos) {
+			if (motivo.length() > 0) motivo.append("; ");
+			motivo.append(String.format("%d de %d nodos son lápidas; compactarEliminados", r.lapidas, r.campos));
+		}
+		r.convieneReconstruir = motivo.length() > 0;
+		r.motivo = motivo.toString();
+	}
+}
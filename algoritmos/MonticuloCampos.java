@@ -0,0 +1,121 @@
+package algoritmos;
+
+import implementacion.ColaString;
+import implementacion.RegistroCampos;
+
+/**
+ * Montículo de mínimo de tamaño acotado que conserva los K campos con más lluvia entre los ofrecidos.
+ * La raíz es el peor de los K: un campo nuevo sólo entra si supera a la raíz, y la reemplaza.
+ *
+ * Funcionamiento:
+ * - Un campo es peor que otro si tiene menos lluvia o, con igual lluvia, su nombre va después
+ *   en el orden del árbol; así el resultado no depende del orden en que se ofrecen los campos.
+ * - Ofrecer n campos cuesta O(n log K) y ocupa O(K) memoria.
+ */
+final class MonticuloCampos {
+
+	private final String[] nombres;
+	private final String[] claves;  // Clave de comparación de cada nombre (RegistroCampos)
+	private final int[] lluvias;
+	private int cantidad;
+
+	/**
+	 * @param k Cantidad máxima de campos a conservar.
+	 * @throws IllegalArgumentException si k es negativo.
+	 */
+	MonticuloCampos(int k) {
+		if (k < 0) throw new IllegalArgumentException("Cantidad de campos negativa: " + k);
+		nombres = new String[k];
+		claves = new String[k];
+		lluvias = new int[k];
+	}
+
+	/**
+	 * Ofrece un campo con su lluvia; queda si está entre los K mejores ofrecidos hasta ahora.
+	 * Complejidad: O(log K)
+	 */
+	void ofrecer(String nombre, int lluvia) {
+		if (nombres.length == 0) return;
+		String clave = RegistroCampos.normalizar(nombre);
+		if (cantidad < nombres.length) {
+			poner(cantidad, nombre, clave, lluvia);
+			subir(cantidad++);
+		} else if (peor(lluvias[0], claves[0], lluvia, clave)) {
+			poner(0, nombre, clave, lluvia);
+			bajar(0);
+		}
+	}
+
+	/**
+	 * Vacía el montículo en una cola de nombres, de mayor a menor lluvia.
+	 *
+	 * @param lluviasResultado Arreglo de al menos K posiciones donde se copian las lluvias en el
+	 *                         mismo orden, o null si no se necesitan.
+	 * Complejidad: O(K log K)
+	 */
+	ColaString vaciar(int[] lluviasResultado) {
+		int total = cantidad;
+		String[] ordenados = new String[total];
+		int[] lluviasOrdenadas = new int[total];
+		// Se extrae siempre el peor, que va al final del resultado
+		for (int i = total - 1; i >= 0; i--) {
+			ordenados[i] = nombres[0];
+			lluviasOrdenadas[i] = lluvias[0];
+			cantidad--;
+			poner(0, nombres[cantidad], claves[cantidad], lluvias[cantidad]);
+			bajar(0);
+		}
+		ColaString resultado = new ColaString();
+		resultado.inicializarCola();
+		for (int i = 0; i < total; i++) {
+			resultado.acolar(ordenados[i]);
+			if (lluviasResultado != null) lluviasResultado[i] = lluviasOrdenadas[i];
+		}
+		return resultado;
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	/**
+	 * Indica si el campo (lluviaA, claveA) es peor que (lluviaB, claveB).
+	 */
+	private static boolean peor(int lluviaA, String claveA, int lluviaB, String claveB) {
+		return lluviaA < lluviaB || (lluviaA == lluviaB && claveA.compareTo(claveB) > 0);
+	}
+
+	private boolean peor(int i, int j) {
+		return peor(lluvias[i], claves[i], lluvias[j], claves[j]);
+	}
+
+	private void poner(int i, String nombre, String clave, int lluvia) {
+		nombres[i] = nombre;
+		claves[i] = clave;
+		lluvias[i] = lluvia;
+	}
+
+	private void intercambiar(int i, int j) {
+		String nombre = nombres[i];
+		String clave = claves[i];
+		int lluvia = lluvias[i];
+		poner(i, nombres[j], claves[j], lluvias[j]);
+		poner(j, nombre, clave, lluvia);
+	}
+
+	private void subir(int i) {
+		while (i > 0 && peor(i, (i - 1) / 2)) {
+			intercambiar(i, (i - 1) / 2);
+			i = (i - 1) / 2;
+		}
+	}
+
+	private void bajar(int i) {
+		while (true) {
+			int hijo = 2 * i + 1;
+			if (hijo >= cantidad) return;
+			if (hijo + 1 < cantidad && peor(hijo + 1, hijo)) hijo++;
+			if (!peor(hijo, i)) return;
+			intercambiar(i, hijo);
+			i = hijo;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package algoritmos;
+
+import implementacion.RegistroCampos;
+
+/**
+ * Rango de nombres de campo [desde, hasta) en el orden del árbol, es decir, ignorando mayúsculas
+ * (se compara sobre las claves de RegistroCampos). Un prefijo es el rango de todos los nombres
+ * que empiezan con él.
+ *
+ * Funcionamiento:
+ * - Los extremos se guardan ya normalizados; null significa sin límite.
+ * - En el árbol los nombres menores a un nodo están a su izquierda y los mayores o iguales
+ *   (sin distinguir mayúsculas) a su derecha, por lo que un recorrido sólo baja a la izquierda
+ *   si desde es menor a la clave del nodo y a la derecha si la clave es menor a hasta.
+ */
+public final class RangoCampos {
+
+	private static final RangoCampos TODOS = new RangoCampos(null, null);
+
+	private final String desde; // Clave mínima incluida, o null
+	private final String hasta; // Clave mínima excluida, o null
+
+	private RangoCampos(String desde, String hasta) {
+		this.desde = desde;
+		this.hasta = hasta;
+	}
+
+	/**
+	 * Campos con nombre entre desde (incluido) y hasta (excluido), sin distinguir mayúsculas.
+	 *
+	 * @param desde Primer nombre incluido, o null para no tener límite inferior.
+	 * @param hasta Primer nombre excluido, o null para no tener límite superior.
+	 */
+	public static RangoCampos entre(String desde, String hasta) {
+		return new RangoCampos(desde == null ? null : RegistroCampos.normalizar(desde),
+				hasta == null ? null : RegistroCampos.normalizar(hasta));
+	}
+
+	/**
+	 * Campos cuyo nombre empieza con el prefijo, sin distinguir mayúsculas.
+	 * Ejemplo: prefijo("Establecimiento La Esperanza /") incluye todos sus lotes.
+	 */
+	public static RangoCampos prefijo(String prefijo) {
+		String desde = RegistroCampos.normalizar(prefijo);
+		// El límite superior es el prefijo con su último carácter incrementado
+		int largo = desde.length();
+		while (largo > 0 && desde.charAt(largo - 1) == Character.MAX_VALUE) {
+			largo--;
+		}
+		String hasta = largo == 0 ? null
+				: desde.substring(0, largo - 1) + (char) (desde.charAt(largo - 1) + 1);
+		return new RangoCampos(desde.isEmpty() ? null : desde, hasta);
+	}
+
+	/**
+	 * Todos los campos.
+	 */
+	public static RangoCampos todos() {
+		return TODOS;
+	}
+
+	/**
+	 * Indica si la clave normalizada está dentro del rango.
+	 */
+	boolean contiene(String clave) {
+		return (desde == null || clave.compareTo(desde) >= 0) && (hasta == null || clave.compareTo(hasta) < 0);
+	}
+
+	/**
+	 * Indica si el subárbol izquierdo de un nodo con esa clave puede tener campos del rango.
+	 */
+	boolean bajarIzquierda(String clave) {
+		return desde == null || desde.compareTo(clave) < 0;
+	}
+
+	/**
+	 * Indica si el subárbol derecho de un nodo con esa clave puede tener campos del rango.
+	 */
+	boolean bajarDerecha(String clave) {
+		return hasta == null || clave.compareTo(hasta) < 0;
+	}
+
+	@Override
+	public String toString() {
+		return "[" + (desde == null ? "" : desde) + ", " + (hasta == null ? "" : hasta) + ")";
+	}
+}
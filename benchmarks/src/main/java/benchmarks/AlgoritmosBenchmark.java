@@ -0,0 +1,192 @@
+package benchmarks;
+
+import algoritmos.Algoritmos;
+import algoritmos.RangoCampos;
+import org.openjdk.jmh.annotations.*;
+import tdas.ColaPrioridadTDA;
+import tdas.ColaStringTDA;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Todos los métodos públicos de Algoritmos sobre datos sintéticos, parametrizados por
+ * cantidad de campos, años de historia y densidad de mediciones (fracción de días con dato).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgoritmosBenchmark {
+
+    @Param({"100", "1000"})
+    int campos;
+
+    @Param({"1", "5"})
+    int anios;
+
+    @Param({"0.2", "1.0"})
+    double densidad;
+
+    @Param({"ENLAZADO", "PERSISTENTE"})
+    String implementacion;
+
+    Algoritmos alg;
+    Algoritmos algMatriz; // Mismos datos con la matriz mensual activa
+    String[] nombres;
+    Random r;
+
+    static final int ANIO = Datos.ANIO_INICIAL;
+    static final int MES = 3;
+    static final int DIA = 15;
+    static final RangoCampos PREFIJO = RangoCampos.prefijo("establecimiento 0001");
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        nombres = Datos.nombresCampos(campos, false);
+        alg = new Algoritmos(Datos.arbol(implementacion));
+        Datos.cargar(alg, nombres, anios, densidad);
+        algMatriz = new Algoritmos(Datos.arbol(implementacion));
+        Datos.cargar(algMatriz, nombres, anios, densidad);
+        algMatriz.activarMatrizMensual();
+        r = new Random(Datos.SEMILLA);
+    }
+
+    private String campoAlAzar() {
+        return nombres[r.nextInt(nombres.length)];
+    }
+
+    @Benchmark
+    public void agregarMedicion() {
+        alg.agregarMedicion(campoAlAzar(), ANIO + r.nextInt(anios), 1 + r.nextInt(12), 1 + r.nextInt(28), 5);
+    }
+
+    @Benchmark
+    public void agregarYEliminarMedicion() {
+        String campo = campoAlAzar();
+        int mes = 1 + r.nextInt(12);
+        int dia = 1 + r.nextInt(28);
+        alg.agregarMedicion(campo, ANIO, mes, dia, 5);
+        alg.eliminarMedicion(campo, ANIO, mes, dia);
+    }
+
+    @Benchmark
+    public void eliminarCampoYAgregarlo() {
+        String campo = campoAlAzar();
+        alg.eliminarCampo(campo);
+        alg.agregarMedicion(campo, ANIO, MES, DIA, 5);
+    }
+
+    @Benchmark
+    public ColaPrioridadTDA medicionesMes() {
+        return alg.medicionesMes(ANIO, MES);
+    }
+
+    /** Sin el módulo de la Vector API la matriz usa las reducciones escalares. */
+    @Benchmark
+    public ColaPrioridadTDA medicionesMesMatriz() {
+        return algMatriz.medicionesMes(ANIO, MES);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public ColaPrioridadTDA medicionesMesMatrizVectorial() {
+        return algMatriz.medicionesMes(ANIO, MES);
+    }
+
+    @Benchmark
+    public int[] sumaYConteoMesMatriz() {
+        return algMatriz.sumaYConteoMes(ANIO, MES);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public int[] sumaYConteoMesMatrizVectorial() {
+        return algMatriz.sumaYConteoMes(ANIO, MES);
+    }
+
+    /** Sólo los 10 campos "Establecimiento 0001x - ...": el recorrido poda el resto del árbol. */
+    @Benchmark
+    public ColaPrioridadTDA medicionesMesPrefijo() {
+        return alg.medicionesMes(ANIO, MES, PREFIJO);
+    }
+
+    @Benchmark
+    public ColaPrioridadTDA medicionesCampoMes() {
+        return alg.medicionesCampoMes(campoAlAzar(), ANIO, MES);
+    }
+
+    @Benchmark
+    public int mesMasLluvioso() {
+        return alg.mesMasLluvioso();
+    }
+
+    @Benchmark
+    public float promedioLluviaEnUnDia() {
+        return alg.promedioLluviaEnUnDia(ANIO, MES, DIA);
+    }
+
+    @Benchmark
+    public String campoMasLLuviosoHistoria() {
+        return alg.campoMasLLuviosoHistoria();
+    }
+
+    @Benchmark
+    public ColaStringTDA camposConLLuviaMayorPromedioMatriz() {
+        return algMatriz.camposConLLuviaMayorPromedio(ANIO, MES);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public ColaStringTDA camposConLLuviaMayorPromedioMatrizVectorial() {
+        return algMatriz.camposConLLuviaMayorPromedio(ANIO, MES);
+    }
+
+    @Benchmark
+    public ColaStringTDA camposConLLuviaMayorPromedio() {
+        return alg.camposConLLuviaMayorPromedio(ANIO, MES);
+    }
+
+    @Benchmark
+    public int[][] sumasYConteosMes() {
+        return alg.sumasYConteosMes(ANIO, MES);
+    }
+
+    @Benchmark
+    public int[] lluviasPorMes() {
+        return alg.lluviasPorMes();
+    }
+
+    @Benchmark
+    public int[] sumaYConteoDia() {
+        return alg.sumaYConteoDia(ANIO, MES, DIA);
+    }
+
+    @Benchmark
+    public int[] sumaYConteoMes() {
+        return alg.sumaYConteoMes(ANIO, MES);
+    }
+
+    @Benchmark
+    public ColaStringTDA camposPorEncimaDe() {
+        return alg.camposPorEncimaDe(ANIO, MES, 10);
+    }
+
+    /** Toda la historia del campo: el índice acumulado evita recorrer cada mes. */
+    @Benchmark
+    public int[] sumaYConteoCampoEntre() {
+        return alg.sumaYConteoCampoEntre(campoAlAzar(), ANIO, 1, 1, ANIO + anios - 1, 12, 31);
+    }
+
+    @Benchmark
+    public ColaStringTDA camposMasLluviosos() {
+        return alg.camposMasLluviosos(50);
+    }
+
+    @Benchmark
+    public ColaStringTDA camposMasLluviososMes() {
+        return alg.camposMasLluviososMes(ANIO, MES, 50);
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tdas.ABBPrecipitacionesTDA;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Altas y bajas de campos en el árbol, con claves ordenadas (peor caso del ABB) y aleatorias.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArbolBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    int campos;
+
+    @Param({"ORDENADO", "ALEATORIO"})
+    String orden;
+
+    @Param({"ENLAZADO", "PERSISTENTE"})
+    String implementacion;
+
+    String[] nombres;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        nombres = Datos.nombresCampos(campos, orden.equals("ORDENADO"));
+    }
+
+    /**
+     * Árbol con todos los campos ya cargados, recreado antes de cada invocación de eliminar.
+     */
+    @State(Scope.Thread)
+    public static class ArbolLleno {
+        ABBPrecipitacionesTDA arbol;
+
+        @Setup(Level.Invocation)
+        public void llenar(ArbolBenchmark b) {
+            arbol = Datos.arbol(b.implementacion);
+            for (String nombre : b.nombres) {
+                arbol.agregar(nombre);
+            }
+        }
+    }
+
+    @Benchmark
+    public ABBPrecipitacionesTDA agregar() {
+        ABBPrecipitacionesTDA arbol = Datos.arbol(implementacion);
+        for (String nombre : nombres) {
+            arbol.agregar(nombre);
+        }
+        return arbol;
+    }
+
+    @Benchmark
+    public ABBPrecipitacionesTDA agregarMedicion() {
+        ABBPrecipitacionesTDA arbol = Datos.arbol(implementacion);
+        for (String nombre : nombres) {
+            arbol.agregarMedicion(nombre, "2024", "05", 1, 10);
+        }
+        return arbol;
+    }
+
+    @Benchmark
+    public void eliminar(ArbolLleno lleno, Blackhole bh) {
+        for (String nombre : nombres) {
+            lleno.arbol.eliminar(nombre);
+        }
+        bh.consume(lleno.arbol.arbolVacio());
+    }
+}
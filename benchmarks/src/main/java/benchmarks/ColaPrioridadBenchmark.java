@@ -0,0 +1,44 @@
+package benchmarks;
+
+import implementacion.ColaPrioridad;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tdas.ColaPrioridadTDA;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ColaPrioridad con prioridades de día (1 a 31), como la usan las consultas por mes.
+ * Tiene una sola implementación, por eso no comparte el parámetro de EstructurasBenchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColaPrioridadBenchmark {
+
+    @Param({"31", "1000"})
+    int tamanio;
+
+    int[] claves;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        claves = Datos.enterosMezclados(tamanio);
+    }
+
+    @Benchmark
+    public void acolarYVaciar(Blackhole bh) {
+        ColaPrioridadTDA cola = new ColaPrioridad();
+        cola.inicializarCola();
+        for (int clave : claves) {
+            cola.acolarPrioridad(clave, clave % 31 + 1);
+        }
+        while (!cola.colaVacia()) {
+            bh.consume(cola.primero());
+            cola.desacolar();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package benchmarks;
+
+import algoritmos.Algoritmos;
+import implementacion.ArbolPrecipitaciones;
+import implementacion.ArbolPrecipitacionesPersistente;
+import tdas.ABBPrecipitacionesTDA;
+
+import java.util.Random;
+
+/**
+ * Datos sintéticos compartidos por los benchmarks. Todo se genera a partir de una semilla fija,
+ * por lo que dos corridas con los mismos parámetros trabajan sobre exactamente los mismos datos.
+ */
+final class Datos {
+
+    static final long SEMILLA = 20240501L;
+    static final int ANIO_INICIAL = 2020;
+
+    private Datos() {
+    }
+
+    /**
+     * Crea un árbol vacío de la implementación indicada: ENLAZADO o PERSISTENTE.
+     */
+    static ABBPrecipitacionesTDA arbol(String implementacion) {
+        ABBPrecipitacionesTDA arbol;
+        switch (implementacion) {
+            case "ENLAZADO":
+                arbol = new ArbolPrecipitaciones();
+                break;
+            case "PERSISTENTE":
+                arbol = new ArbolPrecipitacionesPersistente();
+                break;
+            default:
+                throw new IllegalArgumentException("Implementación desconocida: " + implementacion);
+        }
+        arbol.inicializar();
+        return arbol;
+    }
+
+    /**
+     * Nombres de campo distintos. Ordenados reproduce la carga de un padrón alfabético,
+     * que degenera el ABB en una lista; si no, se mezclan al azar.
+     */
+    static String[] nombresCampos(int cantidad, boolean ordenados) {
+        String[] nombres = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            nombres[i] = String.format("Establecimiento %05d - Lote %d", i, i % 7);
+        }
+        if (!ordenados) {
+            mezclar(nombres, new Random(SEMILLA));
+        }
+        return nombres;
+    }
+
+    /**
+     * Carga mediciones para cada campo durante la cantidad de años indicada desde ANIO_INICIAL.
+     * Cada día válido tiene una medición con probabilidad densidad.
+     */
+    static void cargar(Algoritmos alg, String[] campos, int anios, double densidad) {
+        Random r = new Random(SEMILLA);
+        for (String campo : campos) {
+            for (int anio = ANIO_INICIAL; anio < ANIO_INICIAL + anios; anio++) {
+                for (int mes = 1; mes <= 12; mes++) {
+                    int dias = diasDelMes(anio, mes);
+                    for (int dia = 1; dia <= dias; dia++) {
+                        if (r.nextDouble() < densidad) {
+                            alg.agregarMedicion(campo, anio, mes, dia, r.nextInt(60));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    static int diasDelMes(int anio, int mes) {
+        if (mes == 2) return ((anio % 4 == 0 && anio % 100 != 0) || anio % 400 == 0) ? 29 : 28;
+        return (mes == 4 || mes == 6 || mes == 9 || mes == 11) ? 30 : 31;
+    }
+
+    static int[] enterosMezclados(int cantidad) {
+        int[] valores = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            valores[i] = i + 1;
+        }
+        Random r = new Random(SEMILLA);
+        for (int i = cantidad - 1; i > 0; i--) {
+            int j = r.nextInt(i + 1);
+            int aux = valores[i];
+            valores[i] = valores[j];
+            valores[j] = aux;
+        }
+        return valores;
+    }
+
+    private static void mezclar(String[] valores, Random r) {
+        for (int i = valores.length - 1; i > 0; i--) {
+            int j = r.nextInt(i + 1);
+            String aux = valores[i];
+            valores[i] = valores[j];
+            valores[j] = aux;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package benchmarks;
+
+import implementacion.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tdas.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TDAs auxiliares: ColaString, DiccionarioSimple y ConjuntoString, comparando cada
+ * implementación enlazada con su alternativa sobre arreglos. ColaPrioridad, que tiene una
+ * sola implementación, se mide en ColaPrioridadBenchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstructurasBenchmark {
+
+    @Param({"31", "1000"})
+    int tamanio;
+
+    @Param({"ENLAZADO", "ARREGLO"})
+    String implementacion;
+
+    int[] claves;
+    String[] periodos;
+    DiccionarioSimpleTDA diccionario;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        claves = Datos.enterosMezclados(tamanio);
+        periodos = new String[tamanio];
+        for (int i = 0; i < tamanio; i++) {
+            periodos[i] = (1900 + claves[i] / 12) + "/" + String.format("%02d", claves[i] % 12 + 1);
+        }
+        diccionario = llenarDiccionario();
+    }
+
+    @Benchmark
+    public void colaString(Blackhole bh) {
+        ColaStringTDA cola = implementacion.equals("ENLAZADO") ? new ColaString() : new ColaStringArreglo();
+        cola.inicializarCola();
+        for (String periodo : periodos) {
+            cola.acolar(periodo);
+        }
+        while (!cola.colaVacia()) {
+            bh.consume(cola.primero());
+            cola.desacolar();
+        }
+    }
+
+    @Benchmark
+    public DiccionarioSimpleTDA diccionarioAgregar() {
+        return llenarDiccionario();
+    }
+
+    @Benchmark
+    public long diccionarioRecuperar() {
+        long suma = 0;
+        for (int clave : claves) {
+            suma += diccionario.recuperar(clave);
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public void diccionarioObtenerClaves(Blackhole bh) {
+        ConjuntoTDA conjunto = diccionario.obtenerClaves();
+        while (!conjunto.estaVacio()) {
+            int clave = conjunto.elegir();
+            bh.consume(clave);
+            conjunto.sacar(clave);
+        }
+    }
+
+    @Benchmark
+    public void conjuntoString(Blackhole bh) {
+        ConjuntoStringTDA conjunto = implementacion.equals("ENLAZADO") ? new ConjuntoString() : new ConjuntoStringHash();
+        conjunto.inicializar();
+        for (String periodo : periodos) {
+            conjunto.agregar(periodo);
+        }
+        for (String periodo : periodos) {
+            bh.consume(conjunto.pertenece(periodo));
+        }
+        while (!conjunto.estaVacio()) {
+            conjunto.sacar(conjunto.elegir());
+        }
+    }
+
+    private DiccionarioSimpleTDA llenarDiccionario() {
+        DiccionarioSimpleTDA dic = implementacion.equals("ENLAZADO") ? new DiccionarioSimple() : new DiccionarioSimpleHash();
+        dic.inicializar();
+        for (int clave : claves) {
+            dic.agregar(clave, clave & 63);
+        }
+        return dic;
+    }
+}
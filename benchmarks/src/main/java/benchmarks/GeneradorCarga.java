@@ -0,0 +1,185 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Generador determinístico de cargas sintéticas para Algoritmos.
+ * Con la misma semilla y configuración produce siempre la misma secuencia de operaciones.
+ * Modela:
+ * - nombres de campo como en un padrón, dados de alta en orden alfabético;
+ * - campos "calientes": la elección de campo sigue una distribución de Zipf con exponente zipf
+ *   (0 = uniforme; valores cercanos a 1 concentran la carga en pocos campos);
+ * - lluvia estacional: más probabilidad y más milímetros de octubre a marzo;
+ * - una mezcla configurable de lecturas (consultas) y escrituras.
+ */
+public class GeneradorCarga {
+
+    /**
+     * Tipos de operación que se pueden generar.
+     */
+    public enum TipoOperacion {
+        AGREGAR_MEDICION(true),
+        ELIMINAR_MEDICION(true),
+        MEDICIONES_CAMPO_MES(false),
+        MEDICIONES_MES(false),
+        PROMEDIO_LLUVIA_DIA(false),
+        CAMPOS_MAYOR_PROMEDIO(false),
+        MES_MAS_LLUVIOSO(false),
+        CAMPO_MAS_LLUVIOSO(false);
+
+        final boolean escritura;
+
+        TipoOperacion(boolean escritura) {
+            this.escritura = escritura;
+        }
+    }
+
+    /**
+     * Una operación ya generada. Los campos que no usa su tipo quedan en 0 o null.
+     */
+    public static final class Operacion {
+        public final TipoOperacion tipo;
+        public final String campo;
+        public final int anio;
+        public final int mes;
+        public final int dia;
+        public final int precipitacion;
+
+        Operacion(TipoOperacion tipo, String campo, int anio, int mes, int dia, int precipitacion) {
+            this.tipo = tipo;
+            this.campo = campo;
+            this.anio = anio;
+            this.mes = mes;
+            this.dia = dia;
+            this.precipitacion = precipitacion;
+        }
+    }
+
+    // Probabilidad de lluvia y milímetros medios por mes (índice 1 a 12), clima pampeano.
+    private static final double[] PROBABILIDAD_LLUVIA = {0, .35, .33, .32, .25, .18, .12, .10, .10, .15, .28, .32, .35};
+    private static final int[] MM_MEDIOS = {0, 22, 20, 24, 18, 12, 8, 7, 8, 12, 18, 22, 24};
+
+    // Peso relativo de cada consulta dentro de las lecturas
+    private static final TipoOperacion[] LECTURAS = {
+            TipoOperacion.MEDICIONES_CAMPO_MES, TipoOperacion.MEDICIONES_CAMPO_MES, TipoOperacion.MEDICIONES_CAMPO_MES,
+            TipoOperacion.MEDICIONES_CAMPO_MES, TipoOperacion.MEDICIONES_MES, TipoOperacion.PROMEDIO_LLUVIA_DIA,
+            TipoOperacion.CAMPOS_MAYOR_PROMEDIO, TipoOperacion.MES_MAS_LLUVIOSO, TipoOperacion.CAMPO_MAS_LLUVIOSO};
+
+    private final String[] campos;
+    private final double[] acumuladaZipf;
+    private final int anioInicial;
+    private final int anios;
+    private final double lecturas;
+    private final double bajas;
+    private final Random r;
+
+    /**
+     * @param campos      Nombres de campo (ver camposDePadron).
+     * @param zipf        Exponente de Zipf para elegir campos (0 = uniforme).
+     * @param anioInicial Primer año de la historia.
+     * @param anios       Cantidad de años de historia.
+     * @param lecturas    Fracción de operaciones que son consultas (0 a 1).
+     * @param bajas       Fracción de las escrituras que son bajas de mediciones (0 a 1).
+     * @param semilla     Semilla del generador.
+     */
+    public GeneradorCarga(String[] campos, double zipf, int anioInicial, int anios, double lecturas, double bajas, long semilla) {
+        this.campos = campos;
+        this.acumuladaZipf = acumuladaZipf(campos.length, zipf);
+        this.anioInicial = anioInicial;
+        this.anios = anios;
+        this.lecturas = lecturas;
+        this.bajas = bajas;
+        this.r = new Random(semilla);
+    }
+
+    /**
+     * Nombres de campo como en un padrón: establecimientos con varios lotes, en orden alfabético.
+     */
+    public static String[] camposDePadron(int cantidad) {
+        String[] nombres = new String[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            nombres[i] = String.format("Establecimiento %04d / Lote %02d", i / 8, i % 8);
+        }
+        return nombres;
+    }
+
+    /**
+     * Mediciones de toda la historia, día por día y campo por campo en el orden del padrón,
+     * con lluvia estacional. Sirve para precargar el árbol antes de medir.
+     */
+    public Operacion[] historia() {
+        ArrayList<Operacion> ops = new ArrayList<>();
+        for (String campo : campos) {
+            for (int anio = anioInicial; anio < anioInicial + anios; anio++) {
+                for (int mes = 1; mes <= 12; mes++) {
+                    for (int dia = 1; dia <= Datos.diasDelMes(anio, mes); dia++) {
+                        if (r.nextDouble() < PROBABILIDAD_LLUVIA[mes]) {
+                            ops.add(new Operacion(TipoOperacion.AGREGAR_MEDICION, campo, anio, mes, dia, milimetros(mes)));
+                        }
+                    }
+                }
+            }
+        }
+        return ops.toArray(new Operacion[0]);
+    }
+
+    /**
+     * Genera la cantidad indicada de operaciones mezclando lecturas y escrituras.
+     */
+    public Operacion[] operaciones(int cantidad) {
+        Operacion[] ops = new Operacion[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            ops[i] = siguiente();
+        }
+        return ops;
+    }
+
+    private Operacion siguiente() {
+        int anio = anioInicial + r.nextInt(anios);
+        int mes = 1 + r.nextInt(12);
+        int dia = 1 + r.nextInt(Datos.diasDelMes(anio, mes));
+        if (r.nextDouble() < lecturas) {
+            TipoOperacion tipo = LECTURAS[r.nextInt(LECTURAS.length)];
+            return new Operacion(tipo, campoCaliente(), anio, mes, dia, 0);
+        }
+        if (r.nextDouble() < bajas) {
+            return new Operacion(TipoOperacion.ELIMINAR_MEDICION, campoCaliente(), anio, mes, dia, 0);
+        }
+        return new Operacion(TipoOperacion.AGREGAR_MEDICION, campoCaliente(), anio, mes, dia, milimetros(mes));
+    }
+
+    /**
+     * Elige un campo según la distribución de Zipf, por búsqueda binaria en la acumulada.
+     * El rango de popularidad se desacopla del orden alfabético.
+     */
+    private String campoCaliente() {
+        double u = r.nextDouble();
+        int desde = 0;
+        int hasta = acumuladaZipf.length - 1;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (acumuladaZipf[medio] < u) desde = medio + 1;
+            else hasta = medio;
+        }
+        return campos[(int) ((desde * 0x9E3779B97F4A7C15L >>> 1) % campos.length)];
+    }
+
+    private int milimetros(int mes) {
+        // Distribución exponencial alrededor de la media del mes
+        return (int) Math.round(-MM_MEDIOS[mes] * Math.log(1 - r.nextDouble()));
+    }
+
+    private static double[] acumuladaZipf(int n, double s) {
+        double[] acumulada = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / Math.pow(i + 1, s);
+            acumulada[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            acumulada[i] /= total;
+        }
+        return acumulada;
+    }
+}
@@ -0,0 +1,45 @@
+package benchmarks;
+
+import algoritmos.Algoritmos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingesta de mediciones en un campo y mes que ya existen: el caso común al cargar datos diarios.
+ * Correr con -prof gc: con ENLAZADO gc.alloc.rate.norm debe dar 0 B/op (PERSISTENTE copia el camino
+ * en cada escritura y se incluye como referencia).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngestaBenchmark {
+
+    @Param({"100", "1000"})
+    int campos;
+
+    @Param({"ENLAZADO", "PERSISTENTE"})
+    String implementacion;
+
+    Algoritmos alg;
+    String[] nombres;
+    int indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        nombres = Datos.nombresCampos(campos, false);
+        alg = new Algoritmos(Datos.arbol(implementacion));
+        for (String nombre : nombres) {
+            alg.agregarMedicion(nombre, Datos.ANIO_INICIAL, 5, 1, 1);
+        }
+    }
+
+    @Benchmark
+    public void agregarMedicion() {
+        int i = indice++;
+        alg.agregarMedicion(nombres[i % nombres.length], Datos.ANIO_INICIAL, 5, 1 + i % 28, 3);
+    }
+}
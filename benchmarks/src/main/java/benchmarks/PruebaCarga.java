@@ -0,0 +1,247 @@
+package benchmarks;
+
+import algoritmos.Algoritmos;
+import algoritmos.AlgoritmosParticionados;
+import benchmarks.GeneradorCarga.Operacion;
+import benchmarks.GeneradorCarga.TipoOperacion;
+import implementacion.Metricas;
+import tdas.ColaPrioridadTDA;
+import tdas.ColaStringTDA;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prueba de carga mixta (altas, bajas y consultas) con varios hilos.
+ * Precarga la historia, reproduce la carga generada por GeneradorCarga y reporta el
+ * rendimiento total y las latencias p50/p99/p999 de cada tipo de operación.
+ *
+ * Uso (parámetros clave=valor, todos opcionales):
+ *   java -cp benchmarks/target/benchmarks.jar benchmarks.PruebaCarga arbol=PERSISTENTE hilos=8
+ *
+ * Parámetros:
+ *   arbol        ENLAZADO (con un lock de lectura/escritura), PERSISTENTE (sin locks en lectura)
+ *                o PARTICIONADO (AlgoritmosParticionados)
+ *   campos       cantidad de campos del padrón                      (1000)
+ *   anios        años de historia precargada                        (2)
+ *   hilos        hilos que reproducen la carga                      (4)
+ *   operaciones  operaciones por hilo                               (20000)
+ *   lecturas     fracción de consultas                              (0.2)
+ *   bajas        fracción de las escrituras que son bajas           (0.1)
+ *   zipf         exponente de Zipf para los campos calientes        (1.0)
+ *   semilla      semilla de la carga                                (20240501)
+ *   metricas     true para activar Metricas e imprimir su resumen    (false)
+ */
+public class PruebaCarga {
+
+    /**
+     * Ejecuta una operación sobre el sistema a probar.
+     */
+    interface Destino {
+        void ejecutar(Operacion op);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> p = parametros(args);
+        String arbol = p.getOrDefault("arbol", "ENLAZADO");
+        int campos = Integer.parseInt(p.getOrDefault("campos", "1000"));
+        int anios = Integer.parseInt(p.getOrDefault("anios", "2"));
+        int hilos = Integer.parseInt(p.getOrDefault("hilos", "4"));
+        int operaciones = Integer.parseInt(p.getOrDefault("operaciones", "20000"));
+        double lecturas = Double.parseDouble(p.getOrDefault("lecturas", "0.2"));
+        double bajas = Double.parseDouble(p.getOrDefault("bajas", "0.1"));
+        double zipf = Double.parseDouble(p.getOrDefault("zipf", "1.0"));
+        long semilla = Long.parseLong(p.getOrDefault("semilla", String.valueOf(Datos.SEMILLA)));
+        boolean metricas = Boolean.parseBoolean(p.getOrDefault("metricas", "false"));
+
+        String[] padron = GeneradorCarga.camposDePadron(campos);
+
+        // La carga de cada hilo se genera antes de medir, con una semilla derivada de la general
+        Operacion[][] cargas = new Operacion[hilos][];
+        for (int h = 0; h < hilos; h++) {
+            cargas[h] = new GeneradorCarga(padron, zipf, Datos.ANIO_INICIAL, anios, lecturas, bajas, semilla + h + 1)
+                    .operaciones(operaciones);
+        }
+
+        Destino destino = destino(arbol);
+        long inicioPrecarga = System.nanoTime();
+        Operacion[] historia = new GeneradorCarga(padron, zipf, Datos.ANIO_INICIAL, anios, lecturas, bajas, semilla).historia();
+        for (Operacion op : historia) {
+            destino.ejecutar(op);
+        }
+        System.out.printf("Precarga: %d mediciones en %d campos (%.1f s)%n", historia.length, campos,
+                (System.nanoTime() - inicioPrecarga) / 1e9);
+
+        Histograma[][] histogramas = new Histograma[hilos][TipoOperacion.values().length];
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] trabajadores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            final int hilo = h;
+            for (int t = 0; t < TipoOperacion.values().length; t++) {
+                histogramas[h][t] = new Histograma();
+            }
+            trabajadores[h] = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (Operacion op : cargas[hilo]) {
+                    histogramas[hilo][op.tipo.ordinal()].registrar(medir(destino, op));
+                }
+            }, "carga-" + h);
+            trabajadores[h].start();
+        }
+
+        Metricas.activar(metricas);
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Thread t : trabajadores) {
+            t.join();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("arbol=%s hilos=%d campos=%d anios=%d lecturas=%.2f zipf=%.2f%n",
+                arbol, hilos, campos, anios, lecturas, zipf);
+        System.out.printf("Rendimiento: %.0f ops/s (%d operaciones en %.2f s)%n",
+                hilos * (double) operaciones / segundos, hilos * operaciones, segundos);
+        System.out.printf("%-24s %10s %12s %12s %12s %12s%n", "operacion", "cantidad", "p50 us", "p99 us", "p999 us", "max us");
+        for (TipoOperacion tipo : TipoOperacion.values()) {
+            Histograma total = new Histograma();
+            for (int h = 0; h < hilos; h++) {
+                total.sumar(histogramas[h][tipo.ordinal()]);
+            }
+            if (total.total() == 0) continue;
+            System.out.printf("%-24s %10d %12.1f %12.1f %12.1f %12.1f%n", tipo, total.total(),
+                    total.percentil(0.50) / 1e3, total.percentil(0.99) / 1e3,
+                    total.percentil(0.999) / 1e3, total.maximo() / 1e3);
+        }
+        if (metricas) {
+            System.out.println("Métricas por llamada:");
+            for (Metricas.Estadistica e : Metricas.instantanea()) {
+                if (e.llamadas > 0) System.out.println("  " + e);
+            }
+        }
+        if (destino instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) destino).close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Arma el sistema a probar. ArbolPrecipitaciones no admite concurrencia, así que se protege
+     * con un lock de lectura/escritura; el árbol persistente se usa sin locks.
+     */
+    private static Destino destino(String arbol) {
+        switch (arbol) {
+            case "ENLAZADO": {
+                Algoritmos alg = new Algoritmos(Datos.arbol(arbol));
+                ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+                return op -> {
+                    Lock l = op.tipo.escritura ? lock.writeLock() : lock.readLock();
+                    l.lock();
+                    try {
+                        ejecutar(alg, op);
+                    } finally {
+                        l.unlock();
+                    }
+                };
+            }
+            case "PERSISTENTE": {
+                Algoritmos alg = new Algoritmos(Datos.arbol(arbol));
+                return op -> ejecutar(alg, op);
+            }
+            case "PARTICIONADO":
+                return new Particionado(new AlgoritmosParticionados());
+            default:
+                throw new IllegalArgumentException("arbol debe ser ENLAZADO, PERSISTENTE o PARTICIONADO");
+        }
+    }
+
+    private static void ejecutar(Algoritmos alg, Operacion op) {
+        switch (op.tipo) {
+            case AGREGAR_MEDICION: alg.agregarMedicion(op.campo, op.anio, op.mes, op.dia, op.precipitacion); break;
+            case ELIMINAR_MEDICION: alg.eliminarMedicion(op.campo, op.anio, op.mes, op.dia); break;
+            case MEDICIONES_CAMPO_MES: consumir(alg.medicionesCampoMes(op.campo, op.anio, op.mes)); break;
+            case MEDICIONES_MES: consumir(alg.medicionesMes(op.anio, op.mes)); break;
+            case PROMEDIO_LLUVIA_DIA: alg.promedioLluviaEnUnDia(op.anio, op.mes, op.dia); break;
+            case CAMPOS_MAYOR_PROMEDIO: consumir(alg.camposConLLuviaMayorPromedio(op.anio, op.mes)); break;
+            case MES_MAS_LLUVIOSO: alg.mesMasLluvioso(); break;
+            case CAMPO_MAS_LLUVIOSO: alg.campoMasLLuviosoHistoria(); break;
+        }
+    }
+
+    /**
+     * Destino sobre AlgoritmosParticionados, que ya sincroniza cada partición.
+     */
+    private static final class Particionado implements Destino, AutoCloseable {
+        private final AlgoritmosParticionados alg;
+
+        Particionado(AlgoritmosParticionados alg) {
+            this.alg = alg;
+        }
+
+        @Override
+        public void ejecutar(Operacion op) {
+            switch (op.tipo) {
+                case AGREGAR_MEDICION: alg.agregarMedicion(op.campo, op.anio, op.mes, op.dia, op.precipitacion); break;
+                case ELIMINAR_MEDICION: alg.eliminarMedicion(op.campo, op.anio, op.mes, op.dia); break;
+                case MEDICIONES_CAMPO_MES: consumir(alg.medicionesCampoMes(op.campo, op.anio, op.mes)); break;
+                case MEDICIONES_MES: consumir(alg.medicionesMes(op.anio, op.mes)); break;
+                case PROMEDIO_LLUVIA_DIA: alg.promedioLluviaEnUnDia(op.anio, op.mes, op.dia); break;
+                case CAMPOS_MAYOR_PROMEDIO: consumir(alg.camposConLLuviaMayorPromedio(op.anio, op.mes)); break;
+                case MES_MAS_LLUVIOSO: alg.mesMasLluvioso(); break;
+                case CAMPO_MAS_LLUVIOSO: alg.campoMasLLuviosoHistoria(); break;
+            }
+        }
+
+        @Override
+        public void close() {
+            alg.cerrar();
+        }
+    }
+
+    /**
+     * Ejecuta la operación y devuelve su duración en nanosegundos.
+     * Algoritmos lanza IllegalStateException cuando el campo no tiene el período pedido
+     * (medicionesCampoMes, o eliminarMedicion sobre ArbolPrecipitaciones); con una carga
+     * sintética eso es esperable, así que se cuenta como una operación más.
+     */
+    private static long medir(Destino destino, Operacion op) {
+        long inicio = System.nanoTime();
+        try {
+            destino.ejecutar(op);
+        } catch (IllegalStateException e) {
+            // Período inexistente para ese campo
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private static void consumir(ColaPrioridadTDA cola) {
+        while (!cola.colaVacia()) {
+            cola.desacolar();
+        }
+    }
+
+    private static void consumir(ColaStringTDA cola) {
+        while (!cola.colaVacia()) {
+            cola.desacolar();
+        }
+    }
+
+    private static Map<String, String> parametros(String[] args) {
+        Map<String, String> p = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual <= 0) throw new IllegalArgumentException("Parámetro inválido (se espera clave=valor): " + arg);
+            p.put(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+        return p;
+    }
+}
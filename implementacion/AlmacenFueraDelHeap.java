@@ -0,0 +1,191 @@
+package implementacion;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memoria fuera del heap para las mediciones de los campos: registros de tamaño fijo (un mes de
+ * un campo cada uno) guardados en bloques de ByteBuffer directos. El recolector de basura no ve
+ * los registros, sólo un puñado de bloques de 1 MiB.
+ *
+ * Funcionamiento:
+ * - Cada registro ocupa ENTEROS enteros: [0] período (anio * 12 + mes - 1), [1] registro siguiente
+ *   del mismo campo (o -1), [2] días presentes (bit dia encendido) y [3..33] milímetros de los días 1..31.
+ * - Un registro se identifica por un int: bloque = registro / REGISTROS_POR_BLOQUE.
+ * - Los registros liberados se encadenan por el entero [1] y se reutilizan antes de agrandar.
+ * - close() devuelve los bloques al sistema operativo en el momento (con el cleaner del buffer) y
+ *   deja el almacén inutilizable. Si el cleaner no está disponible, los bloques se liberan cuando
+ *   el recolector descarta los buffers.
+ * No es seguro para varios hilos; se usa con el mismo cuidado que el árbol al que acompaña.
+ */
+public class AlmacenFueraDelHeap implements AutoCloseable {
+
+	static final int PERIODO = 0;
+	static final int SIGUIENTE = 1;
+	static final int PRESENTES = 2;
+	static final int PRIMER_DIA = 2; // El día d está en el entero PRIMER_DIA + d
+	static final int ENTEROS = 34;
+
+	private static final int BYTES_REGISTRO = ENTEROS * Integer.BYTES;
+	private static final int BYTES_BLOQUE = 1 << 20;
+	private static final int REGISTROS_POR_BLOQUE = BYTES_BLOQUE / BYTES_REGISTRO;
+
+	private static final AtomicLong RESERVADOS = new AtomicLong(); // Bytes de todos los almacenes abiertos
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> clase = Class.forName("sun.misc.Unsafe");
+			Field campo = clase.getDeclaredField("theUnsafe");
+			campo.setAccessible(true);
+			unsafe = campo.get(null);
+			invokeCleaner = clase.getMethod("invokeCleaner", ByteBuffer.class);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// Sin cleaner explícito: los bloques se liberan con el recolector
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	private ByteBuffer[] bloques = new ByteBuffer[4];
+	private int cantidadBloques;
+	private int siguienteNuevo; // Primer registro nunca usado
+	private int libre = -1;     // Primer registro de la lista de liberados
+	private int enUso;
+	private boolean cerrado;
+
+	/**
+	 * Reserva un registro con el período indicado, sin días y sin siguiente.
+	 *
+	 * @return Número de registro.
+	 * @throws IllegalStateException si el almacén está cerrado.
+	 * Complejidad: O(1) amortizado.
+	 */
+	int reservar(int periodo) {
+		verificarAbierto();
+		int registro;
+		if (libre >= 0) {
+			registro = libre;
+			libre = leer(registro, SIGUIENTE);
+		} else {
+			registro = siguienteNuevo++;
+			if (registro / REGISTROS_POR_BLOQUE == cantidadBloques) agregarBloque();
+		}
+		ByteBuffer bloque = bloque(registro);
+		int base = desplazamiento(registro);
+		for (int i = 0; i < ENTEROS; i++) {
+			bloque.putInt(base + i * Integer.BYTES, 0);
+		}
+		bloque.putInt(base + PERIODO * Integer.BYTES, periodo);
+		bloque.putInt(base + SIGUIENTE * Integer.BYTES, -1);
+		enUso++;
+		return registro;
+	}
+
+	/**
+	 * Devuelve el registro para reutilizarlo.
+	 * Complejidad: O(1)
+	 */
+	void liberar(int registro) {
+		verificarAbierto();
+		escribir(registro, SIGUIENTE, libre);
+		libre = registro;
+		enUso--;
+	}
+
+	int leer(int registro, int entero) {
+		return bloque(registro).getInt(desplazamiento(registro) + entero * Integer.BYTES);
+	}
+
+	void escribir(int registro, int entero, int valor) {
+		bloque(registro).putInt(desplazamiento(registro) + entero * Integer.BYTES, valor);
+	}
+
+	/**
+	 * Cantidad de registros (meses de un campo) en uso.
+	 */
+	public int registrosEnUso() {
+		return enUso;
+	}
+
+	/**
+	 * Bytes fuera del heap reservados por este almacén.
+	 */
+	public long bytesReservados() {
+		return (long) cantidadBloques * BYTES_BLOQUE;
+	}
+
+	/**
+	 * Bytes fuera del heap reservados entre todos los almacenes que todavía no se cerraron.
+	 */
+	public static long bytesReservadosTotales() {
+		return RESERVADOS.get();
+	}
+
+	/**
+	 * Indica si close() devuelve la memoria en el momento o si queda a cargo del recolector.
+	 */
+	public static boolean liberaAlCerrar() {
+		return INVOKE_CLEANER != null;
+	}
+
+	public boolean estaCerrado() {
+		return cerrado;
+	}
+
+	/**
+	 * Libera todos los bloques. Los árboles y diccionarios que usaban el almacén no se pueden seguir usando.
+	 * Llamarlo de nuevo no hace nada.
+	 */
+	@Override
+	public void close() {
+		if (cerrado) return;
+		cerrado = true;
+		for (int i = 0; i < cantidadBloques; i++) {
+			liberarBloque(bloques[i]);
+			bloques[i] = null;
+		}
+		RESERVADOS.addAndGet(-bytesReservados());
+		cantidadBloques = 0;
+		enUso = 0;
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	private ByteBuffer bloque(int registro) {
+		verificarAbierto();
+		return bloques[registro / REGISTROS_POR_BLOQUE];
+	}
+
+	private static int desplazamiento(int registro) {
+		return (registro % REGISTROS_POR_BLOQUE) * BYTES_REGISTRO;
+	}
+
+	private void agregarBloque() {
+		if (cantidadBloques == bloques.length) {
+			bloques = Arrays.copyOf(bloques, bloques.length * 2);
+		}
+		bloques[cantidadBloques++] = ByteBuffer.allocateDirect(BYTES_BLOQUE).order(ByteOrder.nativeOrder());
+		RESERVADOS.addAndGet(BYTES_BLOQUE);
+	}
+
+	private void verificarAbierto() {
+		if (cerrado) throw new IllegalStateException("El almacén fuera del heap está cerrado");
+	}
+
+	private static void liberarBloque(ByteBuffer bloque) {
+		if (INVOKE_CLEANER == null) return;
+		try {
+			INVOKE_CLEANER.invoke(UNSAFE, bloque);
+		} catch (ReflectiveOperationException e) {
+			// El bloque queda para el recolector
+		}
+	}
+}
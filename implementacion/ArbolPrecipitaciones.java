@@ -11,6 +11,19 @@ import tdas.ConjuntoStringTDA;
 /**
  * Implementación de un árbol binario de búsqueda (ABB) que almacena precipitaciones
  * por campo de cultivo, organizadas por períodos ("YYYY/MM") y días dentro del mes.
+ * Los nombres se registran en un RegistroCampos propio del árbol: cada nodo guarda el id del campo
+ * y su clave normalizada, y el descenso compara claves con compareTo en lugar de compareToIgnoreCase.
+ * Al eliminar un campo se libera su id, así los ids quedan acotados por los campos vivos.
+ * Cada campo lleva además un IndiceFenwick con sus mediciones por día, para sumar entre dos
+ * fechas cualesquiera sin recorrer los meses.
+ * Construido con un AlmacenFueraDelHeap, los períodos y días de cada campo se guardan en el almacén
+ * (DiccionarioSimpleStringFueraDelHeap) y en el heap quedan sólo los nodos del árbol; eliminar un
+ * campo devuelve sus registros al almacén. El almacén se libera con su close().
+ * Con activarLapidas(), eliminar un campo sólo lo marca (lápida) en O(log n) y no reestructura el
+ * árbol; compactarEliminados() quita después las lápidas y los períodos vacíos (AlgoritmosParticionados
+ * lo corre en segundo plano). desactivarLapidas() quita las que queden y vuelve a eliminar en el acto.
+ * Las escrituras buscan primero el nodo del campo en un CacheCampos (CLOCK) de los campos usados
+ * recientemente; sólo si no está descienden desde la raíz. Los aciertos se cuentan en Metricas.
  */
 public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 
@@ -21,12 +34,57 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 	 */
 	class nodoArbol {
 		String campo;
+		int id;        // Id del campo en el registro del árbol; el de una lápida ya está liberado
+		String clave;  // Clave normalizada del campo, para comparar sin ignorar mayúsculas en cada nivel
 		DiccionarioSimpleStringTDA mensualPrecipitaciones;
+		IndiceFenwick indice; // Sumas acumuladas por día, actualizadas junto con mensualPrecipitaciones
+		ResumenMensual resumen; // Totales de los meses resumidos por la retención, o null
+		boolean eliminado; // Lápida: el campo se eliminó y el nodo queda sólo para ordenar el descenso
 		ABBPrecipitacionesTDA hijoIzquierdo;
 		ABBPrecipitacionesTDA hijoDerecho;
 	}
 
+	/** Campos que guarda el cache de nodos si no se indica otra capacidad. */
+	public static final int CAPACIDAD_CACHE = 64;
+
+	/**
+	 * Datos que comparten el árbol y todos sus subárboles, como el almacén.
+	 */
+	private static final class estadoArbol {
+		RegistroCampos registro = new RegistroCampos(); // Nombres de los campos vivos
+		boolean activas; // eliminar deja una lápida en lugar de reestructurar
+		int nodos;       // Nodos del árbol, con lápidas incluidas
+		int eliminados;  // Nodos con lápida
+		CacheCampos<nodoArbol> cache = new CacheCampos<>(CAPACIDAD_CACHE); // Id → nodo, o null si está desactivado
+	}
+
 	private nodoArbol raiz;
+	private final AlmacenFueraDelHeap almacen; // null: mediciones en el heap
+	private final estadoArbol estado;
+
+	/**
+	 * Árbol con las mediciones en el heap.
+	 */
+	public ArbolPrecipitaciones() {
+		this(null);
+	}
+
+	/**
+	 * Árbol con las mediciones en un almacén fuera del heap, compartido por todos sus nodos.
+	 *
+	 * @param almacen Almacén donde se guardan los períodos y días, o null para usar el heap.
+	 */
+	public ArbolPrecipitaciones(AlmacenFueraDelHeap almacen) {
+		this(almacen, new estadoArbol());
+	}
+
+	/**
+	 * Subárbol que comparte el almacén y los contadores de lápidas del árbol.
+	 */
+	private ArbolPrecipitaciones(AlmacenFueraDelHeap almacen, estadoArbol estado) {
+		this.almacen = almacen;
+		this.estado = estado;
+	}
 
 	/**
 	 * Inicializa el árbol binario de precipitaciones.
@@ -37,6 +95,10 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 	@Override
 	public void inicializar() {
 		raiz = null;
+		estado.registro = new RegistroCampos();
+		estado.nodos = 0;
+		estado.eliminados = 0;
+		if (estado.cache != null) estado.cache.vaciar();
 	}
 
 	/**
@@ -52,22 +114,27 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 	 */
 	@Override
 	public void agregar(String valor) {
+		agregar(valor, estado.registro.claveDe(valor));
+	}
+
+	/**
+	 * Inserta el campo con esa clave, igual que agregar(String). El nombre se registra recién
+	 * al crear su nodo: si ya hay un campo con la misma clave no ocupa un id.
+	 */
+	private void agregar(String valor, String clave) {
+		Metricas.nodo();
 		if (raiz == null) {
 			// Árbol vacío: se crea el nodo raíz con su campo y diccionario de precipitaciones
-			raiz = new nodoArbol();
-			raiz.campo = valor;
-			raiz.mensualPrecipitaciones = new DiccionarioSimpleString();
-			raiz.mensualPrecipitaciones.inicializarDiccionario();
-			raiz.hijoIzquierdo = new ArbolPrecipitaciones();
-			raiz.hijoIzquierdo.inicializar();
-			raiz.hijoDerecho = new ArbolPrecipitaciones();
-			raiz.hijoDerecho.inicializar();
-		} else if (valor.compareToIgnoreCase(raiz.campo) < 0) {
+			crearRaiz(estado.registro.registrar(valor));
+			return;
+		}
+		int comparacion = clave.compareTo(raiz.clave);
+		if (comparacion < 0) {
 			// El campo es menor: se agrega al subárbol izquierdo
-			raiz.hijoIzquierdo.agregar(valor);
-		} else if (valor.compareToIgnoreCase(raiz.campo) > 0) {
-			// El campo es mayor: se agrega al subárbol derecho
-			raiz.hijoDerecho.agregar(valor);
+			((ArbolPrecipitaciones) raiz.hijoIzquierdo).agregar(valor, clave);
+		} else if (comparacion > 0 || raiz.eliminado) {
+			// El campo es mayor (o el igual es una lápida): se agrega al subárbol derecho
+			((ArbolPrecipitaciones) raiz.hijoDerecho).agregar(valor, clave);
 		}
 		// Si el campo ya existe, no se realiza ninguna acción
 	}
@@ -90,16 +157,34 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 	 */
 	@Override
 	public void agregarMedicion(String campo, String anio, String mes, int dia, int precipitacion) {
-		if (raiz == null) {
-			agregar(campo);
+		int id = estado.registro.registrar(campo);
+		String periodo = String.format("%s/%02d", anio, Integer.parseInt(mes));
+		nodoArbol nodo = obtenerOCrearConCache(id);
+		nodo.mensualPrecipitaciones.agregar(periodo, dia, precipitacion);
+		int inicioMes = IndiceFenwick.ordinalPeriodo(periodo);
+		if (dia >= 1 && dia <= 31 && inicioMes >= 0) {
+			nodo.indice.agregar(inicioMes + dia - 1, precipitacion);
 		}
-		if (raiz.campo.equals(campo)) {
-			String periodo = String.format("%s/%02d", anio, Integer.parseInt(mes));
-			raiz.mensualPrecipitaciones.agregar(periodo, dia, precipitacion);
-		} else if (campo.compareToIgnoreCase(raiz.campo) < 0) {
-			raiz.hijoIzquierdo.agregarMedicion(campo, anio, mes, dia, precipitacion);
-		} else {
-			raiz.hijoDerecho.agregarMedicion(campo, anio, mes, dia, precipitacion);
+	}
+
+	/**
+	 * Agrega una medición con año y mes numéricos.
+	 * Si el campo y el período ya existen, no reserva memoria: el período se busca
+	 * comparando sus dígitos y el día se acumula en un arreglo fijo.
+	 *
+	 * @param campo Nombre del campo.
+	 * @param anio Año de la medición.
+	 * @param mes Mes de la medición (1 a 12).
+	 * @param dia Día del mes.
+	 * @param precipitacion Cantidad de precipitaciones registradas en milímetros.
+	 */
+	@Override
+	public void agregarMedicion(String campo, int anio, int mes, int dia, int precipitacion) {
+		int id = estado.registro.registrar(campo);
+		nodoArbol nodo = obtenerOCrearConCache(id);
+		nodo.mensualPrecipitaciones.agregar(anio, mes, dia, precipitacion);
+		if (dia >= 1 && dia <= 31) {
+			nodo.indice.agregar(IndiceFenwick.ordinal(anio, mes, dia), precipitacion);
 		}
 	}
 
@@ -115,15 +200,69 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 	 *   - Si no tiene hijos: lo elimina directamente.
 	 *   - Si tiene un solo hijo: lo reemplaza por ese hijo.
 	 *   - Si tiene dos hijos: reemplaza por el mínimo del subárbol derecho y elimina ese nodo mínimo.
+	 * Con las lápidas activadas, en cambio, sólo marca el nodo (ver marcarEliminado).
 	 */
 	@Override
 	public void eliminar(String campo) {
+		if (estado.activas) {
+			marcarEliminado(estado.registro.claveDe(campo));
+		} else {
+			eliminarClave(estado.registro.claveDe(campo), true);
+		}
+	}
+
+	/**
+	 * Marca como eliminado el primer campo vivo con esa clave en el descenso, igual que lo elegiría
+	 * eliminarClave, y descarta sus mediciones. El nodo queda en su lugar: no se busca el sucesor
+	 * ni se reestructura nada.
+	 * Complejidad: O(log n), más devolver sus registros si están en un AlmacenFueraDelHeap.
+	 */
+	private void marcarEliminado(String clave) {
+		Metricas.nodo();
 		if (raiz == null) return;
-		if (campo.compareToIgnoreCase(raiz.campo) < 0) {
-			raiz.hijoIzquierdo.eliminar(campo);
-		} else if (campo.compareToIgnoreCase(raiz.campo) > 0) {
-			raiz.hijoDerecho.eliminar(campo);
+		int comparacion = clave.compareTo(raiz.clave);
+		if (comparacion < 0) {
+			((ArbolPrecipitaciones) raiz.hijoIzquierdo).marcarEliminado(clave);
+		} else if (comparacion > 0 || raiz.eliminado) {
+			((ArbolPrecipitaciones) raiz.hijoDerecho).marcarEliminado(clave);
 		} else {
+			if (raiz.mensualPrecipitaciones instanceof DiccionarioSimpleStringFueraDelHeap) {
+				((DiccionarioSimpleStringFueraDelHeap) raiz.mensualPrecipitaciones).liberar();
+			} else {
+				raiz.mensualPrecipitaciones.inicializarDiccionario();
+			}
+			raiz.indice.inicializar();
+			raiz.resumen = null;
+			raiz.eliminado = true;
+			estado.eliminados++;
+			if (estado.cache != null) estado.cache.quitar(raiz.id);
+			estado.registro.liberar(raiz.id);
+		}
+	}
+
+	/**
+	 * Elimina el campo cuya clave normalizada coincide con la indicada, igual que eliminar(String).
+	 *
+	 * @param liberar Si es true se devuelven al almacén los registros del campo; es false al quitar
+	 *                el mínimo que pasó a ocupar el lugar del nodo eliminado, que conserva sus datos.
+	 */
+	private void eliminarClave(String clave, boolean liberar) {
+		Metricas.nodo();
+		if (raiz == null) return;
+		int comparacion = clave.compareTo(raiz.clave);
+		if (comparacion < 0) {
+			((ArbolPrecipitaciones) raiz.hijoIzquierdo).eliminarClave(clave, liberar);
+		} else if (comparacion > 0) {
+			((ArbolPrecipitaciones) raiz.hijoDerecho).eliminarClave(clave, liberar);
+		} else {
+			if (liberar) {
+				estado.nodos--;
+				if (estado.cache != null) estado.cache.quitar(raiz.id);
+				estado.registro.liberar(raiz.id);
+			}
+			if (liberar && raiz.mensualPrecipitaciones instanceof DiccionarioSimpleStringFueraDelHeap) {
+				((DiccionarioSimpleStringFueraDelHeap) raiz.mensualPrecipitaciones).liberar();
+			}
 			if (raiz.hijoIzquierdo.arbolVacio() && raiz.hijoDerecho.arbolVacio()) {
 				raiz = null;
 			} else if (raiz.hijoIzquierdo.arbolVacio()) {
@@ -131,10 +270,16 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 			} else if (raiz.hijoDerecho.arbolVacio()) {
 				raiz = ((ArbolPrecipitaciones) raiz.hijoIzquierdo).copiarNodo();
 			} else {
-				String min = ((ArbolPrecipitaciones) raiz.hijoDerecho).minimo();
-				raiz.campo = min;
-				raiz.mensualPrecipitaciones = ((ArbolPrecipitaciones) raiz.hijoDerecho).obtenerNodo(min).mensualPrecipitaciones;
-				raiz.hijoDerecho.eliminar(min);
+				nodoArbol min = ((ArbolPrecipitaciones) raiz.hijoDerecho).minimo();
+				// El campo del mínimo pasa a este nodo: su entrada en el cache apunta al nodo que se descarta
+				if (estado.cache != null) estado.cache.quitar(min.id);
+				raiz.campo = min.campo;
+				raiz.id = min.id;
+				raiz.clave = min.clave;
+				raiz.mensualPrecipitaciones = min.mensualPrecipitaciones;
+				raiz.indice = min.indice;
+				raiz.resumen = min.resumen;
+				((ArbolPrecipitaciones) raiz.hijoDerecho).eliminarClave(min.clave, false);
 			}
 		}
 	}
@@ -155,19 +300,96 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 	 */
 	@Override
 	public void eliminarMedicion(String campo, String anio, String mes, int dia) {
-		if (raiz != null) {
-			if (raiz.campo.equals(campo)) {
-				String periodo = anio + "/" + mes;
-				DiccionarioSimpleTDA dic = raiz.mensualPrecipitaciones.recuperar(periodo);
-				dic.eliminar(dia);
-			} else if (campo.compareToIgnoreCase(raiz.campo) < 0) {
-				raiz.hijoIzquierdo.eliminarMedicion(campo, anio, mes, dia);
-			} else {
-				raiz.hijoDerecho.eliminarMedicion(campo, anio, mes, dia);
+		int id = estado.registro.buscar(campo);
+		if (id < 0) return; // Un nombre sin registrar no está en el árbol
+		nodoArbol nodo = obtenerNodoConCache(id);
+		if (nodo != null) {
+			String periodo = anio + "/" + mes;
+			DiccionarioSimpleTDA dic = nodo.mensualPrecipitaciones.recuperar(periodo);
+			dic.eliminar(dia);
+			int inicioMes = IndiceFenwick.ordinalPeriodo(periodo);
+			if (dia >= 1 && dia <= 31 && inicioMes >= 0) {
+				nodo.indice.eliminar(inicioMes + dia - 1);
 			}
 		}
 	}
 
+	/**
+	 * Devuelve la suma de precipitaciones y la cantidad de mediciones del campo raíz entre dos días.
+	 *
+	 * @param desde Ordinal del primer día (IndiceFenwick.ordinal), incluido.
+	 * @param hasta Ordinal del último día, incluido.
+	 * @return Arreglo {suma, conteo}; {0, 0} si el árbol está vacío.
+	 * Complejidad: O(log D), con D los días cubiertos por el índice del campo.
+	 */
+	@Override
+	public int[] sumaYConteoEntre(int desde, int hasta) {
+		if (raiz == null) return new int[2];
+		int[] resultado = raiz.indice.sumaYConteo(desde, hasta);
+		if (raiz.resumen != null) {
+			int[] resumidos = raiz.resumen.sumaYConteoEntre(desde, hasta);
+			resultado[0] += resumidos[0];
+			resultado[1] += resumidos[1];
+		}
+		return resultado;
+	}
+
+	/**
+	 * Resume los meses del campo anteriores a anio: el diccionario de períodos entrega sus totales,
+	 * que se acumulan en el ResumenMensual del nodo, y el índice por fechas descarta esos años.
+	 *
+	 * @param campo Nombre del campo.
+	 * @param anio Primer año que conserva el detalle diario.
+	 * Complejidad: O(log n + k · 31 + D), con k períodos resumidos y D los días del índice.
+	 */
+	@Override
+	public void resumirAntesDe(String campo, int anio) {
+		int id = estado.registro.buscar(campo);
+		if (id < 0) return; // Un nombre sin registrar no está en el árbol
+		nodoArbol nodo = obtenerNodoConCache(id);
+		if (nodo == null) return;
+		int[] meses = nodo.mensualPrecipitaciones.resumirAntesDe(anio * 12);
+		if (meses.length > 0) {
+			if (nodo.resumen == null) nodo.resumen = new ResumenMensual();
+			nodo.resumen.agregar(meses);
+		}
+		nodo.indice.descartarAntesDe(IndiceFenwick.ordinal(anio, 1, 1));
+	}
+
+	/**
+	 * Devuelve los meses resumidos del campo raíz (ver ResumenMensual.comoArreglo()).
+	 * Complejidad: O(m)
+	 */
+	@Override
+	public int[] mesesResumidos() {
+		return raiz != null && raiz.resumen != null ? raiz.resumen.comoArreglo() : new int[0];
+	}
+
+	/**
+	 * Estimación de la memoria del campo raíz, para AnalizadorArbol, como
+	 * {períodos en la lista, períodos compactos, bytes de los compactos, bytes del índice por fechas,
+	 * bytes del resumen mensual}. Los períodos de la lista se informan por cantidad: su tamaño lo
+	 * estima el analizador. Con un AlmacenFueraDelHeap los períodos no ocupan el heap y los tres
+	 * primeros valores son 0.
+	 *
+	 * @return Arreglo de 5 valores; todos 0 si el árbol está vacío.
+	 * Complejidad: O(k), con k períodos en la lista.
+	 */
+	public long[] memoriaRaiz() {
+		long[] memoria = new long[5];
+		if (raiz == null) return memoria;
+		if (raiz.mensualPrecipitaciones instanceof DiccionarioSimpleString) {
+			DiccionarioSimpleString periodos = (DiccionarioSimpleString) raiz.mensualPrecipitaciones;
+			long[] compactos = periodos.memoriaCompactos();
+			memoria[0] = periodos.periodosEnLista();
+			memoria[1] = compactos[0];
+			memoria[2] = compactos[1];
+		}
+		memoria[3] = raiz.indice.bytesRetenidos();
+		if (raiz.resumen != null) memoria[4] = raiz.resumen.bytesRetenidos();
+		return memoria;
+	}
+
 	/**
 	 * Devuelve el nombre del campo en la raíz del árbol.
 	 *
@@ -182,27 +404,43 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 		return raiz != null ? raiz.campo : null;
 	}
 
+	/**
+	 * Devuelve la clave normalizada del campo raíz, o null si el árbol está vacío.
+	 */
+	@Override
+	public String claveRaiz() {
+		return raiz != null ? raiz.clave : null;
+	}
+
 	/**
 	 * Devuelve todos los períodos registrados en el campo raíz como una cola de strings.
 	 *
-	 * @return Cola con los períodos registrados (ej: "2023/03", "2023/04", etc.).
+	 * @return Cola con los períodos registrados en orden cronológico (ej: "2023/03", "2023/04", etc.).
 	 * Funcionamiento:
-	 * - Si el árbol no está vacío, se obtiene el conjunto de claves del diccionario de precipitaciones.
-	 * - Se recorre el conjunto y se acolan en una cola todas las claves (períodos).
+	 * - Si el árbol no está vacío, se piden al diccionario de precipitaciones todas sus claves en orden
+	 *   (clavesEntre con el intervalo completo).
 	 * - Se devuelve la cola con los períodos encontrados.
+	 * La cola es un ColaStringArreglo nuevo, con la capacidad justa: no se reserva un nodo por cada período.
 	 */
 	@Override
 	public ColaStringTDA periodos() {
-		ColaStringTDA resultado = new ColaString();
+		if (raiz != null) return raiz.mensualPrecipitaciones.clavesEntre(Integer.MIN_VALUE, Integer.MAX_VALUE);
+		ColaStringTDA resultado = new ColaStringArreglo();
 		resultado.inicializarCola();
+		return resultado;
+	}
+
+	/**
+	 * Devuelve los períodos del campo raíz entre dos meses, ambos incluidos, en orden cronológico.
+	 * Complejidad: O(log p + k) para los períodos compactados, con k períodos en el intervalo.
+	 */
+	@Override
+	public ColaStringTDA periodosEntre(int anioDesde, int mesDesde, int anioHasta, int mesHasta) {
 		if (raiz != null) {
-			ConjuntoStringTDA claves = raiz.mensualPrecipitaciones.claves();
-			while (!claves.estaVacio()) {
-				String clave = claves.elegir();
-				resultado.acolar(clave);
-				claves.sacar(clave);
-			}
+			return raiz.mensualPrecipitaciones.clavesEntre(anioDesde * 12 + mesDesde - 1, anioHasta * 12 + mesHasta - 1);
 		}
+		ColaStringTDA resultado = new ColaStringArreglo();
+		resultado.inicializarCola();
 		return resultado;
 	}
 
@@ -237,6 +475,14 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 		return cola;
 	}
 
+	/**
+	 * Indica si el campo raíz es una lápida (ver activarLapidas).
+	 */
+	@Override
+	public boolean raizEliminada() {
+		return raiz != null && raiz.eliminado;
+	}
+
 	/**
 	 * Devuelve el subárbol izquierdo del nodo actual.
 	 *
@@ -278,16 +524,222 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 		return raiz == null;
 	}
 
+	/**
+	 * Compacta los períodos de todos los campos (ver DiccionarioSimpleString.compactar()).
+	 * Sin efecto para los campos guardados en un AlmacenFueraDelHeap.
+	 * Complejidad: O(n + P), con P la cantidad total de períodos, si se cargaron en orden.
+	 */
+	public void compactar() {
+		if (raiz == null) return;
+		if (raiz.mensualPrecipitaciones instanceof DiccionarioSimpleString) {
+			((DiccionarioSimpleString) raiz.mensualPrecipitaciones).compactar();
+		}
+		((ArbolPrecipitaciones) raiz.hijoIzquierdo).compactar();
+		((ArbolPrecipitaciones) raiz.hijoDerecho).compactar();
+	}
+
+	/**
+	 * Desde ahora eliminar(String) deja una lápida en lugar de reestructurar el árbol.
+	 * Las lápidas se quitan con compactarEliminados(). Un campo eliminado que se vuelve a agregar
+	 * ocupa un nodo nuevo, donde lo pondría el árbol sin la lápida.
+	 */
+	public void activarLapidas() {
+		estado.activas = true;
+	}
+
+	/**
+	 * Vuelve a eliminar reestructurando el árbol. Antes quita todas las lápidas, convenga o no
+	 * compactar: eliminar sin lápidas no las saltea y podría quitar una en lugar del campo vivo.
+	 *
+	 * @return Cantidad de lápidas quitadas.
+	 * Complejidad: O(n) si había lápidas, O(1) si no.
+	 */
+	public int desactivarLapidas() {
+		int quitadas = estado.eliminados > 0 ? quitarLapidas() : 0;
+		estado.activas = false;
+		return quitadas;
+	}
+
+	/**
+	 * Cantidad de campos eliminados que siguen en el árbol como lápidas.
+	 */
+	public int lapidas() {
+		return estado.eliminados;
+	}
+
+	/**
+	 * Indica si más de un cuarto de los nodos son lápidas: el mismo criterio con el que
+	 * AnalizadorArbol recomienda compactar los períodos vacíos.
+	 * Complejidad: O(1)
+	 */
+	public boolean convieneCompactarEliminados() {
+		return estado.eliminados * 4 > estado.nodos;
+	}
+
+	/**
+	 * Recupera lo que dejaron las eliminaciones.
+	 * Funcionamiento:
+	 * - Quita de todos los campos los períodos que quedaron sin mediciones (eliminarMedicion no los borra);
+	 *   desde entonces se comportan como períodos que nunca se cargaron.
+	 * - Si convieneCompactarEliminados(), junta en orden los nodos vivos y reconstruye el árbol
+	 *   balanceado con ellos, sin las lápidas. Los nodos se reutilizan: no se copian mediciones.
+	 * No es seguro para varios hilos: AlgoritmosParticionados lo corre en su hilo de mantenimiento
+	 * bajo el lock de escritura de la partición.
+	 *
+	 * @return Cantidad de períodos y nodos quitados.
+	 * Complejidad: O(n + P), con P la cantidad total de períodos.
+	 */
+	public int compactarEliminados() {
+		int quitados = eliminarPeriodosVacios();
+		if (convieneCompactarEliminados()) {
+			quitados += quitarLapidas();
+		}
+		return quitados;
+	}
+
+	/**
+	 * Cambia la capacidad del cache de nodos y lo vacía.
+	 *
+	 * @param capacidad Cantidad máxima de campos en el cache; 0 lo desactiva.
+	 * @throws IllegalArgumentException si la capacidad es negativa.
+	 */
+	public void ajustarCache(int capacidad) {
+		if (capacidad < 0) throw new IllegalArgumentException("Capacidad negativa: " + capacidad);
+		estado.cache = capacidad > 0 ? new CacheCampos<>(capacidad) : null;
+	}
+
 	// --- MÉTODOS PRIVADOS ---
 
 	/**
-	 * Devuelve el nombre del campo más pequeño en el subárbol.
+	 * Igual que obtenerOCrear, buscando antes en el cache y guardando en él el nodo encontrado.
+	 */
+	private nodoArbol obtenerOCrearConCache(int id) {
+		if (estado.cache == null) return obtenerOCrear(id, estado.registro.clave(id));
+		nodoArbol nodo = estado.cache.buscar(id);
+		if (nodo == null) {
+			nodo = obtenerOCrear(id, estado.registro.clave(id));
+			estado.cache.guardar(id, nodo);
+		}
+		return nodo;
+	}
+
+	/**
+	 * Igual que obtenerNodo, buscando antes en el cache y guardando en él el nodo encontrado.
+	 */
+	private nodoArbol obtenerNodoConCache(int id) {
+		if (estado.cache == null) return obtenerNodo(id, estado.registro.clave(id));
+		nodoArbol nodo = estado.cache.buscar(id);
+		if (nodo == null) {
+			nodo = obtenerNodo(id, estado.registro.clave(id));
+			if (nodo != null) estado.cache.guardar(id, nodo);
+		}
+		return nodo;
+	}
+
+	/**
+	 * Reconstruye el árbol balanceado con los nodos vivos, sin las lápidas.
+	 * Los nodos se reutilizan, así que las entradas del cache siguen siendo válidas.
+	 *
+	 * @return Cantidad de lápidas quitadas.
+	 */
+	private int quitarLapidas() {
+		nodoArbol[] vivos = new nodoArbol[estado.nodos - estado.eliminados];
+		int cantidad = juntarVivos(vivos, 0);
+		int quitadas = estado.nodos - cantidad;
+		estado.nodos = cantidad;
+		estado.eliminados = 0;
+		reconstruir(vivos, 0, cantidad);
+		return quitadas;
+	}
+
+	private int eliminarPeriodosVacios() {
+		if (raiz == null) return 0;
+		Metricas.nodo();
+		int quitados = raiz.eliminado ? 0 : raiz.mensualPrecipitaciones.eliminarVacios();
+		quitados += ((ArbolPrecipitaciones) raiz.hijoIzquierdo).eliminarPeriodosVacios();
+		return quitados + ((ArbolPrecipitaciones) raiz.hijoDerecho).eliminarPeriodosVacios();
+	}
+
+	/**
+	 * Copia en orden los nodos sin lápida del subárbol a partir de la posición indicada.
+	 *
+	 * @return Posición siguiente al último nodo copiado.
+	 */
+	private int juntarVivos(nodoArbol[] destino, int pos) {
+		if (raiz == null) return pos;
+		pos = ((ArbolPrecipitaciones) raiz.hijoIzquierdo).juntarVivos(destino, pos);
+		if (!raiz.eliminado) destino[pos++] = raiz;
+		return ((ArbolPrecipitaciones) raiz.hijoDerecho).juntarVivos(destino, pos);
+	}
+
+	/**
+	 * Arma en este subárbol un árbol balanceado con los nodos ordenados de desde a hasta (excluido).
+	 * La raíz de cada subárbol es la primera de las variantes de su clave, para que las demás
+	 * queden a su derecha como al agregarlas y obtenerNodo las siga encontrando.
+	 */
+	private void reconstruir(nodoArbol[] nodos, int desde, int hasta) {
+		if (desde >= hasta) {
+			raiz = null;
+			return;
+		}
+		int medio = (desde + hasta) >>> 1;
+		while (medio > desde && nodos[medio - 1].clave.equals(nodos[medio].clave)) {
+			medio--;
+		}
+		ArbolPrecipitaciones izquierdo = new ArbolPrecipitaciones(almacen, estado);
+		izquierdo.reconstruir(nodos, desde, medio);
+		ArbolPrecipitaciones derecho = new ArbolPrecipitaciones(almacen, estado);
+		derecho.reconstruir(nodos, medio + 1, hasta);
+		raiz = nodos[medio];
+		raiz.hijoIzquierdo = izquierdo;
+		raiz.hijoDerecho = derecho;
+	}
+
+	/**
+	 * Crea el nodo raíz para el campo con ese id, con su diccionario y subárboles vacíos.
+	 * Guarda la instancia registrada del nombre.
+	 */
+	private void crearRaiz(int id) {
+		raiz = new nodoArbol();
+		raiz.campo = estado.registro.nombre(id);
+		raiz.id = id;
+		raiz.clave = estado.registro.clave(id);
+		raiz.mensualPrecipitaciones = almacen != null
+				? new DiccionarioSimpleStringFueraDelHeap(almacen) : new DiccionarioSimpleString();
+		raiz.mensualPrecipitaciones.inicializarDiccionario();
+		raiz.indice = new IndiceFenwick();
+		raiz.indice.inicializar();
+		// Los subárboles nacen vacíos; no se les llama a inicializar(), que reinicia los contadores compartidos
+		raiz.hijoIzquierdo = new ArbolPrecipitaciones(almacen, estado);
+		raiz.hijoDerecho = new ArbolPrecipitaciones(almacen, estado);
+		estado.nodos++;
+	}
+
+	/**
+	 * Devuelve el nodo del campo, creándolo donde termina el descenso si no existe.
+	 * Un nombre que sólo difiere en mayúsculas de uno existente sigue por la derecha,
+	 * como en agregarMedicion; las lápidas del mismo campo también.
+	 */
+	private nodoArbol obtenerOCrear(int id, String clave) {
+		Metricas.nodo();
+		if (raiz == null) {
+			crearRaiz(id);
+			return raiz;
+		}
+		if (raiz.id == id && !raiz.eliminado) return raiz;
+		if (clave.compareTo(raiz.clave) < 0) return ((ArbolPrecipitaciones) raiz.hijoIzquierdo).obtenerOCrear(id, clave);
+		return ((ArbolPrecipitaciones) raiz.hijoDerecho).obtenerOCrear(id, clave);
+	}
+
+	/**
+	 * Devuelve el nodo con el campo más pequeño del subárbol.
 	 *
-	 * @return El valor del campo con menor orden lexicográfico.
+	 * @return El nodo del campo con menor orden lexicográfico.
 	 */
-	private String minimo() {
+	private nodoArbol minimo() {
+		Metricas.nodo();
 		if (raiz.hijoIzquierdo.arbolVacio()) {
-			return raiz.campo;
+			return raiz;
 		} else {
 			return ((ArbolPrecipitaciones) raiz.hijoIzquierdo).minimo();
 		}
@@ -296,13 +748,15 @@ public class ArbolPrecipitaciones implements ABBPrecipitacionesTDA {
 	/**
 	 * Devuelve el nodo del árbol correspondiente al campo especificado.
 	 *
-	 * @param campo Nombre del campo a buscar.
-	 * @return Nodo que contiene el campo, o null si no se encuentra.
+	 * @param id Id del campo a buscar.
+	 * @param clave Clave normalizada del campo.
+	 * @return Nodo que contiene el campo, o null si no se encuentra (las lápidas se saltean).
 	 */
-	private nodoArbol obtenerNodo(String campo) {
-		if (raiz == null || campo.equals(raiz.campo)) return raiz;
-		if (campo.compareToIgnoreCase(raiz.campo) < 0) return ((ArbolPrecipitaciones) raiz.hijoIzquierdo).obtenerNodo(campo);
-		return ((ArbolPrecipitaciones) raiz.hijoDerecho).obtenerNodo(campo);
+	private nodoArbol obtenerNodo(int id, String clave) {
+		Metricas.nodo();
+		if (raiz == null || raiz.id == id && !raiz.eliminado) return raiz;
+		if (clave.compareTo(raiz.clave) < 0) return ((ArbolPrecipitaciones) raiz.hijoIzquierdo).obtenerNodo(id, clave);
+		return ((ArbolPrecipitaciones) raiz.hijoDerecho).obtenerNodo(id, clave);
 	}
 
 	/**
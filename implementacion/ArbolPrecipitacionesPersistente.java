@@ -0,0 +1,684 @@
+package implementacion;
+
+import tdas.ABBPrecipitacionesTDA;
+import tdas.ABBPrecipitacionesVersionadoTDA;
+import tdas.ColaPrioridadTDA;
+import tdas.ColaStringTDA;
+
+/**
+ * Implementación persistente (por copia de camino) del árbol de precipitaciones.
+ * Cada escritura genera una nueva raíz que comparte con la versión anterior todos
+ * los subárboles que no cambiaron, por lo que una versión ya publicada nunca se modifica.
+ * Las lecturas no toman locks: leen la raíz vigente y trabajan siempre sobre esa versión.
+ * Las escrituras se serializan entre sí y publican la nueva raíz al terminar.
+ * Los nombres se registran en un RegistroCampos propio del árbol y el descenso compara sus claves
+ * normalizadas. Al eliminar un campo de la versión vigente se libera su id; las versiones fijadas no
+ * usan los ids, sólo el nombre y la clave guardados en cada nodo.
+ * Los campos se ubican igual que en ArbolPrecipitaciones: las mediciones van al nodo con el mismo
+ * nombre exacto (mismo id), y un nombre que sólo difiere en mayúsculas de uno existente es otro
+ * campo y sigue por la derecha. Con las mismas operaciones, ambos árboles quedan con la misma forma.
+ */
+public class ArbolPrecipitacionesPersistente implements ABBPrecipitacionesVersionadoTDA {
+
+	/**
+	 * Nodo inmutable del árbol.
+	 * Contiene el nombre del campo, sus períodos ordenados, sus meses resumidos y los subárboles
+	 * izquierdo y derecho.
+	 */
+	static final class nodoArbol {
+		final String campo;
+		final int id;        // Id del campo en el registro del árbol
+		final String clave;  // Clave normalizada del campo (RegistroCampos)
+		final periodo[] periodos;
+		final int[] resumen; // Meses resumidos: {mes, suma, conteo, ...} ordenados por mes
+		final nodoArbol izquierdo;
+		final nodoArbol derecho;
+
+		nodoArbol(String campo, int id, String clave, periodo[] periodos, int[] resumen, nodoArbol izquierdo, nodoArbol derecho) {
+			this.campo = campo;
+			this.id = id;
+			this.clave = clave;
+			this.periodos = periodos;
+			this.resumen = resumen;
+			this.izquierdo = izquierdo;
+			this.derecho = derecho;
+		}
+
+		/**
+		 * Copia del nodo con otros hijos; los datos del campo se comparten.
+		 */
+		nodoArbol conHijos(nodoArbol izquierdo, nodoArbol derecho) {
+			return new nodoArbol(campo, id, clave, periodos, resumen, izquierdo, derecho);
+		}
+	}
+
+	/**
+	 * Mediciones inmutables de un período ("YYYY/MM").
+	 * valores[dia] guarda los milímetros del día y el bit dia de presentes indica si hay medición.
+	 */
+	static final class periodo {
+		final String clave;
+		final int[] valores;
+		final int presentes;
+
+		periodo(String clave, int[] valores, int presentes) {
+			this.clave = clave;
+			this.valores = valores;
+			this.presentes = presentes;
+		}
+	}
+
+	private static final periodo[] SIN_PERIODOS = new periodo[0];
+	private static final int[] SIN_RESUMEN = new int[0];
+
+	private volatile nodoArbol raiz;   // Versión vigente del árbol
+	private final Object escritura = new Object(); // Serializa las escrituras
+	private RegistroCampos registro; // Campos de la versión vigente; sólo lo usan las escrituras
+
+	/**
+	 * Árbol vacío, que se inicializa con inicializar().
+	 */
+	public ArbolPrecipitacionesPersistente() {
+		registro = new RegistroCampos();
+	}
+
+	/**
+	 * Árbol fijo en una versión, sin registro: sólo se usa envuelto en una versionFija, que no escribe.
+	 */
+	private ArbolPrecipitacionesPersistente(nodoArbol version) {
+		raiz = version;
+	}
+
+	/**
+	 * Inicializa el árbol como vacío.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public void inicializar() {
+		synchronized (escritura) {
+			raiz = null;
+			registro = new RegistroCampos();
+		}
+	}
+
+	/**
+	 * Inserta un nuevo campo sin mediciones. Si ya existe un campo con el mismo nombre sin distinguir
+	 * mayúsculas no hace nada, igual que ArbolPrecipitaciones.agregar.
+	 *
+	 * @param valor Nombre del campo.
+	 * Complejidad: O(log n) nodos nuevos en un árbol balanceado.
+	 */
+	@Override
+	public void agregar(String valor) {
+		synchronized (escritura) {
+			raiz = insertar(raiz, valor, registro.claveDe(valor));
+		}
+	}
+
+	/**
+	 * Registra una medición acumulándola a la existente para ese día.
+	 * Si el campo no existe, lo crea.
+	 *
+	 * @param campo Nombre del campo.
+	 * @param anio Año de la medición (ej: "2024").
+	 * @param mes Mes de la medición (ej: "05").
+	 * @param dia Día del mes.
+	 * @param precipitacion Milímetros registrados.
+	 * Funcionamiento:
+	 * - Se copia el camino desde la raíz hasta el nodo del campo, que se crea al final del descenso
+	 *   si no existe.
+	 * - En el nodo se copia el arreglo de períodos y el período modificado; el resto se comparte.
+	 * Complejidad: O(log n + p), siendo p la cantidad de períodos del campo.
+	 */
+	@Override
+	public void agregarMedicion(String campo, String anio, String mes, int dia, int precipitacion) {
+		if (dia < 1 || dia > 31) return;
+		String clave = String.format("%s/%02d", anio, Integer.parseInt(mes));
+		synchronized (escritura) {
+			int id = registro.registrar(campo);
+			raiz = medir(raiz, id, registro.clave(id), clave, dia, precipitacion, true);
+		}
+	}
+
+	/**
+	 * Igual que la anterior, con año y mes numéricos.
+	 */
+	@Override
+	public void agregarMedicion(String campo, int anio, int mes, int dia, int precipitacion) {
+		if (dia < 1 || dia > 31) return;
+		String clave = DiccionarioSimpleString.formatearPeriodo(anio, mes);
+		synchronized (escritura) {
+			int id = registro.registrar(campo);
+			raiz = medir(raiz, id, registro.clave(id), clave, dia, precipitacion, true);
+		}
+	}
+
+	/**
+	 * Elimina el campo y todas sus mediciones, si existe. Como en ArbolPrecipitaciones, se elimina
+	 * el primer campo del descenso con el mismo nombre sin distinguir mayúsculas.
+	 *
+	 * @param valor Nombre del campo.
+	 * Complejidad: O(log n) nodos nuevos en un árbol balanceado.
+	 */
+	@Override
+	public void eliminar(String valor) {
+		synchronized (escritura) {
+			String claveCampo = registro.claveDe(valor);
+			nodoArbol quitado = primeroConClave(raiz, claveCampo);
+			if (quitado != null) {
+				raiz = quitar(raiz, claveCampo);
+				registro.liberar(quitado.id);
+			}
+		}
+	}
+
+	/**
+	 * Elimina la medición de un día. Si el campo, el período o el día no existen, no hace nada.
+	 *
+	 * @param campo Nombre del campo.
+	 * @param anio Año del período.
+	 * @param mes Mes del período.
+	 * @param dia Día a eliminar.
+	 * Complejidad: O(log n + p)
+	 */
+	@Override
+	public void eliminarMedicion(String campo, String anio, String mes, int dia) {
+		if (dia < 1 || dia > 31) return;
+		String clave = String.format("%s/%02d", anio, Integer.parseInt(mes));
+		synchronized (escritura) {
+			int id = registro.buscar(campo);
+			if (id < 0) return; // Un nombre sin registrar no está en el árbol
+			raiz = medir(raiz, id, registro.clave(id), clave, dia, 0, false);
+		}
+	}
+
+	/**
+	 * Devuelve el campo de la raíz de la versión vigente, o null si está vacío.
+	 */
+	@Override
+	public String raiz() {
+		nodoArbol actual = raiz;
+		return actual != null ? actual.campo : null;
+	}
+
+	/**
+	 * Devuelve la clave normalizada del campo de la raíz vigente, o null si está vacío.
+	 */
+	@Override
+	public String claveRaiz() {
+		nodoArbol actual = raiz;
+		return actual != null ? actual.clave : null;
+	}
+
+	/**
+	 * Devuelve los períodos registrados en el campo raíz, en orden cronológico.
+	 * Complejidad: O(p)
+	 */
+	@Override
+	public ColaStringTDA periodos() {
+		ColaStringArreglo resultado = new ColaStringArreglo();
+		nodoArbol actual = raiz;
+		resultado.inicializarCola(actual != null ? actual.periodos.length : 0);
+		if (actual != null) {
+			for (periodo p : actual.periodos) {
+				resultado.acolar(p.clave);
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Devuelve los períodos del campo raíz entre dos meses, ambos incluidos, en orden cronológico.
+	 * Complejidad: O(log p + k), con k períodos en el intervalo.
+	 */
+	@Override
+	public ColaStringTDA periodosEntre(int anioDesde, int mesDesde, int anioHasta, int mesHasta) {
+		ColaStringArreglo resultado = new ColaStringArreglo();
+		nodoArbol actual = raiz;
+		if (actual == null) {
+			resultado.inicializarCola();
+			return resultado;
+		}
+		int desde = anioDesde * 12 + mesDesde - 1;
+		int hasta = anioHasta * 12 + mesHasta - 1;
+		int inicio = primerPeriodoDesde(actual.periodos, desde);
+		int fin = hasta == Integer.MAX_VALUE ? actual.periodos.length : primerPeriodoDesde(actual.periodos, hasta + 1);
+		resultado.inicializarCola(Math.max(fin - inicio, 0));
+		for (int i = inicio; i < fin; i++) {
+			resultado.acolar(actual.periodos[i].clave);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Devuelve las mediciones del campo raíz en el período, con el día como prioridad.
+	 *
+	 * @param periodo Período en formato "YYYY/MM".
+	 * @throws IllegalStateException si el período no existe, igual que ArbolPrecipitaciones.
+	 * Complejidad: O(log p + 31)
+	 */
+	@Override
+	public ColaPrioridadTDA precipitaciones(String periodo) {
+		ColaPrioridadTDA cola = new ColaPrioridad();
+		cola.inicializarCola();
+		nodoArbol actual = raiz;
+		if (actual != null) {
+			int pos = buscarPeriodo(actual.periodos, periodo);
+			if (pos < 0) {
+				Metricas.excepcion();
+				throw new IllegalStateException("El período no existe: " + periodo);
+			}
+			periodo p = actual.periodos[pos];
+			for (int dia = 31; dia >= 1; dia--) {
+				if ((p.presentes & (1 << dia)) != 0) {
+					cola.acolarPrioridad(p.valores[dia], dia);
+				}
+			}
+		}
+		return cola;
+	}
+
+	/**
+	 * Devuelve la suma y la cantidad de mediciones del campo raíz entre dos días (ordinales de
+	 * IndiceFenwick.ordinal). Sólo se recorren los días de los períodos que se superponen
+	 * con el intervalo.
+	 * Complejidad: O(p + 31·k), con k períodos dentro del intervalo.
+	 */
+	@Override
+	public int[] sumaYConteoEntre(int desde, int hasta) {
+		int[] resultado = new int[2];
+		nodoArbol actual = raiz;
+		if (actual == null || desde > hasta) return resultado;
+		for (periodo p : actual.periodos) {
+			int inicioMes = IndiceFenwick.ordinalPeriodo(p.clave);
+			if (inicioMes < 0 || inicioMes > hasta || inicioMes + 30 < desde) continue;
+			for (int dia = 1; dia <= 31; dia++) {
+				int ord = inicioMes + dia - 1;
+				if (ord >= desde && ord <= hasta && (p.presentes & (1 << dia)) != 0) {
+					resultado[0] += p.valores[dia];
+					resultado[1]++;
+				}
+			}
+		}
+		for (int i = 0; i < actual.resumen.length; i += 3) {
+			long inicioMes = (long) actual.resumen[i] * 31;
+			if (inicioMes >= desde && inicioMes + 30 <= hasta) {
+				resultado[0] += actual.resumen[i + 1];
+				resultado[1] += actual.resumen[i + 2];
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Resume los meses del campo anteriores a anio en una nueva versión del nodo: los períodos
+	 * anteriores salen del arreglo y sus totales se combinan con el resumen que ya tenía.
+	 * Las versiones ya publicadas conservan el detalle.
+	 * Complejidad: O(log n + p · 31 + m)
+	 */
+	@Override
+	public void resumirAntesDe(String campo, int anio) {
+		synchronized (escritura) {
+			int id = registro.buscar(campo);
+			if (id < 0) return;
+			raiz = resumir(raiz, id, registro.clave(id), anio * 12);
+		}
+	}
+
+	/**
+	 * Devuelve los meses resumidos del campo raíz de la versión vigente.
+	 * Complejidad: O(m)
+	 */
+	@Override
+	public int[] mesesResumidos() {
+		nodoArbol actual = raiz;
+		return actual != null ? actual.resumen.clone() : new int[0];
+	}
+
+	/**
+	 * Siempre false: eliminar ya es O(log n) copiando el camino, sin lápidas.
+	 */
+	@Override
+	public boolean raizEliminada() {
+		return false;
+	}
+
+	/**
+	 * Devuelve una vista de solo lectura del subárbol izquierdo de la versión vigente.
+	 */
+	@Override
+	public ABBPrecipitacionesTDA hijoIzq() {
+		nodoArbol actual = raiz;
+		return actual != null ? vista(actual.izquierdo) : null;
+	}
+
+	/**
+	 * Devuelve una vista de solo lectura del subárbol derecho de la versión vigente.
+	 */
+	@Override
+	public ABBPrecipitacionesTDA hijoDer() {
+		nodoArbol actual = raiz;
+		return actual != null ? vista(actual.derecho) : null;
+	}
+
+	@Override
+	public boolean arbolVacio() {
+		return raiz == null;
+	}
+
+	/**
+	 * Fija la versión vigente. El árbol devuelto no cambia aunque se sigan registrando
+	 * mediciones en este, por lo que una consulta de varias pasadas ve siempre el mismo estado.
+	 * Es de solo lectura, igual que sus subárboles: escribir en él lanza UnsupportedOperationException.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public ABBPrecipitacionesTDA instantanea() {
+		return vista(raiz);
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	/**
+	 * Vista de solo lectura de la versión con esa raíz.
+	 */
+	private static ABBPrecipitacionesTDA vista(nodoArbol nodo) {
+		return new versionFija(new ArbolPrecipitacionesPersistente(nodo));
+	}
+
+	/**
+	 * Devuelve una nueva versión de nodo que contiene al campo.
+	 * Si ya hay un campo con la misma clave devuelve el mismo nodo, sin copiar nada ni registrar el nombre.
+	 */
+	private nodoArbol insertar(nodoArbol nodo, String campo, String claveCampo) {
+		Metricas.nodo();
+		if (nodo == null) return nuevoNodo(registro.registrar(campo));
+		int cmp = claveCampo.compareTo(nodo.clave);
+		if (cmp < 0) {
+			nodoArbol izq = insertar(nodo.izquierdo, campo, claveCampo);
+			return izq == nodo.izquierdo ? nodo : nodo.conHijos(izq, nodo.derecho);
+		} else if (cmp > 0) {
+			nodoArbol der = insertar(nodo.derecho, campo, claveCampo);
+			return der == nodo.derecho ? nodo : nodo.conHijos(nodo.izquierdo, der);
+		}
+		return nodo;
+	}
+
+	/**
+	 * Nodo del primer campo con esa clave en el descenso: el que quita quitar.
+	 */
+	private static nodoArbol primeroConClave(nodoArbol nodo, String claveCampo) {
+		while (nodo != null) {
+			int cmp = claveCampo.compareTo(nodo.clave);
+			if (cmp == 0) return nodo;
+			nodo = cmp < 0 ? nodo.izquierdo : nodo.derecho;
+		}
+		return null;
+	}
+
+	/**
+	 * Devuelve una nueva versión de nodo sin el campo.
+	 * Con dos hijos, el sucesor pasa a ocupar el lugar del nodo eliminado.
+	 */
+	private static nodoArbol quitar(nodoArbol nodo, String claveCampo) {
+		Metricas.nodo();
+		if (nodo == null) return null;
+		int cmp = claveCampo.compareTo(nodo.clave);
+		if (cmp < 0) {
+			nodoArbol izq = quitar(nodo.izquierdo, claveCampo);
+			return izq == nodo.izquierdo ? nodo : nodo.conHijos(izq, nodo.derecho);
+		} else if (cmp > 0) {
+			nodoArbol der = quitar(nodo.derecho, claveCampo);
+			return der == nodo.derecho ? nodo : nodo.conHijos(nodo.izquierdo, der);
+		}
+		if (nodo.izquierdo == null) return nodo.derecho;
+		if (nodo.derecho == null) return nodo.izquierdo;
+		nodoArbol min = nodo.derecho;
+		while (min.izquierdo != null) {
+			min = min.izquierdo;
+		}
+		return min.conHijos(nodo.izquierdo, quitar(nodo.derecho, min.clave));
+	}
+
+	/**
+	 * Devuelve una nueva versión de nodo con la medición agregada (agregar = true)
+	 * o eliminada (agregar = false). Si no hay cambios devuelve el mismo nodo.
+	 * El campo se busca por id; al agregar, si no existe se crea donde termina el descenso.
+	 */
+	private nodoArbol medir(nodoArbol nodo, int id, String claveCampo, String clave, int dia, int cantidad, boolean agregar) {
+		Metricas.nodo();
+		if (nodo == null) {
+			if (!agregar) return null;
+			nodo = nuevoNodo(id);
+		} else if (nodo.id != id) {
+			// Un nombre que sólo difiere en mayúsculas sigue por la derecha, como en ArbolPrecipitaciones
+			if (claveCampo.compareTo(nodo.clave) < 0) {
+				nodoArbol izq = medir(nodo.izquierdo, id, claveCampo, clave, dia, cantidad, agregar);
+				return izq == nodo.izquierdo ? nodo : nodo.conHijos(izq, nodo.derecho);
+			}
+			nodoArbol der = medir(nodo.derecho, id, claveCampo, clave, dia, cantidad, agregar);
+			return der == nodo.derecho ? nodo : nodo.conHijos(nodo.izquierdo, der);
+		}
+		periodo[] periodos = agregar
+				? conMedicion(nodo.periodos, clave, dia, cantidad)
+				: sinMedicion(nodo.periodos, clave, dia);
+		return periodos == nodo.periodos ? nodo : new nodoArbol(nodo.campo, nodo.id, nodo.clave, periodos, nodo.resumen, nodo.izquierdo, nodo.derecho);
+	}
+
+	/**
+	 * Devuelve una nueva versión de nodo con los meses del campo anteriores a corte resumidos.
+	 * Si el campo no tiene períodos anteriores devuelve el mismo nodo. El campo se busca por id.
+	 */
+	private static nodoArbol resumir(nodoArbol nodo, int id, String claveCampo, int corte) {
+		Metricas.nodo();
+		if (nodo == null) return null;
+		if (nodo.id != id) {
+			if (claveCampo.compareTo(nodo.clave) < 0) {
+				nodoArbol izq = resumir(nodo.izquierdo, id, claveCampo, corte);
+				return izq == nodo.izquierdo ? nodo : nodo.conHijos(izq, nodo.derecho);
+			}
+			nodoArbol der = resumir(nodo.derecho, id, claveCampo, corte);
+			return der == nodo.derecho ? nodo : nodo.conHijos(nodo.izquierdo, der);
+		}
+		ResumenMensual resumen = new ResumenMensual();
+		resumen.agregar(nodo.resumen);
+		int quedan = 0;
+		for (periodo p : nodo.periodos) {
+			if (DiccionarioSimpleString.claveOrden(p.clave) >= corte) quedan++;
+		}
+		if (quedan == nodo.periodos.length) return nodo;
+		periodo[] periodos = new periodo[quedan];
+		int j = 0;
+		for (periodo p : nodo.periodos) {
+			int mes = DiccionarioSimpleString.claveOrden(p.clave);
+			if (mes >= corte) {
+				periodos[j++] = p;
+				continue;
+			}
+			int suma = 0;
+			for (int dia = 1; dia <= 31; dia++) {
+				if ((p.presentes & (1 << dia)) != 0) suma += p.valores[dia];
+			}
+			resumen.agregar(mes, suma, Integer.bitCount(p.presentes));
+		}
+		return new nodoArbol(nodo.campo, nodo.id, nodo.clave, periodos, resumen.comoArreglo(), nodo.izquierdo, nodo.derecho);
+	}
+
+	/**
+	 * Nodo sin mediciones ni hijos para el campo con ese id, con la instancia registrada del nombre.
+	 */
+	private nodoArbol nuevoNodo(int id) {
+		return new nodoArbol(registro.nombre(id), id, registro.clave(id), SIN_PERIODOS, SIN_RESUMEN, null, null);
+	}
+
+	private static periodo[] conMedicion(periodo[] periodos, String clave, int dia, int cantidad) {
+		int pos = buscarPeriodo(periodos, clave);
+		periodo[] copia;
+		int[] valores;
+		int presentes;
+		if (pos >= 0) {
+			copia = periodos.clone();
+			valores = periodos[pos].valores.clone();
+			presentes = periodos[pos].presentes;
+		} else {
+			// Se inserta el período nuevo manteniendo el orden
+			pos = -pos - 1;
+			copia = new periodo[periodos.length + 1];
+			System.arraycopy(periodos, 0, copia, 0, pos);
+			System.arraycopy(periodos, pos, copia, pos + 1, periodos.length - pos);
+			valores = new int[32];
+			presentes = 0;
+		}
+		valores[dia] += cantidad;
+		copia[pos] = new periodo(clave, valores, presentes | (1 << dia));
+		return copia;
+	}
+
+	private static periodo[] sinMedicion(periodo[] periodos, String clave, int dia) {
+		int pos = buscarPeriodo(periodos, clave);
+		if (pos < 0 || (periodos[pos].presentes & (1 << dia)) == 0) return periodos;
+		periodo[] copia = periodos.clone();
+		int[] valores = periodos[pos].valores.clone();
+		valores[dia] = 0;
+		copia[pos] = new periodo(clave, valores, periodos[pos].presentes & ~(1 << dia));
+		return copia;
+	}
+
+	/**
+	 * Primera posición cuyo período (anio * 12 + mes - 1) es mayor o igual a clave.
+	 */
+	private static int primerPeriodoDesde(periodo[] periodos, int clave) {
+		int desde = 0;
+		int hasta = periodos.length;
+		while (desde < hasta) {
+			int medio = (desde + hasta) >>> 1;
+			if (DiccionarioSimpleString.claveOrden(periodos[medio].clave) < clave) desde = medio + 1;
+			else hasta = medio;
+		}
+		return desde;
+	}
+
+	/**
+	 * Búsqueda binaria del período. Devuelve su posición o (-(punto de inserción) - 1).
+	 */
+	private static int buscarPeriodo(periodo[] periodos, String clave) {
+		int desde = 0;
+		int hasta = periodos.length - 1;
+		while (desde <= hasta) {
+			int medio = (desde + hasta) >>> 1;
+			int cmp = periodos[medio].clave.compareTo(clave);
+			if (cmp < 0) desde = medio + 1;
+			else if (cmp > 0) hasta = medio - 1;
+			else return medio;
+		}
+		return -(desde + 1);
+	}
+
+	/**
+	 * Versión publicada del árbol, de solo lectura. Las lecturas se delegan en un árbol que nadie
+	 * más conoce; las escrituras se rechazan, para que quien recibe un subárbol o una instantánea
+	 * no pueda crear sin saberlo una versión aparte.
+	 */
+	private static final class versionFija implements ABBPrecipitacionesTDA {
+
+		private final ArbolPrecipitacionesPersistente version;
+
+		versionFija(ArbolPrecipitacionesPersistente version) {
+			this.version = version;
+		}
+
+		@Override
+		public void inicializar() {
+			soloLectura();
+		}
+
+		@Override
+		public void agregar(String valor) {
+			soloLectura();
+		}
+
+		@Override
+		public void agregarMedicion(String valor, String anio, String mes, int dia, int precipitacion) {
+			soloLectura();
+		}
+
+		@Override
+		public void agregarMedicion(String valor, int anio, int mes, int dia, int precipitacion) {
+			soloLectura();
+		}
+
+		@Override
+		public void eliminar(String valor) {
+			soloLectura();
+		}
+
+		@Override
+		public void eliminarMedicion(String valor, String anio, String mes, int dia) {
+			soloLectura();
+		}
+
+		@Override
+		public void resumirAntesDe(String valor, int anio) {
+			soloLectura();
+		}
+
+		@Override
+		public String raiz() {
+			return version.raiz();
+		}
+
+		@Override
+		public String claveRaiz() {
+			return version.claveRaiz();
+		}
+
+		@Override
+		public ColaStringTDA periodos() {
+			return version.periodos();
+		}
+
+		@Override
+		public ColaStringTDA periodosEntre(int anioDesde, int mesDesde, int anioHasta, int mesHasta) {
+			return version.periodosEntre(anioDesde, mesDesde, anioHasta, mesHasta);
+		}
+
+		@Override
+		public ColaPrioridadTDA precipitaciones(String periodo) {
+			return version.precipitaciones(periodo);
+		}
+
+		@Override
+		public int[] sumaYConteoEntre(int desde, int hasta) {
+			return version.sumaYConteoEntre(desde, hasta);
+		}
+
+		@Override
+		public int[] mesesResumidos() {
+			return version.mesesResumidos();
+		}
+
+		@Override
+		public boolean raizEliminada() {
+			return false;
+		}
+
+		@Override
+		public ABBPrecipitacionesTDA hijoIzq() {
+			return version.hijoIzq();
+		}
+
+		@Override
+		public ABBPrecipitacionesTDA hijoDer() {
+			return version.hijoDer();
+		}
+
+		@Override
+		public boolean arbolVacio() {
+			return version.arbolVacio();
+		}
+
+		private static void soloLectura() {
+			throw new UnsupportedOperationException("La versión es de solo lectura");
+		}
+	}
+}
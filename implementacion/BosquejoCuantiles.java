@@ -0,0 +1,137 @@
+package implementacion;
+
+/**
+ * Bosquejo de cuantiles con error relativo acotado (estilo DDSketch) para valores de lluvia diaria.
+ * Permite estimar la mediana, el percentil 90 o cualquier cuantil sin guardar cada medición.
+ *
+ * Funcionamiento:
+ * - Cada valor positivo v cae en la cubeta ceil(log_g(v)), con g = (1 + ERROR) / (1 - ERROR);
+ *   todas las cubetas cubren un intervalo donde el valor representativo está a menos de ERROR
+ *   (relativo) de cualquier valor de la cubeta. Los valores menores o iguales a 0 se cuentan aparte como 0.
+ * - El representante se redondea a milímetros enteros, así que el error de un cuantil v es a lo sumo
+ *   ERROR · v + 0.5 mm. No se puede pedir sólo el relativo: 58 y 59 caen en la misma cubeta y ningún
+ *   entero está a menos de 1% de los dos.
+ * - Con ERROR = 1% cada milímetro hasta 50 tiene su propia cubeta, por lo que para lluvias
+ *   habituales el resultado es exacto; por encima el error es a lo sumo 1% más el redondeo.
+ * - Combinar dos bosquejos es sumar sus cubetas, y como sólo guarda contadores también se puede
+ *   quitar un valor, lo que permite seguir eliminarMedicion (t-digest y KLL no lo admiten).
+ * - Memoria acotada: a lo sumo una cubeta por potencia de g hasta Integer.MAX_VALUE (~1100 enteros).
+ */
+public class BosquejoCuantiles {
+
+	public static final double ERROR = 0.01;
+
+	private static final double GAMMA = (1 + ERROR) / (1 - ERROR);
+	private static final double LOG_GAMMA = Math.log(GAMMA);
+	private static final int CUBETAS = cubeta(Integer.MAX_VALUE) + 1;
+
+	private int[] contadores; // contadores[k] = valores en la cubeta k (se crea con el primer valor)
+	private int ceros;        // Valores menores o iguales a 0
+	private long cantidad;
+
+	/**
+	 * Inicializa el bosquejo vacío.
+	 */
+	public void inicializar() {
+		contadores = null;
+		ceros = 0;
+		cantidad = 0;
+	}
+
+	/**
+	 * Agrega un valor.
+	 * Complejidad: O(1)
+	 */
+	public void agregar(int valor) {
+		if (valor <= 0) {
+			ceros++;
+		} else {
+			if (contadores == null) contadores = new int[CUBETAS];
+			contadores[cubeta(valor)]++;
+		}
+		cantidad++;
+	}
+
+	/**
+	 * Quita un valor agregado antes. Si no había ninguno en su cubeta no hace nada.
+	 * Complejidad: O(1)
+	 */
+	public void quitar(int valor) {
+		if (valor <= 0) {
+			if (ceros == 0) return;
+			ceros--;
+		} else {
+			int k = cubeta(valor);
+			if (contadores == null || contadores[k] == 0) return;
+			contadores[k]--;
+		}
+		cantidad--;
+	}
+
+	/**
+	 * Suma al bosquejo los valores de otro.
+	 * Complejidad: O(CUBETAS)
+	 */
+	public void combinar(BosquejoCuantiles otro) {
+		if (otro.contadores != null) {
+			if (contadores == null) contadores = new int[CUBETAS];
+			for (int k = 0; k < CUBETAS; k++) {
+				contadores[k] += otro.contadores[k];
+			}
+		}
+		ceros += otro.ceros;
+		cantidad += otro.cantidad;
+	}
+
+	/**
+	 * Cantidad de valores del bosquejo.
+	 */
+	public long cantidad() {
+		return cantidad;
+	}
+
+	/**
+	 * Estima el cuantil q: el valor en la posición floor(q · (cantidad - 1)) de los valores ordenados.
+	 *
+	 * @param q Cuantil entre 0 y 1 (0.5 = mediana, 0.9 = percentil 90).
+	 * @return Valor estimado, a lo sumo a ERROR · v + 0.5 del cuantil exacto v; 0 si el bosquejo está vacío.
+	 * @throws IllegalArgumentException si q no está entre 0 y 1.
+	 * Complejidad: O(CUBETAS)
+	 */
+	public int cuantil(double q) {
+		if (q < 0 || q > 1) throw new IllegalArgumentException("Cuantil fuera de [0, 1]: " + q);
+		if (cantidad == 0) return 0;
+		long posicion = (long) Math.floor(q * (cantidad - 1));
+		if (posicion < ceros) return 0;
+		long acumulado = ceros;
+		for (int k = 0; k < CUBETAS; k++) {
+			acumulado += contadores[k];
+			if (acumulado > posicion) return representante(k);
+		}
+		return representante(CUBETAS - 1);
+	}
+
+	/**
+	 * Copia independiente del bosquejo.
+	 */
+	public BosquejoCuantiles copia() {
+		BosquejoCuantiles copia = new BosquejoCuantiles();
+		copia.inicializar();
+		copia.combinar(this);
+		return copia;
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	private static int cubeta(int valor) {
+		return (int) Math.ceil(Math.log(valor) / LOG_GAMMA);
+	}
+
+	/**
+	 * Valor que representa a la cubeta k (a igual distancia relativa de ambos bordes), redondeado.
+	 */
+	private static int representante(int k) {
+		double valor = 2 * Math.pow(GAMMA, k) / (GAMMA + 1);
+		return (int) Math.min(Math.round(valor), Integer.MAX_VALUE);
+	}
+}
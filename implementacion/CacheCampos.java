@@ -0,0 +1,154 @@
+package implementacion;
+
+import java.util.Arrays;
+
+/**
+ * Cache acotado id de campo → nodo del árbol, para que las escrituras en los campos más activos
+ * no desciendan desde la raíz. Reemplaza con el algoritmo CLOCK.
+ *
+ * Funcionamiento:
+ * - Las entradas ocupan ranuras fijas; cada una tiene un bit de uso que se enciende en cada acierto.
+ * - Al faltar lugar, la manecilla recorre las ranuras apagando bits encendidos y reemplaza la primera
+ *   que encuentra apagada: un campo sigue en el cache mientras se lo use entre dos vueltas.
+ * - Una entrada nueva entra con el bit apagado, así un campo que se escribe una sola vez es el primero
+ *   en salir y no desplaza a los activos.
+ * - La ranura de cada id se ubica en una tabla de hash con sondeo lineal del doble de tamaño; al quitar
+ *   una entrada se corren hacia atrás las siguientes del mismo grupo, sin marcas de borrado.
+ * - Cada búsqueda cuenta un acierto o un fallo en Metricas.
+ * No es seguro para varios hilos; se usa con el mismo cuidado que el árbol al que acompaña.
+ */
+final class CacheCampos<T> {
+
+	private final int[] ids;        // Id del campo de cada ranura
+	private final Object[] nodos;   // Nodo de cada ranura
+	private final boolean[] usado;  // Bit de uso de CLOCK
+	private final int[] tabla;      // Ranura + 1 por hash del id, 0 si está libre
+	private final int desplazamiento; // 32 - log2 del largo de tabla: se usan los bits altos del hash
+	private int cantidad;           // Ranuras ocupadas (las primeras)
+	private int manecilla;
+
+	/**
+	 * @param capacidad Cantidad máxima de campos (mayor a 0).
+	 */
+	CacheCampos(int capacidad) {
+		ids = new int[capacidad];
+		nodos = new Object[capacidad];
+		usado = new boolean[capacidad];
+		tabla = new int[Integer.highestOneBit(capacidad * 2 - 1) << 1];
+		desplazamiento = Integer.numberOfLeadingZeros(tabla.length) + 1;
+	}
+
+	/**
+	 * Nodo guardado para el id, o null si no está.
+	 * Complejidad: O(1) promedio.
+	 */
+	@SuppressWarnings("unchecked")
+	T buscar(int id) {
+		int casilla = casilla(id);
+		if (tabla[casilla] == 0) {
+			Metricas.falloCache();
+			return null;
+		}
+		int ranura = tabla[casilla] - 1;
+		usado[ranura] = true;
+		Metricas.aciertoCache();
+		return (T) nodos[ranura];
+	}
+
+	/**
+	 * Guarda el nodo del id, reemplazando una entrada poco usada si el cache está lleno.
+	 * Complejidad: O(1) amortizado: cada paso de la manecilla apaga un bit encendido por un acierto.
+	 */
+	void guardar(int id, T nodo) {
+		int casilla = casilla(id);
+		if (tabla[casilla] != 0) {
+			nodos[tabla[casilla] - 1] = nodo;
+			return;
+		}
+		int ranura;
+		if (cantidad < ids.length) {
+			ranura = cantidad++;
+		} else {
+			while (usado[manecilla]) {
+				usado[manecilla] = false;
+				manecilla = (manecilla + 1) % ids.length;
+			}
+			ranura = manecilla;
+			manecilla = (manecilla + 1) % ids.length;
+			liberarCasilla(casilla(ids[ranura]));
+			casilla = casilla(id); // Correr el grupo puede haber liberado una casilla anterior
+		}
+		ids[ranura] = id;
+		nodos[ranura] = nodo;
+		usado[ranura] = false;
+		tabla[casilla] = ranura + 1;
+	}
+
+	/**
+	 * Quita el id, si está. La última ranura ocupada pasa a ocupar la suya.
+	 * Complejidad: O(1) promedio.
+	 */
+	void quitar(int id) {
+		int casilla = casilla(id);
+		if (tabla[casilla] == 0) return;
+		int ranura = tabla[casilla] - 1;
+		liberarCasilla(casilla);
+		int ultima = --cantidad;
+		if (ranura != ultima) {
+			ids[ranura] = ids[ultima];
+			nodos[ranura] = nodos[ultima];
+			usado[ranura] = usado[ultima];
+			tabla[casilla(ids[ranura])] = ranura + 1;
+		}
+		nodos[ultima] = null;
+		if (manecilla >= cantidad) manecilla = 0;
+	}
+
+	/**
+	 * Quita todas las entradas.
+	 * Complejidad: O(capacidad)
+	 */
+	void vaciar() {
+		Arrays.fill(nodos, null);
+		Arrays.fill(usado, false);
+		Arrays.fill(tabla, 0);
+		cantidad = 0;
+		manecilla = 0;
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	/**
+	 * Casilla de la tabla donde está el id o, si no está, la libre donde iría.
+	 */
+	private int casilla(int id) {
+		int mascara = tabla.length - 1;
+		int casilla = inicial(id);
+		while (tabla[casilla] != 0 && ids[tabla[casilla] - 1] != id) {
+			casilla = (casilla + 1) & mascara;
+		}
+		return casilla;
+	}
+
+	private int inicial(int id) {
+		return id * 0x9E3779B9 >>> desplazamiento;
+	}
+
+	/**
+	 * Libera la casilla y corre hacia atrás las entradas siguientes que quedarían fuera de su grupo.
+	 */
+	private void liberarCasilla(int libre) {
+		int mascara = tabla.length - 1;
+		int actual = (libre + 1) & mascara;
+		while (tabla[actual] != 0) {
+			int deseada = inicial(ids[tabla[actual] - 1]);
+			// La entrada puede ocupar la casilla libre si ésta está entre su casilla deseada y la actual
+			if (((actual - deseada) & mascara) >= ((actual - libre) & mascara)) {
+				tabla[libre] = tabla[actual];
+				libre = actual;
+			}
+			actual = (actual + 1) & mascara;
+		}
+		tabla[libre] = 0;
+	}
+}
@@ -47,6 +47,7 @@ public class ColaPrioridad implements ColaPrioridadTDA {
      */
     @Override
     public void acolarPrioridad(int valor, int prioridad) {
+        Metricas.elemento();
         // Crear el nuevo nodo con el valor y la prioridad dados
         nodo nuevo = new nodo();
         nuevo.valor = valor;
@@ -38,6 +38,7 @@ public class ColaString implements ColaStringTDA {
 	 */
 	@Override
 	public void acolar(String valor) {
+		Metricas.elemento();
 		// Se crea un nuevo nodo con el valor y sin siguiente
 		nodo nuevo = new nodo();
 		nuevo.valor = valor;
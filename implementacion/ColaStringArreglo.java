@@ -0,0 +1,124 @@
+package implementacion;
+
+import tdas.ColaStringTDA;
+
+/**
+ * Implementación de una cola de cadenas de texto sobre un arreglo circular.
+ * El arreglo se duplica cuando se llena y se conserva al volver a inicializar la cola.
+ * Los períodos de los árboles (clavesEntre, periodos()) se devuelven en una cola nueva por llamada,
+ * creada con la capacidad justa: se reserva un arreglo por consulta en lugar de un nodo por período.
+ */
+public class ColaStringArreglo implements ColaStringTDA {
+
+	private String[] elementos; // Arreglo circular
+	private int inicio;         // Posición del primer elemento
+	private int cantidad;       // Cantidad de elementos en la cola
+
+	/**
+	 * Inicializa la cola como vacía.
+	 * Si ya tenía un arreglo, lo reutiliza y sólo limpia las posiciones ocupadas.
+	 * Complejidad: O(1) la primera vez, O(n) con n la cantidad de elementos que quedaban.
+	 */
+	@Override
+	public void inicializarCola() {
+		if (elementos == null) {
+			elementos = new String[8];
+		} else {
+			// Se liberan las referencias que quedaron en la cola
+			for (int i = 0; i < cantidad; i++) {
+				elementos[(inicio + i) & (elementos.length - 1)] = null;
+			}
+		}
+		inicio = 0;
+		cantidad = 0;
+	}
+
+	/**
+	 * Inicializa la cola como vacía asegurando lugar para la cantidad indicada de elementos.
+	 *
+	 * @param capacidad cantidad de elementos esperada.
+	 * Complejidad: O(capacidad) si hay que agrandar el arreglo.
+	 */
+	public void inicializarCola(int capacidad) {
+		inicializarCola();
+		if (capacidad > elementos.length) {
+			elementos = new String[tamanio(capacidad)];
+		}
+	}
+
+	/**
+	 * Inserta un elemento al final de la cola, duplicando el arreglo si está lleno.
+	 *
+	 * @param valor El valor String a insertar.
+	 * Complejidad: O(1) amortizado.
+	 */
+	@Override
+	public void acolar(String valor) {
+		Metricas.elemento();
+		if (cantidad == elementos.length) {
+			agrandar();
+		}
+		elementos[(inicio + cantidad) & (elementos.length - 1)] = valor;
+		cantidad++;
+	}
+
+	/**
+	 * Elimina el primer elemento de la cola. Si está vacía no hace nada.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public void desacolar() {
+		if (cantidad > 0) {
+			elementos[inicio] = null;
+			inicio = (inicio + 1) & (elementos.length - 1);
+			cantidad--;
+		}
+	}
+
+	/**
+	 * Devuelve el primer elemento sin eliminarlo.
+	 *
+	 * @return El valor en la cabeza de la cola.
+	 * @throws IllegalStateException si la cola está vacía.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public String primero() {
+		if (cantidad == 0) throw new IllegalStateException("Cola vacía");
+		return elementos[inicio];
+	}
+
+	/**
+	 * Indica si la cola está vacía.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public boolean colaVacia() {
+		return cantidad == 0;
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	/**
+	 * Duplica el arreglo dejando los elementos en orden desde la posición 0.
+	 */
+	private void agrandar() {
+		String[] nuevos = new String[elementos.length * 2];
+		int hastaElFinal = elementos.length - inicio;
+		System.arraycopy(elementos, inicio, nuevos, 0, hastaElFinal);
+		System.arraycopy(elementos, 0, nuevos, hastaElFinal, inicio);
+		elementos = nuevos;
+		inicio = 0;
+	}
+
+	/**
+	 * Menor potencia de dos mayor o igual a la capacidad.
+	 */
+	private static int tamanio(int capacidad) {
+		int tamanio = 8;
+		while (tamanio < capacidad) {
+			tamanio <<= 1;
+		}
+		return tamanio;
+	}
+}
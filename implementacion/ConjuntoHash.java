@@ -0,0 +1,177 @@
+package implementacion;
+
+import tdas.ConjuntoTDA;
+
+/**
+ * Implementación de un conjunto de enteros basada en direccionamiento abierto.
+ * Los elementos se guardan en un arreglo denso y una tabla de hash con sondeo lineal
+ * guarda, para cada elemento, su posición en ese arreglo. No se crea ningún objeto por elemento.
+ */
+public class ConjuntoHash implements ConjuntoTDA {
+
+    private static final int LIBRE = 0;     // Casilla de la tabla nunca usada
+    private static final int BORRADO = -1;  // Casilla que tuvo un elemento ya eliminado
+
+    private int[] elementos;  // Elementos en posiciones 0..cantidad-1
+    private int[] tabla;      // Posición en elementos + 1, LIBRE o BORRADO
+    private int cantidad;     // Cantidad de elementos
+    private int borrados;     // Casillas BORRADO en la tabla
+
+    /**
+     * Inicializa el conjunto vacío con capacidad para pocos elementos.
+     * Complejidad: O(1)
+     */
+    @Override
+    public void inicializar() {
+        inicializar(8);
+    }
+
+    /**
+     * Inicializa el conjunto vacío reservando lugar para la cantidad indicada de elementos,
+     * de modo que no haga falta redimensionar mientras no se supere.
+     *
+     * @param capacidad cantidad de elementos esperada.
+     * Complejidad: O(capacidad)
+     */
+    public void inicializar(int capacidad) {
+        elementos = new int[Math.max(capacidad, 4)];
+        tabla = new int[tamanioTabla(capacidad)];
+        cantidad = 0;
+        borrados = 0;
+    }
+
+    /**
+     * Agrega un valor si aún no pertenece al conjunto.
+     *
+     * @param valor entero a agregar.
+     * Complejidad: O(1) amortizado.
+     */
+    @Override
+    public void agregar(int valor) {
+        if (buscar(valor) >= 0) return;
+        if ((cantidad + borrados + 1) * 2 > tabla.length) {
+            redimensionar();
+        }
+        if (cantidad == elementos.length) {
+            int[] nuevos = new int[elementos.length * 2];
+            System.arraycopy(elementos, 0, nuevos, 0, cantidad);
+            elementos = nuevos;
+        }
+        elementos[cantidad] = valor;
+        cantidad++;
+        ubicar(valor, cantidad);
+    }
+
+    /**
+     * Verifica si un valor pertenece al conjunto.
+     *
+     * @param valor entero a verificar.
+     * @return true si el valor está presente.
+     * Complejidad: O(1) promedio.
+     */
+    @Override
+    public boolean pertenece(int valor) {
+        return buscar(valor) >= 0;
+    }
+
+    /**
+     * Elimina un valor del conjunto, si existe.
+     * El último elemento del arreglo denso ocupa el lugar del eliminado.
+     *
+     * @param valor entero a eliminar.
+     * Complejidad: O(1) promedio.
+     */
+    @Override
+    public void sacar(int valor) {
+        int casilla = buscar(valor);
+        if (casilla < 0) return;
+        int pos = tabla[casilla] - 1;
+        tabla[casilla] = BORRADO;
+        borrados++;
+        cantidad--;
+        if (pos != cantidad) {
+            // Se mueve el último elemento al hueco y se actualiza su casilla
+            int movido = elementos[cantidad];
+            elementos[pos] = movido;
+            tabla[buscar(movido)] = pos + 1;
+        }
+    }
+
+    /**
+     * Devuelve un elemento del conjunto: el último del arreglo denso.
+     * Vaciar el conjunto con elegir y sacar cuesta O(n) en total.
+     *
+     * @return un valor del conjunto.
+     * @throws IllegalStateException si el conjunto está vacío.
+     * Complejidad: O(1)
+     */
+    @Override
+    public int elegir() {
+        if (cantidad == 0) throw new IllegalStateException("Conjunto vacío");
+        return elementos[cantidad - 1];
+    }
+
+    /**
+     * Indica si el conjunto está vacío.
+     * Complejidad: O(1)
+     */
+    @Override
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    /**
+     * Devuelve la casilla de la tabla que apunta al valor, o -1 si no está.
+     */
+    private int buscar(int valor) {
+        int mascara = tabla.length - 1;
+        int i = hash(valor) & mascara;
+        while (tabla[i] != LIBRE) {
+            if (tabla[i] != BORRADO && elementos[tabla[i] - 1] == valor) return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Registra en la primera casilla libre o borrada la posición (ya incrementada en 1) del valor.
+     */
+    private void ubicar(int valor, int posicionMasUno) {
+        int mascara = tabla.length - 1;
+        int i = hash(valor) & mascara;
+        while (tabla[i] > 0) {
+            i = (i + 1) & mascara;
+        }
+        if (tabla[i] == BORRADO) borrados--;
+        tabla[i] = posicionMasUno;
+    }
+
+    /**
+     * Reconstruye la tabla descartando las casillas borradas y, si hace falta, duplicándola.
+     */
+    private void redimensionar() {
+        tabla = new int[tamanioTabla(cantidad + 1)];
+        borrados = 0;
+        for (int i = 0; i < cantidad; i++) {
+            ubicar(elementos[i], i + 1);
+        }
+    }
+
+    /**
+     * Tamaño de tabla (potencia de dos) que mantiene la ocupación por debajo de la mitad.
+     */
+    private static int tamanioTabla(int capacidad) {
+        int tamanio = 8;
+        while (tamanio < capacidad * 2 + 2) {
+            tamanio <<= 1;
+        }
+        return tamanio;
+    }
+
+    private static int hash(int valor) {
+        int h = valor * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,191 @@
+package implementacion;
+
+import tdas.ConjuntoStringTDA;
+
+/**
+ * Implementación de un conjunto de cadenas de texto basada en direccionamiento abierto.
+ * Los elementos se guardan en un arreglo denso junto con su hash, y una tabla con sondeo
+ * lineal guarda la posición de cada elemento en ese arreglo.
+ * Pertenencia, alta y baja cuestan O(1) promedio, y elegir devuelve el último elemento
+ * del arreglo denso, por lo que vaciar el conjunto con elegir y sacar cuesta O(n).
+ */
+public class ConjuntoStringHash implements ConjuntoStringTDA {
+
+    private static final int LIBRE = 0;     // Casilla de la tabla nunca usada
+    private static final int BORRADO = -1;  // Casilla que tuvo un elemento ya eliminado
+
+    private String[] elementos; // Elementos en posiciones 0..cantidad-1
+    private int[] hashes;       // Hash de cada elemento, para no recalcularlo ni comparar de más
+    private int[] tabla;        // Posición en elementos + 1, LIBRE o BORRADO
+    private int cantidad;       // Cantidad de elementos
+    private int borrados;       // Casillas BORRADO en la tabla
+
+    /**
+     * Inicializa el conjunto vacío con capacidad para pocos elementos.
+     * Complejidad: O(1)
+     */
+    @Override
+    public void inicializar() {
+        inicializar(8);
+    }
+
+    /**
+     * Inicializa el conjunto vacío reservando lugar para la cantidad indicada de elementos.
+     *
+     * @param capacidad cantidad de elementos esperada.
+     * Complejidad: O(capacidad)
+     */
+    public void inicializar(int capacidad) {
+        elementos = new String[Math.max(capacidad, 4)];
+        hashes = new int[elementos.length];
+        tabla = new int[tamanioTabla(capacidad)];
+        cantidad = 0;
+        borrados = 0;
+    }
+
+    /**
+     * Agrega un String al conjunto, si aún no está presente.
+     *
+     * @param valor El valor a insertar.
+     * Complejidad: O(1) amortizado.
+     */
+    @Override
+    public void agregar(String valor) {
+        int h = hash(valor);
+        if (buscar(valor, h) >= 0) return;
+        if ((cantidad + borrados + 1) * 2 > tabla.length) {
+            redimensionar();
+        }
+        if (cantidad == elementos.length) {
+            String[] nuevos = new String[elementos.length * 2];
+            int[] nuevosHashes = new int[elementos.length * 2];
+            System.arraycopy(elementos, 0, nuevos, 0, cantidad);
+            System.arraycopy(hashes, 0, nuevosHashes, 0, cantidad);
+            elementos = nuevos;
+            hashes = nuevosHashes;
+        }
+        elementos[cantidad] = valor;
+        hashes[cantidad] = h;
+        cantidad++;
+        ubicar(h, cantidad);
+    }
+
+    /**
+     * Verifica si un String pertenece al conjunto.
+     *
+     * @param valor El valor a buscar.
+     * @return true si está presente.
+     * Complejidad: O(1) promedio.
+     */
+    @Override
+    public boolean pertenece(String valor) {
+        return buscar(valor, hash(valor)) >= 0;
+    }
+
+    /**
+     * Elimina un valor del conjunto, si existe.
+     * El último elemento del arreglo denso ocupa el lugar del eliminado.
+     *
+     * @param valor El String a eliminar.
+     * Complejidad: O(1) promedio.
+     */
+    @Override
+    public void sacar(String valor) {
+        int casilla = buscar(valor, hash(valor));
+        if (casilla < 0) return;
+        int pos = tabla[casilla] - 1;
+        tabla[casilla] = BORRADO;
+        borrados++;
+        cantidad--;
+        if (pos != cantidad) {
+            // Se mueve el último elemento al hueco y se actualiza su casilla
+            String movido = elementos[cantidad];
+            int h = hashes[cantidad];
+            elementos[pos] = movido;
+            hashes[pos] = h;
+            tabla[buscar(movido, h)] = pos + 1;
+        }
+        elementos[cantidad] = null; // Libera la referencia
+    }
+
+    /**
+     * Devuelve un elemento del conjunto: el último del arreglo denso.
+     *
+     * @return Un valor almacenado.
+     * @throws IllegalStateException si el conjunto está vacío.
+     * Complejidad: O(1)
+     */
+    @Override
+    public String elegir() {
+        if (cantidad == 0) throw new IllegalStateException("Conjunto vacío");
+        return elementos[cantidad - 1];
+    }
+
+    /**
+     * Verifica si el conjunto está vacío.
+     * Complejidad: O(1)
+     */
+    @Override
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+
+    // --- MÉTODOS PRIVADOS ---
+
+    /**
+     * Devuelve la casilla de la tabla que apunta al valor, o -1 si no está.
+     * Sólo se llama a equals cuando coinciden los hashes.
+     */
+    private int buscar(String valor, int h) {
+        int mascara = tabla.length - 1;
+        int i = h & mascara;
+        while (tabla[i] != LIBRE) {
+            if (tabla[i] != BORRADO) {
+                int pos = tabla[i] - 1;
+                if (hashes[pos] == h && elementos[pos].equals(valor)) return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Registra en la primera casilla libre o borrada la posición (ya incrementada en 1) del elemento.
+     */
+    private void ubicar(int h, int posicionMasUno) {
+        int mascara = tabla.length - 1;
+        int i = h & mascara;
+        while (tabla[i] > 0) {
+            i = (i + 1) & mascara;
+        }
+        if (tabla[i] == BORRADO) borrados--;
+        tabla[i] = posicionMasUno;
+    }
+
+    /**
+     * Reconstruye la tabla descartando las casillas borradas y, si hace falta, duplicándola.
+     */
+    private void redimensionar() {
+        tabla = new int[tamanioTabla(cantidad + 1)];
+        borrados = 0;
+        for (int i = 0; i < cantidad; i++) {
+            ubicar(hashes[i], i + 1);
+        }
+    }
+
+    /**
+     * Tamaño de tabla (potencia de dos) que mantiene la ocupación por debajo de la mitad.
+     */
+    private static int tamanioTabla(int capacidad) {
+        int tamanio = 8;
+        while (tamanio < capacidad * 2 + 2) {
+            tamanio <<= 1;
+        }
+        return tamanio;
+    }
+
+    private static int hash(String valor) {
+        int h = valor.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
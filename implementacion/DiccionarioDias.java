@@ -0,0 +1,141 @@
+package implementacion;
+
+import tdas.ConjuntoTDA;
+import tdas.DiccionarioSimpleTDA;
+
+/**
+ * Diccionario día → precipitación de un mes, con una posición fija para cada día de 1 a 31.
+ * Agregar, recuperar y eliminar un día no crean objetos: el arreglo se reserva al inicializar.
+ * Las claves fuera de 1..31 (que ArbolPrecipitaciones.precipitaciones igualmente descarta)
+ * se guardan aparte en un DiccionarioSimple que sólo se crea si aparece alguna.
+ */
+public class DiccionarioDias implements DiccionarioSimpleTDA {
+
+	private int[] valores;               // valores[dia] = mm acumulados del día
+	private int presentes;               // Bit dia encendido si el día tiene medición
+	private DiccionarioSimpleTDA fuera;  // Claves fuera de 1..31, o null
+
+	/**
+	 * Inicializa el diccionario vacío.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public void inicializar() {
+		valores = new int[32];
+		presentes = 0;
+		fuera = null;
+	}
+
+	/**
+	 * Agrega o acumula la precipitación de un día, igual que DiccionarioSimple.
+	 *
+	 * @param clave Día del mes.
+	 * @param valor Cantidad de lluvia a agregar (en mm).
+	 * Complejidad: O(1), sin reservar memoria para días de 1 a 31.
+	 */
+	@Override
+	public void agregar(int clave, int valor) {
+		if (clave < 1 || clave > 31) {
+			if (fuera == null) {
+				fuera = new DiccionarioSimple();
+				fuera.inicializar();
+			}
+			fuera.agregar(clave, valor);
+			return;
+		}
+		if ((presentes & (1 << clave)) != 0) {
+			valores[clave] += valor;
+		} else {
+			valores[clave] = valor;
+			presentes |= 1 << clave;
+		}
+	}
+
+	/**
+	 * Elimina la medición del día, si existe.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public void eliminar(int clave) {
+		if (clave < 1 || clave > 31) {
+			if (fuera != null) fuera.eliminar(clave);
+			return;
+		}
+		presentes &= ~(1 << clave);
+		valores[clave] = 0;
+	}
+
+	/**
+	 * Recupera la precipitación del día.
+	 *
+	 * @throws IllegalStateException si no se encuentra la clave.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public int recuperar(int clave) {
+		if (clave >= 1 && clave <= 31 && (presentes & (1 << clave)) != 0) {
+			return valores[clave];
+		}
+		if ((clave < 1 || clave > 31) && fuera != null) {
+			return fuera.recuperar(clave);
+		}
+		Metricas.excepcion();
+		throw new IllegalStateException("La clave no existe.");
+	}
+
+	/**
+	 * Devuelve un conjunto con los días registrados.
+	 * Complejidad: O(31 + k), con k claves fuera de rango.
+	 */
+	@Override
+	public ConjuntoTDA obtenerClaves() {
+		ConjuntoHash conjunto = new ConjuntoHash();
+		conjunto.inicializar(Integer.bitCount(presentes));
+		for (int dia = 1; dia <= 31; dia++) {
+			if ((presentes & (1 << dia)) != 0) {
+				conjunto.agregar(dia);
+			}
+		}
+		if (fuera != null) {
+			ConjuntoTDA otras = fuera.obtenerClaves();
+			while (!otras.estaVacio()) {
+				int clave = otras.elegir();
+				conjunto.agregar(clave);
+				otras.sacar(clave);
+			}
+		}
+		return conjunto;
+	}
+
+	// --- ACCESO PARA DiccionarioSimpleString ---
+
+	/**
+	 * Días con medición (bit dia encendido).
+	 */
+	int bitsPresentes() {
+		return presentes;
+	}
+
+	/**
+	 * Arreglo interno indexado por día; no se debe modificar.
+	 */
+	int[] valores() {
+		return valores;
+	}
+
+	/**
+	 * Indica si hay claves fuera de 1..31, que sólo este diccionario sabe guardar.
+	 */
+	boolean tieneFuera() {
+		return fuera != null;
+	}
+
+	/**
+	 * Carga los días de un período ya armado; el arreglo pasa a ser del diccionario.
+	 */
+	void cargar(int bitsPresentes, int[] valores) {
+		this.valores = valores;
+		this.presentes = bitsPresentes;
+		this.fuera = null;
+	}
+}
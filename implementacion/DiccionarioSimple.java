@@ -6,6 +6,8 @@ import tdas.DiccionarioSimpleTDA;
 /**
  * Implementación dinámica de un diccionario simple que asocia claves enteras con valores enteros.
  * Utiliza una lista enlazada para almacenar los pares (clave, valor).
+ * agregar prueba primero la última clave en la que escribió, así las mediciones repetidas
+ * del mismo día no recorren la lista.
  */
 public class DiccionarioSimple implements DiccionarioSimpleTDA {
 
@@ -20,6 +22,7 @@ public class DiccionarioSimple implements DiccionarioSimpleTDA {
 	}
 
 	private nodo primero;     // Puntero al primer nodo del diccionario
+	private nodo ultimo;      // Último nodo en el que se agregó, o null
 
 	/**
 	 * Inicializa el diccionario dejándolo vacío.
@@ -28,6 +31,7 @@ public class DiccionarioSimple implements DiccionarioSimpleTDA {
 	@Override
 	public void inicializar() {
 		primero = null;       // Elimina cualquier contenido previo
+		ultimo = null;
 	}
 
 	/**
@@ -35,16 +39,24 @@ public class DiccionarioSimple implements DiccionarioSimpleTDA {
 	 * Si la clave ya existe, se suma el nuevo valor al existente.
 	 * @param clave Día del mes (por ejemplo, 15)
 	 * @param valor Cantidad de lluvia a agregar (en mm)
-	 * Complejidad: O(n), donde n es la cantidad de elementos almacenados.
+	 * Complejidad: O(1) si la clave es la del agregado anterior, O(n) en el peor caso,
+	 * donde n es la cantidad de elementos almacenados.
 	 */
 	@Override
 	public void agregar(int clave, int valor) {
+		if (ultimo != null && ultimo.clave == clave) {
+			Metricas.sondeo();
+			ultimo.valor += valor;
+			return;
+		}
 		nodo actual = primero;
 
 		// Recorre buscando si la clave ya existe
 		while (actual != null) {
+			Metricas.sondeo();
 			if (actual.clave == clave) {
 				actual.valor += valor; // Si existe, acumula el valor
+				ultimo = actual;
 				return;
 			}
 			actual = actual.siguiente;
@@ -56,6 +68,7 @@ public class DiccionarioSimple implements DiccionarioSimpleTDA {
 		nuevo.valor = valor;
 		nuevo.siguiente = primero;
 		primero = nuevo;
+		ultimo = nuevo;
 	}
 
 	/**
@@ -69,6 +82,7 @@ public class DiccionarioSimple implements DiccionarioSimpleTDA {
 		nodo anterior = null;
 
 		while (actual != null) {
+			Metricas.sondeo();
 			if (actual.clave == clave) {
 				if (anterior == null) {
 					// El nodo a eliminar es el primero
@@ -77,6 +91,7 @@ public class DiccionarioSimple implements DiccionarioSimpleTDA {
 					// El nodo está en el medio o final
 					anterior.siguiente = actual.siguiente;
 				}
+				if (actual == ultimo) ultimo = null;
 				return; // Salir después de eliminar
 			}
 			anterior = actual;
@@ -96,6 +111,7 @@ public class DiccionarioSimple implements DiccionarioSimpleTDA {
 		nodo actual = primero;
 
 		while (actual != null) {
+			Metricas.sondeo();
 			if (actual.clave == clave) {
 				return actual.valor;
 			}
@@ -103,6 +119,7 @@ public class DiccionarioSimple implements DiccionarioSimpleTDA {
 		}
 
 		// Si no se encuentra la clave, lanza excepción
+		Metricas.excepcion();
 		throw new IllegalStateException("La clave no existe.");
 	}
 
@@ -0,0 +1,172 @@
+package implementacion;
+
+import tdas.ConjuntoTDA;
+import tdas.DiccionarioSimpleTDA;
+
+/**
+ * Implementación de un diccionario entero → entero basada en direccionamiento abierto.
+ * Los pares (clave, valor) se guardan en dos arreglos densos paralelos y una tabla de hash
+ * con sondeo lineal guarda la posición de cada clave. No se crea ningún objeto por par.
+ * El árbol de precipitaciones no la usa a propósito: los días de un período van en DiccionarioDias,
+ * un arreglo indexado por día que no necesita tabla (y los días fuera de 1..31 en un DiccionarioSimple).
+ * Queda como alternativa de DiccionarioSimple para BenchmarkDiccionarios y EstructurasBenchmark.
+ */
+public class DiccionarioSimpleHash implements DiccionarioSimpleTDA {
+
+	private static final int LIBRE = 0;     // Casilla de la tabla nunca usada
+	private static final int BORRADO = -1;  // Casilla que tuvo una clave ya eliminada
+
+	private int[] claves;     // Claves en posiciones 0..cantidad-1
+	private int[] valores;    // Valor de la clave en la misma posición
+	private int[] tabla;      // Posición en claves + 1, LIBRE o BORRADO
+	private int cantidad;     // Cantidad de pares
+	private int borrados;     // Casillas BORRADO en la tabla
+
+	/**
+	 * Inicializa el diccionario vacío.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public void inicializar() {
+		claves = new int[4];
+		valores = new int[4];
+		tabla = new int[8];
+		cantidad = 0;
+		borrados = 0;
+	}
+
+	/**
+	 * Agrega un par (clave, valor). Si la clave ya existe, se suma el valor al existente,
+	 * igual que en DiccionarioSimple.
+	 *
+	 * @param clave Día del mes.
+	 * @param valor Cantidad de lluvia a agregar (en mm).
+	 * Complejidad: O(1) amortizado.
+	 */
+	@Override
+	public void agregar(int clave, int valor) {
+		int casilla = buscar(clave);
+		if (casilla >= 0) {
+			valores[tabla[casilla] - 1] += valor;
+			return;
+		}
+		if ((cantidad + borrados + 1) * 2 > tabla.length) {
+			redimensionar();
+		}
+		if (cantidad == claves.length) {
+			int[] nuevasClaves = new int[claves.length * 2];
+			int[] nuevosValores = new int[claves.length * 2];
+			System.arraycopy(claves, 0, nuevasClaves, 0, cantidad);
+			System.arraycopy(valores, 0, nuevosValores, 0, cantidad);
+			claves = nuevasClaves;
+			valores = nuevosValores;
+		}
+		claves[cantidad] = clave;
+		valores[cantidad] = valor;
+		cantidad++;
+		ubicar(clave, cantidad);
+	}
+
+	/**
+	 * Elimina la clave, si existe. El último par ocupa el lugar del eliminado.
+	 *
+	 * @param clave Día a eliminar.
+	 * Complejidad: O(1) promedio.
+	 */
+	@Override
+	public void eliminar(int clave) {
+		int casilla = buscar(clave);
+		if (casilla < 0) return;
+		int pos = tabla[casilla] - 1;
+		tabla[casilla] = BORRADO;
+		borrados++;
+		cantidad--;
+		if (pos != cantidad) {
+			// Se mueve el último par al hueco y se actualiza su casilla
+			int movida = claves[cantidad];
+			claves[pos] = movida;
+			valores[pos] = valores[cantidad];
+			tabla[buscar(movida)] = pos + 1;
+		}
+	}
+
+	/**
+	 * Recupera el valor asociado a la clave.
+	 *
+	 * @param clave Día a buscar.
+	 * @return Valor de precipitación en ese día.
+	 * @throws IllegalStateException si no se encuentra la clave.
+	 * Complejidad: O(1) promedio.
+	 */
+	@Override
+	public int recuperar(int clave) {
+		int casilla = buscar(clave);
+		if (casilla < 0) throw new IllegalStateException("La clave no existe.");
+		return valores[tabla[casilla] - 1];
+	}
+
+	/**
+	 * Devuelve un conjunto con todas las claves.
+	 * El conjunto se crea con la capacidad justa, por lo que no se redimensiona.
+	 *
+	 * @return Conjunto de claves (días registrados).
+	 * Complejidad: O(n)
+	 */
+	@Override
+	public ConjuntoTDA obtenerClaves() {
+		ConjuntoHash conjunto = new ConjuntoHash();
+		conjunto.inicializar(cantidad);
+		for (int i = 0; i < cantidad; i++) {
+			conjunto.agregar(claves[i]);
+		}
+		return conjunto;
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	/**
+	 * Devuelve la casilla de la tabla que apunta a la clave, o -1 si no está.
+	 */
+	private int buscar(int clave) {
+		int mascara = tabla.length - 1;
+		int i = hash(clave) & mascara;
+		while (tabla[i] != LIBRE) {
+			if (tabla[i] != BORRADO && claves[tabla[i] - 1] == clave) return i;
+			i = (i + 1) & mascara;
+		}
+		return -1;
+	}
+
+	/**
+	 * Registra en la primera casilla libre o borrada la posición (ya incrementada en 1) de la clave.
+	 */
+	private void ubicar(int clave, int posicionMasUno) {
+		int mascara = tabla.length - 1;
+		int i = hash(clave) & mascara;
+		while (tabla[i] > 0) {
+			i = (i + 1) & mascara;
+		}
+		if (tabla[i] == BORRADO) borrados--;
+		tabla[i] = posicionMasUno;
+	}
+
+	/**
+	 * Reconstruye la tabla descartando las casillas borradas y, si hace falta, duplicándola.
+	 */
+	private void redimensionar() {
+		int tamanio = 8;
+		while (tamanio < (cantidad + 1) * 2 + 2) {
+			tamanio <<= 1;
+		}
+		tabla = new int[tamanio];
+		borrados = 0;
+		for (int i = 0; i < cantidad; i++) {
+			ubicar(claves[i], i + 1);
+		}
+	}
+
+	private static int hash(int clave) {
+		int h = clave * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -1,16 +1,35 @@
 package implementacion;
 
+import tdas.ColaStringTDA;
 import tdas.ConjuntoStringTDA;
+import tdas.ConjuntoTDA;
 import tdas.DiccionarioSimpleStringTDA;
 import tdas.DiccionarioSimpleTDA;
 
+import java.util.Arrays;
+
 /**
  * Implementación de un diccionario simple que asocia períodos (como "2023/03")
  * con un diccionario de precipitaciones por día.
  * Utiliza una lista enlazada para representar los pares (clave, valor).
+ *
+ * Los períodos que dejan de cambiar se compactan en un PeriodosCompactos:
+ * - La lista conserva los PERIODOS_ACTIVOS períodos creados más recientemente; al crear uno nuevo,
+ *   los más viejos pasan a la forma compacta. compactar() pasa todos.
+ * - Sólo se compactan períodos "YYYY/MM" escritos como los arma formatearPeriodo y sin días fuera
+ *   de 1..31; los demás quedan siempre en la lista.
+ * - recuperar, claves y agregar los encuentran igual que a los de la lista. Escribir en un período
+ *   compacto (o en la vista que devuelve recuperar) lo devuelve a la lista con un DiccionarioDias.
+ *
+ * agregar prueba primero el último período en el que escribió: como las mediciones llegan en orden
+ * de fecha, casi todas caen en el mismo período que la anterior y se resuelven sin recorrer la lista.
+ * Si no coincide, se busca como siempre. Quitar ese período de la lista olvida la referencia.
  */
 public class DiccionarioSimpleString implements DiccionarioSimpleStringTDA {
 
+	/** Períodos que quedan en la lista sin compactar al crear uno nuevo. */
+	static final int PERIODOS_ACTIVOS = 2;
+
 	/**
 	 * Nodo interno del diccionario enlazado.
 	 * Cada nodo contiene un período (clave), un diccionario con precipitaciones por día (valor)
@@ -23,6 +42,8 @@ public class DiccionarioSimpleString implements DiccionarioSimpleStringTDA {
 	}
 
 	private nodo primero; // Puntero al primer nodo de la lista
+	private PeriodosCompactos compactos; // Períodos que ya no cambian, o null si no hay
+	private nodo ultimo;  // Último período en el que se agregó, o null
 
 	/**
 	 * Inicializa el diccionario como vacío.
@@ -31,6 +52,8 @@ public class DiccionarioSimpleString implements DiccionarioSimpleStringTDA {
 	@Override
 	public void inicializarDiccionario() {
 		primero = null;
+		compactos = null;
+		ultimo = null;
 	}
 
 	/**
@@ -40,30 +63,226 @@ public class DiccionarioSimpleString implements DiccionarioSimpleStringTDA {
 	 * @param periodo Cadena que representa el período, ej: "2023/03"
 	 * @param dia Día del mes donde se registró la medición
 	 * @param cantidad Cantidad de precipitaciones para ese día (en mm)
-	 * Complejidad: O(n) en el peor caso, si hay que recorrer todos los períodos
+	 * Complejidad: O(1) si el período es el de la medición anterior, O(n) en el peor caso
 	 */
 	@Override
 	public void agregar(String periodo, int dia, int cantidad) {
+		if (ultimo != null) {
+			Metricas.sondeo();
+			if (ultimo.periodo.equals(periodo)) {
+				ultimo.precipitacionesMes.agregar(dia, cantidad);
+				return;
+			}
+		}
 		nodo actual = primero;
 
 		// Busca si el período ya existe
 		while (actual != null) {
+			Metricas.sondeo();
 			if (actual.periodo.equals(periodo)) {
 				// Si existe, delega la adición al diccionario de días
 				actual.precipitacionesMes.agregar(dia, cantidad);
+				ultimo = actual;
 				return;
 			}
 			actual = actual.siguiente;
 		}
 
-		// Si no existe el período, se crea un nuevo nodo
+		// Si está compactado, vuelve a la lista; si no existe, se crea un nuevo nodo
+		int indice = buscarCompacto(claveCompacta(periodo));
+		if (indice >= 0) {
+			descompactar(indice).agregar(dia, cantidad);
+			return;
+		}
+		agregarPeriodo(periodo, dia, cantidad);
+	}
+
+	/**
+	 * Agrega una medición al período "anio/mes" sin construir el String del período.
+	 * Cada período guardado se compara contra anio y mes leyendo sus dígitos, por lo que,
+	 * si el período ya existe, la operación no reserva memoria.
+	 *
+	 * @param anio Año del período.
+	 * @param mes Mes del período (1 a 12).
+	 * @param dia Día del mes donde se registró la medición
+	 * @param cantidad Cantidad de precipitaciones para ese día (en mm)
+	 * Complejidad: O(1) si el período es el de la medición anterior, O(n) en el peor caso
+	 */
+	@Override
+	public void agregar(int anio, int mes, int dia, int cantidad) {
+		if (ultimo != null) {
+			Metricas.sondeo();
+			if (esPeriodo(ultimo.periodo, anio, mes)) {
+				ultimo.precipitacionesMes.agregar(dia, cantidad);
+				return;
+			}
+		}
+		nodo actual = primero;
+		while (actual != null) {
+			Metricas.sondeo();
+			if (esPeriodo(actual.periodo, anio, mes)) {
+				actual.precipitacionesMes.agregar(dia, cantidad);
+				ultimo = actual;
+				return;
+			}
+			actual = actual.siguiente;
+		}
+		int indice = mes >= 1 && mes <= 12 && anio >= 0 ? buscarCompacto(anio * 12 + mes - 1) : -1;
+		if (indice >= 0) {
+			descompactar(indice).agregar(dia, cantidad);
+			return;
+		}
+		agregarPeriodo(formatearPeriodo(anio, mes), dia, cantidad);
+	}
+
+	/**
+	 * Indica si el período guardado ("YYYY/MM") corresponde al año y mes dados, sin reservar memoria.
+	 */
+	static boolean esPeriodo(String periodo, int anio, int mes) {
+		int barra = periodo.length() - 3;
+		if (barra < 1 || periodo.charAt(barra) != '/') return false;
+		int m = (periodo.charAt(barra + 1) - '0') * 10 + (periodo.charAt(barra + 2) - '0');
+		if (m != mes) return false;
+		int a = 0;
+		for (int i = 0; i < barra; i++) {
+			char c = periodo.charAt(i);
+			if (c < '0' || c > '9') return false;
+			a = a * 10 + (c - '0');
+		}
+		return a == anio;
+	}
+
+	/**
+	 * Convierte año y mes al formato de período "YYYY/MM".
+	 */
+	static String formatearPeriodo(int anio, int mes) {
+		return anio + (mes < 10 ? "/0" : "/") + mes;
+	}
+
+	/**
+	 * Clave anio * 12 + mes - 1 de un período escrito como lo arma formatearPeriodo, o -1 si
+	 * no tiene exactamente esa forma ("2023/3" o "02023/03" no se compactan: son otras claves).
+	 */
+	static int claveCompacta(String periodo) {
+		int inicioMes = IndiceFenwick.ordinalPeriodo(periodo);
+		int barra = periodo.length() - 3;
+		if (inicioMes < 0 || barra < 1 || periodo.charAt(barra) != '/') return -1;
+		if (periodo.charAt(0) == '0' && barra > 1) return -1;
+		return inicioMes / 31; // 31 posiciones por mes
+	}
+
+	/**
+	 * Crea el nodo de un período nuevo con su primera medición y lo agrega al principio.
+	 * Los días se guardan en un DiccionarioDias, que no reserva memoria por día.
+	 * Un período nuevo indica que los más viejos ya no cambian: se compactan.
+	 */
+	private void agregarPeriodo(String periodo, int dia, int cantidad) {
 		nodo nuevo = new nodo();
 		nuevo.periodo = periodo;
-		nuevo.precipitacionesMes = new DiccionarioSimple(); // Diccionario día → cantidad
+		nuevo.precipitacionesMes = new DiccionarioDias(); // Diccionario día → cantidad
 		nuevo.precipitacionesMes.inicializar();
 		nuevo.precipitacionesMes.agregar(dia, cantidad);
 		nuevo.siguiente = primero;
 		primero = nuevo;
+		ultimo = nuevo;
+		compactarDesde(PERIODOS_ACTIVOS);
+	}
+
+	/**
+	 * Pasa todos los períodos de la lista que lo admiten a la forma compacta.
+	 * Conviene llamarlo al terminar una carga masiva de datos históricos.
+	 * Además recorta los arreglos de la forma compacta al tamaño justo.
+	 * Complejidad: O(n²) en el peor caso, O(n) si los períodos se cargaron en orden.
+	 */
+	public void compactar() {
+		compactarDesde(0);
+		if (compactos != null) compactos.ajustar();
+	}
+
+	/**
+	 * Cantidad de períodos en la lista, sin compactar.
+	 * Complejidad: O(n) sobre los períodos de la lista
+	 */
+	int periodosEnLista() {
+		int cantidad = 0;
+		for (nodo actual = primero; actual != null; actual = actual.siguiente) {
+			cantidad++;
+		}
+		return cantidad;
+	}
+
+	/**
+	 * Cantidad de períodos compactos y bytes que retienen, como {cantidad, bytes}.
+	 * Complejidad: O(1)
+	 */
+	long[] memoriaCompactos() {
+		return compactos == null ? new long[2] : new long[]{compactos.cantidad(), compactos.bytesRetenidos()};
+	}
+
+	/**
+	 * Compacta los períodos de la lista a partir de la posición indicada.
+	 */
+	private void compactarDesde(int conservar) {
+		nodo anterior = null;
+		nodo actual = primero;
+		for (int i = 0; i < conservar && actual != null; i++) {
+			anterior = actual;
+			actual = actual.siguiente;
+		}
+		while (actual != null) {
+			int clave = claveCompacta(actual.periodo);
+			if (clave >= 0 && actual.precipitacionesMes instanceof DiccionarioDias
+					&& !((DiccionarioDias) actual.precipitacionesMes).tieneFuera()) {
+				DiccionarioDias dias = (DiccionarioDias) actual.precipitacionesMes;
+				if (compactos == null) compactos = new PeriodosCompactos();
+				compactos.agregar(clave, dias.bitsPresentes(), dias.valores());
+				desenlazar(anterior, actual);
+			} else {
+				anterior = actual;
+			}
+			actual = actual.siguiente;
+		}
+	}
+
+	/**
+	 * Saca el nodo de la lista (anterior es null si es el primero) y olvida el cursor si lo apuntaba:
+	 * un período que vuelve a la lista lo hace con un nodo nuevo.
+	 */
+	private void desenlazar(nodo anterior, nodo actual) {
+		if (anterior == null) {
+			primero = actual.siguiente;
+		} else {
+			anterior.siguiente = actual.siguiente;
+		}
+		if (actual == ultimo) ultimo = null;
+	}
+
+	/**
+	 * Posición del período en compactos, o -1 si no está compactado.
+	 */
+	private int buscarCompacto(int clave) {
+		return compactos == null || clave < 0 ? -1 : compactos.buscar(clave);
+	}
+
+	/**
+	 * Saca el período de compactos y lo devuelve al principio de la lista con un DiccionarioDias.
+	 *
+	 * @return El diccionario de días del período, para seguir escribiendo en él.
+	 */
+	private DiccionarioDias descompactar(int indice) {
+		int clave = compactos.clave(indice);
+		int[] valores = new int[32];
+		compactos.decodificar(indice, valores);
+		DiccionarioDias dias = new DiccionarioDias();
+		dias.cargar(compactos.presentes(indice), valores);
+		compactos.quitar(indice);
+		nodo nuevo = new nodo();
+		nuevo.periodo = formatearPeriodo(clave / 12, clave % 12 + 1);
+		nuevo.precipitacionesMes = dias;
+		nuevo.siguiente = primero;
+		primero = nuevo;
+		ultimo = nuevo;
+		return dias;
 	}
 
 	/**
@@ -78,25 +297,24 @@ public class DiccionarioSimpleString implements DiccionarioSimpleStringTDA {
 		nodo anterior = null;
 
 		while (actual != null) {
+			Metricas.sondeo();
 			if (actual.periodo.equals(periodo)) {
-				// Si es el primero
-				if (anterior == null) {
-					primero = actual.siguiente;
-				} else {
-					anterior.siguiente = actual.siguiente;
-				}
+				desenlazar(anterior, actual);
 				return;
 			}
 			anterior = actual;
 			actual = actual.siguiente;
 		}
+		int indice = buscarCompacto(claveCompacta(periodo));
+		if (indice >= 0) compactos.quitar(indice);
 	}
 
 	/**
 	 * Recupera el diccionario de precipitaciones por día de un período dado.
 	 *
 	 * @param periodo Clave del período, ej: "2023/05"
-	 * @return DiccionarioSimpleTDA con precipitaciones día → mm
+	 * @return DiccionarioSimpleTDA con precipitaciones día → mm; para un período compactado,
+	 *         una vista que lo devuelve a la lista si se escribe en ella.
 	 * @throws IllegalStateException si el período no existe
 	 * Complejidad: O(n)
 	 */
@@ -105,24 +323,36 @@ public class DiccionarioSimpleString implements DiccionarioSimpleStringTDA {
 		nodo actual = primero;
 
 		while (actual != null) {
+			Metricas.sondeo();
 			if (actual.periodo.equals(periodo)) {
 				return actual.precipitacionesMes;
 			}
 			actual = actual.siguiente;
 		}
 
+		int clave = claveCompacta(periodo);
+		int indice = buscarCompacto(clave);
+		if (indice >= 0) {
+			int[] valores = new int[32];
+			compactos.decodificar(indice, valores);
+			return new periodoCompacto(clave, compactos.presentes(indice), valores);
+		}
+
+		Metricas.excepcion();
 		throw new IllegalStateException("El período no existe: " + periodo);
 	}
 
 	/**
 	 * Devuelve un conjunto con todos los períodos cargados (ej: "2023/01", "2023/02", ...)
+	 * Se usa un ConjuntoStringHash para que armarlo y luego vaciarlo con elegir/sacar
+	 * (como hace ArbolPrecipitaciones.periodos) cueste O(n) y no O(n²).
 	 *
 	 * @return Conjunto de strings con las claves del diccionario.
 	 * Complejidad: O(n)
 	 */
 	@Override
 	public ConjuntoStringTDA claves() {
-		ConjuntoStringTDA conjunto = new ConjuntoString();
+		ConjuntoStringTDA conjunto = new ConjuntoStringHash();
 		conjunto.inicializar();
 
 		nodo actual = primero;
@@ -130,6 +360,217 @@ public class DiccionarioSimpleString implements DiccionarioSimpleStringTDA {
 			conjunto.agregar(actual.periodo);
 			actual = actual.siguiente;
 		}
+		if (compactos != null) {
+			for (int i = 0; i < compactos.cantidad(); i++) {
+				int clave = compactos.clave(i);
+				conjunto.agregar(formatearPeriodo(clave / 12, clave % 12 + 1));
+			}
+		}
 		return conjunto;
 	}
+
+	/**
+	 * Devuelve los períodos entre desde y hasta (anio * 12 + mes - 1) en orden cronológico.
+	 * Los compactados ya están ordenados y se ubican por búsqueda binaria; los de la lista
+	 * (pocos: los activos y los que no se pueden compactar) se ordenan por inserción y se intercalan.
+	 *
+	 * Complejidad: O(log p + k + a²), con k períodos en el intervalo y a los que están en la lista.
+	 */
+	@Override
+	public ColaStringTDA clavesEntre(int desde, int hasta) {
+		String[] enLista = new String[4];
+		int[] clavesLista = new int[4];
+		int cantidadLista = 0;
+		for (nodo actual = primero; actual != null; actual = actual.siguiente) {
+			int clave = claveOrden(actual.periodo);
+			if (clave < desde || clave > hasta) continue;
+			if (cantidadLista == enLista.length) {
+				enLista = Arrays.copyOf(enLista, cantidadLista * 2);
+				clavesLista = Arrays.copyOf(clavesLista, cantidadLista * 2);
+			}
+			int pos = cantidadLista++;
+			while (pos > 0 && (clavesLista[pos - 1] > clave
+					|| clavesLista[pos - 1] == clave && enLista[pos - 1].compareTo(actual.periodo) > 0)) {
+				enLista[pos] = enLista[pos - 1];
+				clavesLista[pos] = clavesLista[pos - 1];
+				pos--;
+			}
+			enLista[pos] = actual.periodo;
+			clavesLista[pos] = clave;
+		}
+
+		int inicio = 0;
+		int fin = 0;
+		if (compactos != null && desde <= hasta) {
+			inicio = compactos.primeraDesde(desde);
+			fin = hasta == Integer.MAX_VALUE ? compactos.cantidad() : compactos.primeraDesde(hasta + 1);
+		}
+		ColaStringArreglo resultado = new ColaStringArreglo();
+		resultado.inicializarCola(cantidadLista + fin - inicio);
+		int i = 0;
+		int j = inicio;
+		while (i < cantidadLista || j < fin) {
+			if (j == fin || i < cantidadLista && clavesLista[i] < compactos.clave(j)) {
+				resultado.acolar(enLista[i++]);
+			} else {
+				int clave = compactos.clave(j++);
+				resultado.acolar(formatearPeriodo(clave / 12, clave % 12 + 1));
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * Quita los períodos anteriores a la clave y devuelve sus totales mensuales.
+	 * Los compactados anteriores son un prefijo de compactos: se ubican por búsqueda binaria.
+	 * Complejidad: O(log p + k · 31 + a), con k períodos quitados y a los que están en la lista.
+	 */
+	@Override
+	public int[] resumirAntesDe(int clave) {
+		ResumenMensual quitados = new ResumenMensual();
+		nodo anterior = null;
+		for (nodo actual = primero; actual != null; actual = actual.siguiente) {
+			int orden = claveOrden(actual.periodo);
+			if (orden < clave) {
+				int[] total = totalDelMes(actual.precipitacionesMes);
+				quitados.agregar(orden, total[0], total[1]);
+				desenlazar(anterior, actual);
+			} else {
+				anterior = actual;
+			}
+		}
+		if (compactos != null) {
+			int fin = compactos.primeraDesde(clave);
+			int[] valores = new int[32];
+			for (int i = 0; i < fin; i++) {
+				compactos.decodificar(i, valores);
+				int suma = 0;
+				for (int dia = 1; dia <= 31; dia++) {
+					suma += valores[dia];
+				}
+				quitados.agregar(compactos.clave(i), suma, Integer.bitCount(compactos.presentes(i)));
+			}
+			compactos.quitarPrimeros(fin);
+			if (compactos.cantidad() == 0) compactos = null; // Libera los arreglos: el campo quedó resumido entero
+		}
+		return quitados.comoArreglo();
+	}
+
+	/**
+	 * Quita los períodos sin mediciones, tanto de la lista como de los compactados.
+	 * Complejidad: O(n · d), con d los días de cada período de la lista.
+	 */
+	@Override
+	public int eliminarVacios() {
+		int quitados = 0;
+		nodo anterior = null;
+		for (nodo actual = primero; actual != null; actual = actual.siguiente) {
+			if (actual.precipitacionesMes.obtenerClaves().estaVacio()) {
+				desenlazar(anterior, actual);
+				quitados++;
+			} else {
+				anterior = actual;
+			}
+		}
+		if (compactos != null) quitados += compactos.quitarVacios();
+		return quitados;
+	}
+
+	/**
+	 * Suma de milímetros y cantidad de días con medición (de 1 a 31) del diccionario de un período.
+	 */
+	private static int[] totalDelMes(DiccionarioSimpleTDA dias) {
+		int[] total = new int[2];
+		ConjuntoTDA claves = dias.obtenerClaves();
+		while (!claves.estaVacio()) {
+			int dia = claves.elegir();
+			if (dia >= 1 && dia <= 31) {
+				total[0] += dias.recuperar(dia);
+				total[1]++;
+			}
+			claves.sacar(dia);
+		}
+		return total;
+	}
+
+	/**
+	 * Clave de orden del período: anio * 12 + mes - 1, o Integer.MAX_VALUE si no tiene el formato "YYYY/MM".
+	 */
+	static int claveOrden(String periodo) {
+		int inicioMes = IndiceFenwick.ordinalPeriodo(periodo);
+		return inicioMes < 0 ? Integer.MAX_VALUE : inicioMes / 31; // 31 posiciones por mes
+	}
+
+	/**
+	 * Vista de los días de un período compactado, decodificados al recuperarlo.
+	 * Las lecturas usan esa copia; la primera escritura devuelve el período a la lista
+	 * y desde entonces la vista trabaja sobre su DiccionarioDias.
+	 */
+	private final class periodoCompacto implements DiccionarioSimpleTDA {
+
+		private final int clave;
+		private final int presentes;
+		private final int[] valores;
+		private DiccionarioSimpleTDA enLista; // null hasta la primera escritura
+
+		periodoCompacto(int clave, int presentes, int[] valores) {
+			this.clave = clave;
+			this.presentes = presentes;
+			this.valores = valores;
+		}
+
+		@Override
+		public void inicializar() {
+			paraEscribir().inicializar();
+		}
+
+		@Override
+		public void agregar(int clave, int valor) {
+			paraEscribir().agregar(clave, valor);
+		}
+
+		@Override
+		public void eliminar(int clave) {
+			paraEscribir().eliminar(clave);
+		}
+
+		@Override
+		public int recuperar(int clave) {
+			if (enLista != null) return enLista.recuperar(clave);
+			if (clave >= 1 && clave <= 31 && (presentes & (1 << clave)) != 0) {
+				return valores[clave];
+			}
+			Metricas.excepcion();
+			throw new IllegalStateException("La clave no existe.");
+		}
+
+		@Override
+		public ConjuntoTDA obtenerClaves() {
+			if (enLista != null) return enLista.obtenerClaves();
+			ConjuntoHash conjunto = new ConjuntoHash();
+			conjunto.inicializar(Integer.bitCount(presentes));
+			for (int dia = 1; dia <= 31; dia++) {
+				if ((presentes & (1 << dia)) != 0) {
+					conjunto.agregar(dia);
+				}
+			}
+			return conjunto;
+		}
+
+		/**
+		 * Diccionario del período en la lista, descompactándolo si todavía está compactado.
+		 *
+		 * @throws IllegalStateException si el período se eliminó después de recuperarlo.
+		 */
+		private DiccionarioSimpleTDA paraEscribir() {
+			if (enLista != null) return enLista;
+			int indice = buscarCompacto(clave);
+			if (indice >= 0) {
+				enLista = descompactar(indice);
+			} else {
+				enLista = DiccionarioSimpleString.this.recuperar(formatearPeriodo(clave / 12, clave % 12 + 1));
+			}
+			return enLista;
+		}
+	}
 }
@@ -0,0 +1,359 @@
+package implementacion;
+
+import tdas.ColaStringTDA;
+import tdas.ConjuntoStringTDA;
+import tdas.ConjuntoTDA;
+import tdas.DiccionarioSimpleStringTDA;
+import tdas.DiccionarioSimpleTDA;
+
+import java.util.Arrays;
+
+/**
+ * Diccionario período → precipitaciones por día de un campo, con los datos en un AlmacenFueraDelHeap.
+ * En el heap queda sólo este objeto con el número del primer registro: cada período es un
+ * registro del almacén y los registros del campo se encadenan como la lista de DiccionarioSimpleString,
+ * del período más reciente al más viejo.
+ *
+ * Funcionamiento:
+ * - Los períodos se guardan como anio * 12 + mes - 1, por lo que sólo se admiten claves "YYYY/MM"
+ *   (el mes puede tener uno o dos dígitos); claves() las devuelve con el mes en dos dígitos.
+ * - Los días se guardan en posiciones fijas de 1 a 31; otros días se rechazan.
+ * - La cadena está ordenada: una búsqueda se corta al pasar el período buscado, un período más
+ *   nuevo que todos (el caso habitual al cargar en orden) se agrega al principio sin recorrer nada,
+ *   y clavesEntre recorre sólo hasta el comienzo del intervalo.
+ * - recuperar devuelve una vista del registro: agregar o eliminar días en ella escribe en el almacén.
+ * - liberar() devuelve todos los registros del campo al almacén (al eliminar el campo del árbol).
+ */
+public class DiccionarioSimpleStringFueraDelHeap implements DiccionarioSimpleStringTDA {
+
+	private final AlmacenFueraDelHeap almacen;
+	private int primero; // Primer registro de la lista, o -1
+
+	/**
+	 * @param almacen Almacén donde se guardan los períodos; lo comparten todos los campos de un árbol.
+	 */
+	public DiccionarioSimpleStringFueraDelHeap(AlmacenFueraDelHeap almacen) {
+		this.almacen = almacen;
+	}
+
+	/**
+	 * Inicializa el diccionario como vacío.
+	 * Complejidad: O(1)
+	 */
+	@Override
+	public void inicializarDiccionario() {
+		primero = -1;
+	}
+
+	/**
+	 * Agrega (acumula) una medición en el período, creándolo si no existe.
+	 *
+	 * @throws IllegalArgumentException si el período no tiene el formato "YYYY/MM" o el día no está entre 1 y 31.
+	 * Complejidad: O(n), con n la cantidad de períodos del campo.
+	 */
+	@Override
+	public void agregar(String periodo, int dia, int cantidad) {
+		agregarEn(clavePeriodo(periodo), dia, cantidad);
+	}
+
+	/**
+	 * Agrega (acumula) una medición en el período "anio/mes" sin construir el String del período.
+	 *
+	 * @throws IllegalArgumentException si el día no está entre 1 y 31.
+	 * Complejidad: O(n), sin reservar memoria en el heap.
+	 */
+	@Override
+	public void agregar(int anio, int mes, int dia, int cantidad) {
+		agregarEn(anio * 12 + mes - 1, dia, cantidad);
+	}
+
+	/**
+	 * Elimina el período y devuelve su registro al almacén.
+	 * Complejidad: O(n)
+	 */
+	@Override
+	public void eliminar(String periodo) {
+		int clave = clavePeriodoOMenosUno(periodo);
+		if (clave < 0) return;
+		int anterior = -1;
+		int actual = primero;
+		while (actual >= 0) {
+			Metricas.sondeo();
+			int siguiente = almacen.leer(actual, AlmacenFueraDelHeap.SIGUIENTE);
+			int guardado = almacen.leer(actual, AlmacenFueraDelHeap.PERIODO);
+			if (guardado < clave) return;
+			if (guardado == clave) {
+				if (anterior < 0) {
+					primero = siguiente;
+				} else {
+					almacen.escribir(anterior, AlmacenFueraDelHeap.SIGUIENTE, siguiente);
+				}
+				almacen.liberar(actual);
+				return;
+			}
+			anterior = actual;
+			actual = siguiente;
+		}
+	}
+
+	/**
+	 * Devuelve una vista de los días del período.
+	 *
+	 * @throws IllegalStateException si el período no existe.
+	 * Complejidad: O(n)
+	 */
+	@Override
+	public DiccionarioSimpleTDA recuperar(String periodo) {
+		int clave = clavePeriodoOMenosUno(periodo);
+		int registro = clave >= 0 ? buscar(clave) : -1;
+		if (registro < 0) {
+			Metricas.excepcion();
+			throw new IllegalStateException("El período no existe: " + periodo);
+		}
+		return new dias(almacen, registro);
+	}
+
+	/**
+	 * Devuelve los períodos cargados, con el formato "YYYY/MM".
+	 * Complejidad: O(n)
+	 */
+	@Override
+	public ConjuntoStringTDA claves() {
+		ConjuntoStringTDA conjunto = new ConjuntoStringHash();
+		conjunto.inicializar();
+		for (int actual = primero; actual >= 0; actual = almacen.leer(actual, AlmacenFueraDelHeap.SIGUIENTE)) {
+			int clave = almacen.leer(actual, AlmacenFueraDelHeap.PERIODO);
+			conjunto.agregar(DiccionarioSimpleString.formatearPeriodo(clave / 12, clave % 12 + 1));
+		}
+		return conjunto;
+	}
+
+	/**
+	 * Devuelve los períodos entre desde y hasta (anio * 12 + mes - 1) en orden cronológico.
+	 * Complejidad: O(m + k), con m los períodos posteriores a hasta y k los del intervalo.
+	 */
+	@Override
+	public ColaStringTDA clavesEntre(int desde, int hasta) {
+		int[] claves = new int[8];
+		int cantidad = 0;
+		for (int actual = primero; actual >= 0; actual = almacen.leer(actual, AlmacenFueraDelHeap.SIGUIENTE)) {
+			int clave = almacen.leer(actual, AlmacenFueraDelHeap.PERIODO);
+			if (clave < desde) break;
+			if (clave > hasta) continue;
+			if (cantidad == claves.length) claves = Arrays.copyOf(claves, cantidad * 2);
+			claves[cantidad++] = clave;
+		}
+		ColaStringArreglo resultado = new ColaStringArreglo();
+		resultado.inicializarCola(cantidad);
+		for (int i = cantidad - 1; i >= 0; i--) {
+			resultado.acolar(DiccionarioSimpleString.formatearPeriodo(claves[i] / 12, claves[i] % 12 + 1));
+		}
+		return resultado;
+	}
+
+	/**
+	 * Quita los períodos anteriores a la clave, devuelve sus registros al almacén y sus totales mensuales.
+	 * Como la cadena va del más nuevo al más viejo, los quitados son su final.
+	 * Complejidad: O(p)
+	 */
+	@Override
+	public int[] resumirAntesDe(int clave) {
+		int anterior = -1;
+		int actual = primero;
+		while (actual >= 0 && almacen.leer(actual, AlmacenFueraDelHeap.PERIODO) >= clave) {
+			anterior = actual;
+			actual = almacen.leer(actual, AlmacenFueraDelHeap.SIGUIENTE);
+		}
+		if (anterior < 0) {
+			primero = -1;
+		} else {
+			almacen.escribir(anterior, AlmacenFueraDelHeap.SIGUIENTE, -1);
+		}
+		ResumenMensual quitados = new ResumenMensual();
+		while (actual >= 0) {
+			int siguiente = almacen.leer(actual, AlmacenFueraDelHeap.SIGUIENTE);
+			int presentes = almacen.leer(actual, AlmacenFueraDelHeap.PRESENTES);
+			int suma = 0;
+			for (int dia = 1; dia <= 31; dia++) {
+				suma += almacen.leer(actual, AlmacenFueraDelHeap.PRIMER_DIA + dia);
+			}
+			quitados.agregar(almacen.leer(actual, AlmacenFueraDelHeap.PERIODO), suma, Integer.bitCount(presentes));
+			almacen.liberar(actual);
+			actual = siguiente;
+		}
+		return quitados.comoArreglo();
+	}
+
+	/**
+	 * Quita los períodos sin días con medición y devuelve sus registros al almacén.
+	 * Complejidad: O(n)
+	 */
+	@Override
+	public int eliminarVacios() {
+		int quitados = 0;
+		int anterior = -1;
+		int actual = primero;
+		while (actual >= 0) {
+			int siguiente = almacen.leer(actual, AlmacenFueraDelHeap.SIGUIENTE);
+			if (almacen.leer(actual, AlmacenFueraDelHeap.PRESENTES) == 0) {
+				if (anterior < 0) {
+					primero = siguiente;
+				} else {
+					almacen.escribir(anterior, AlmacenFueraDelHeap.SIGUIENTE, siguiente);
+				}
+				almacen.liberar(actual);
+				quitados++;
+			} else {
+				anterior = actual;
+			}
+			actual = siguiente;
+		}
+		return quitados;
+	}
+
+	/**
+	 * Devuelve todos los registros del campo al almacén y deja el diccionario vacío.
+	 * Complejidad: O(n)
+	 */
+	public void liberar() {
+		int actual = primero;
+		while (actual >= 0) {
+			int siguiente = almacen.leer(actual, AlmacenFueraDelHeap.SIGUIENTE);
+			almacen.liberar(actual);
+			actual = siguiente;
+		}
+		primero = -1;
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	/**
+	 * Acumula la medición en el registro del período; si no existe, lo crea en su lugar de la cadena.
+	 */
+	private void agregarEn(int clave, int dia, int cantidad) {
+		if (dia < 1 || dia > 31) throw new IllegalArgumentException("Día fuera de 1..31: " + dia);
+		int anterior = -1;
+		int actual = primero;
+		while (actual >= 0) {
+			Metricas.sondeo();
+			int periodo = almacen.leer(actual, AlmacenFueraDelHeap.PERIODO);
+			if (periodo == clave) {
+				dias.agregar(almacen, actual, dia, cantidad);
+				return;
+			}
+			if (periodo < clave) break;
+			anterior = actual;
+			actual = almacen.leer(actual, AlmacenFueraDelHeap.SIGUIENTE);
+		}
+		int registro = almacen.reservar(clave);
+		almacen.escribir(registro, AlmacenFueraDelHeap.SIGUIENTE, actual);
+		if (anterior < 0) {
+			primero = registro;
+		} else {
+			almacen.escribir(anterior, AlmacenFueraDelHeap.SIGUIENTE, registro);
+		}
+		dias.agregar(almacen, registro, dia, cantidad);
+	}
+
+	private int buscar(int clave) {
+		int actual = primero;
+		while (actual >= 0) {
+			Metricas.sondeo();
+			int periodo = almacen.leer(actual, AlmacenFueraDelHeap.PERIODO);
+			if (periodo == clave) return actual;
+			if (periodo < clave) return -1;
+			actual = almacen.leer(actual, AlmacenFueraDelHeap.SIGUIENTE);
+		}
+		return -1;
+	}
+
+	private static int clavePeriodo(String periodo) {
+		int clave = clavePeriodoOMenosUno(periodo);
+		if (clave < 0) throw new IllegalArgumentException("Período inválido: " + periodo);
+		return clave;
+	}
+
+	/**
+	 * Convierte "YYYY/MM" en anio * 12 + mes - 1, o -1 si no tiene ese formato.
+	 */
+	private static int clavePeriodoOMenosUno(String periodo) {
+		int inicioMes = IndiceFenwick.ordinalPeriodo(periodo);
+		return inicioMes < 0 ? -1 : inicioMes / 31; // 31 posiciones por mes
+	}
+
+	/**
+	 * Vista de los días de un registro del almacén.
+	 */
+	private static final class dias implements DiccionarioSimpleTDA {
+
+		private final AlmacenFueraDelHeap almacen;
+		private final int registro;
+
+		dias(AlmacenFueraDelHeap almacen, int registro) {
+			this.almacen = almacen;
+			this.registro = registro;
+		}
+
+		static void agregar(AlmacenFueraDelHeap almacen, int registro, int dia, int cantidad) {
+			int presentes = almacen.leer(registro, AlmacenFueraDelHeap.PRESENTES);
+			int posicion = AlmacenFueraDelHeap.PRIMER_DIA + dia;
+			if ((presentes & (1 << dia)) != 0) {
+				almacen.escribir(registro, posicion, almacen.leer(registro, posicion) + cantidad);
+			} else {
+				almacen.escribir(registro, posicion, cantidad);
+				almacen.escribir(registro, AlmacenFueraDelHeap.PRESENTES, presentes | (1 << dia));
+			}
+		}
+
+		/**
+		 * Borra todos los días del período.
+		 */
+		@Override
+		public void inicializar() {
+			for (int dia = 1; dia <= 31; dia++) {
+				almacen.escribir(registro, AlmacenFueraDelHeap.PRIMER_DIA + dia, 0);
+			}
+			almacen.escribir(registro, AlmacenFueraDelHeap.PRESENTES, 0);
+		}
+
+		/**
+		 * @throws IllegalArgumentException si el día no está entre 1 y 31.
+		 */
+		@Override
+		public void agregar(int clave, int valor) {
+			if (clave < 1 || clave > 31) throw new IllegalArgumentException("Día fuera de 1..31: " + clave);
+			agregar(almacen, registro, clave, valor);
+		}
+
+		@Override
+		public void eliminar(int clave) {
+			if (clave < 1 || clave > 31) return;
+			int presentes = almacen.leer(registro, AlmacenFueraDelHeap.PRESENTES);
+			almacen.escribir(registro, AlmacenFueraDelHeap.PRESENTES, presentes & ~(1 << clave));
+			almacen.escribir(registro, AlmacenFueraDelHeap.PRIMER_DIA + clave, 0);
+		}
+
+		@Override
+		public int recuperar(int clave) {
+			if (clave >= 1 && clave <= 31
+					&& (almacen.leer(registro, AlmacenFueraDelHeap.PRESENTES) & (1 << clave)) != 0) {
+				return almacen.leer(registro, AlmacenFueraDelHeap.PRIMER_DIA + clave);
+			}
+			Metricas.excepcion();
+			throw new IllegalStateException("La clave no existe.");
+		}
+
+		@Override
+		public ConjuntoTDA obtenerClaves() {
+			int presentes = almacen.leer(registro, AlmacenFueraDelHeap.PRESENTES);
+			ConjuntoHash conjunto = new ConjuntoHash();
+			conjunto.inicializar(Integer.bitCount(presentes));
+			for (int dia = 1; dia <= 31; dia++) {
+				if ((presentes & (1 << dia)) != 0) {
+					conjunto.agregar(dia);
+				}
+			}
+			return conjunto;
+		}
+	}
+}
@@ -0,0 +1,211 @@
+package implementacion;
+
+/**
+ * Índice de sumas acumuladas (árbol de Fenwick) de las mediciones de un campo, por día.
+ * Permite obtener la suma y la cantidad de mediciones entre dos fechas cualesquiera en O(log D),
+ * siendo D la cantidad de días cubiertos, sin recorrer los meses intermedios.
+ *
+ * Funcionamiento:
+ * - Cada fecha se convierte en un ordinal con 31 posiciones por mes (ver ordinal()); los días que
+ *   no existen (por ejemplo, 30 de febrero) quedan siempre en cero.
+ * - El índice cubre un intervalo de ordinales que empieza al comienzo de un año. Si llega una fecha
+ *   fuera del intervalo, se agranda al doble (o se corre el inicio) y se reconstruye en O(D).
+ *   El tamaño se calcula desde el último ordinal con medición, no desde el final del intervalo:
+ *   si no, cada descarte seguido de una medición en un año anterior lo duplicaría sin datos nuevos.
+ * - sumas guarda los milímetros y conteos la cantidad de días con medición (0 o 1 por día).
+ */
+public class IndiceFenwick {
+
+	static final int POSICIONES_POR_ANIO = 12 * 31;
+
+	private int base;       // Ordinal de la posición 1
+	private int ultimo;     // Mayor ordinal agregado desde que se reservaron los arreglos
+	private int[] sumas;    // Árbol de Fenwick de milímetros (posiciones 1..n)
+	private int[] conteos;  // Árbol de Fenwick de días con medición
+
+	/**
+	 * Convierte una fecha en su ordinal: 31 posiciones por mes, 372 por año.
+	 * El orden de los ordinales es el orden cronológico de las fechas.
+	 */
+	public static int ordinal(int anio, int mes, int dia) {
+		return anio * POSICIONES_POR_ANIO + (mes - 1) * 31 + (dia - 1);
+	}
+
+	/**
+	 * Ordinal del día 1 de un período "YYYY/MM", o -1 si el período no tiene ese formato.
+	 * No reserva memoria.
+	 */
+	public static int ordinalPeriodo(String periodo) {
+		int barra = periodo.indexOf('/');
+		if (barra < 1 || barra == periodo.length() - 1) return -1;
+		int anio = 0;
+		int mes = 0;
+		for (int i = 0; i < periodo.length(); i++) {
+			if (i == barra) continue;
+			char c = periodo.charAt(i);
+			if (c < '0' || c > '9') return -1;
+			if (i < barra) {
+				anio = anio * 10 + (c - '0');
+			} else {
+				mes = mes * 10 + (c - '0');
+			}
+		}
+		if (mes < 1 || mes > 12) return -1;
+		return ordinal(anio, mes, 1);
+	}
+
+	/**
+	 * Inicializa el índice vacío. Los arreglos se reservan con la primera medición.
+	 */
+	public void inicializar() {
+		sumas = null;
+		conteos = null;
+	}
+
+	/**
+	 * Acumula una medición en el día con ese ordinal, igual que el diccionario de días.
+	 * Complejidad: O(log D), O(D) si hay que agrandar el índice.
+	 */
+	public void agregar(int ord, int cantidad) {
+		asegurar(ord);
+		ultimo = Math.max(ultimo, ord);
+		int pos = ord - base + 1;
+		if (valorEn(conteos, pos) == 0) {
+			sumar(conteos, pos, 1);
+		}
+		sumar(sumas, pos, cantidad);
+	}
+
+	/**
+	 * Quita la medición del día con ese ordinal, si existe.
+	 * Complejidad: O(log D)
+	 */
+	public void eliminar(int ord) {
+		if (sumas == null) return;
+		int pos = ord - base + 1;
+		if (pos < 1 || pos >= sumas.length || valorEn(conteos, pos) == 0) return;
+		sumar(sumas, pos, -valorEn(sumas, pos));
+		sumar(conteos, pos, -1);
+	}
+
+	/**
+	 * Descarta los días de los años anteriores al del ordinal, achicando el índice.
+	 * Una medición posterior en esos años vuelve a agrandarlo.
+	 * Complejidad: O(D)
+	 */
+	public void descartarAntesDe(int ord) {
+		if (sumas == null) return;
+		int corte = ord - Math.floorMod(ord, POSICIONES_POR_ANIO);
+		if (corte <= base) return;
+		if (ultimo < corte) {
+			inicializar();
+			return;
+		}
+		int quedan = ultimo - corte + 1;
+		int nuevoN = POSICIONES_POR_ANIO;
+		while (nuevoN < quedan) {
+			nuevoN *= 2;
+		}
+		sumas = reconstruir(sumas, base - corte, nuevoN);
+		conteos = reconstruir(conteos, base - corte, nuevoN);
+		base = corte;
+	}
+
+	/**
+	 * Suma de milímetros y cantidad de días con medición entre dos ordinales, ambos incluidos.
+	 *
+	 * @return Arreglo {suma, conteo}; {0, 0} si el intervalo está vacío.
+	 * Complejidad: O(log D)
+	 */
+	public int[] sumaYConteo(int desde, int hasta) {
+		int[] resultado = new int[2];
+		if (sumas == null || desde > hasta) return resultado;
+		// En long para admitir intervalos abiertos como [Integer.MIN_VALUE, Integer.MAX_VALUE]
+		int primera = (int) Math.max((long) desde - base + 1, 1);
+		int ultima = (int) Math.min((long) hasta - base + 1, sumas.length - 1);
+		if (primera > ultima) return resultado;
+		resultado[0] = prefijo(sumas, ultima) - prefijo(sumas, primera - 1);
+		resultado[1] = prefijo(conteos, ultima) - prefijo(conteos, primera - 1);
+		return resultado;
+	}
+
+	/**
+	 * Bytes retenidos por el índice y sus dos arreglos (ver Memoria): unos 3 KB por año cubierto,
+	 * contando los años vacíos que deja agrandar al doble.
+	 * Complejidad: O(1)
+	 */
+	long bytesRetenidos() {
+		long bytes = Memoria.objeto(4 * 3);
+		if (sumas != null) bytes += 2 * Memoria.arreglo(sumas.length, 4);
+		return bytes;
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	/**
+	 * Agranda o corre el índice para que incluya el ordinal.
+	 */
+	private void asegurar(int ord) {
+		if (sumas == null) {
+			base = ord - Math.floorMod(ord, POSICIONES_POR_ANIO);
+			ultimo = ord;
+			sumas = new int[POSICIONES_POR_ANIO + 1];
+			conteos = new int[POSICIONES_POR_ANIO + 1];
+		}
+		int n = sumas.length - 1;
+		if (ord >= base && ord - base < n) return;
+
+		int nuevaBase = Math.min(base, ord - Math.floorMod(ord, POSICIONES_POR_ANIO));
+		int necesario = Math.max(ultimo, ord) + 1 - nuevaBase;
+		int nuevoN = n;
+		while (nuevoN < necesario) {
+			nuevoN *= 2;
+		}
+		sumas = reconstruir(sumas, base - nuevaBase, nuevoN);
+		conteos = reconstruir(conteos, base - nuevaBase, nuevoN);
+		base = nuevaBase;
+	}
+
+	/**
+	 * Devuelve un árbol de tamaño n con los valores del árbol recibido corridos en desplazamiento.
+	 * Con desplazamiento negativo se pierden las primeras posiciones.
+	 * Complejidad: O(n)
+	 */
+	private static int[] reconstruir(int[] arbol, int desplazamiento, int n) {
+		int viejo = arbol.length - 1;
+		// Se deshace la construcción para recuperar los valores de cada posición
+		for (int i = viejo; i >= 1; i--) {
+			int j = i + (i & -i);
+			if (j <= viejo) arbol[j] -= arbol[i];
+		}
+		int[] nuevo = new int[n + 1];
+		int primera = Math.max(1, 1 - desplazamiento);
+		int ultima = Math.min(viejo, n - desplazamiento);
+		if (primera <= ultima) {
+			System.arraycopy(arbol, primera, nuevo, primera + desplazamiento, ultima - primera + 1);
+		}
+		for (int i = 1; i <= n; i++) {
+			int j = i + (i & -i);
+			if (j <= n) nuevo[j] += nuevo[i];
+		}
+		return nuevo;
+	}
+
+	private static void sumar(int[] arbol, int pos, int valor) {
+		for (int i = pos; i < arbol.length; i += i & -i) {
+			arbol[i] += valor;
+		}
+	}
+
+	private static int prefijo(int[] arbol, int pos) {
+		int suma = 0;
+		for (int i = pos; i > 0; i -= i & -i) {
+			suma += arbol[i];
+		}
+		return suma;
+	}
+
+	private static int valorEn(int[] arbol, int pos) {
+		return prefijo(arbol, pos) - prefijo(arbol, pos - 1);
+	}
+}
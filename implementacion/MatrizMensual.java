@@ -0,0 +1,205 @@
+package implementacion;
+
+import java.util.Arrays;
+
+/**
+ * Copia por columnas de las mediciones: para cada mes, una matriz int[campos × 32] con los
+ * milímetros de cada campo y día, y un mapa de bits por campo con los días que tienen medición.
+ * Pensada para las consultas que recorren "todos los campos, todos los días" de un mes, que así
+ * leen arreglos primitivos contiguos en lugar de recorrer listas de períodos y días.
+ *
+ * Funcionamiento:
+ * - Las filas se indexan por el id del campo en RegistroCampos: valores[id * 32 + dia]; la
+ *   posición 0 de cada fila queda en cero para que las filas estén alineadas a los vectores de la CPU.
+ *   presentes[id] tiene el bit dia encendido si hay medición ese día (como DiccionarioDias).
+ * - Las sumas sobre la matriz las hace Reducciones, que usa la Vector API si la JVM la tiene.
+ * - Los meses se guardan en un arreglo indexado por anio * 12 + mes - 1 a partir del primero
+ *   registrado; se agranda (o se corre el inicio) cuando llega un mes fuera del intervalo.
+ * - Registrar o quitar una medición es O(1) amortizado y no reserva memoria si el mes y la fila
+ *   ya existen. Las consultas de un mes son O(F · 32), con F el mayor id de campo con datos.
+ * No es seguro para varios hilos; se usa con el mismo cuidado que el árbol al que acompaña.
+ */
+public class MatrizMensual {
+
+	private static final int COLUMNAS = Reducciones.COLUMNAS;
+
+	/**
+	 * Matriz de un mes.
+	 */
+	private static final class matrizMes {
+		int[] valores = new int[0];    // valores[id * 32 + dia]
+		int[] presentes = new int[0];  // presentes[id]: bit dia encendido si hay medición
+		int filas;                     // Mayor id con datos + 1
+	}
+
+	private matrizMes[] meses;   // meses[anio * 12 + mes - 1 - primerMes], o null
+	private int primerMes;
+
+	/**
+	 * Inicializa la matriz sin mediciones.
+	 */
+	public void inicializar() {
+		meses = null;
+		primerMes = 0;
+	}
+
+	/**
+	 * Acumula una medición, igual que el diccionario de días del árbol.
+	 *
+	 * @param id Id del campo en RegistroCampos.
+	 * Complejidad: O(1) amortizado.
+	 */
+	public void agregar(int id, int anio, int mes, int dia, int cantidad) {
+		matrizMes m = obtenerOCrear(anio * 12 + mes - 1);
+		if (id >= m.presentes.length) {
+			int filas = Math.max(m.presentes.length * 2, Math.max(id + 1, 16));
+			m.presentes = Arrays.copyOf(m.presentes, filas);
+			m.valores = Arrays.copyOf(m.valores, filas * COLUMNAS);
+		}
+		m.valores[id * COLUMNAS + dia] += cantidad;
+		m.presentes[id] |= 1 << dia;
+		if (id >= m.filas) m.filas = id + 1;
+	}
+
+	/**
+	 * Quita la medición del día, si existe.
+	 * Complejidad: O(1)
+	 */
+	public void eliminar(int id, int anio, int mes, int dia) {
+		matrizMes m = buscar(anio * 12 + mes - 1);
+		if (m == null || id >= m.filas) return;
+		m.valores[id * COLUMNAS + dia] = 0;
+		m.presentes[id] &= ~(1 << dia);
+	}
+
+	/**
+	 * Quita todas las mediciones del campo.
+	 * Complejidad: O(M · 32), con M la cantidad de meses.
+	 */
+	public void eliminarCampo(int id) {
+		if (meses == null) return;
+		for (matrizMes m : meses) {
+			if (m == null || id >= m.filas) continue;
+			Arrays.fill(m.valores, id * COLUMNAS, (id + 1) * COLUMNAS, 0);
+			m.presentes[id] = 0;
+		}
+	}
+
+	/**
+	 * Quita las mediciones del campo en los meses anteriores al indicado (anio * 12 + mes - 1).
+	 * Complejidad: O(M · 32)
+	 */
+	public void eliminarCampoAntesDe(int id, int mes) {
+		if (meses == null) return;
+		for (int i = 0; i < meses.length && (long) primerMes + i < mes; i++) {
+			matrizMes m = meses[i];
+			if (m == null || id >= m.filas) continue;
+			Arrays.fill(m.valores, id * COLUMNAS, (id + 1) * COLUMNAS, 0);
+			m.presentes[id] = 0;
+		}
+	}
+
+	/**
+	 * Acumula, para cada día del mes, la suma de milímetros y la cantidad de mediciones entre todos los campos.
+	 *
+	 * @param sumas   Arreglo de 32 posiciones indexado por día.
+	 * @param conteos Arreglo de 32 posiciones indexado por día.
+	 * Complejidad: O(F · 32)
+	 */
+	public void sumasYConteos(int anio, int mes, int[] sumas, int[] conteos) {
+		matrizMes m = buscar(anio * 12 + mes - 1);
+		if (m == null) return;
+		Reducciones.ACTIVA.sumasYConteosPorDia(m.valores, m.presentes, m.filas, sumas, conteos);
+	}
+
+	/**
+	 * Suma de milímetros y cantidad de mediciones de un día entre todos los campos.
+	 *
+	 * @return Arreglo {suma, cantidad de mediciones}.
+	 * Complejidad: O(F)
+	 */
+	public int[] sumaYConteoDia(int anio, int mes, int dia) {
+		int[] resultado = new int[2];
+		matrizMes m = buscar(anio * 12 + mes - 1);
+		if (m == null || dia < 1 || dia >= COLUMNAS) return resultado;
+		for (int id = 0; id < m.filas; id++) {
+			resultado[0] += m.valores[id * COLUMNAS + dia];
+			resultado[1] += (m.presentes[id] >>> dia) & 1;
+		}
+		return resultado;
+	}
+
+	/**
+	 * Suma de milímetros y cantidad de mediciones del mes entre todos los campos.
+	 *
+	 * @return Arreglo {suma, cantidad de mediciones}.
+	 * Complejidad: O(F · 32)
+	 */
+	public int[] sumaYConteo(int anio, int mes) {
+		int[] resultado = new int[2];
+		matrizMes m = buscar(anio * 12 + mes - 1);
+		if (m == null) return resultado;
+		resultado[0] = Reducciones.ACTIVA.suma(m.valores, m.filas);
+		for (int id = 0; id < m.filas; id++) {
+			resultado[1] += Integer.bitCount(m.presentes[id]);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Lluvia del mes de cada campo.
+	 *
+	 * @return Arreglo indexado por id de campo (puede ser más corto que la cantidad de campos
+	 *         registrados: los ids que faltan no tienen lluvia).
+	 * Complejidad: O(F · 32)
+	 */
+	public int[] totalesPorCampo(int anio, int mes) {
+		matrizMes m = buscar(anio * 12 + mes - 1);
+		if (m == null) return new int[0];
+		int[] totales = new int[m.filas];
+		Reducciones.ACTIVA.sumasPorFila(m.valores, m.filas, totales);
+		return totales;
+	}
+
+	/**
+	 * Nombre de la implementación de las reducciones que usa esta JVM ("escalar" o "vectorial (...)").
+	 */
+	public static String reducciones() {
+		return Reducciones.ACTIVA.nombre();
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	private matrizMes buscar(int indiceMes) {
+		if (meses == null) return null;
+		int pos = indiceMes - primerMes;
+		return pos >= 0 && pos < meses.length ? meses[pos] : null;
+	}
+
+	private matrizMes obtenerOCrear(int indiceMes) {
+		if (meses == null) {
+			meses = new matrizMes[12];
+			primerMes = indiceMes - Math.floorMod(indiceMes, 12);
+		}
+		int pos = indiceMes - primerMes;
+		if (pos < 0 || pos >= meses.length) {
+			int nuevoPrimero = Math.min(primerMes, indiceMes - Math.floorMod(indiceMes, 12));
+			int necesario = Math.max(primerMes + meses.length, indiceMes + 1) - nuevoPrimero;
+			int largo = meses.length;
+			while (largo < necesario) {
+				largo *= 2;
+			}
+			matrizMes[] nuevos = new matrizMes[largo];
+			System.arraycopy(meses, 0, nuevos, primerMes - nuevoPrimero, meses.length);
+			meses = nuevos;
+			primerMes = nuevoPrimero;
+			pos = indiceMes - primerMes;
+		}
+		matrizMes m = meses[pos];
+		if (m == null) {
+			m = new matrizMes();
+			meses[pos] = m;
+		}
+		return m;
+	}
+}
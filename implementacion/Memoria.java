@@ -0,0 +1,30 @@
+package implementacion;
+
+/**
+ * Estimaciones de bytes retenidos en una JVM de 64 bits con referencias comprimidas: encabezado de
+ * objeto de 12 bytes, de arreglo de 16 y tamaños redondeados a múltiplos de 8.
+ * Las usan las estructuras del árbol para informar su tamaño a AnalizadorArbol.
+ */
+final class Memoria {
+
+	private Memoria() {
+	}
+
+	/**
+	 * Bytes de un objeto con bytesCampos bytes de campos propios.
+	 */
+	static long objeto(int bytesCampos) {
+		return alinear(12L + bytesCampos);
+	}
+
+	/**
+	 * Bytes de un arreglo de largo elementos de bytesElemento bytes cada uno.
+	 */
+	static long arreglo(int largo, int bytesElemento) {
+		return alinear(16L + (long) largo * bytesElemento);
+	}
+
+	private static long alinear(long bytes) {
+		return (bytes + 7) & ~7L;
+	}
+}
@@ -0,0 +1,343 @@
+package implementacion;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas del camino crítico: por cada llamada a Algoritmos cuenta los nodos del árbol visitados,
+ * los sondeos en las listas de períodos y días, los elementos acolados, las excepciones lanzadas y los
+ * aciertos y fallos del cache de campos de ArbolPrecipitaciones, junto con el tiempo de la llamada.
+ *
+ * Funcionamiento:
+ * - Algoritmos marca el inicio y el fin de cada método público con inicio() y fin().
+ * - Las estructuras llaman a nodo(), sondeo(), elemento(), excepcion(), aciertoCache() y falloCache();
+ *   los contadores se acumulan por hilo y al terminar la llamada externa se suman a los totales
+ *   de esa consulta (las llamadas anidadas cuentan para la externa).
+ * - Desactivadas (el valor por defecto), cada punto de medición cuesta una lectura de un boolean.
+ */
+public final class Metricas implements MetricasMBean {
+
+	/**
+	 * Métodos públicos de Algoritmos que se miden.
+	 */
+	public enum Consulta {
+		AGREGAR_MEDICION,
+		ELIMINAR_MEDICION,
+		ELIMINAR_CAMPO,
+		MEDICIONES_MES,
+		MEDICIONES_CAMPO_MES,
+		MES_MAS_LLUVIOSO,
+		PROMEDIO_LLUVIA_EN_UN_DIA,
+		CAMPO_MAS_LLUVIOSO_HISTORIA,
+		CAMPOS_CON_LLUVIA_MAYOR_PROMEDIO,
+		SUMAS_Y_CONTEOS_MES,
+		LLUVIAS_POR_MES,
+		SUMA_Y_CONTEO_DIA,
+		SUMA_Y_CONTEO_MES,
+		CAMPOS_POR_ENCIMA_DE,
+		CAMPOS_EN_RANGO,
+		MEDICIONES_MES_RANGO,
+		CAMPOS_CON_LLUVIA_MAYOR_PROMEDIO_RANGO,
+		SUMA_Y_CONTEO_CAMPO_ENTRE,
+		SUMA_Y_CONTEO_ENTRE,
+		LLUVIA_ULTIMOS_DIAS,
+		CAMPOS_CON_MENOS_DE,
+		CUANTIL_MES,
+		BOSQUEJO_MES,
+		CAMPOS_MAS_LLUVIOSOS,
+		CAMPOS_MAS_LLUVIOSOS_MES,
+		RESUMIR_ANTES_DE
+	}
+
+	/**
+	 * Totales de una consulta al momento de tomar la instantánea.
+	 */
+	public static final class Estadistica {
+		public final Consulta consulta;
+		public final long llamadas;
+		public final long nanosTotales;
+		public final long nanosMaximo;
+		public final long nodosVisitados;
+		public final long sondeosListas;
+		public final long elementosCola;
+		public final long excepciones;
+		public final long aciertosCache;
+		public final long fallosCache;
+
+		Estadistica(Consulta consulta, long[] valores, long nanosMaximo) {
+			this.consulta = consulta;
+			this.llamadas = valores[LLAMADAS];
+			this.nanosTotales = valores[NANOS];
+			this.nanosMaximo = nanosMaximo;
+			this.nodosVisitados = valores[NODOS];
+			this.sondeosListas = valores[SONDEOS];
+			this.elementosCola = valores[ELEMENTOS];
+			this.excepciones = valores[EXCEPCIONES];
+			this.aciertosCache = valores[ACIERTOS_CACHE];
+			this.fallosCache = valores[FALLOS_CACHE];
+		}
+
+		public double promedioMicros() {
+			return llamadas == 0 ? 0 : nanosTotales / 1e3 / llamadas;
+		}
+
+		/**
+		 * Proporción de búsquedas en el cache de campos que acertaron, o 0 si no hubo.
+		 */
+		public double tasaAciertosCache() {
+			long busquedas = aciertosCache + fallosCache;
+			return busquedas == 0 ? 0 : (double) aciertosCache / busquedas;
+		}
+
+		@Override
+		public String toString() {
+			double n = Math.max(llamadas, 1);
+			String texto = String.format("%s: llamadas=%d prom=%.1fus max=%.1fus nodos/llamada=%.1f sondeos/llamada=%.1f "
+							+ "elementos/llamada=%.1f excepciones/llamada=%.2f",
+					consulta, llamadas, promedioMicros(), nanosMaximo / 1e3,
+					nodosVisitados / n, sondeosListas / n, elementosCola / n, excepciones / n);
+			if (aciertosCache + fallosCache == 0) return texto;
+			return texto + String.format(" aciertos cache=%.1f%%", 100 * tasaAciertosCache());
+		}
+	}
+
+	// Posiciones de cada total dentro de una fila
+	private static final int LLAMADAS = 0;
+	private static final int NANOS = 1;
+	private static final int NODOS = 2;
+	private static final int SONDEOS = 3;
+	private static final int ELEMENTOS = 4;
+	private static final int EXCEPCIONES = 5;
+	private static final int ACIERTOS_CACHE = 6;
+	private static final int FALLOS_CACHE = 7;
+	private static final int COLUMNAS = 8;
+
+	private static final long INACTIVA = Long.MIN_VALUE; // inicio() con las métricas desactivadas
+
+	/**
+	 * Contadores de la llamada en curso de un hilo.
+	 */
+	private static final class contadores {
+		int profundidad;
+		long nodos;
+		long sondeos;
+		long elementos;
+		long excepciones;
+		long aciertosCache;
+		long fallosCache;
+	}
+
+	private static volatile boolean activas;
+	private static final ThreadLocal<contadores> ACTUAL = ThreadLocal.withInitial(contadores::new);
+	private static final LongAdder[][] TOTALES = new LongAdder[Consulta.values().length][COLUMNAS];
+	private static final LongAccumulator[] MAXIMOS = new LongAccumulator[Consulta.values().length];
+
+	static {
+		for (int i = 0; i < TOTALES.length; i++) {
+			for (int j = 0; j < COLUMNAS; j++) {
+				TOTALES[i][j] = new LongAdder();
+			}
+			MAXIMOS[i] = new LongAccumulator(Math::max, 0);
+		}
+	}
+
+	private static final Metricas INSTANCIA = new Metricas();
+
+	private Metricas() {
+	}
+
+	// --- API PROGRAMÁTICA ---
+
+	public static void activar(boolean valor) {
+		activas = valor;
+	}
+
+	public static boolean estanActivas() {
+		return activas;
+	}
+
+	/**
+	 * Totales acumulados de cada consulta desde el último reinicio.
+	 */
+	public static Estadistica[] instantanea() {
+		Consulta[] consultas = Consulta.values();
+		Estadistica[] resultado = new Estadistica[consultas.length];
+		for (int i = 0; i < consultas.length; i++) {
+			long[] valores = new long[COLUMNAS];
+			for (int j = 0; j < COLUMNAS; j++) {
+				valores[j] = TOTALES[i][j].sum();
+			}
+			resultado[i] = new Estadistica(consultas[i], valores, MAXIMOS[i].get());
+		}
+		return resultado;
+	}
+
+	public static void reiniciarTotales() {
+		for (int i = 0; i < TOTALES.length; i++) {
+			for (int j = 0; j < COLUMNAS; j++) {
+				TOTALES[i][j].reset();
+			}
+			MAXIMOS[i].reset();
+		}
+	}
+
+	/**
+	 * Publica las métricas en el servidor JMX de la plataforma. Llamarla más de una vez no tiene efecto.
+	 */
+	public static synchronized void registrarMBean() {
+		try {
+			MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+			ObjectName nombre = new ObjectName("tpforte:type=Metricas");
+			if (!servidor.isRegistered(nombre)) {
+				servidor.registerMBean(INSTANCIA, nombre);
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException("No se pudo registrar el MBean de métricas", e);
+		}
+	}
+
+	// --- PUNTOS DE MEDICIÓN ---
+
+	/**
+	 * Marca el comienzo de un método de Algoritmos. Devuelve el instante a pasar a fin().
+	 */
+	public static long inicio() {
+		if (!activas) return INACTIVA;
+		contadores c = ACTUAL.get();
+		if (c.profundidad++ == 0) {
+			c.nodos = 0;
+			c.sondeos = 0;
+			c.elementos = 0;
+			c.excepciones = 0;
+			c.aciertosCache = 0;
+			c.fallosCache = 0;
+		}
+		return System.nanoTime();
+	}
+
+	/**
+	 * Marca el fin de un método de Algoritmos. Sólo la llamada más externa suma a los totales.
+	 */
+	public static void fin(Consulta consulta, long inicio) {
+		if (inicio == INACTIVA) return;
+		long nanos = System.nanoTime() - inicio;
+		contadores c = ACTUAL.get();
+		if (--c.profundidad > 0) return;
+		LongAdder[] fila = TOTALES[consulta.ordinal()];
+		fila[LLAMADAS].increment();
+		fila[NANOS].add(nanos);
+		fila[NODOS].add(c.nodos);
+		fila[SONDEOS].add(c.sondeos);
+		fila[ELEMENTOS].add(c.elementos);
+		fila[EXCEPCIONES].add(c.excepciones);
+		fila[ACIERTOS_CACHE].add(c.aciertosCache);
+		fila[FALLOS_CACHE].add(c.fallosCache);
+		MAXIMOS[consulta.ordinal()].accumulate(nanos);
+	}
+
+	/** Se visitó un nodo del árbol. */
+	public static void nodo() {
+		if (activas) ACTUAL.get().nodos++;
+	}
+
+	/** Se examinó un elemento de una lista de períodos o de días. */
+	public static void sondeo() {
+		if (activas) ACTUAL.get().sondeos++;
+	}
+
+	/** Se acoló un elemento en una cola de resultado. */
+	public static void elemento() {
+		if (activas) ACTUAL.get().elementos++;
+	}
+
+	/** Se lanzó una excepción de control (por ejemplo, período inexistente). */
+	public static void excepcion() {
+		if (activas) ACTUAL.get().excepciones++;
+	}
+
+	/** El cache de campos tenía el nodo buscado. */
+	public static void aciertoCache() {
+		if (activas) ACTUAL.get().aciertosCache++;
+	}
+
+	/** El cache de campos no tenía el nodo buscado: hubo que descender desde la raíz. */
+	public static void falloCache() {
+		if (activas) ACTUAL.get().fallosCache++;
+	}
+
+	// --- MBEAN ---
+
+	@Override
+	public boolean isActivas() {
+		return activas;
+	}
+
+	@Override
+	public void setActivas(boolean valor) {
+		activas = valor;
+	}
+
+	@Override
+	public String[] getResumen() {
+		Estadistica[] estadisticas = instantanea();
+		String[] lineas = new String[estadisticas.length];
+		for (int i = 0; i < estadisticas.length; i++) {
+			lineas[i] = estadisticas[i].toString();
+		}
+		return lineas;
+	}
+
+	@Override
+	public long getNodosVisitados() {
+		return total(NODOS);
+	}
+
+	@Override
+	public long getSondeosListas() {
+		return total(SONDEOS);
+	}
+
+	@Override
+	public long getElementosCola() {
+		return total(ELEMENTOS);
+	}
+
+	@Override
+	public long getExcepciones() {
+		return total(EXCEPCIONES);
+	}
+
+	@Override
+	public long getAciertosCache() {
+		return total(ACIERTOS_CACHE);
+	}
+
+	@Override
+	public long getFallosCache() {
+		return total(FALLOS_CACHE);
+	}
+
+	@Override
+	public double getTasaAciertosCache() {
+		long aciertos = total(ACIERTOS_CACHE);
+		long busquedas = aciertos + total(FALLOS_CACHE);
+		return busquedas == 0 ? 0 : (double) aciertos / busquedas;
+	}
+
+	@Override
+	public void reiniciar() {
+		reiniciarTotales();
+	}
+
+	private static long total(int columna) {
+		long suma = 0;
+		for (LongAdder[] fila : TOTALES) {
+			suma += fila[columna].sum();
+		}
+		return suma;
+	}
+}
@@ -0,0 +1,35 @@
+package implementacion;
+
+/**
+ * Interfaz JMX de Metricas. Se publica como "tpforte:type=Metricas" con Metricas.registrarMBean().
+ */
+public interface MetricasMBean {
+
+	boolean isActivas();
+
+	void setActivas(boolean activas);
+
+	/**
+	 * Una línea por consulta con llamadas, tiempos y contadores promedio por llamada.
+	 */
+	String[] getResumen();
+
+	long getNodosVisitados();
+
+	long getSondeosListas();
+
+	long getElementosCola();
+
+	long getExcepciones();
+
+	long getAciertosCache();
+
+	long getFallosCache();
+
+	/**
+	 * Aciertos sobre búsquedas en el cache de campos de ArbolPrecipitaciones, de 0 a 1.
+	 */
+	double getTasaAciertosCache();
+
+	void reiniciar();
+}
@@ -0,0 +1,263 @@
+package implementacion;
+
+import java.util.Arrays;
+
+/**
+ * Períodos de un campo que ya no cambian, guardados en forma compacta en unos pocos arreglos
+ * compartidos en lugar de un nodo, un String y un DiccionarioDias por período.
+ *
+ * Funcionamiento:
+ * - Los períodos se ordenan por clave (anio * 12 + mes - 1) y se buscan por búsqueda binaria.
+ * - Cada período guarda dos mapas de bits: días con medición y días con medición distinta de 0.
+ *   Los días sin lluvia no ocupan nada más: un mes seco cuesta sólo sus dos enteros de bits.
+ * - Los valores distintos de 0 se guardan en orden de día como varints (zigzag para admitir
+ *   negativos) en un único byte[]; con lluvias menores a 64 mm cada valor ocupa un byte.
+ * - Quitar un período deja sus bytes sin uso; cuando superan a los usados el byte[] se reescribe.
+ * Costo típico por período: 16 bytes de claves, bits y desplazamiento más un byte por día con lluvia.
+ */
+final class PeriodosCompactos {
+
+	private int cantidad;
+	private int[] claves = new int[4];
+	private int[] presentes = new int[4]; // Bit dia: el día tiene medición
+	private int[] noCero = new int[4];    // Bit dia: la medición es distinta de 0
+	private int[] inicio = new int[4];    // Primer byte del período en datos
+	private byte[] datos = new byte[16];
+	private int usados;                   // Bytes escritos en datos
+	private int desperdicio;              // Bytes de períodos quitados
+
+	int cantidad() {
+		return cantidad;
+	}
+
+	int clave(int indice) {
+		return claves[indice];
+	}
+
+	int presentes(int indice) {
+		return presentes[indice];
+	}
+
+	/**
+	 * Bytes retenidos por el objeto y sus arreglos, incluida la capacidad todavía sin usar y los
+	 * bytes de períodos quitados (ver Memoria).
+	 * Complejidad: O(1)
+	 */
+	long bytesRetenidos() {
+		return Memoria.objeto(4 * 3 + 4 * 5) + 4 * Memoria.arreglo(claves.length, 4) + Memoria.arreglo(datos.length, 1);
+	}
+
+	/**
+	 * Posición del período con esa clave, o -1 si no está.
+	 * Complejidad: O(log n)
+	 */
+	int buscar(int clave) {
+		int bajo = 0;
+		int alto = cantidad - 1;
+		while (bajo <= alto) {
+			Metricas.sondeo();
+			int medio = (bajo + alto) >>> 1;
+			if (claves[medio] < clave) {
+				bajo = medio + 1;
+			} else if (claves[medio] > clave) {
+				alto = medio - 1;
+			} else {
+				return medio;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Primera posición cuya clave es mayor o igual a la indicada (cantidad() si no hay).
+	 * Complejidad: O(log n)
+	 */
+	int primeraDesde(int clave) {
+		int bajo = 0;
+		int alto = cantidad;
+		while (bajo < alto) {
+			int medio = (bajo + alto) >>> 1;
+			if (claves[medio] < clave) {
+				bajo = medio + 1;
+			} else {
+				alto = medio;
+			}
+		}
+		return bajo;
+	}
+
+	/**
+	 * Agrega un período que no estaba.
+	 *
+	 * @param valores Milímetros indexados por día (1 a 31); sólo se leen los días presentes.
+	 * Complejidad: O(1) amortizado si la clave es mayor a todas (el caso habitual), O(n) si no.
+	 */
+	void agregar(int clave, int bitsPresentes, int[] valores) {
+		if (cantidad == claves.length) {
+			int largo = Math.max(cantidad * 2, 4);
+			claves = Arrays.copyOf(claves, largo);
+			presentes = Arrays.copyOf(presentes, largo);
+			noCero = Arrays.copyOf(noCero, largo);
+			inicio = Arrays.copyOf(inicio, largo);
+		}
+		int pos = cantidad;
+		while (pos > 0 && claves[pos - 1] > clave) {
+			pos--;
+		}
+		int mover = cantidad - pos;
+		System.arraycopy(claves, pos, claves, pos + 1, mover);
+		System.arraycopy(presentes, pos, presentes, pos + 1, mover);
+		System.arraycopy(noCero, pos, noCero, pos + 1, mover);
+		System.arraycopy(inicio, pos, inicio, pos + 1, mover);
+		cantidad++;
+
+		int bitsNoCero = 0;
+		for (int dia = 1; dia <= 31; dia++) {
+			if ((bitsPresentes & (1 << dia)) != 0 && valores[dia] != 0) bitsNoCero |= 1 << dia;
+		}
+		claves[pos] = clave;
+		presentes[pos] = bitsPresentes;
+		noCero[pos] = bitsNoCero;
+		inicio[pos] = usados;
+		for (int dia = 1; dia <= 31; dia++) {
+			if ((bitsNoCero & (1 << dia)) != 0) escribirVarint((valores[dia] << 1) ^ (valores[dia] >> 31));
+		}
+	}
+
+	/**
+	 * Copia en valores (indexado por día) los milímetros del período; los días sin medición quedan en 0.
+	 * Complejidad: O(31)
+	 */
+	void decodificar(int indice, int[] valores) {
+		int bits = noCero[indice];
+		int pos = inicio[indice];
+		for (int dia = 1; dia <= 31; dia++) {
+			if ((bits & (1 << dia)) == 0) {
+				valores[dia] = 0;
+				continue;
+			}
+			int zigzag = 0;
+			int desplazamiento = 0;
+			byte b;
+			do {
+				b = datos[pos++];
+				zigzag |= (b & 0x7F) << desplazamiento;
+				desplazamiento += 7;
+			} while (b < 0);
+			valores[dia] = (zigzag >>> 1) ^ -(zigzag & 1);
+		}
+	}
+
+	/**
+	 * Quita el período en esa posición.
+	 * Complejidad: O(n), más O(bytes) si hay que reescribir los datos.
+	 */
+	void quitar(int indice) {
+		desperdicio += bytesDe(indice);
+		int mover = cantidad - indice - 1;
+		System.arraycopy(claves, indice + 1, claves, indice, mover);
+		System.arraycopy(presentes, indice + 1, presentes, indice, mover);
+		System.arraycopy(noCero, indice + 1, noCero, indice, mover);
+		System.arraycopy(inicio, indice + 1, inicio, indice, mover);
+		cantidad--;
+		if (desperdicio > usados - desperdicio) reescribir();
+	}
+
+	/**
+	 * Quita los primeros períodos (los más viejos).
+	 * Complejidad: O(n), más O(bytes) si hay que reescribir los datos.
+	 */
+	void quitarPrimeros(int cuantos) {
+		if (cuantos <= 0) return;
+		for (int i = 0; i < cuantos; i++) {
+			desperdicio += bytesDe(i);
+		}
+		int mover = cantidad - cuantos;
+		System.arraycopy(claves, cuantos, claves, 0, mover);
+		System.arraycopy(presentes, cuantos, presentes, 0, mover);
+		System.arraycopy(noCero, cuantos, noCero, 0, mover);
+		System.arraycopy(inicio, cuantos, inicio, 0, mover);
+		cantidad = mover;
+		if (desperdicio > usados - desperdicio) reescribir();
+	}
+
+	/**
+	 * Quita los períodos sin días con medición, que no ocupan bytes en datos.
+	 *
+	 * @return Cantidad de períodos quitados.
+	 * Complejidad: O(n)
+	 */
+	int quitarVacios() {
+		int quedan = 0;
+		for (int i = 0; i < cantidad; i++) {
+			if (presentes[i] == 0) continue;
+			claves[quedan] = claves[i];
+			presentes[quedan] = presentes[i];
+			noCero[quedan] = noCero[i];
+			inicio[quedan] = inicio[i];
+			quedan++;
+		}
+		int quitados = cantidad - quedan;
+		cantidad = quedan;
+		return quitados;
+	}
+
+	/**
+	 * Recorta los arreglos al tamaño justo, para cuando no se esperan más períodos por un tiempo.
+	 * Complejidad: O(n + bytes)
+	 */
+	void ajustar() {
+		if (desperdicio > 0) reescribir();
+		int largo = Math.max(cantidad, 1);
+		claves = Arrays.copyOf(claves, largo);
+		presentes = Arrays.copyOf(presentes, largo);
+		noCero = Arrays.copyOf(noCero, largo);
+		inicio = Arrays.copyOf(inicio, largo);
+		datos = Arrays.copyOf(datos, usados);
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	private void escribirVarint(int valor) {
+		if (usados + 5 > datos.length) {
+			datos = Arrays.copyOf(datos, Math.max(datos.length * 2, usados + 16));
+		}
+		while ((valor & ~0x7F) != 0) {
+			datos[usados++] = (byte) ((valor & 0x7F) | 0x80);
+			valor >>>= 7;
+		}
+		datos[usados++] = (byte) valor;
+	}
+
+	/**
+	 * Cantidad de bytes que ocupan los valores del período.
+	 */
+	private int bytesDe(int indice) {
+		int pos = inicio[indice];
+		int bytes = 0;
+		for (int i = Integer.bitCount(noCero[indice]); i > 0; i--) {
+			while (datos[pos + bytes] < 0) {
+				bytes++;
+			}
+			bytes++;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Copia los bytes de los períodos vigentes a un arreglo nuevo del tamaño justo.
+	 */
+	private void reescribir() {
+		byte[] nuevos = new byte[usados - desperdicio];
+		int escritos = 0;
+		for (int i = 0; i < cantidad; i++) {
+			int bytes = bytesDe(i);
+			System.arraycopy(datos, inicio[i], nuevos, escritos, bytes);
+			inicio[i] = escritos;
+			escritos += bytes;
+		}
+		datos = nuevos;
+		usados = escritos;
+		desperdicio = 0;
+	}
+}
@@ -0,0 +1,107 @@
+package implementacion;
+
+/**
+ * Reducciones sobre las matrices de MatrizMensual (filas de COLUMNAS enteros, una por campo).
+ * Hay dos implementaciones con el mismo resultado: una escalar y otra con la Vector API
+ * (jdk.incubator.vector), que se elige al cargar la clase si el módulo está disponible.
+ *
+ * Funcionamiento:
+ * - En Java 17 la Vector API es un módulo incubador: sólo está si la JVM se inició con
+ *   --add-modules jdk.incubator.vector. Si no está, ReduccionesVectoriales nunca se carga
+ *   y se usa la versión escalar.
+ * - Con -Dreducciones=escalar se fuerza la versión escalar aunque el módulo esté (sirve para
+ *   comparar ambas en los benchmarks).
+ */
+abstract class Reducciones {
+
+	/** Enteros por fila: 31 días más la posición 0, que queda sin uso para alinear la fila. */
+	static final int COLUMNAS = 32;
+
+	/** Implementación elegida para esta JVM. */
+	static final Reducciones ACTIVA = elegir();
+
+	/**
+	 * Suma cada fila con algún día presente en sumas (posición a posición) y cuenta en conteos
+	 * los bits encendidos de presentes para cada día.
+	 *
+	 * @param sumas   Arreglo de COLUMNAS posiciones indexado por día.
+	 * @param conteos Arreglo de COLUMNAS posiciones indexado por día.
+	 */
+	abstract void sumasYConteosPorDia(int[] valores, int[] presentes, int filas, int[] sumas, int[] conteos);
+
+	/**
+	 * Suma de todos los valores de las primeras filas.
+	 */
+	abstract int suma(int[] valores, int filas);
+
+	/**
+	 * Suma de cada una de las primeras filas.
+	 *
+	 * @param totales Arreglo de al menos filas posiciones donde se deja la suma de cada fila.
+	 */
+	abstract void sumasPorFila(int[] valores, int filas, int[] totales);
+
+	/**
+	 * Nombre de la implementación, para informes.
+	 */
+	abstract String nombre();
+
+	private static Reducciones elegir() {
+		if (!"escalar".equals(System.getProperty("reducciones"))
+				&& ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+			try {
+				return (Reducciones) Class.forName("implementacion.ReduccionesVectoriales")
+						.getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException | LinkageError e) {
+				// Sin Vector API utilizable: se sigue con la versión escalar
+			}
+		}
+		return new Escalares();
+	}
+
+	/**
+	 * Versión escalar: recorre las filas en orden, sin ramas por día.
+	 */
+	static final class Escalares extends Reducciones {
+
+		@Override
+		void sumasYConteosPorDia(int[] valores, int[] presentes, int filas, int[] sumas, int[] conteos) {
+			for (int fila = 0; fila < filas; fila++) {
+				int bits = presentes[fila];
+				if (bits == 0) continue;
+				int base = fila * COLUMNAS;
+				for (int dia = 1; dia < COLUMNAS; dia++) {
+					sumas[dia] += valores[base + dia];
+					conteos[dia] += (bits >>> dia) & 1;
+				}
+			}
+		}
+
+		@Override
+		int suma(int[] valores, int filas) {
+			int suma = 0;
+			int limite = filas * COLUMNAS;
+			for (int i = 0; i < limite; i++) {
+				suma += valores[i];
+			}
+			return suma;
+		}
+
+		@Override
+		void sumasPorFila(int[] valores, int filas, int[] totales) {
+			for (int fila = 0; fila < filas; fila++) {
+				int base = fila * COLUMNAS;
+				int suma = 0;
+				for (int i = 0; i < COLUMNAS; i++) {
+					suma += valores[base + i];
+				}
+				totales[fila] = suma;
+			}
+		}
+
+		@Override
+		String nombre() {
+			return "escalar";
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package implementacion;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Reducciones de MatrizMensual con la Vector API. Sólo se carga desde Reducciones.elegir
+ * cuando el módulo jdk.incubator.vector está en la JVM.
+ *
+ * Funcionamiento:
+ * - Se usa el ancho preferido de la CPU (8 enteros con AVX2, 16 con AVX-512, 4 con NEON),
+ *   acotado a COLUMNAS para que cada fila sea un número entero de vectores.
+ * - Las sumas por día recorren la matriz por bloques de columnas: para cada bloque se acumulan
+ *   todas las filas en un vector y recién al final se escribe en el resultado.
+ * - Los conteos se obtienen desplazando los bits de presentes: el carril j del bloque k toma
+ *   el bit k * carriles + j, es decir, el del día que suma ese carril.
+ */
+final class ReduccionesVectoriales extends Reducciones {
+
+	private static final VectorSpecies<Integer> ESPECIE = IntVector.SPECIES_PREFERRED.length() <= COLUMNAS
+			? IntVector.SPECIES_PREFERRED : IntVector.SPECIES_512;
+	private static final int CARRILES = ESPECIE.length();
+
+	ReduccionesVectoriales() {
+	}
+
+	@Override
+	void sumasYConteosPorDia(int[] valores, int[] presentes, int filas, int[] sumas, int[] conteos) {
+		IntVector uno = IntVector.broadcast(ESPECIE, 1);
+		for (int columna = 0; columna < COLUMNAS; columna += CARRILES) {
+			IntVector dias = IntVector.zero(ESPECIE).addIndex(1).add(columna);
+			IntVector suma = IntVector.zero(ESPECIE);
+			IntVector conteo = IntVector.zero(ESPECIE);
+			for (int fila = 0; fila < filas; fila++) {
+				// Las filas sin días presentes valen cero: sumarlas evita una rama por fila
+				suma = suma.add(IntVector.fromArray(ESPECIE, valores, fila * COLUMNAS + columna));
+				conteo = conteo.add(IntVector.broadcast(ESPECIE, presentes[fila])
+						.lanewise(VectorOperators.LSHR, dias).and(uno));
+			}
+			suma.add(IntVector.fromArray(ESPECIE, sumas, columna)).intoArray(sumas, columna);
+			conteo.add(IntVector.fromArray(ESPECIE, conteos, columna)).intoArray(conteos, columna);
+		}
+	}
+
+	@Override
+	int suma(int[] valores, int filas) {
+		int limite = filas * COLUMNAS; // Múltiplo de CARRILES
+		IntVector suma = IntVector.zero(ESPECIE);
+		for (int i = 0; i < limite; i += CARRILES) {
+			suma = suma.add(IntVector.fromArray(ESPECIE, valores, i));
+		}
+		return suma.reduceLanes(VectorOperators.ADD);
+	}
+
+	@Override
+	void sumasPorFila(int[] valores, int filas, int[] totales) {
+		for (int fila = 0; fila < filas; fila++) {
+			int base = fila * COLUMNAS;
+			IntVector suma = IntVector.fromArray(ESPECIE, valores, base);
+			for (int i = CARRILES; i < COLUMNAS; i += CARRILES) {
+				suma = suma.add(IntVector.fromArray(ESPECIE, valores, base + i));
+			}
+			totales[fila] = suma.reduceLanes(VectorOperators.ADD);
+		}
+	}
+
+	@Override
+	String nombre() {
+		return "vectorial (" + CARRILES + " carriles)";
+	}
+}
@@ -0,0 +1,158 @@
+package implementacion;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de los nombres de campo de una estructura (cada árbol y cada Algoritmos tienen el suyo).
+ * Cada nombre distinto se guarda una sola vez y recibe un id entero y una clave de comparación ya
+ * normalizada (cada carácter pasado a mayúscula y luego a minúscula, igual que compareToIgnoreCase).
+ *
+ * Funcionamiento:
+ * - clave(a).compareTo(clave(b)) da el mismo signo que a.compareToIgnoreCase(b), pero compara
+ *   caracteres ya normalizados en lugar de normalizarlos en cada nivel del árbol.
+ * - La estructura guarda la instancia registrada del nombre, por lo que un nombre repetido en
+ *   sus nodos no ocupa memoria más de una vez.
+ * - Cuando la estructura deja de tener el campo lo libera: su id vuelve a entregarse al próximo
+ *   nombre nuevo. Los ids van de 0 a la mayor cantidad de campos que tuvo a la vez, no crecen con
+ *   los campos que pasaron por ella.
+ * - Es seguro usarlo desde varios hilos; buscar un nombre ya registrado no reserva memoria.
+ *   Un id leído mientras otro hilo lo libera puede pasar a nombrar otro campo: quien libera
+ *   debe hacerlo con las escrituras de la estructura ya serializadas.
+ */
+public final class RegistroCampos {
+
+	private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+	private final Object escritura = new Object();
+
+	// nombres[id] y claves[id]; se reemplazan al crecer y se publican antes de registrar el id
+	private volatile String[] nombres = new String[16];
+	private volatile String[] claves = new String[16];
+	private int limite;                // Ids entregados alguna vez: todos son menores
+	private int[] libres = new int[4]; // Ids liberados, para reutilizar
+	private int cantidadLibres;
+
+	/**
+	 * Devuelve el id del nombre, registrándolo si es la primera vez que aparece.
+	 *
+	 * @param nombre Nombre del campo.
+	 * @return Id del campo: uno liberado si hay, o el siguiente sin usar.
+	 * Complejidad: O(L) con L el largo del nombre.
+	 */
+	public int registrar(String nombre) {
+		Integer id = ids.get(nombre);
+		if (id != null) return id;
+		synchronized (escritura) {
+			id = ids.get(nombre);
+			if (id != null) return id;
+			int nuevo = cantidadLibres > 0 ? libres[--cantidadLibres] : limite++;
+			String[] n = nombres;
+			String[] c = claves;
+			if (nuevo == n.length) {
+				n = Arrays.copyOf(n, n.length * 2);
+				c = Arrays.copyOf(c, c.length * 2);
+			}
+			n[nuevo] = nombre;
+			c[nuevo] = normalizar(nombre);
+			claves = c;
+			nombres = n; // Escritura volatile: publica nombre y clave antes que el id
+			ids.put(nombre, nuevo);
+			return nuevo;
+		}
+	}
+
+	/**
+	 * Quita el campo con ese id; el id queda libre para otro nombre. Si el id no está registrado
+	 * no hace nada.
+	 * Complejidad: O(L)
+	 */
+	public void liberar(int id) {
+		synchronized (escritura) {
+			String[] n = nombres;
+			if (id < 0 || id >= n.length || n[id] == null) return;
+			ids.remove(n[id]);
+			n[id] = null;
+			claves[id] = null;
+			nombres = n;
+			if (cantidadLibres == libres.length) libres = Arrays.copyOf(libres, cantidadLibres * 2);
+			libres[cantidadLibres++] = id;
+		}
+	}
+
+	/**
+	 * Devuelve el id del nombre sin registrarlo.
+	 *
+	 * @return Id del campo, o -1 si el nombre no está registrado.
+	 * Complejidad: O(L)
+	 */
+	public int buscar(String nombre) {
+		Integer id = ids.get(nombre);
+		return id != null ? id : -1;
+	}
+
+	/**
+	 * Devuelve la instancia registrada del nombre con ese id.
+	 *
+	 * @throws IllegalStateException si el id no existe.
+	 * Complejidad: O(1)
+	 */
+	public String nombre(int id) {
+		String[] n = nombres;
+		if (id < 0 || id >= n.length || n[id] == null) {
+			throw new IllegalStateException("El campo no existe: " + id);
+		}
+		return n[id];
+	}
+
+	/**
+	 * Devuelve la clave de comparación del campo con ese id.
+	 *
+	 * @throws IllegalStateException si el id no existe.
+	 * Complejidad: O(1)
+	 */
+	public String clave(int id) {
+		nombre(id); // Valida el id y ordena la lectura después de la publicación
+		return claves[id];
+	}
+
+	/**
+	 * Devuelve la clave de comparación de un nombre: la registrada si existe o, si no, una calculada
+	 * en el momento (sin registrarla).
+	 * Complejidad: O(1) si el nombre está registrado, O(L) si no.
+	 */
+	public String claveDe(String nombre) {
+		int id = buscar(nombre);
+		return id >= 0 ? clave(id) : normalizar(nombre);
+	}
+
+	/**
+	 * Cantidad de nombres registrados.
+	 */
+	public int cantidad() {
+		synchronized (escritura) {
+			return limite - cantidadLibres;
+		}
+	}
+
+	/**
+	 * Normaliza el nombre carácter por carácter como lo hace compareToIgnoreCase.
+	 * Si el nombre ya está normalizado devuelve la misma instancia.
+	 * Complejidad: O(L)
+	 */
+	public static String normalizar(String nombre) {
+		int i = 0;
+		while (i < nombre.length() && plegar(nombre.charAt(i)) == nombre.charAt(i)) {
+			i++;
+		}
+		if (i == nombre.length()) return nombre;
+		char[] chars = nombre.toCharArray();
+		for (; i < chars.length; i++) {
+			chars[i] = plegar(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	private static char plegar(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+}
@@ -0,0 +1,123 @@
+package implementacion;
+
+import java.util.Arrays;
+
+/**
+ * Totales mensuales (suma de milímetros y cantidad de días con medición) de los meses de un campo
+ * cuyo detalle diario se descartó por la política de retención.
+ *
+ * Funcionamiento:
+ * - Los meses se guardan ordenados por clave (anio * 12 + mes - 1) en tres arreglos paralelos.
+ * - Agregar un mes que ya está acumula sus totales: si llegan mediciones nuevas de un año ya
+ *   resumido y se vuelve a resumir, se suman a lo que había.
+ * - Ocupa 12 enteros por año resumido y campo, en lugar de un período con sus días.
+ * No es seguro para varios hilos; se usa con el mismo cuidado que el árbol al que acompaña.
+ */
+public class ResumenMensual {
+
+	private int cantidad;
+	private int[] claves = new int[0];
+	private int[] sumas = new int[0];
+	private int[] conteos = new int[0];
+
+	/**
+	 * Acumula los totales de un mes.
+	 * Complejidad: O(log m), O(m) si el mes es nuevo y no es el último.
+	 */
+	public void agregar(int clave, int suma, int conteo) {
+		int pos = primeraDesde(clave);
+		if (pos < cantidad && claves[pos] == clave) {
+			sumas[pos] += suma;
+			conteos[pos] += conteo;
+			return;
+		}
+		if (cantidad == claves.length) {
+			int largo = Math.max(cantidad * 2, 12);
+			claves = Arrays.copyOf(claves, largo);
+			sumas = Arrays.copyOf(sumas, largo);
+			conteos = Arrays.copyOf(conteos, largo);
+		}
+		int mover = cantidad - pos;
+		System.arraycopy(claves, pos, claves, pos + 1, mover);
+		System.arraycopy(sumas, pos, sumas, pos + 1, mover);
+		System.arraycopy(conteos, pos, conteos, pos + 1, mover);
+		claves[pos] = clave;
+		sumas[pos] = suma;
+		conteos[pos] = conteo;
+		cantidad++;
+	}
+
+	/**
+	 * Acumula los meses de un arreglo {clave, suma, conteo, clave, suma, conteo, ...}.
+	 */
+	public void agregar(int[] meses) {
+		for (int i = 0; i + 2 < meses.length; i += 3) {
+			agregar(meses[i], meses[i + 1], meses[i + 2]);
+		}
+	}
+
+	/**
+	 * Suma y cantidad de días de los meses resumidos que quedan enteros dentro del intervalo de días.
+	 * Un mes que el intervalo cubre sólo en parte no se cuenta: ya no se sabe qué días tuvo.
+	 *
+	 * @param desde Ordinal del primer día (IndiceFenwick.ordinal), incluido.
+	 * @param hasta Ordinal del último día, incluido.
+	 * @return Arreglo {suma, conteo}.
+	 * Complejidad: O(log m + k), con k meses dentro del intervalo.
+	 */
+	public int[] sumaYConteoEntre(int desde, int hasta) {
+		int[] resultado = new int[2];
+		// Primer mes que empieza en desde o después: ceil(desde / 31)
+		int primero = (int) Math.floorDiv((long) desde + 30, 31L);
+		for (int i = primeraDesde(primero); i < cantidad && (long) claves[i] * 31 + 30 <= hasta; i++) {
+			resultado[0] += sumas[i];
+			resultado[1] += conteos[i];
+		}
+		return resultado;
+	}
+
+	/**
+	 * Devuelve los meses como {clave, suma, conteo, clave, suma, conteo, ...}, ordenados por clave.
+	 * Complejidad: O(m)
+	 */
+	public int[] comoArreglo() {
+		int[] resultado = new int[cantidad * 3];
+		for (int i = 0; i < cantidad; i++) {
+			resultado[i * 3] = claves[i];
+			resultado[i * 3 + 1] = sumas[i];
+			resultado[i * 3 + 2] = conteos[i];
+		}
+		return resultado;
+	}
+
+	/**
+	 * Cantidad de meses resumidos.
+	 */
+	public int meses() {
+		return cantidad;
+	}
+
+	/**
+	 * Bytes retenidos por el resumen y sus tres arreglos (ver Memoria).
+	 * Complejidad: O(1)
+	 */
+	long bytesRetenidos() {
+		return Memoria.objeto(4 + 4 * 3) + 3 * Memoria.arreglo(claves.length, 4);
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	private int primeraDesde(int clave) {
+		int bajo = 0;
+		int alto = cantidad;
+		while (bajo < alto) {
+			int medio = (bajo + alto) >>> 1;
+			if (claves[medio] < clave) {
+				bajo = medio + 1;
+			} else {
+				alto = medio;
+			}
+		}
+		return bajo;
+	}
+}
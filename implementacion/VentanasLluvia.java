@@ -0,0 +1,328 @@
+package implementacion;
+
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Lluvia de cada campo en los últimos 7, 30 y 90 días, mantenida a medida que llegan las mediciones.
+ * "Hoy" es la fecha más reciente registrada entre todos los campos (o la indicada con avanzarHasta);
+ * la ventana de N días es (hoy - N, hoy].
+ *
+ * Funcionamiento:
+ * - Cada campo guarda los milímetros de sus últimos días en un arreglo circular de 128 posiciones
+ *   (indexado por día absoluto) y la suma de cada ventana, por lo que leerla es O(1).
+ * - Por cada día se anotan los campos que tienen medición ese día. Cuando "hoy" avanza, sólo esos
+ *   campos se actualizan al salir el día de cada ventana: cada medición sale a lo sumo una vez por
+ *   ventana, así que el costo de avanzar se reparte entre las mediciones.
+ * - Para cada ventana se mantiene un conjunto ordenado por (suma, id del campo), que permite listar
+ *   los campos por debajo de un umbral sin recorrer todos.
+ * - Las mediciones pueden llegar desordenadas: una fecha anterior a hoy se suma a las ventanas
+ *   que la incluyen y una anterior a la ventana más larga se ignora.
+ * No es seguro para varios hilos; se usa con el mismo cuidado que el árbol al que acompaña.
+ */
+public class VentanasLluvia {
+
+	/** Largos de ventana disponibles, en días. */
+	public static final int[] VENTANAS = { 7, 30, 90 };
+
+	private static final int DIAS_GUARDADOS = 128; // Potencia de dos mayor a la ventana más larga
+	private static final int SIN_FECHA = Integer.MIN_VALUE;
+
+	/**
+	 * Estado de un campo: lluvia de los últimos días y suma de cada ventana.
+	 */
+	private static final class campo {
+		final int id;
+		final int[] lluvia = new int[DIAS_GUARDADOS];         // lluvia[dia & 127]
+		final boolean[] anotado = new boolean[DIAS_GUARDADOS]; // El id ya figura en conDatos para ese día
+		final int[] sumas = new int[VENTANAS.length];
+		boolean activo = true;                                  // false después de eliminarCampo
+
+		campo(int id) {
+			this.id = id;
+		}
+	}
+
+	private campo[] campos;            // campos[id de RegistroCampos], o null
+	private int[][] conDatos;          // conDatos[dia & 127]: ids de campos con medición ese día
+	private int[] cantidadConDatos;
+	private TreeSet<Long>[] ordenados; // Uno por ventana, con clave (suma << 32) | id
+	private int hoy;
+
+	/**
+	 * Inicializa la estructura sin campos ni mediciones.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public void inicializar() {
+		campos = new campo[64];
+		conDatos = new int[DIAS_GUARDADOS][];
+		cantidadConDatos = new int[DIAS_GUARDADOS];
+		ordenados = new TreeSet[VENTANAS.length];
+		for (int v = 0; v < VENTANAS.length; v++) {
+			ordenados[v] = new TreeSet<>();
+		}
+		hoy = SIN_FECHA;
+	}
+
+	/**
+	 * Convierte una fecha en la cantidad de días desde el 1/1/1970 (calendario gregoriano), sin reservar memoria.
+	 */
+	public static int diaAbsoluto(int anio, int mes, int dia) {
+		int a = mes <= 2 ? anio - 1 : anio;
+		int era = Math.floorDiv(a, 400);
+		int anioDeEra = a - era * 400;
+		int diaDelAnio = (153 * (mes + (mes > 2 ? -3 : 9)) + 2) / 5 + dia - 1;
+		int diaDeEra = anioDeEra * 365 + anioDeEra / 4 - anioDeEra / 100 + diaDelAnio;
+		return era * 146097 + diaDeEra - 719468;
+	}
+
+	/**
+	 * Día absoluto del día indicado de un período "YYYY/MM", o Integer.MIN_VALUE si el período
+	 * no tiene ese formato.
+	 */
+	public static int diaAbsoluto(String periodo, int dia) {
+		int inicioMes = IndiceFenwick.ordinalPeriodo(periodo);
+		if (inicioMes < 0) return SIN_FECHA;
+		return diaAbsoluto(inicioMes / IndiceFenwick.POSICIONES_POR_ANIO,
+				inicioMes % IndiceFenwick.POSICIONES_POR_ANIO / 31 + 1, dia);
+	}
+
+	/**
+	 * Agrega el campo con lluvia 0 en todas las ventanas, si todavía no estaba.
+	 * Complejidad: O(log n)
+	 */
+	public void agregarCampo(int id) {
+		obtenerOCrear(id);
+	}
+
+	/**
+	 * Registra una medición (se acumula a la del mismo día, como en el árbol).
+	 *
+	 * @param id Id del campo en RegistroCampos.
+	 * @param dia Día absoluto (diaAbsoluto).
+	 * @param cantidad Milímetros.
+	 * Complejidad: O(log n) amortizado.
+	 */
+	public void agregar(int id, int dia, int cantidad) {
+		campo c = obtenerOCrear(id);
+		if (hoy == SIN_FECHA || dia > hoy) {
+			avanzar(dia);
+		}
+		if (dia <= hoy - VENTANAS[VENTANAS.length - 1]) return; // Fuera de todas las ventanas
+		int pos = dia & (DIAS_GUARDADOS - 1);
+		if (!c.anotado[pos]) {
+			c.anotado[pos] = true;
+			anotar(pos, id);
+		}
+		c.lluvia[pos] += cantidad;
+		cambiarSumas(c, dia, cantidad);
+	}
+
+	/**
+	 * Mueve "hoy" hasta el día indicado si es posterior, como lo haría una medición de ese día.
+	 * Integer.MIN_VALUE no tiene efecto.
+	 * Complejidad: O(log n) amortizado, como agregar.
+	 */
+	public void avanzarHasta(int dia) {
+		if (dia != SIN_FECHA && (hoy == SIN_FECHA || dia > hoy)) {
+			avanzar(dia);
+		}
+	}
+
+	/**
+	 * Quita la medición del día, si está dentro de las ventanas.
+	 * Complejidad: O(log n)
+	 */
+	public void eliminar(int id, int dia) {
+		campo c = id < campos.length ? campos[id] : null;
+		if (c == null || !c.activo || hoy == SIN_FECHA || dia > hoy
+				|| dia <= hoy - VENTANAS[VENTANAS.length - 1]) return;
+		int pos = dia & (DIAS_GUARDADOS - 1);
+		int cantidad = c.lluvia[pos];
+		c.lluvia[pos] = 0; // Sigue anotado: al vencer el día se descuenta 0
+		cambiarSumas(c, dia, -cantidad);
+	}
+
+	/**
+	 * Quita el campo de todas las ventanas. Su estado se conserva vacío porque el id
+	 * puede seguir anotado en días que todavía no vencieron.
+	 * Complejidad: O(log n + 128)
+	 */
+	public void eliminarCampo(int id) {
+		if (id >= campos.length || campos[id] == null || !campos[id].activo) return;
+		campo c = campos[id];
+		for (int v = 0; v < VENTANAS.length; v++) {
+			ordenados[v].remove(clave(c.sumas[v], id));
+		}
+		Arrays.fill(c.lluvia, 0);
+		Arrays.fill(c.sumas, 0);
+		c.activo = false;
+	}
+
+	/**
+	 * Lluvia del campo en los últimos dias días (7, 30 o 90).
+	 *
+	 * @return Milímetros; 0 si el campo no tiene mediciones registradas.
+	 * @throws IllegalArgumentException si dias no es uno de los largos de VENTANAS.
+	 * Complejidad: O(1)
+	 */
+	public int lluvia(int id, int dias) {
+		int v = ventana(dias);
+		campo c = id >= 0 && id < campos.length ? campos[id] : null;
+		return c != null && c.activo ? c.sumas[v] : 0;
+	}
+
+	/**
+	 * Ids de los campos con menos de milimetros de lluvia en los últimos dias días,
+	 * ordenados de menor a mayor lluvia.
+	 *
+	 * @throws IllegalArgumentException si dias no es uno de los largos de VENTANAS.
+	 * Complejidad: O(log n + k), con k campos en el resultado.
+	 */
+	public int[] camposConMenosDe(int milimetros, int dias) {
+		int v = ventana(dias);
+		SortedSet<Long> debajo = ordenados[v].headSet(clave(milimetros, 0));
+		int[] ids = new int[debajo.size()];
+		int i = 0;
+		for (long clave : debajo) {
+			ids[i++] = (int) clave;
+		}
+		return ids;
+	}
+
+	/**
+	 * Día absoluto más reciente registrado, o Integer.MIN_VALUE si todavía no hay mediciones.
+	 */
+	public int hoy() {
+		return hoy;
+	}
+
+	// --- MÉTODOS PRIVADOS ---
+
+	private campo obtenerOCrear(int id) {
+		if (id >= campos.length) {
+			campos = Arrays.copyOf(campos, Math.max(campos.length * 2, id + 1));
+		}
+		campo c = campos[id];
+		if (c == null) {
+			c = new campo(id);
+			campos[id] = c;
+		} else if (c.activo) {
+			return c;
+		}
+		c.activo = true;
+		for (int v = 0; v < VENTANAS.length; v++) {
+			ordenados[v].add(clave(0, id));
+		}
+		return c;
+	}
+
+	/**
+	 * Suma cantidad a cada ventana del campo que incluye al día y reubica el campo en el orden.
+	 */
+	private void cambiarSumas(campo c, int dia, int cantidad) {
+		if (cantidad == 0) return;
+		for (int v = 0; v < VENTANAS.length; v++) {
+			if (dia > hoy - VENTANAS[v]) {
+				ordenados[v].remove(clave(c.sumas[v], c.id));
+				c.sumas[v] += cantidad;
+				ordenados[v].add(clave(c.sumas[v], c.id));
+			}
+		}
+	}
+
+	/**
+	 * Mueve hoy hasta el día indicado, descontando de cada ventana los días que salen de ella.
+	 */
+	private void avanzar(int nuevoHoy) {
+		int masLarga = VENTANAS[VENTANAS.length - 1];
+		if (hoy == SIN_FECHA || nuevoHoy - hoy >= masLarga) {
+			// Salto mayor a todas las ventanas: quedan vacías
+			vaciar();
+			hoy = nuevoHoy;
+			return;
+		}
+		while (hoy < nuevoHoy) {
+			hoy++;
+			for (int v = 0; v < VENTANAS.length; v++) {
+				vencer(hoy - VENTANAS[v], v);
+			}
+			// El día que salió de la ventana más larga ya no hace falta
+			limpiar(hoy - masLarga);
+		}
+	}
+
+	/**
+	 * Descuenta de la ventana v la lluvia del día que acaba de salir de ella.
+	 */
+	private void vencer(int dia, int v) {
+		int pos = dia & (DIAS_GUARDADOS - 1);
+		for (int i = 0; i < cantidadConDatos[pos]; i++) {
+			campo c = campos[conDatos[pos][i]];
+			if (c.lluvia[pos] == 0) continue; // Sin lluvia, eliminada o campo eliminado
+			ordenados[v].remove(clave(c.sumas[v], c.id));
+			c.sumas[v] -= c.lluvia[pos];
+			ordenados[v].add(clave(c.sumas[v], c.id));
+		}
+	}
+
+	/**
+	 * Libera la posición del día en los campos anotados y en la lista de ese día.
+	 */
+	private void limpiar(int dia) {
+		int pos = dia & (DIAS_GUARDADOS - 1);
+		for (int i = 0; i < cantidadConDatos[pos]; i++) {
+			campo c = campos[conDatos[pos][i]];
+			c.lluvia[pos] = 0;
+			c.anotado[pos] = false;
+		}
+		cantidadConDatos[pos] = 0;
+	}
+
+	/**
+	 * Deja todas las ventanas en cero conservando los campos.
+	 */
+	private void vaciar() {
+		for (int pos = 0; pos < DIAS_GUARDADOS; pos++) {
+			for (int i = 0; i < cantidadConDatos[pos]; i++) {
+				campo c = campos[conDatos[pos][i]];
+				c.lluvia[pos] = 0;
+				c.anotado[pos] = false;
+			}
+			cantidadConDatos[pos] = 0;
+		}
+		for (int v = 0; v < VENTANAS.length; v++) {
+			ordenados[v].clear();
+		}
+		for (campo c : campos) {
+			if (c == null || !c.activo) continue;
+			Arrays.fill(c.sumas, 0);
+			for (int v = 0; v < VENTANAS.length; v++) {
+				ordenados[v].add(clave(0, c.id));
+			}
+		}
+	}
+
+	private void anotar(int pos, int id) {
+		int[] ids = conDatos[pos];
+		if (ids == null) {
+			ids = new int[8];
+		} else if (cantidadConDatos[pos] == ids.length) {
+			ids = Arrays.copyOf(ids, ids.length * 2);
+		}
+		ids[cantidadConDatos[pos]++] = id;
+		conDatos[pos] = ids;
+	}
+
+	private static int ventana(int dias) {
+		for (int v = 0; v < VENTANAS.length; v++) {
+			if (VENTANAS[v] == dias) return v;
+		}
+		throw new IllegalArgumentException("Ventana no disponible: " + dias + " días");
+	}
+
+	private static long clave(int suma, int id) {
+		return ((long) suma << 32) | id;
+	}
+}
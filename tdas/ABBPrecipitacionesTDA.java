@@ -18,6 +18,13 @@ public interface ABBPrecipitacionesTDA {
 	 * - si la medicion ya existe para ese dia la reemplaza
 	 * */
 	public void agregarMedicion(String valor, String anio, String mes, int dia, int precipitacion);
+
+	/**
+	 * inicializado
+	 * 
+	 * Igual que la anterior, con año y mes numéricos.
+	 * */
+	public void agregarMedicion(String valor, int anio, int mes, int dia, int precipitacion);
 	
 	/**
 	 * inicializado
@@ -39,17 +46,69 @@ public interface ABBPrecipitacionesTDA {
 	 * inicializado y no vacio
 	 * */
 	public String raiz();
+
+	/**
+	 * inicializado y no vacio
+	 * 
+	 * Clave de comparación del campo raíz (RegistroCampos.normalizar del nombre), ya calculada:
+	 * recorrer el árbol comparando claves evita normalizar el nombre en cada nivel.
+	 * */
+	public String claveRaiz();
 	
 	/**
 	 * inicializado y no vacio
+	 * 
+	 * Períodos del campo raíz en orden cronológico.
 	 * */
 	public ColaStringTDA periodos();
 
+	/**
+	 * inicializado
+	 * 
+	 * Períodos del campo raíz desde anioDesde/mesDesde hasta anioHasta/mesHasta, ambos incluidos,
+	 * en orden cronológico. Cola vacía si el árbol está vacío.
+	 * */
+	public ColaStringTDA periodosEntre(int anioDesde, int mesDesde, int anioHasta, int mesHasta);
+
 	/**
 	 * inicializado
 	 * */
 	public ColaPrioridadTDA precipitaciones(String periodo);
 	
+	/**
+	 * inicializado
+	 * 
+	 * Suma de precipitaciones y cantidad de mediciones del campo raíz entre dos días, ambos incluidos,
+	 * expresados como ordinales de IndiceFenwick.ordinal. Devuelve {suma, conteo}.
+	 * Los meses resumidos (ver resumirAntesDe) cuentan si el intervalo los cubre enteros.
+	 * */
+	public int[] sumaYConteoEntre(int desde, int hasta);
+
+	/**
+	 * inicializado
+	 * 
+	 * Resume en totales mensuales las mediciones del campo anteriores al 1 de enero de anio y descarta
+	 * su detalle diario: esos meses dejan de estar en periodos() y precipitaciones(), pero siguen
+	 * contando en sumaYConteoEntre y en mesesResumidos(). Si el campo no existe no hace nada.
+	 * */
+	public void resumirAntesDe(String valor, int anio);
+
+	/**
+	 * inicializado
+	 * 
+	 * Meses resumidos del campo raíz, ordenados: {mes, suma, días con medición, mes, suma, ...}
+	 * con mes = anio * 12 + mes - 1. Arreglo vacío si el árbol está vacío o no hay meses resumidos.
+	 * */
+	public int[] mesesResumidos();
+
+	/**
+	 * inicializado y no vacio
+	 * 
+	 * Indica si el campo raíz fue eliminado dejando una lápida: el nodo sigue en el árbol sólo para
+	 * ordenar el descenso, no tiene mediciones y los recorridos no deben informarlo como campo.
+	 * */
+	public boolean raizEliminada();
+
 	/**
 	 * inicializado y no vacio
 	 * */
@@ -0,0 +1,15 @@
+package tdas;
+
+/**
+ * Árbol de precipitaciones que permite fijar una versión inmutable de su contenido.
+ * Las escrituras posteriores no modifican las versiones ya obtenidas.
+ * */
+public interface ABBPrecipitacionesVersionadoTDA extends ABBPrecipitacionesTDA {
+
+	/**
+	 * inicializado
+	 *
+	 * Devuelve una vista de solo lectura del árbol en su estado actual.
+	 * */
+	public ABBPrecipitacionesTDA instantanea();
+}
@@ -13,6 +13,13 @@ public interface DiccionarioSimpleStringTDA {
 	 * */	
 	public void agregar(String clave, int dia, int cantidad); 
 	
+	/**
+	 * inicializada
+	 * 
+	 * Igual que agregar con la clave "anio/mes" (mes con dos dígitos).
+	 * */	
+	public void agregar(int anio, int mes, int dia, int cantidad); 
+	
 	/**
 	 * inicializada
 	 * */	
@@ -28,4 +35,28 @@ public interface DiccionarioSimpleStringTDA {
 	 * */	
 	public ConjuntoStringTDA claves(); //diccionario inicializado
 	
+	/**
+	 * inicializada
+	 * 
+	 * Claves "YYYY/MM" con anio * 12 + mes - 1 entre desde y hasta (ambos incluidos), en orden cronológico.
+	 * Las claves sin ese formato se ordenan al final, como si valieran Integer.MAX_VALUE:
+	 * clavesEntre(Integer.MIN_VALUE, Integer.MAX_VALUE) devuelve todas.
+	 * */
+	public ColaStringTDA clavesEntre(int desde, int hasta);
+
+	/**
+	 * inicializada
+	 * 
+	 * Quita las claves "YYYY/MM" con anio * 12 + mes - 1 menor a clave y devuelve sus totales ordenados
+	 * por mes: {mes, suma, días con medición, mes, suma, días con medición, ...}. Sólo se cuentan los días 1 a 31.
+	 * */
+	public int[] resumirAntesDe(int clave);
+
+	/**
+	 * inicializada
+	 * 
+	 * Quita los períodos que no tienen ninguna medición y devuelve cuántos quitó.
+	 * */
+	public int eliminarVacios();
+	
 }